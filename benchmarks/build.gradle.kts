@@ -0,0 +1,26 @@
+plugins {
+    id("me.champeau.jmh") version "0.7.3"
+}
+
+dependencies {
+    jmh(project(":core"))
+    jmh(project(":paper-adapter"))
+}
+
+jmh {
+    jmhVersion = rootProject.property("jmhVersion") as String
+    // Allocation rate per op comes from the GC profiler (gc.alloc.rate.norm).
+    profilers = listOf("gc")
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("results/jmh/results.json")
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+}
+
+// Copies the latest JMH run to baseline/liar-bar-table.json: ./gradlew :benchmarks:jmh :benchmarks:jmhBaseline
+tasks.register<Copy>("jmhBaseline") {
+    from(layout.buildDirectory.file("results/jmh/results.json"))
+    into(layout.projectDirectory.dir("baseline"))
+    rename { "liar-bar-table.json" }
+}
@@ -0,0 +1,77 @@
+package cn.pianzi.liarbar.benchmarks;
+
+import cn.pianzi.liarbar.core.bot.BotEngine;
+import cn.pianzi.liarbar.core.bot.BotMove;
+import cn.pianzi.liarbar.core.bot.BotTurn;
+import cn.pianzi.liarbar.core.domain.GamePhase;
+import cn.pianzi.liarbar.core.port.SplittableRandomSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One bot decision for a player facing a challengeable claim, from request to move. The budget is far
+ * above what the samples need, so the time is the sampling itself plus the fork/join fan-out; the
+ * bytes per op are the tasks and the move, not the samples, and should not grow with {@code samples}.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BotEngineBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Engine {
+        @Param({"256", "4096"})
+        int samples;
+
+        @Param({"1", "4"})
+        int parallelism;
+
+        @Param("42")
+        long seed;
+
+        ForkJoinPool pool;
+        BotEngine engine;
+        BotTurn turn;
+
+        @Setup(Level.Trial)
+        public void create() {
+            pool = new ForkJoinPool(parallelism);
+            engine = new BotEngine(pool, Duration.ofSeconds(1), samples);
+            turn = TableFixture.driveTo(
+                    TableFixture.newTable(TableFixture.expiringConfig(), new SplittableRandomSource(seed)),
+                    TableFixture.players(seed),
+                    GamePhase.STANDARD_TURN
+            ).botTurn();
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            engine.close();
+            pool.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public BotMove decide(Engine state) {
+        return state.engine.decide(state.turn).join();
+    }
+
+    /**
+     * The same rule without samples, as played when the pool cannot answer within the budget.
+     */
+    @Benchmark
+    public BotMove fallback(Engine state) {
+        return BotEngine.fallback(state.turn);
+    }
+}
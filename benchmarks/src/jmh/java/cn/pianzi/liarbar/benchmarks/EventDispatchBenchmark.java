@@ -0,0 +1,114 @@
+package cn.pianzi.liarbar.benchmarks;
+
+import cn.pianzi.liarbar.core.domain.TableMode;
+import cn.pianzi.liarbar.core.event.CoreEvent;
+import cn.pianzi.liarbar.core.event.CoreEventType;
+import cn.pianzi.liarbar.core.port.SplittableRandomSource;
+import cn.pianzi.liarbar.core.runtime.LiarBarTable;
+import cn.pianzi.liarbar.paper.presentation.CoreEventTranslator;
+import cn.pianzi.liarbar.paper.presentation.UserFacingEvent;
+import cn.pianzi.liarbar.paper.presentation.UserFacingEventBus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Delivery of the events of one round, from the first join to a challenge, to the plugin's eight handlers
+ * with the event types they act on. {@link #fanOut} hands every handler the whole batch to filter, as the
+ * plugin did before; {@link #bus} publishes through a {@link UserFacingEventBus} with inline executors, so
+ * each handler gets only its own types. Both sides do the same per-event work.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EventDispatchBenchmark {
+    private static final List<Set<CoreEventType>> HANDLED = List.of(
+            EnumSet.of(CoreEventType.PLAYER_JOINED, CoreEventType.PLAYER_FORFEITED, CoreEventType.SHOT_RESOLVED,
+                    CoreEventType.PLAYER_ELIMINATED, CoreEventType.PHASE_CHANGED, CoreEventType.GAME_FINISHED),
+            EnumSet.of(CoreEventType.GAME_FINISHED),
+            EnumSet.of(CoreEventType.PLAYER_JOINED, CoreEventType.GAME_FINISHED, CoreEventType.PLAYER_ELIMINATED,
+                    CoreEventType.PLAYER_FORFEITED),
+            EnumSet.of(CoreEventType.PLAYER_JOINED, CoreEventType.DEAL_COMPLETED, CoreEventType.HAND_DEALT,
+                    CoreEventType.TURN_CHANGED, CoreEventType.CARDS_PLAYED, CoreEventType.SHOT_RESOLVED,
+                    CoreEventType.PLAYER_ELIMINATED, CoreEventType.GAME_FINISHED, CoreEventType.PLAYER_FORFEITED),
+            EnumSet.of(CoreEventType.HAND_DEALT, CoreEventType.TURN_CHANGED, CoreEventType.FORCE_CHALLENGE),
+            EnumSet.of(CoreEventType.PLAYER_JOINED, CoreEventType.TURN_CHANGED, CoreEventType.CHALLENGE_RESOLVED,
+                    CoreEventType.SHOT_RESOLVED, CoreEventType.PLAYER_ELIMINATED, CoreEventType.GAME_FINISHED,
+                    CoreEventType.PLAYER_FORFEITED),
+            EnumSet.of(CoreEventType.MODE_SELECTED, CoreEventType.PLAYER_JOINED, CoreEventType.PLAYER_FORFEITED,
+                    CoreEventType.PHASE_CHANGED, CoreEventType.GAME_FINISHED),
+            EnumSet.allOf(CoreEventType.class)
+    );
+
+    @State(Scope.Thread)
+    public static class Round {
+        @Param("42")
+        long seed;
+
+        List<UserFacingEvent> events;
+        UserFacingEventBus bus;
+        long seen;
+
+        @Setup(Level.Trial)
+        public void play() {
+            UUID[] players = TableFixture.players(seed);
+            LiarBarTable table = TableFixture.newTable(TableFixture.expiringConfig(), new SplittableRandomSource(seed));
+            List<CoreEvent> coreEvents = new ArrayList<>();
+            for (UUID player : players) {
+                table.join(player, coreEvents::add);
+            }
+            table.selectMode(players[0], TableMode.LIFE_ONLY, coreEvents::add);
+            table.tickSecond(coreEvents::add);
+            table.play(TableFixture.currentPlayer(table), TableFixture.firstSlot(), coreEvents::add);
+            table.challenge(TableFixture.currentPlayer(table), coreEvents::add);
+            events = new CoreEventTranslator().translate(coreEvents, "bench");
+
+            bus = new UserFacingEventBus(Runnable::run, Runnable::run);
+            for (int i = 0; i < HANDLED.size(); i++) {
+                Set<CoreEventType> types = HANDLED.get(i);
+                bus.subscribe("handler-" + i, UserFacingEventBus.Affinity.MAIN, types, handler(types));
+            }
+        }
+
+        private Consumer<List<UserFacingEvent>> handler(Set<CoreEventType> types) {
+            return batch -> {
+                for (UserFacingEvent event : batch) {
+                    if (types.contains(event.type())) {
+                        seen += event.seat();
+                    }
+                }
+            };
+        }
+    }
+
+    @Benchmark
+    public long fanOut(Round state) {
+        for (Set<CoreEventType> types : HANDLED) {
+            for (UserFacingEvent event : state.events) {
+                if (types.contains(event.type())) {
+                    state.seen += event.seat();
+                }
+            }
+        }
+        return state.seen;
+    }
+
+    @Benchmark
+    public long bus(Round state) {
+        state.bus.publish(state.events);
+        return state.seen;
+    }
+}
@@ -0,0 +1,84 @@
+package cn.pianzi.liarbar.benchmarks;
+
+import cn.pianzi.liarbar.core.domain.TableMode;
+import cn.pianzi.liarbar.core.event.CoreEvent;
+import cn.pianzi.liarbar.core.port.SplittableRandomSource;
+import cn.pianzi.liarbar.core.runtime.LiarBarTable;
+import cn.pianzi.liarbar.paper.presentation.CoreEventTranslator;
+import cn.pianzi.liarbar.paper.presentation.UserFacingEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Translation of the events of one round, from the first join to a challenge, into {@link UserFacingEvent}s
+ * for a table. {@link #translate} builds one payload per event; {@link #threeCopies} replays what translation
+ * cost before, when the payload map was merged with its display fields, copied again by
+ * {@code UserFacingEvent} and a third time to add the table id. Compare {@code gc.alloc.rate.norm}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EventTranslationBenchmark {
+    private static final String TABLE_ID = "bench";
+
+    @State(Scope.Thread)
+    public static class Round {
+        @Param("42")
+        long seed;
+
+        List<CoreEvent> events;
+        CoreEventTranslator translator;
+
+        @Setup(Level.Trial)
+        public void play() {
+            UUID[] players = TableFixture.players(seed);
+            LiarBarTable table = TableFixture.newTable(TableFixture.expiringConfig(), new SplittableRandomSource(seed));
+            events = new ArrayList<>();
+            for (UUID player : players) {
+                table.join(player, events::add);
+            }
+            table.selectMode(players[0], TableMode.LIFE_ONLY, events::add);
+            table.tickSecond(events::add);
+            table.play(TableFixture.currentPlayer(table), TableFixture.firstSlot(), events::add);
+            table.challenge(TableFixture.currentPlayer(table), events::add);
+            translator = new CoreEventTranslator();
+        }
+    }
+
+    @Benchmark
+    public List<UserFacingEvent> translate(Round state) {
+        return state.translator.translate(state.events, TABLE_ID);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> threeCopies(Round state) {
+        List<Map<String, Object>> payloads = new ArrayList<>(state.events.size());
+        for (CoreEvent event : state.events) {
+            Map<String, Object> data = event.data();
+            HashMap<String, Object> merged = HashMap.newHashMap(data.size() + 1);
+            merged.putAll(data);
+            merged.put("player", "00000000");
+            HashMap<String, Object> clean = HashMap.newHashMap(merged.size());
+            clean.putAll(merged);
+            Map<String, Object> copied = Map.copyOf(clean);
+            HashMap<String, Object> enriched = HashMap.newHashMap(copied.size() + 1);
+            enriched.putAll(copied);
+            enriched.put("tableId", TABLE_ID);
+            payloads.add(Map.copyOf(enriched));
+        }
+        return payloads;
+    }
+}
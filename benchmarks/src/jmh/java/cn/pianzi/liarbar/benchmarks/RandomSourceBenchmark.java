@@ -0,0 +1,60 @@
+package cn.pianzi.liarbar.benchmarks;
+
+import cn.pianzi.liarbar.core.port.RandomSource;
+import cn.pianzi.liarbar.core.port.SplittableRandomSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The two draws a table makes: a bounded int (turn order, shots) and a shuffle of its packed deck.
+ * {@code gc.alloc.rate.norm} should read zero for both sources.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RandomSourceBenchmark {
+
+    @State(Scope.Thread)
+    public static class Source {
+        @Param({"threadLocal", "splittable"})
+        String kind;
+
+        @Param("42")
+        long seed;
+
+        RandomSource random;
+        int[] deck;
+
+        @Setup(Level.Trial)
+        public void create() {
+            random = switch (kind) {
+                case "threadLocal" -> RandomSource.threadLocal();
+                case "splittable" -> new SplittableRandomSource(seed);
+                default -> throw new IllegalArgumentException("unknown source: " + kind);
+            };
+            deck = new int[20];
+            for (int i = 0; i < deck.length; i++) {
+                deck[i] = i;
+            }
+        }
+    }
+
+    @Benchmark
+    public int nextIntInclusive(Source state) {
+        return state.random.nextIntInclusive(0, 3);
+    }
+
+    @Benchmark
+    public int[] shuffleDeck(Source state) {
+        state.random.shuffle(state.deck);
+        return state.deck;
+    }
+}
@@ -0,0 +1,116 @@
+package cn.pianzi.liarbar.benchmarks;
+
+import cn.pianzi.liarbar.core.domain.GamePhase;
+import cn.pianzi.liarbar.core.event.CoreEvent;
+import cn.pianzi.liarbar.core.port.EconomyPort;
+import cn.pianzi.liarbar.core.port.SplittableRandomSource;
+import cn.pianzi.liarbar.core.runtime.AsyncTableRuntime;
+import cn.pianzi.liarbar.core.runtime.LiarBarRuntimeManager;
+import cn.pianzi.liarbar.core.runtime.TableExecutors;
+import cn.pianzi.liarbar.core.runtime.TableTickResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduling cost of each {@link TableExecutors} strategy. Tables are parked in a phase that never
+ * times out, so {@code tickSecond} itself is nearly free and the numbers are dominated by the hop
+ * onto the table's lane and back. Throughput is ops/sec; sample time gives the latency distribution.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RuntimeExecutorBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Runtimes {
+        @Param({"virtual-per-table", "sharded", "caller-runs"})
+        String executor;
+
+        @Param({"1", "64", "512"})
+        int tables;
+
+        @Param("4")
+        int shards;
+
+        @Param("42")
+        long seed;
+
+        /**
+         * Seats a host at every table; when false every table is idle and {@code tickAllBatched} skips it.
+         */
+        @Param({"true", "false"})
+        boolean occupied;
+
+        LiarBarRuntimeManager manager;
+        AsyncTableRuntime[] runtimes;
+
+        @Setup(Level.Trial)
+        public void start() {
+            manager = new LiarBarRuntimeManager(switch (executor) {
+                case "virtual-per-table" -> TableExecutors.virtualThreadPerTable();
+                case "sharded" -> TableExecutors.sharded(shards);
+                case "caller-runs" -> TableExecutors.callerRuns();
+                default -> throw new IllegalArgumentException("unknown executor: " + executor);
+            });
+            runtimes = new AsyncTableRuntime[tables];
+            for (int i = 0; i < tables; i++) {
+                runtimes[i] = manager.createTable(
+                        "bench-" + i,
+                        TableFixture.parkedConfig(GamePhase.MODE_SELECTION),
+                        EconomyPort.noop(),
+                        new SplittableRandomSource(seed + i)
+                );
+                if (occupied) {
+                    runtimes[i].join(new UUID(seed, i)).toCompletableFuture().join();
+                }
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            manager.close();
+        }
+    }
+
+    /**
+     * One command round trip on a single table.
+     */
+    @Benchmark
+    public List<CoreEvent> roundTrip(Runtimes state) {
+        return state.runtimes[0].tickSecond().toCompletableFuture().join();
+    }
+
+    /**
+     * One tick fanned out to every table and joined, as the server tick loop does.
+     */
+    @Benchmark
+    public int tickAllTables(Runtimes state) {
+        AsyncTableRuntime[] runtimes = state.runtimes;
+        CompletableFuture<?>[] pending = new CompletableFuture<?>[runtimes.length];
+        for (int i = 0; i < runtimes.length; i++) {
+            pending[i] = runtimes[i].tickSecond().toCompletableFuture();
+        }
+        CompletableFuture.allOf(pending).join();
+        return pending.length;
+    }
+
+    /**
+     * The same fan-out through {@link LiarBarRuntimeManager#tickAll()}: one task per shard, idle tables skipped.
+     */
+    @Benchmark
+    public List<TableTickResult> tickAllBatched(Runtimes state) {
+        return state.manager.tickAll().toCompletableFuture().join();
+    }
+}
@@ -0,0 +1,176 @@
+package cn.pianzi.liarbar.benchmarks;
+
+import cn.pianzi.liarbar.core.domain.GamePhase;
+import cn.pianzi.liarbar.core.domain.TableMode;
+import cn.pianzi.liarbar.core.event.CoreEvent;
+import cn.pianzi.liarbar.core.port.SplittableRandomSource;
+import cn.pianzi.liarbar.core.runtime.LiarBarTable;
+import cn.pianzi.liarbar.core.snapshot.GameSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Player-facing commands of {@link LiarBarTable}.
+ * Each command mutates the table irreversibly, so its state is rebuilt per invocation;
+ * {@link #snapshot} is read-only and reuses one parked table.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TableCommandBenchmark {
+
+    @State(Scope.Thread)
+    public static class Seeded {
+        @Param("42")
+        long seed;
+
+        SplittableRandomSource random;
+        UUID[] players;
+
+        @Setup(Level.Trial)
+        public void seed() {
+            random = new SplittableRandomSource(seed);
+            players = TableFixture.players(seed);
+        }
+
+        LiarBarTable freshTable() {
+            return TableFixture.newTable(TableFixture.expiringConfig(), random);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class EmptyTable extends Seeded {
+        LiarBarTable table;
+
+        @Setup(Level.Invocation)
+        public void reset() {
+            table = freshTable();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class LastSeatOpen extends Seeded {
+        LiarBarTable table;
+
+        @Setup(Level.Invocation)
+        public void reset() {
+            table = freshTable();
+            table.join(players[0]);
+            table.selectMode(players[0], TableMode.LIFE_ONLY);
+            table.join(players[1]);
+            table.join(players[2]);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class AwaitingMode extends Seeded {
+        LiarBarTable table;
+
+        @Setup(Level.Invocation)
+        public void reset() {
+            table = freshTable();
+            table.join(players[0]);
+            table.join(players[1]);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class FirstTurn extends Seeded {
+        LiarBarTable table;
+        UUID current;
+
+        @Setup(Level.Invocation)
+        public void reset() {
+            table = TableFixture.driveTo(freshTable(), players, GamePhase.FIRST_TURN);
+            current = TableFixture.currentPlayer(table);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class StandardTurn extends Seeded {
+        LiarBarTable table;
+        UUID current;
+
+        @Setup(Level.Invocation)
+        public void reset() {
+            table = TableFixture.driveTo(freshTable(), players, GamePhase.STANDARD_TURN);
+            current = TableFixture.currentPlayer(table);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ParkedTable extends Seeded {
+        @Param({"MODE_SELECTION", "STANDARD_TURN"})
+        GamePhase phase;
+
+        LiarBarTable table;
+
+        @Setup(Level.Trial)
+        public void park() {
+            seed();
+            table = TableFixture.driveTo(
+                    TableFixture.newTable(TableFixture.parkedConfig(phase), random),
+                    players,
+                    phase
+            );
+        }
+    }
+
+    @Benchmark
+    public List<CoreEvent> join(EmptyTable state) {
+        return state.table.join(state.players[0]);
+    }
+
+    @Benchmark
+    public List<CoreEvent> joinFillsTable(LastSeatOpen state) {
+        return state.table.join(state.players[3]);
+    }
+
+    @Benchmark
+    public List<CoreEvent> selectMode(AwaitingMode state) {
+        return state.table.selectMode(state.players[0], TableMode.LIFE_ONLY);
+    }
+
+    @Benchmark
+    public List<CoreEvent> play(FirstTurn state) {
+        return state.table.play(state.current, TableFixture.firstSlot());
+    }
+
+    @Benchmark
+    public void playIntoSink(FirstTurn state, Blackhole blackhole) {
+        state.table.play(state.current, TableFixture.firstSlot(), blackhole::consume);
+    }
+
+    @Benchmark
+    public List<CoreEvent> challenge(StandardTurn state) {
+        return state.table.challenge(state.current);
+    }
+
+    /**
+     * Nothing changed since the last call, so this returns the cached snapshot.
+     */
+    @Benchmark
+    public GameSnapshot snapshot(ParkedTable state) {
+        return state.table.snapshot();
+    }
+
+    /**
+     * A tick that keeps the table parked still bumps its version, so the snapshot is rebuilt.
+     */
+    @Benchmark
+    public GameSnapshot snapshotAfterTick(ParkedTable state, Blackhole blackhole) {
+        state.table.tickSecond(blackhole::consume);
+        return state.table.snapshot();
+    }
+}
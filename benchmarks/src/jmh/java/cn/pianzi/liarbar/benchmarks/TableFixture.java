@@ -0,0 +1,110 @@
+package cn.pianzi.liarbar.benchmarks;
+
+import cn.pianzi.liarbar.core.config.TableConfig;
+import cn.pianzi.liarbar.core.domain.GamePhase;
+import cn.pianzi.liarbar.core.domain.TableMode;
+import cn.pianzi.liarbar.core.port.EconomyPort;
+import cn.pianzi.liarbar.core.port.RandomSource;
+import cn.pianzi.liarbar.core.runtime.LiarBarTable;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Drives a {@link LiarBarTable} into a given phase through its public API only,
+ * so benchmarks exercise the same transitions as a live server.
+ */
+final class TableFixture {
+    static final int SEATS = 4;
+    private static final int NEVER = Integer.MAX_VALUE;
+    private static final List<Integer> FIRST_SLOT = List.of(1);
+
+    private TableFixture() {
+    }
+
+    static UUID[] players(long seed) {
+        UUID[] players = new UUID[SEATS];
+        for (int i = 0; i < SEATS; i++) {
+            players[i] = new UUID(seed, i + 1L);
+        }
+        return players;
+    }
+
+    /**
+     * Production-sized table where every phase times out on its first tick.
+     */
+    static TableConfig expiringConfig() {
+        return new TableConfig(1, 1, 1, 1, 1, 1, SEATS, 5, 1, 3, 6);
+    }
+
+    /**
+     * Same as {@link #expiringConfig()} except that {@code parked} never times out,
+     * so repeated ticks keep the table in that phase.
+     */
+    static TableConfig parkedConfig(GamePhase parked) {
+        return new TableConfig(
+                parked == GamePhase.MODE_SELECTION ? NEVER : 1,
+                parked == GamePhase.JOINING ? NEVER : 1,
+                parked == GamePhase.DEALING ? NEVER : 1,
+                parked == GamePhase.FIRST_TURN ? NEVER : 1,
+                parked == GamePhase.STANDARD_TURN ? NEVER : 1,
+                parked == GamePhase.RESOLVE_CHALLENGE ? NEVER : 1,
+                SEATS,
+                5,
+                1,
+                3,
+                6
+        );
+    }
+
+    static LiarBarTable newTable(TableConfig config, RandomSource random) {
+        return new LiarBarTable("bench", config, EconomyPort.noop(), random);
+    }
+
+    /**
+     * Advances a fresh table into {@code target}.
+     * MODE_SELECTION and JOINING keep a single seated host; every later phase has a full table.
+     */
+    static LiarBarTable driveTo(LiarBarTable table, UUID[] players, GamePhase target) {
+        table.join(players[0]);
+        if (target == GamePhase.MODE_SELECTION) {
+            return table;
+        }
+        if (target == GamePhase.JOINING) {
+            table.selectMode(players[0], TableMode.LIFE_ONLY);
+            return table;
+        }
+
+        for (int i = 1; i < players.length; i++) {
+            table.join(players[i]);
+        }
+        table.selectMode(players[0], TableMode.LIFE_ONLY);
+        if (target == GamePhase.DEALING) {
+            return table;
+        }
+
+        table.tickSecond();
+        if (target == GamePhase.FIRST_TURN) {
+            return table;
+        }
+
+        table.play(currentPlayer(table), FIRST_SLOT);
+        if (target == GamePhase.STANDARD_TURN) {
+            return table;
+        }
+
+        table.challenge(currentPlayer(table));
+        if (target == GamePhase.RESOLVE_CHALLENGE) {
+            return table;
+        }
+        throw new IllegalArgumentException("cannot park a table in phase " + target);
+    }
+
+    static UUID currentPlayer(LiarBarTable table) {
+        return table.snapshot().currentPlayer().orElseThrow();
+    }
+
+    static List<Integer> firstSlot() {
+        return FIRST_SLOT;
+    }
+}
@@ -0,0 +1,136 @@
+package cn.pianzi.liarbar.benchmarks;
+
+import cn.pianzi.liarbar.core.domain.GamePhase;
+import cn.pianzi.liarbar.core.event.CoreEvent;
+import cn.pianzi.liarbar.core.port.SplittableRandomSource;
+import cn.pianzi.liarbar.core.runtime.LiarBarTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LiarBarTable#tickSecond()} in every phase a table can rest in.
+ * {@code FINISHED} is transient (the table resets to {@code MODE_SELECTION} in the same call), so it is not listed.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TableTickBenchmark {
+
+    /**
+     * A table whose current phase never times out: the per-second cost every idle or waiting table pays.
+     */
+    @State(Scope.Thread)
+    public static class Waiting {
+        @Param({"MODE_SELECTION", "JOINING", "DEALING", "FIRST_TURN", "STANDARD_TURN", "RESOLVE_CHALLENGE"})
+        GamePhase phase;
+
+        @Param("42")
+        long seed;
+
+        LiarBarTable table;
+
+        @Setup(Level.Trial)
+        public void park() {
+            SplittableRandomSource random = new SplittableRandomSource(seed);
+            table = TableFixture.driveTo(
+                    TableFixture.newTable(TableFixture.parkedConfig(phase), random),
+                    TableFixture.players(seed),
+                    phase
+            );
+        }
+    }
+
+    /**
+     * A table whose current phase expires on the next tick, rebuilt per invocation.
+     */
+    @State(Scope.Thread)
+    public static class Expiring {
+        @Param({"MODE_SELECTION", "JOINING", "DEALING", "FIRST_TURN", "STANDARD_TURN"})
+        GamePhase phase;
+
+        @Param("42")
+        long seed;
+
+        SplittableRandomSource random;
+        UUID[] players;
+        LiarBarTable table;
+
+        @Setup(Level.Trial)
+        public void seed() {
+            random = new SplittableRandomSource(seed);
+            players = TableFixture.players(seed);
+        }
+
+        @Setup(Level.Invocation)
+        public void reset() {
+            table = TableFixture.driveTo(
+                    TableFixture.newTable(TableFixture.expiringConfig(), random),
+                    players,
+                    phase
+            );
+        }
+    }
+
+    /**
+     * RESOLVE_CHALLENGE timing out with a full table: shots are resolved and, unless a single
+     * survivor remains, {@code startDealRound} shuffles and deals the next round.
+     */
+    @State(Scope.Thread)
+    public static class ShotPending {
+        @Param("42")
+        long seed;
+
+        SplittableRandomSource random;
+        UUID[] players;
+        LiarBarTable table;
+
+        @Setup(Level.Trial)
+        public void seed() {
+            random = new SplittableRandomSource(seed);
+            players = TableFixture.players(seed);
+        }
+
+        @Setup(Level.Invocation)
+        public void reset() {
+            table = TableFixture.driveTo(
+                    TableFixture.newTable(TableFixture.expiringConfig(), random),
+                    players,
+                    GamePhase.RESOLVE_CHALLENGE
+            );
+        }
+    }
+
+    @Benchmark
+    public List<CoreEvent> tickSecondWaiting(Waiting state) {
+        return state.table.tickSecond();
+    }
+
+    @Benchmark
+    public List<CoreEvent> tickSecondExpiring(Expiring state) {
+        return state.table.tickSecond();
+    }
+
+    /**
+     * Same as {@link #tickSecondExpiring} through the {@code CoreEventSink} overload, without a result list.
+     */
+    @Benchmark
+    public void tickSecondExpiringIntoSink(Expiring state, Blackhole blackhole) {
+        state.table.tickSecond(blackhole::consume);
+    }
+
+    @Benchmark
+    public List<CoreEvent> startDealRound(ShotPending state) {
+        return state.table.tickSecond();
+    }
+}
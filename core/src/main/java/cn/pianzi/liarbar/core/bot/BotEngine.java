@@ -0,0 +1,193 @@
+package cn.pianzi.liarbar.core.bot;
+
+import cn.pianzi.liarbar.core.domain.PackedCard;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides turns for players who are not there: seats whose turn timed out and seats filled by bots.
+ *
+ * <p>A decision samples the cards the player cannot see on a fork/join pool, split into chunks of
+ * {@value #LEAF_SAMPLES} samples, and weighs a challenge against the risk of the play it would make
+ * instead. Sampling stops at three quarters of the budget and the decision always completes within the
+ * budget: if the pool is saturated it completes with {@link #fallback}, the same rule on no samples.
+ * Nothing here runs on a table's lane, which only ever sees the finished {@link BotMove}.
+ */
+public final class BotEngine implements AutoCloseable {
+    private static final System.Logger LOGGER = System.getLogger(BotEngine.class.getName());
+    private static final int DEFAULT_SAMPLES = 4096;
+    private static final int LEAF_SAMPLES = 512;
+    // Assumed chance of a lie, or of a bluff being challenged, before any sample came in.
+    private static final double PRIOR = 0.5;
+
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+    private final long budgetNanos;
+    private final long samplingNanos;
+    private final int samples;
+    private final ThreadLocal<MonteCarloKernel> kernels = ThreadLocal.withInitial(
+            () -> new MonteCarloKernel(new SplittableRandom(ThreadLocalRandom.current().nextLong())));
+
+    /**
+     * Engine on its own pool with one worker per two cores, taking {@value #DEFAULT_SAMPLES} samples per decision.
+     */
+    public BotEngine(Duration budget) {
+        this(new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() / 2)), true, budget, DEFAULT_SAMPLES);
+    }
+
+    /**
+     * Engine on a pool owned by the caller; {@link #close()} leaves it running.
+     */
+    public BotEngine(ForkJoinPool pool, Duration budget, int samples) {
+        this(pool, false, budget, samples);
+    }
+
+    private BotEngine(ForkJoinPool pool, boolean ownsPool, Duration budget, int samples) {
+        this.pool = Objects.requireNonNull(pool, "pool");
+        this.ownsPool = ownsPool;
+        Objects.requireNonNull(budget, "budget");
+        if (budget.isNegative() || budget.isZero()) {
+            throw new IllegalArgumentException("budget must be > 0");
+        }
+        if (samples < 1) {
+            throw new IllegalArgumentException("samples must be >= 1");
+        }
+        this.budgetNanos = budget.toNanos();
+        this.samplingNanos = budgetNanos - budgetNanos / 4;
+        this.samples = samples;
+    }
+
+    /**
+     * Completes within the budget, on a pool thread or the JDK's delay scheduler; never exceptionally.
+     */
+    public CompletableFuture<BotMove> decide(BotTurn turn) {
+        Objects.requireNonNull(turn, "turn");
+        if (turn.mustChallenge()) {
+            return CompletableFuture.completedFuture(BotMove.CHALLENGE);
+        }
+        long deadline = System.nanoTime() + samplingNanos;
+        CompletableFuture<BotMove> decision;
+        try {
+            decision = CompletableFuture.supplyAsync(
+                    () -> choose(turn, new Sampling(turn, samples, deadline).invoke()),
+                    pool
+            );
+        } catch (RejectedExecutionException ex) {
+            return CompletableFuture.completedFuture(fallback(turn));
+        }
+        return decision
+                .exceptionally(ex -> {
+                    LOGGER.log(System.Logger.Level.WARNING, "Bot decision failed; using the fallback move", ex);
+                    return fallback(turn);
+                })
+                .completeOnTimeout(fallback(turn), budgetNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * The move {@link #decide} falls back to when no sample came in, computed on the caller's thread.
+     */
+    public static BotMove fallback(BotTurn turn) {
+        return choose(turn, new MonteCarloKernel.Tally(turn.maxPlayCards()));
+    }
+
+    /**
+     * Plays every main-like card it holds, up to the play limit, or the demon alone; only bluffs with the
+     * claim size the next player is least likely to challenge. Counting a shot taken as -1 and one dealt as
+     * +1, challenges when that is worth more than the play it would make instead: {@code 2 * pLie - 1 > -pCaught}.
+     */
+    static BotMove choose(BotTurn turn, MonteCarloKernel.Tally tally) {
+        if (turn.mustChallenge()) {
+            return BotMove.CHALLENGE;
+        }
+        int[] hand = turn.hand();
+        List<Integer> mainLike = new ArrayList<>();
+        List<Integer> others = new ArrayList<>();
+        int demonSlot = 0;
+        for (int i = 0; i < hand.length; i++) {
+            if (PackedCard.isDemon(hand[i])) {
+                demonSlot = i + 1;
+            } else if (PackedCard.isMainLike(hand[i], turn.mainRank())) {
+                mainLike.add(i + 1);
+            } else {
+                others.add(i + 1);
+            }
+        }
+        int least = Math.max(1, turn.minPlayCards());
+        int most = Math.min(turn.maxPlayCards(), mainLike.size() + others.size());
+
+        List<Integer> slots = new ArrayList<>();
+        double playRisk = 0.0;
+        if (mainLike.size() >= least) {
+            slots.addAll(mainLike.subList(0, Math.min(mainLike.size(), most)));
+        } else if (demonSlot != 0 && least == 1) {
+            slots.add(demonSlot);
+        } else if (most >= least) {
+            int count = least;
+            for (int k = least + 1; k <= most; k++) {
+                if (rate(tally.caught[k], tally.samples) < rate(tally.caught[count], tally.samples)) {
+                    count = k;
+                }
+            }
+            playRisk = rate(tally.caught[count], tally.samples);
+            slots.addAll(mainLike);
+            slots.addAll(others.subList(0, count - mainLike.size()));
+            Collections.sort(slots);
+        }
+
+        if (turn.canChallenge() && (slots.isEmpty() || rate(tally.lies, tally.samples) > (1.0 - playRisk) / 2)) {
+            return BotMove.CHALLENGE;
+        }
+        return BotMove.play(slots.isEmpty() ? List.of(1) : slots);
+    }
+
+    private static double rate(int hits, int samples) {
+        return samples == 0 ? PRIOR : (double) hits / samples;
+    }
+
+    @Override
+    public void close() {
+        if (ownsPool) {
+            pool.shutdownNow();
+        }
+    }
+
+    private final class Sampling extends RecursiveTask<MonteCarloKernel.Tally> {
+        private static final long serialVersionUID = 1L;
+
+        // Never serialized; fork/join tasks only live inside the pool.
+        private final transient BotTurn turn;
+        private final int samples;
+        private final long deadlineNanos;
+
+        private Sampling(BotTurn turn, int samples, long deadlineNanos) {
+            this.turn = turn;
+            this.samples = samples;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        @Override
+        protected MonteCarloKernel.Tally compute() {
+            if (samples <= LEAF_SAMPLES) {
+                MonteCarloKernel.Tally tally = new MonteCarloKernel.Tally(turn.maxPlayCards());
+                kernels.get().run(turn, samples, deadlineNanos, tally);
+                return tally;
+            }
+            int half = samples / 2;
+            Sampling first = new Sampling(turn, half, deadlineNanos);
+            first.fork();
+            MonteCarloKernel.Tally tally = new Sampling(turn, samples - half, deadlineNanos).compute();
+            return tally.add(first.join());
+        }
+    }
+}
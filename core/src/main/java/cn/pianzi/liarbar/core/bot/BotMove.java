@@ -0,0 +1,21 @@
+package cn.pianzi.liarbar.core.bot;
+
+import java.util.List;
+
+/**
+ * A bot's decision: challenge the previous play, or play the cards in {@code slots} (1-based, ascending).
+ */
+public record BotMove(boolean challenge, List<Integer> slots) {
+    public static final BotMove CHALLENGE = new BotMove(true, List.of());
+
+    public BotMove {
+        slots = List.copyOf(slots);
+    }
+
+    public static BotMove play(List<Integer> slots) {
+        if (slots.isEmpty()) {
+            throw new IllegalArgumentException("a play needs at least one slot");
+        }
+        return new BotMove(false, slots);
+    }
+}
@@ -0,0 +1,50 @@
+package cn.pianzi.liarbar.core.bot;
+
+import cn.pianzi.liarbar.core.domain.CardRank;
+import cn.pianzi.liarbar.core.domain.PackedCard;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * What the player on turn knows: their own hand, the round's main rank, how many cards the previous
+ * player claimed, and how the rest of the deck splits into categories they cannot see.
+ *
+ * @param hand           the player's hand as {@link PackedCard} ints, in slot order
+ * @param claimedCards   cards in the center that can be challenged; {@code 0} when challenging is not allowed
+ * @param previousHandSize cards the player who made that claim still holds
+ * @param nextHandSize   hand size of the player who acts after a play; {@code 0} when there is none
+ * @param unseenMain     main-rank cards, other than the demon, outside the player's hand
+ * @param unseenJacks    jacks outside the player's hand
+ * @param unseenDemons   demons outside the player's hand
+ * @param unseenOthers   cards outside the player's hand that are not main-like
+ */
+public record BotTurn(
+        UUID player,
+        int[] hand,
+        CardRank mainRank,
+        int claimedCards,
+        int previousHandSize,
+        boolean mustChallenge,
+        int minPlayCards,
+        int maxPlayCards,
+        int nextHandSize,
+        int unseenMain,
+        int unseenJacks,
+        int unseenDemons,
+        int unseenOthers
+) {
+    public BotTurn {
+        Objects.requireNonNull(player, "player");
+        Objects.requireNonNull(hand, "hand");
+        Objects.requireNonNull(mainRank, "mainRank");
+    }
+
+    public boolean canChallenge() {
+        return claimedCards > 0;
+    }
+
+    public int unseenCards() {
+        return unseenMain + unseenJacks + unseenDemons + unseenOthers;
+    }
+}
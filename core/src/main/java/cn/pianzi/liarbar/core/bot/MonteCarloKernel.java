@@ -0,0 +1,156 @@
+package cn.pianzi.liarbar.core.bot;
+
+import cn.pianzi.liarbar.core.domain.PackedCard;
+
+import java.util.SplittableRandom;
+
+/**
+ * Draws the cards a {@link BotTurn} cannot see. The deck is tracked as four category counts instead of
+ * cards, so a sample is a handful of bounded random draws over two small arrays owned by the kernel.
+ * One kernel per worker thread; {@link #run} allocates nothing.
+ */
+final class MonteCarloKernel {
+    static final int MAIN = 0;
+    static final int JACK = 1;
+    static final int DEMON = 2;
+    static final int OTHER = 3;
+
+    // Look at the clock once per this many samples.
+    private static final int CLOCK_MASK = 63;
+
+    private final SplittableRandom random;
+    private final int[] unseen = new int[4];
+    private final int[] left = new int[4];
+    private int unseenTotal;
+    private int leftTotal;
+
+    MonteCarloKernel(SplittableRandom random) {
+        this.random = random;
+    }
+
+    /**
+     * Adds up to {@code samples} samples to {@code tally}, stopping early once {@code deadlineNanos} passes.
+     * Each sample deals, from the unseen cards, the hand the previous player held before their claim and,
+     * separately, the next player's hand. Assuming the previous player only lied when their hand left no
+     * honest claim of that size, their hand tells whether a challenge would catch a lie or hit the demon.
+     * The next player's hand tells, for every claim size, whether they would find a claim of that many
+     * main-like cards unlikely enough to challenge it.
+     */
+    void run(BotTurn turn, int samples, long deadlineNanos, Tally tally) {
+        unseen[MAIN] = turn.unseenMain();
+        unseen[JACK] = turn.unseenJacks();
+        unseen[DEMON] = turn.unseenDemons();
+        unseen[OTHER] = turn.unseenOthers();
+        unseenTotal = turn.unseenCards();
+
+        int[] hand = turn.hand();
+        int ownMainLike = 0;
+        for (int card : hand) {
+            if (PackedCard.isMainLike(card, turn.mainRank())) {
+                ownMainLike++;
+            }
+        }
+        int deckSize = unseenTotal + hand.length;
+        int deckMainLike = unseenTotal - unseen[OTHER] + ownMainLike;
+        int claimed = turn.claimedCards();
+        int previousHand = Math.min(turn.previousHandSize() + claimed, unseenTotal);
+        int nextHand = Math.min(turn.nextHandSize(), unseenTotal);
+        int largestClaim = tally.caught.length - 1;
+
+        for (int i = 0; i < samples; i++) {
+            if ((i & CLOCK_MASK) == 0 && System.nanoTime() - deadlineNanos >= 0) {
+                return;
+            }
+            if (claimed > 0) {
+                reset();
+                boolean demon = false;
+                int plainMainLike = 0;
+                for (int drawn = 0; drawn < previousHand; drawn++) {
+                    int category = draw();
+                    demon |= category == DEMON;
+                    if (category == MAIN || category == JACK) {
+                        plainMainLike++;
+                    }
+                }
+                if (plainMainLike < claimed) {
+                    // The demon only goes out alone.
+                    if (demon && claimed == 1) {
+                        tally.demons++;
+                    } else {
+                        tally.lies++;
+                    }
+                }
+            }
+            if (nextHand > 0) {
+                reset();
+                int heldMainLike = 0;
+                for (int drawn = 0; drawn < nextHand; drawn++) {
+                    if (draw() != OTHER) {
+                        heldMainLike++;
+                    }
+                }
+                // Chance, as the next player sees it, that k cards they cannot see are all main-like.
+                int hiddenMainLike = deckMainLike - heldMainLike;
+                int hidden = deckSize - nextHand;
+                double honest = 1.0;
+                for (int k = 1; k <= largestClaim; k++) {
+                    honest = hiddenMainLike - k < 0 || hidden - k < 0
+                            ? 0.0
+                            : honest * (hiddenMainLike - k + 1) / (hidden - k + 1);
+                    if (honest < 0.5) {
+                        tally.caught[k]++;
+                    }
+                }
+            }
+            tally.samples++;
+        }
+    }
+
+    private void reset() {
+        left[MAIN] = unseen[MAIN];
+        left[JACK] = unseen[JACK];
+        left[DEMON] = unseen[DEMON];
+        left[OTHER] = unseen[OTHER];
+        leftTotal = unseenTotal;
+    }
+
+    /**
+     * Takes one card, without replacement, and returns its category.
+     */
+    private int draw() {
+        int pick = random.nextInt(leftTotal);
+        int category = MAIN;
+        while (pick >= left[category]) {
+            pick -= left[category];
+            category++;
+        }
+        left[category]--;
+        leftTotal--;
+        return category;
+    }
+
+    /**
+     * Sample counts of one worker, merged up the fork/join tree.
+     */
+    static final class Tally {
+        int samples;
+        int lies;
+        int demons;
+        // Index k: samples in which the next player would challenge a claim of k cards.
+        final int[] caught;
+
+        Tally(int largestClaim) {
+            this.caught = new int[Math.max(0, largestClaim) + 1];
+        }
+
+        Tally add(Tally other) {
+            samples += other.samples;
+            lies += other.lies;
+            demons += other.demons;
+            for (int k = 0; k < caught.length; k++) {
+                caught[k] += other.caught[k];
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package cn.pianzi.liarbar.core.checkpoint;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * One file per table holding its latest {@code LiarBarTable#checkpoint()}. Files are written to a
+ * temporary sibling and moved into place, so a crash mid-write never leaves a half-written checkpoint.
+ * Safe to use from several threads as long as each table id is handled by one thread at a time.
+ */
+public final class CheckpointStore {
+    private static final String EXTENSION = ".checkpoint";
+
+    private final Path directory;
+
+    public CheckpointStore(Path directory) {
+        this.directory = Objects.requireNonNull(directory, "directory");
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("cannot create checkpoint directory " + directory, ex);
+        }
+    }
+
+    public Optional<byte[]> read(String tableId) {
+        Path file = fileOf(tableId);
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Files.readAllBytes(file));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("cannot read checkpoint " + file, ex);
+        }
+    }
+
+    public void write(String tableId, byte[] checkpoint) {
+        Objects.requireNonNull(checkpoint, "checkpoint");
+        Path file = fileOf(tableId);
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.write(temp, checkpoint);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("cannot write checkpoint " + file, ex);
+        }
+    }
+
+    public void delete(String tableId) {
+        Path file = fileOf(tableId);
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("cannot delete checkpoint " + file, ex);
+        }
+    }
+
+    /**
+     * Moves an unreadable checkpoint aside as {@code <name>.corrupt-<millis>} so it is kept for inspection
+     * but not loaded again.
+     */
+    public void quarantine(String tableId) {
+        Path file = fileOf(tableId);
+        try {
+            if (Files.exists(file)) {
+                Files.move(file, file.resolveSibling(file.getFileName() + ".corrupt-" + System.currentTimeMillis()),
+                        StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("cannot quarantine checkpoint " + file, ex);
+        }
+    }
+
+    private Path fileOf(String tableId) {
+        Objects.requireNonNull(tableId, "tableId");
+        return directory.resolve(tableId.replaceAll("[^A-Za-z0-9_\\-]", "_") + EXTENSION);
+    }
+}
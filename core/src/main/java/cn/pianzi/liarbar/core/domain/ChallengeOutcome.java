@@ -0,0 +1,7 @@
+package cn.pianzi.liarbar.core.domain;
+
+public enum ChallengeOutcome {
+    DEMON,
+    NOT_MAIN,
+    MAIN
+}
@@ -0,0 +1,69 @@
+package cn.pianzi.liarbar.core.domain;
+
+/**
+ * A {@link Card} packed into an {@code int}: bits 0-1 hold the {@link CardRank} ordinal,
+ * bit 2 the demon flag and bits 3-30 the card id. Tables keep decks and hands in this form
+ * and only materialize {@link Card} records at the public API boundary.
+ */
+public final class PackedCard {
+    public static final long MAX_ID = (1L << 28) - 1;
+
+    private static final CardRank[] RANKS = CardRank.values();
+    private static final int RANK_MASK = 0b11;
+    private static final int DEMON_BIT = 1 << 2;
+    private static final int ID_SHIFT = 3;
+
+    private PackedCard() {
+    }
+
+    public static int pack(long id, CardRank rank, boolean demon) {
+        if (id < 0 || id > MAX_ID) {
+            throw new IllegalArgumentException("card id out of range: " + id);
+        }
+        return (int) id << ID_SHIFT | (demon ? DEMON_BIT : 0) | rank.ordinal();
+    }
+
+    public static int pack(Card card) {
+        return pack(card.id(), card.rank(), card.demon());
+    }
+
+    public static long id(int packed) {
+        return packed >>> ID_SHIFT;
+    }
+
+    public static CardRank rank(int packed) {
+        return RANKS[packed & RANK_MASK];
+    }
+
+    public static boolean isDemon(int packed) {
+        return (packed & DEMON_BIT) != 0;
+    }
+
+    public static int withId(int packed, long id) {
+        return pack(id, rank(packed), isDemon(packed));
+    }
+
+    public static int asDemon(int packed) {
+        return packed | DEMON_BIT;
+    }
+
+    /**
+     * Same rule as {@link Card#isMainLike(CardRank)}.
+     */
+    public static boolean isMainLike(int packed, CardRank mainRank) {
+        CardRank rank = rank(packed);
+        return isDemon(packed) || rank == CardRank.J || rank == mainRank;
+    }
+
+    public static Card toCard(int packed) {
+        return new Card(id(packed), rank(packed), isDemon(packed));
+    }
+
+    public static Card[] toCards(int[] packed, int length) {
+        Card[] cards = new Card[length];
+        for (int i = 0; i < length; i++) {
+            cards[i] = toCard(packed[i]);
+        }
+        return cards;
+    }
+}
@@ -0,0 +1,23 @@
+package cn.pianzi.liarbar.core.escrow;
+
+import cn.pianzi.liarbar.core.domain.TableMode;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * An open escrow: the stakes a table holds for its current game, per player, net of refunds and payouts.
+ */
+public record Escrow(long escrowId, String tableId, TableMode mode, Map<UUID, Integer> stakes) {
+    public Escrow {
+        stakes = Map.copyOf(stakes);
+    }
+
+    public long total() {
+        long total = 0;
+        for (int stake : stakes.values()) {
+            total += stake;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,109 @@
+package cn.pianzi.liarbar.core.escrow;
+
+import cn.pianzi.liarbar.core.domain.TableMode;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/**
+ * Binary layout of the escrow log:
+ * <pre>
+ * header: int magic "LBE1", short format version
+ * entry: int payload length, payload, int CRC32 of payload
+ * payload: byte kind, long escrow id, short table id length, table id UTF-8, long msb, long lsb player,
+ *          byte mode, int amount
+ * </pre>
+ * A {@code FORFEIT} entry stores a zero player.
+ */
+final class EscrowCodec {
+    static final int MAGIC = 0x4C424531;
+    static final short FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = Integer.BYTES + Short.BYTES;
+    static final int RECORD_OVERHEAD = Integer.BYTES * 2;
+
+    private static final EscrowEntryKind[] KINDS = EscrowEntryKind.values();
+    private static final TableMode[] MODES = TableMode.values();
+    private static final int FIXED_PAYLOAD = 1 + Long.BYTES + Short.BYTES + 2 * Long.BYTES + 1 + Integer.BYTES;
+
+    private EscrowCodec() {
+    }
+
+    static ByteBuffer header() {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE);
+        buffer.putInt(MAGIC).putShort(FORMAT_VERSION);
+        return buffer.flip();
+    }
+
+    static void checkHeader(ByteBuffer buffer) {
+        if (buffer.getInt() != MAGIC) {
+            throw new IllegalStateException("not a liar bar escrow log");
+        }
+        short version = buffer.getShort();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalStateException("unsupported escrow log format version: " + version);
+        }
+    }
+
+    static ByteBuffer encode(EscrowEntry entry) {
+        byte[] tableId = entry.tableId().getBytes(StandardCharsets.UTF_8);
+        if (tableId.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("table id too long");
+        }
+        int payloadSize = FIXED_PAYLOAD + tableId.length;
+        ByteBuffer buffer = ByteBuffer.allocate(payloadSize + RECORD_OVERHEAD);
+        buffer.putInt(payloadSize);
+        buffer.put((byte) entry.kind().ordinal());
+        buffer.putLong(entry.escrowId());
+        buffer.putShort((short) tableId.length);
+        buffer.put(tableId);
+        UUID playerId = entry.playerId();
+        buffer.putLong(playerId == null ? 0L : playerId.getMostSignificantBits());
+        buffer.putLong(playerId == null ? 0L : playerId.getLeastSignificantBits());
+        buffer.put((byte) entry.mode().ordinal());
+        buffer.putInt(entry.amount());
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), Integer.BYTES, payloadSize);
+        buffer.putInt((int) crc.getValue());
+        return buffer.flip();
+    }
+
+    /**
+     * Decodes the entry at the buffer position, or returns {@code null} without consuming anything
+     * if the remaining bytes hold no complete, intact entry (a torn write at the tail).
+     */
+    static EscrowEntry decode(ByteBuffer buffer) {
+        int start = buffer.position();
+        if (buffer.remaining() < RECORD_OVERHEAD) {
+            return null;
+        }
+        int payloadSize = buffer.getInt(start);
+        if (payloadSize < FIXED_PAYLOAD || buffer.remaining() < payloadSize + RECORD_OVERHEAD) {
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(start + Integer.BYTES, payloadSize));
+        if ((int) crc.getValue() != buffer.getInt(start + Integer.BYTES + payloadSize)) {
+            return null;
+        }
+
+        ByteBuffer payload = buffer.slice(start + Integer.BYTES, payloadSize);
+        EscrowEntryKind kind = KINDS[payload.get()];
+        long escrowId = payload.getLong();
+        byte[] tableId = new byte[payload.getShort()];
+        payload.get(tableId);
+        UUID playerId = new UUID(payload.getLong(), payload.getLong());
+        TableMode mode = MODES[payload.get()];
+        int amount = payload.getInt();
+        buffer.position(start + payloadSize + RECORD_OVERHEAD);
+        return new EscrowEntry(
+                kind,
+                escrowId,
+                new String(tableId, StandardCharsets.UTF_8),
+                kind == EscrowEntryKind.FORFEIT ? null : playerId,
+                mode,
+                amount
+        );
+    }
+}
@@ -0,0 +1,20 @@
+package cn.pianzi.liarbar.core.escrow;
+
+import cn.pianzi.liarbar.core.domain.TableMode;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * One write-ahead log entry. {@code playerId} is {@code null} for {@link EscrowEntryKind#FORFEIT}.
+ */
+record EscrowEntry(EscrowEntryKind kind, long escrowId, String tableId, UUID playerId, TableMode mode, int amount) {
+    EscrowEntry {
+        Objects.requireNonNull(kind, "kind");
+        Objects.requireNonNull(tableId, "tableId");
+        Objects.requireNonNull(mode, "mode");
+        if (kind != EscrowEntryKind.FORFEIT) {
+            Objects.requireNonNull(playerId, "playerId");
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package cn.pianzi.liarbar.core.escrow;
+
+/**
+ * What one {@link EscrowLedger} entry did to a table's escrow.
+ */
+public enum EscrowEntryKind {
+    /** A player's stake was withdrawn into the escrow. */
+    HOLD,
+    /** A stake was handed back during play, e.g. when mode selection rolled back. */
+    REFUND,
+    /** The winner was paid out of the escrow. */
+    PAYOUT,
+    /** The game ended and whatever was left in the escrow stays with the house. */
+    FORFEIT,
+    /** A stake was handed back by {@link EscrowLedger#settle} after its table did not come back. */
+    SETTLE
+}
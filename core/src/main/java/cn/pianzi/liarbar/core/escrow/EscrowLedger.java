@@ -0,0 +1,558 @@
+package cn.pianzi.liarbar.core.escrow;
+
+import cn.pianzi.liarbar.core.domain.TableMode;
+import cn.pianzi.liarbar.core.port.AsyncEconomyPort;
+import cn.pianzi.liarbar.core.port.EconomyPort;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-ahead log of every wager that passes through a table: stakes held, refunds, payouts and forfeits,
+ * so a crash between a charge and its payout leaves a record of whose money is where.
+ *
+ * <p>Entries update the in-memory escrows immediately and are written by one background thread that
+ * drains whatever has queued up, writes it and forces the file once, so every wager table shares one
+ * {@code fsync} per batch. The futures returned for entries complete once they are durable.
+ *
+ * <p>Each game holds its stakes in an escrow of its own. On open the log is replayed and rewritten to hold
+ * only the escrows still open; {@link #settleOrphans} then hands back those whose table did not resume its
+ * game. An escrow left over from an earlier run is never merged into a new game: the first stake of that
+ * game settles it first.
+ */
+public final class EscrowLedger implements AutoCloseable {
+    private static final System.Logger LOGGER = System.getLogger(EscrowLedger.class.getName());
+    private static final int MAX_BATCH = 512;
+    private static final String FILE_NAME = "escrow.wal";
+
+    private final Path file;
+    private final BlockingQueue<PendingWrite> pending = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    // Guarded by this.
+    private final Map<String, OpenEscrow> open = new HashMap<>();
+    private long nextEscrowId = 1;
+    private boolean closed;
+    // Writer thread only, once the constructor returns.
+    private FileChannel channel;
+    private boolean failed;
+
+    public EscrowLedger(Path directory) {
+        Objects.requireNonNull(directory, "directory");
+        this.file = directory.resolve(FILE_NAME);
+        try {
+            Files.createDirectories(directory);
+            recover();
+            compact();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("cannot open escrow log " + file, ex);
+        }
+        this.writer = Thread.ofPlatform()
+                .name("liar-bar-escrow")
+                .daemon(true)
+                .start(this::writeLoop);
+    }
+
+    /**
+     * Wraps the economy of one table so every charge, refund, payout and forfeit is logged.
+     */
+    public EconomyPort guard(String tableId, EconomyPort economy) {
+        return new GuardedEconomy(Objects.requireNonNull(tableId, "tableId"), Objects.requireNonNull(economy, "economy"));
+    }
+
+    /**
+     * Same as {@link #guard(String, EconomyPort)}; a charge completes only once its hold is durable, and a
+     * refund or payout is paid only once its entry is.
+     */
+    public AsyncEconomyPort guard(String tableId, AsyncEconomyPort economy) {
+        return new GuardedAsyncEconomy(Objects.requireNonNull(tableId, "tableId"), Objects.requireNonNull(economy, "economy"));
+    }
+
+    /**
+     * Escrows holding money right now, oldest first.
+     */
+    public synchronized List<Escrow> outstanding() {
+        List<Escrow> escrows = new ArrayList<>(open.size());
+        for (OpenEscrow escrow : open.values()) {
+            escrows.add(escrow.toEscrow());
+        }
+        escrows.sort(Comparator.comparingLong(Escrow::escrowId));
+        return escrows;
+    }
+
+    /**
+     * Hands every stake of {@code escrows} back through {@code refunds} and closes them. Each refund is logged
+     * and made durable before it is paid, and escrows that moved on since they were listed are skipped, so
+     * settling twice never pays twice; a crash between the log write and the payment loses that refund instead.
+     *
+     * @return number of stakes refunded
+     */
+    public int settle(Collection<Escrow> escrows, EconomyPort refunds) {
+        Objects.requireNonNull(refunds, "refunds");
+        List<EscrowEntry> settled = new ArrayList<>();
+        CompletableFuture<Void> durable = CompletableFuture.completedFuture(null);
+        synchronized (this) {
+            for (Escrow listed : escrows) {
+                OpenEscrow escrow = open.get(listed.tableId());
+                if (escrow != null && escrow.id == listed.escrowId()) {
+                    durable = close(escrow, settled);
+                }
+            }
+        }
+        // One writer, in order: the last entry being durable means all of them are.
+        durable.join();
+        refundAll(settled, refunds);
+        return settled.size();
+    }
+
+    /**
+     * Reconciles the escrows left open by the last run, before any table takes a command: those of
+     * {@code resumedTables} stay with the game their table resumed, every other one is {@linkplain #settle
+     * settled} through {@code refunds}.
+     *
+     * @return number of stakes refunded
+     */
+    public int settleOrphans(Set<String> resumedTables, EconomyPort refunds) {
+        Objects.requireNonNull(resumedTables, "resumedTables");
+        List<Escrow> orphaned = new ArrayList<>();
+        synchronized (this) {
+            for (OpenEscrow escrow : open.values()) {
+                if (!escrow.recovered) {
+                    continue;
+                }
+                if (resumedTables.contains(escrow.tableId)) {
+                    escrow.recovered = false;
+                } else {
+                    orphaned.add(escrow.toEscrow());
+                }
+            }
+        }
+        return settle(orphaned, refunds);
+    }
+
+    /**
+     * Settles the escrow of {@code tableId} if it is left over from an earlier run and was never
+     * reconciled, so a stake of a new game never joins it.
+     *
+     * @return the refunds to pay, once their entries are durable
+     */
+    private synchronized CompletableFuture<List<EscrowEntry>> retireStale(String tableId) {
+        OpenEscrow escrow = open.get(tableId);
+        if (escrow == null || !escrow.recovered) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        LOGGER.log(System.Logger.Level.WARNING, "Escrow " + escrow.id + " of table " + tableId
+                + " was left open by an earlier run; settling it before the new game's stakes");
+        List<EscrowEntry> settled = new ArrayList<>();
+        return close(escrow, settled).thenApply(ignored -> settled);
+    }
+
+    /**
+     * Logs a refund of every positive stake of {@code escrow} into {@code settled} and forfeits whatever
+     * nets out below zero, so the escrow is closed either way.
+     *
+     * @return completes once the last entry is durable
+     */
+    private CompletableFuture<Void> close(OpenEscrow escrow, List<EscrowEntry> settled) {
+        List<EscrowEntry> entries = new ArrayList<>();
+        escrow.stakes.forEach((playerId, stake) -> {
+            if (stake > 0) {
+                entries.add(new EscrowEntry(EscrowEntryKind.SETTLE, escrow.id, escrow.tableId, playerId,
+                        escrow.mode, stake));
+            }
+        });
+        CompletableFuture<Void> durable = CompletableFuture.completedFuture(null);
+        for (EscrowEntry entry : entries) {
+            apply(entry);
+            durable = enqueue(entry);
+        }
+        settled.addAll(entries);
+        if (open.get(escrow.tableId) == escrow) {
+            EscrowEntry forfeit = new EscrowEntry(EscrowEntryKind.FORFEIT, escrow.id, escrow.tableId, null,
+                    escrow.mode, 0);
+            apply(forfeit);
+            durable = enqueue(forfeit);
+        }
+        return durable;
+    }
+
+    private static void refundAll(List<EscrowEntry> settled, EconomyPort refunds) {
+        for (EscrowEntry entry : settled) {
+            try {
+                refunds.refund(entry.playerId(), entry.mode(), entry.amount());
+            } catch (RuntimeException ex) {
+                LOGGER.log(System.Logger.Level.ERROR, "Escrow " + entry.escrowId() + ": cannot refund "
+                        + entry.amount() + " " + entry.mode() + " to player " + entry.playerId(), ex);
+            }
+        }
+    }
+
+    private synchronized CompletableFuture<Void> record(
+            EscrowEntryKind kind,
+            String tableId,
+            UUID playerId,
+            TableMode mode,
+            int amount
+    ) {
+        OpenEscrow escrow = open.get(tableId);
+        long escrowId;
+        if (escrow != null) {
+            escrowId = escrow.id;
+        } else if (kind == EscrowEntryKind.HOLD) {
+            escrowId = nextEscrowId;
+        } else if (kind == EscrowEntryKind.FORFEIT) {
+            return CompletableFuture.completedFuture(null);
+        } else {
+            // Released without a logged hold, e.g. a game that started before the ledger existed; kept for audit.
+            escrowId = 0;
+        }
+        EscrowEntry entry = new EscrowEntry(kind, escrowId, tableId, playerId, mode, amount);
+        apply(entry);
+        return enqueue(entry);
+    }
+
+    private void apply(EscrowEntry entry) {
+        nextEscrowId = Math.max(nextEscrowId, entry.escrowId() + 1);
+        OpenEscrow escrow = open.get(entry.tableId());
+        if (entry.kind() == EscrowEntryKind.HOLD) {
+            if (escrow == null) {
+                escrow = new OpenEscrow(entry.escrowId(), entry.tableId(), entry.mode());
+                open.put(entry.tableId(), escrow);
+            }
+            escrow.add(entry.playerId(), entry.amount());
+            return;
+        }
+        if (escrow == null || escrow.id != entry.escrowId()) {
+            return;
+        }
+        if (entry.kind() == EscrowEntryKind.FORFEIT) {
+            open.remove(entry.tableId());
+            return;
+        }
+        escrow.add(entry.playerId(), -entry.amount());
+        if (escrow.outstanding <= 0) {
+            open.remove(entry.tableId());
+        }
+    }
+
+    private CompletableFuture<Void> enqueue(EscrowEntry entry) {
+        if (closed) {
+            return CompletableFuture.completedFuture(null);
+        }
+        PendingWrite write = new PendingWrite(EscrowCodec.encode(entry), new CompletableFuture<>());
+        pending.add(write);
+        return write.durable();
+    }
+
+    private void recover() throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        try {
+            EscrowCodec.checkHeader(buffer);
+        } catch (RuntimeException ex) {
+            Path target = file.resolveSibling(FILE_NAME + ".corrupt-" + System.currentTimeMillis());
+            Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+            LOGGER.log(System.Logger.Level.ERROR, "Unreadable escrow log header in " + file + ": " + ex.getMessage()
+                    + "; moved aside to " + target + " for manual reconciliation");
+            return;
+        }
+        EscrowEntry entry;
+        while ((entry = EscrowCodec.decode(buffer)) != null) {
+            apply(entry);
+        }
+        for (OpenEscrow escrow : open.values()) {
+            escrow.recovered = true;
+        }
+        if (buffer.hasRemaining()) {
+            LOGGER.log(System.Logger.Level.WARNING, "Dropping " + buffer.remaining()
+                    + " bytes of torn tail from " + file);
+        }
+    }
+
+    /**
+     * Rewrites the log as the net stakes of the open escrows, so it only grows with live games.
+     */
+    private void compact() throws IOException {
+        Path temp = file.resolveSibling(FILE_NAME + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(out, EscrowCodec.header());
+            for (OpenEscrow escrow : open.values()) {
+                // Holds first so the escrow never looks settled halfway through its own replay.
+                for (Map.Entry<UUID, Integer> stake : escrow.stakes.entrySet()) {
+                    if (stake.getValue() > 0) {
+                        writeFully(out, EscrowCodec.encode(new EscrowEntry(EscrowEntryKind.HOLD, escrow.id,
+                                escrow.tableId, stake.getKey(), escrow.mode, stake.getValue())));
+                    }
+                }
+                for (Map.Entry<UUID, Integer> stake : escrow.stakes.entrySet()) {
+                    if (stake.getValue() < 0) {
+                        writeFully(out, EscrowCodec.encode(new EscrowEntry(EscrowEntryKind.PAYOUT, escrow.id,
+                                escrow.tableId, stake.getKey(), escrow.mode, -stake.getValue())));
+                    }
+                }
+            }
+            out.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        if (!open.isEmpty()) {
+            LOGGER.log(System.Logger.Level.INFO, open.size() + " escrows still open in " + file);
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingWrite> batch = new ArrayList<>(MAX_BATCH);
+        while (true) {
+            try {
+                batch.add(pending.take());
+            } catch (InterruptedException ex) {
+                return;
+            }
+            pending.drainTo(batch, MAX_BATCH - 1);
+            boolean stop = false;
+            boolean dirty = false;
+            for (PendingWrite write : batch) {
+                if (write.payload() == null) {
+                    stop = true;
+                } else if (!failed) {
+                    dirty |= write(write.payload());
+                }
+            }
+            if (dirty) {
+                force();
+            }
+            // Completed even after a failure: the money already moved, and the failure is logged.
+            for (PendingWrite write : batch) {
+                write.durable().complete(null);
+            }
+            batch.clear();
+            if (stop) {
+                closeChannel();
+                return;
+            }
+        }
+    }
+
+    private boolean write(ByteBuffer payload) {
+        try {
+            writeFully(channel, payload);
+            return true;
+        } catch (IOException ex) {
+            fail(ex);
+            return false;
+        }
+    }
+
+    private void force() {
+        if (failed) {
+            return;
+        }
+        try {
+            channel.force(false);
+        } catch (IOException ex) {
+            fail(ex);
+        }
+    }
+
+    private void fail(IOException ex) {
+        failed = true;
+        LOGGER.log(System.Logger.Level.ERROR, "Escrow log " + file + " disabled after I/O failure; "
+                + "wagers are no longer recorded", ex);
+        closeChannel();
+    }
+
+    private void closeChannel() {
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException ignored) {
+            // Nothing left to flush that force() did not already report.
+        }
+        channel = null;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Makes everything recorded so far durable and stops the writer. Entries recorded afterwards only
+     * update the in-memory view.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pending.add(new PendingWrite(null, new CompletableFuture<>()));
+        }
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            LOGGER.log(System.Logger.Level.WARNING, "Escrow writer did not finish within 5s; "
+                    + pending.size() + " entries may not be durable");
+        }
+    }
+
+    private record PendingWrite(ByteBuffer payload, CompletableFuture<Void> durable) {
+    }
+
+    private static final class OpenEscrow {
+        private final long id;
+        private final String tableId;
+        private final TableMode mode;
+        private final Map<UUID, Integer> stakes = new LinkedHashMap<>();
+        private long outstanding;
+        // Left open by an earlier run and not yet claimed by a resumed game.
+        private boolean recovered;
+
+        private OpenEscrow(long id, String tableId, TableMode mode) {
+            this.id = id;
+            this.tableId = tableId;
+            this.mode = mode;
+        }
+
+        private void add(UUID playerId, int delta) {
+            stakes.merge(playerId, delta, (a, b) -> a + b == 0 ? null : a + b);
+            outstanding += delta;
+        }
+
+        private Escrow toEscrow() {
+            return new Escrow(id, tableId, mode, stakes);
+        }
+    }
+
+    private final class GuardedEconomy implements EconomyPort {
+        private final String tableId;
+        private final EconomyPort economy;
+
+        private GuardedEconomy(String tableId, EconomyPort economy) {
+            this.tableId = tableId;
+            this.economy = economy;
+        }
+
+        @Override
+        public boolean charge(UUID playerId, TableMode mode, int amount) {
+            boolean charged = economy.charge(playerId, mode, amount);
+            if (charged && mode.isWagerMode()) {
+                refundAll(retireStale(tableId).join(), economy);
+                record(EscrowEntryKind.HOLD, tableId, playerId, mode, amount);
+            }
+            return charged;
+        }
+
+        @Override
+        public void refund(UUID playerId, TableMode mode, int amount) {
+            if (mode.isWagerMode()) {
+                record(EscrowEntryKind.REFUND, tableId, playerId, mode, amount);
+            }
+            economy.refund(playerId, mode, amount);
+        }
+
+        @Override
+        public void reward(UUID playerId, TableMode mode, int amount) {
+            if (mode.isWagerMode()) {
+                record(EscrowEntryKind.PAYOUT, tableId, playerId, mode, amount);
+            }
+            economy.reward(playerId, mode, amount);
+        }
+
+        @Override
+        public void gameEnded(TableMode mode) {
+            record(EscrowEntryKind.FORFEIT, tableId, null, mode, 0);
+            economy.gameEnded(mode);
+        }
+    }
+
+    private final class GuardedAsyncEconomy implements AsyncEconomyPort {
+        private final String tableId;
+        private final AsyncEconomyPort economy;
+
+        private GuardedAsyncEconomy(String tableId, AsyncEconomyPort economy) {
+            this.tableId = tableId;
+            this.economy = economy;
+        }
+
+        @Override
+        public CompletionStage<Boolean> charge(UUID playerId, TableMode mode, int amount) {
+            return economy.charge(playerId, mode, amount).thenCompose(charged -> {
+                if (!charged || !mode.isWagerMode()) {
+                    return CompletableFuture.completedFuture(charged);
+                }
+                return retireStale(tableId)
+                        .thenCompose(this::refundStale)
+                        .thenCompose(ignored -> record(EscrowEntryKind.HOLD, tableId, playerId, mode, amount))
+                        .thenApply(ignored -> true);
+            });
+        }
+
+        @Override
+        public CompletionStage<Void> refund(UUID playerId, TableMode mode, int amount) {
+            if (!mode.isWagerMode()) {
+                return economy.refund(playerId, mode, amount);
+            }
+            return record(EscrowEntryKind.REFUND, tableId, playerId, mode, amount)
+                    .thenCompose(ignored -> economy.refund(playerId, mode, amount));
+        }
+
+        @Override
+        public CompletionStage<Void> reward(UUID playerId, TableMode mode, int amount) {
+            if (!mode.isWagerMode()) {
+                return economy.reward(playerId, mode, amount);
+            }
+            return record(EscrowEntryKind.PAYOUT, tableId, playerId, mode, amount)
+                    .thenCompose(ignored -> economy.reward(playerId, mode, amount));
+        }
+
+        @Override
+        public void gameEnded(TableMode mode) {
+            record(EscrowEntryKind.FORFEIT, tableId, null, mode, 0);
+            economy.gameEnded(mode);
+        }
+
+        private CompletableFuture<Void> refundStale(List<EscrowEntry> settled) {
+            CompletableFuture<Void> refunded = CompletableFuture.completedFuture(null);
+            for (EscrowEntry entry : settled) {
+                refunded = refunded.thenCompose(ignored -> economy.refund(entry.playerId(), entry.mode(), entry.amount())
+                        .toCompletableFuture()
+                        .exceptionally(ex -> {
+                            LOGGER.log(System.Logger.Level.ERROR, "Escrow " + entry.escrowId() + ": cannot refund "
+                                    + entry.amount() + " " + entry.mode() + " to player " + entry.playerId(), ex);
+                            return null;
+                        }));
+            }
+            return refunded;
+        }
+    }
+}
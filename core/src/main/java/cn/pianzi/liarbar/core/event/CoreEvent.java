@@ -1,21 +1,383 @@
 package cn.pianzi.liarbar.core.event;
 
+import cn.pianzi.liarbar.core.domain.Card;
+import cn.pianzi.liarbar.core.domain.CardRank;
+import cn.pianzi.liarbar.core.domain.ChallengeOutcome;
+import cn.pianzi.liarbar.core.domain.GamePhase;
+import cn.pianzi.liarbar.core.domain.PackedCard;
+import cn.pianzi.liarbar.core.domain.TableMode;
+
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Semantic event emitted by the table engine. Each {@link CoreEventType} has exactly one record
+ * carrying its fields directly, so producers never box or hash.
+ */
+public sealed interface CoreEvent {
+    CoreEventType type();
+
+    String message();
+
+    /**
+     * Untyped key/value view of the payload for consumers that still read events by key.
+     * Built on every call; prefer the record accessors on hot paths.
+     */
+    Map<String, Object> data();
+
+    record HostAssigned(UUID playerId) implements CoreEvent {
+        @Override
+        public CoreEventType type() {
+            return CoreEventType.HOST_ASSIGNED;
+        }
+
+        @Override
+        public String message() {
+            return "host assigned";
+        }
 
-public record CoreEvent(CoreEventType type, String message, Map<String, Object> data) {
-    public CoreEvent {
-        if (data == null) {
-            data = Map.of();
+        @Override
+        public Map<String, Object> data() {
+            return Map.of("playerId", playerId);
         }
-        // Skip defensive copy for already-unmodifiable maps (Map.of / Map.copyOf)
     }
 
-    public static CoreEvent of(CoreEventType type, String message) {
-        return new CoreEvent(type, message, Map.of());
+    record ModeSelected(UUID actor, TableMode mode, int wagerPerPlayer, int maxPlayers) implements CoreEvent {
+        @Override
+        public CoreEventType type() {
+            return CoreEventType.MODE_SELECTED;
+        }
+
+        @Override
+        public String message() {
+            return "mode selected";
+        }
+
+        @Override
+        public Map<String, Object> data() {
+            return Map.of(
+                    "actor", actor,
+                    "mode", mode.name(),
+                    "wagerPerPlayer", wagerPerPlayer,
+                    "maxPlayers", maxPlayers
+            );
+        }
     }
 
-    public static CoreEvent of(CoreEventType type, String message, Map<String, Object> data) {
-        return new CoreEvent(type, message, Map.copyOf(data));
+    record PlayerJoined(UUID playerId, int seat, int joinedCount, int maxPlayers) implements CoreEvent {
+        @Override
+        public CoreEventType type() {
+            return CoreEventType.PLAYER_JOINED;
+        }
+
+        @Override
+        public String message() {
+            return "player joined";
+        }
+
+        @Override
+        public Map<String, Object> data() {
+            return Map.of(
+                    "playerId", playerId,
+                    "seat", seat,
+                    "joinedCount", joinedCount,
+                    "maxPlayers", maxPlayers
+            );
+        }
+    }
+
+    /**
+     * A player left: before the game started ({@code beforeStart}) or mid-game, which resets the round.
+     */
+    record PlayerForfeited(UUID playerId, int seat, GamePhase phase, boolean beforeStart) implements CoreEvent {
+        @Override
+        public CoreEventType type() {
+            return CoreEventType.PLAYER_FORFEITED;
+        }
+
+        @Override
+        public String message() {
+            return beforeStart ? "player left before game start" : "player disconnected and forfeited";
+        }
+
+        @Override
+        public Map<String, Object> data() {
+            if (beforeStart) {
+                return Map.of(
+                        "playerId", playerId,
+                        "seat", seat,
+                        "phase", phase.name(),
+                        "beforeStart", true
+                );
+            }
+            return Map.of(
+                    "playerId", playerId,
+                    "seat", seat,
+                    "phase", phase.name(),
+                    "beforeStart", false,
+                    "roundReset", true
+            );
+        }
+    }
+
+    record PhaseChanged(GamePhase phase, String reason) implements CoreEvent {
+        @Override
+        public CoreEventType type() {
+            return CoreEventType.PHASE_CHANGED;
+        }
+
+        @Override
+        public String message() {
+            return "phase changed";
+        }
+
+        @Override
+        public Map<String, Object> data() {
+            return Map.of("phase", phase.name(), "reason", reason);
+        }
+    }
+
+    record DealCompleted(int round, CardRank mainRank, int alivePlayers) implements CoreEvent {
+        @Override
+        public CoreEventType type() {
+            return CoreEventType.DEAL_COMPLETED;
+        }
+
+        @Override
+        public String message() {
+            return "deal completed";
+        }
+
+        @Override
+        public Map<String, Object> data() {
+            return Map.of(
+                    "round", round,
+                    "mainRank", mainRank.name(),
+                    "alivePlayers", alivePlayers
+            );
+        }
+    }
+
+    record TurnChanged(UUID playerId, GamePhase phase, boolean forceChallenge) implements CoreEvent {
+        @Override
+        public CoreEventType type() {
+            return CoreEventType.TURN_CHANGED;
+        }
+
+        @Override
+        public String message() {
+            return phase == GamePhase.FIRST_TURN ? "first turn selected" : "turn moved";
+        }
+
+        @Override
+        public Map<String, Object> data() {
+            return Map.of(
+                    "playerId", playerId,
+                    "phase", phase.name(),
+                    "forceChallenge", forceChallenge
+            );
+        }
+    }
+
+    record ForceChallenge(UUID playerId) implements CoreEvent {
+        @Override
+        public CoreEventType type() {
+            return CoreEventType.FORCE_CHALLENGE;
+        }
+
+        @Override
+        public String message() {
+            return "only one player has cards, challenge forced";
+        }
+
+        @Override
+        public Map<String, Object> data() {
+            return Map.of("playerId", playerId);
+        }
     }
-}
 
+    record CardsPlayed(UUID playerId, int count) implements CoreEvent {
+        @Override
+        public CoreEventType type() {
+            return CoreEventType.CARDS_PLAYED;
+        }
+
+        @Override
+        public String message() {
+            return "cards played";
+        }
+
+        @Override
+        public Map<String, Object> data() {
+            return Map.of("playerId", playerId, "count", count);
+        }
+    }
+
+    /**
+     * Private counterpart of {@link CardsPlayed} for the player who played. The array is owned by the event.
+     */
+    record CardsPlayedDetail(UUID playerId, CardRank[] ranks, boolean containsDemon) implements CoreEvent {
+        public int count() {
+            return ranks.length;
+        }
+
+        @Override
+        public CoreEventType type() {
+            return CoreEventType.CARDS_PLAYED_DETAIL;
+        }
+
+        @Override
+        public String message() {
+            return "cards played detail";
+        }
+
+        @Override
+        public Map<String, Object> data() {
+            List<String> rankNames = new ArrayList<>(ranks.length);
+            for (CardRank rank : ranks) {
+                rankNames.add(rank.name());
+            }
+            return Map.of(
+                    "playerId", playerId,
+                    "count", ranks.length,
+                    "ranks", List.copyOf(rankNames),
+                    "containsDemon", containsDemon
+            );
+        }
+    }
+
+    record ChallengeResolved(
+            UUID challenger,
+            UUID lastPlayer,
+            ChallengeOutcome outcome,
+            List<UUID> shooters
+    ) implements CoreEvent {
+        @Override
+        public CoreEventType type() {
+            return CoreEventType.CHALLENGE_RESOLVED;
+        }
+
+        @Override
+        public String message() {
+            return "challenge resolved";
+        }
+
+        @Override
+        public Map<String, Object> data() {
+            return Map.of(
+                    "challenger", challenger,
+                    "lastPlayer", lastPlayer,
+                    "outcome", outcome.name(),
+                    "shooters", shooters
+            );
+        }
+    }
+
+    record ShotResolved(UUID playerId, int roll, int bulletsBefore, int bulletsAfter, boolean lethal) implements CoreEvent {
+        @Override
+        public CoreEventType type() {
+            return CoreEventType.SHOT_RESOLVED;
+        }
+
+        @Override
+        public String message() {
+            return "shot resolved";
+        }
+
+        @Override
+        public Map<String, Object> data() {
+            return Map.of(
+                    "playerId", playerId,
+                    "roll", roll,
+                    "bulletsBefore", bulletsBefore,
+                    "bulletsAfter", bulletsAfter,
+                    "lethal", lethal
+            );
+        }
+    }
+
+    record PlayerEliminated(UUID playerId, int seat) implements CoreEvent {
+        @Override
+        public CoreEventType type() {
+            return CoreEventType.PLAYER_ELIMINATED;
+        }
+
+        @Override
+        public String message() {
+            return "player eliminated";
+        }
+
+        @Override
+        public Map<String, Object> data() {
+            return Map.of("playerId", playerId, "seat", seat);
+        }
+    }
+
+    /**
+     * {@code winner} is null when the game ended without one (e.g. a forced stop in life mode).
+     */
+    record GameFinished(UUID winner, TableMode mode, int joinedCount, String reason) implements CoreEvent {
+        @Override
+        public CoreEventType type() {
+            return CoreEventType.GAME_FINISHED;
+        }
+
+        @Override
+        public String message() {
+            return "game finished";
+        }
+
+        @Override
+        public Map<String, Object> data() {
+            if (winner == null) {
+                return Map.of("mode", mode.name(), "joinedCount", joinedCount, "reason", reason);
+            }
+            return Map.of(
+                    "winner", winner,
+                    "mode", mode.name(),
+                    "joinedCount", joinedCount,
+                    "reason", reason
+            );
+        }
+    }
+
+    /**
+     * A player's private hand for the round, in {@link PackedCard} form. The array is owned by the event.
+     */
+    record HandDealt(UUID playerId, int seat, int[] packedCards, CardRank mainRank, int round) implements CoreEvent {
+        public Card[] cards() {
+            return PackedCard.toCards(packedCards, packedCards.length);
+        }
+
+        @Override
+        public CoreEventType type() {
+            return CoreEventType.HAND_DEALT;
+        }
+
+        @Override
+        public String message() {
+            return "hand dealt";
+        }
+
+        @Override
+        public Map<String, Object> data() {
+            List<Map<String, Object>> cardList = new ArrayList<>(packedCards.length);
+            for (int card : packedCards) {
+                cardList.add(Map.of(
+                        "id", PackedCard.id(card),
+                        "rank", PackedCard.rank(card).name(),
+                        "demon", PackedCard.isDemon(card)
+                ));
+            }
+            return Map.of(
+                    "playerId", playerId,
+                    "seat", seat,
+                    "cards", List.copyOf(cardList),
+                    "mainRank", mainRank.name(),
+                    "round", round
+            );
+        }
+    }
+}
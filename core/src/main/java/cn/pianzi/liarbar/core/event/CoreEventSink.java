@@ -0,0 +1,11 @@
+package cn.pianzi.liarbar.core.event;
+
+/**
+ * Receives events as {@link cn.pianzi.liarbar.core.runtime.LiarBarTable} emits them, in order.
+ * If the command throws, events already delivered belong to an aborted command and should be
+ * discarded, exactly as the list-returning API would drop its result.
+ */
+@FunctionalInterface
+public interface CoreEventSink {
+    void accept(CoreEvent event);
+}
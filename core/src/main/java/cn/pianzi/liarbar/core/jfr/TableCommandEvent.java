@@ -0,0 +1,32 @@
+package cn.pianzi.liarbar.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One command run against a table on its lane, from journaling through the republished snapshot.
+ * Like every JFR event, it costs a disabled-check and nothing else while no recording asks for it.
+ */
+@Name("cn.pianzi.liarbar.TableCommand")
+@Label("Table Command")
+@Description("A command applied to a Liar Bar table on its lane")
+@Category({"Liar Bar", "Table"})
+@StackTrace(false)
+public final class TableCommandEvent extends Event {
+    @Label("Table")
+    public String tableId;
+
+    @Label("Command")
+    public String command;
+
+    @Label("Events Emitted")
+    public int eventsEmitted;
+
+    @Label("Failure")
+    @Description("Reason the table refused or failed the command, or null if it was applied")
+    public String failure;
+}
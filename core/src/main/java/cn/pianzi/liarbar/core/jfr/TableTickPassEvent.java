@@ -0,0 +1,28 @@
+package cn.pianzi.liarbar.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One shard's pass of a batched tick: every non-idle table on the shard advanced by one second.
+ */
+@Name("cn.pianzi.liarbar.TableTickPass")
+@Label("Table Tick Pass")
+@Description("Tables of one shard ticked in a single task")
+@Category({"Liar Bar", "Table"})
+@StackTrace(false)
+public final class TableTickPassEvent extends Event {
+    @Label("Tables")
+    @Description("Tables on the shard, idle ones included")
+    public int tables;
+
+    @Label("Tables Ticked")
+    public int ticked;
+
+    @Label("Events Emitted")
+    public int eventsEmitted;
+}
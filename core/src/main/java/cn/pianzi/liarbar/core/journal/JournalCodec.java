@@ -0,0 +1,149 @@
+package cn.pianzi.liarbar.core.journal;
+
+import cn.pianzi.liarbar.core.domain.TableMode;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/**
+ * Binary layout of a journal file:
+ * <pre>
+ * header: int magic "LBJ1", short format version
+ * record: int payload length, payload, int CRC32 of payload
+ * payload: byte command, [long msb, long lsb player], [byte mode, int wager],
+ *          short slot count, int slots..., short draw count, int draws..., [int state length, state bytes]
+ * </pre>
+ * Player, mode, wager and state are only present for commands that carry them.
+ */
+final class JournalCodec {
+    static final int MAGIC = 0x4C424A31;
+    static final short FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = Integer.BYTES + Short.BYTES;
+    static final int RECORD_OVERHEAD = Integer.BYTES * 2;
+
+    private static final JournalCommand[] COMMANDS = JournalCommand.values();
+    private static final TableMode[] MODES = TableMode.values();
+
+    private JournalCodec() {
+    }
+
+    static ByteBuffer header() {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE);
+        buffer.putInt(MAGIC).putShort(FORMAT_VERSION);
+        return buffer.flip();
+    }
+
+    static void checkHeader(ByteBuffer buffer) {
+        if (buffer.getInt() != MAGIC) {
+            throw new IllegalStateException("not a liar bar journal");
+        }
+        short version = buffer.getShort();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalStateException("unsupported journal format version: " + version);
+        }
+    }
+
+    static ByteBuffer encode(JournalRecord record) {
+        int payloadSize = payloadSize(record);
+        ByteBuffer buffer = ByteBuffer.allocate(payloadSize + RECORD_OVERHEAD);
+        buffer.putInt(payloadSize);
+        buffer.put((byte) record.command().ordinal());
+        if (hasPlayer(record.command())) {
+            buffer.putLong(record.playerId().getMostSignificantBits());
+            buffer.putLong(record.playerId().getLeastSignificantBits());
+        }
+        if (record.command() == JournalCommand.SELECT_MODE) {
+            buffer.put((byte) record.mode().ordinal());
+            buffer.putInt(record.wager());
+        }
+        putInts(buffer, record.slots());
+        putInts(buffer, record.draws());
+        if (record.command() == JournalCommand.RESTORE) {
+            buffer.putInt(record.state().length).put(record.state());
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), Integer.BYTES, payloadSize);
+        buffer.putInt((int) crc.getValue());
+        return buffer.flip();
+    }
+
+    /**
+     * Decodes the record at the buffer position, or returns {@code null} without consuming anything
+     * if the remaining bytes hold no complete, intact record (a torn write at the tail).
+     */
+    static JournalRecord decode(ByteBuffer buffer) {
+        int start = buffer.position();
+        if (buffer.remaining() < RECORD_OVERHEAD) {
+            return null;
+        }
+        int payloadSize = buffer.getInt(start);
+        if (payloadSize <= 0 || buffer.remaining() < payloadSize + RECORD_OVERHEAD) {
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(start + Integer.BYTES, payloadSize));
+        if ((int) crc.getValue() != buffer.getInt(start + Integer.BYTES + payloadSize)) {
+            return null;
+        }
+
+        ByteBuffer payload = buffer.slice(start + Integer.BYTES, payloadSize);
+        JournalCommand command = COMMANDS[payload.get()];
+        UUID playerId = hasPlayer(command) ? new UUID(payload.getLong(), payload.getLong()) : null;
+        TableMode mode = null;
+        int wager = 0;
+        if (command == JournalCommand.SELECT_MODE) {
+            mode = MODES[payload.get()];
+            wager = payload.getInt();
+        }
+        int[] slots = getInts(payload);
+        int[] draws = getInts(payload);
+        byte[] state = new byte[0];
+        if (command == JournalCommand.RESTORE) {
+            state = new byte[payload.getInt()];
+            payload.get(state);
+        }
+        buffer.position(start + payloadSize + RECORD_OVERHEAD);
+        return new JournalRecord(command, playerId, mode, wager, slots, draws, state);
+    }
+
+    private static int payloadSize(JournalRecord record) {
+        int size = Byte.BYTES;
+        if (hasPlayer(record.command())) {
+            size += Long.BYTES * 2;
+        }
+        if (record.command() == JournalCommand.SELECT_MODE) {
+            size += Byte.BYTES + Integer.BYTES;
+        }
+        size += Short.BYTES + record.slots().length * Integer.BYTES;
+        size += Short.BYTES + record.draws().length * Integer.BYTES;
+        if (record.command() == JournalCommand.RESTORE) {
+            size += Integer.BYTES + record.state().length;
+        }
+        return size;
+    }
+
+    private static boolean hasPlayer(JournalCommand command) {
+        return command != JournalCommand.TICK && command != JournalCommand.FORCE_STOP
+                && command != JournalCommand.RESTORE && command != JournalCommand.EXPIRE_PHASE;
+    }
+
+    private static void putInts(ByteBuffer buffer, int[] values) {
+        if (values.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("too many values for one journal record: " + values.length);
+        }
+        buffer.putShort((short) values.length);
+        for (int value : values) {
+            buffer.putInt(value);
+        }
+    }
+
+    private static int[] getInts(ByteBuffer buffer) {
+        int[] values = new int[buffer.getShort()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = buffer.getInt();
+        }
+        return values;
+    }
+}
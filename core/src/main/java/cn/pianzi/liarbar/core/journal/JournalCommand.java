@@ -0,0 +1,13 @@
+package cn.pianzi.liarbar.core.journal;
+
+public enum JournalCommand {
+    JOIN,
+    SELECT_MODE,
+    PLAY,
+    CHALLENGE,
+    DISCONNECT,
+    TICK,
+    FORCE_STOP,
+    RESTORE,
+    EXPIRE_PHASE
+}
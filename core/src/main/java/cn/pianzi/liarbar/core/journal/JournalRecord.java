@@ -0,0 +1,90 @@
+package cn.pianzi.liarbar.core.journal;
+
+import cn.pianzi.liarbar.core.domain.TableMode;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * One accepted table command together with every random value the table drew and every charge
+ * outcome it saw while running it, in call order.
+ * Fields a command does not use are {@code null}, {@code 0} or empty.
+ */
+public record JournalRecord(
+        JournalCommand command,
+        UUID playerId,
+        TableMode mode,
+        int wager,
+        int[] slots,
+        int[] draws,
+        byte[] state
+) {
+    private static final int[] NONE = new int[0];
+    private static final byte[] NO_STATE = new byte[0];
+    private static final JournalRecord TICK = new JournalRecord(JournalCommand.TICK, null, null, 0, NONE, NONE, NO_STATE);
+    private static final JournalRecord FORCE_STOP = new JournalRecord(JournalCommand.FORCE_STOP, null, null, 0, NONE, NONE, NO_STATE);
+    private static final JournalRecord EXPIRE_PHASE = new JournalRecord(JournalCommand.EXPIRE_PHASE, null, null, 0, NONE, NONE, NO_STATE);
+
+    public JournalRecord {
+        Objects.requireNonNull(command, "command");
+        Objects.requireNonNull(slots, "slots");
+        Objects.requireNonNull(draws, "draws");
+        Objects.requireNonNull(state, "state");
+    }
+
+    public static JournalRecord join(UUID playerId) {
+        return new JournalRecord(JournalCommand.JOIN, playerId, null, 0, NONE, NONE, NO_STATE);
+    }
+
+    public static JournalRecord selectMode(UUID playerId, TableMode mode, int wager) {
+        return new JournalRecord(JournalCommand.SELECT_MODE, playerId, mode, wager, NONE, NONE, NO_STATE);
+    }
+
+    public static JournalRecord play(UUID playerId, List<Integer> oneBasedSlots) {
+        int[] slots = new int[oneBasedSlots.size()];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = oneBasedSlots.get(i);
+        }
+        return new JournalRecord(JournalCommand.PLAY, playerId, null, 0, slots, NONE, NO_STATE);
+    }
+
+    public static JournalRecord challenge(UUID playerId) {
+        return new JournalRecord(JournalCommand.CHALLENGE, playerId, null, 0, NONE, NONE, NO_STATE);
+    }
+
+    public static JournalRecord disconnect(UUID playerId) {
+        return new JournalRecord(JournalCommand.DISCONNECT, playerId, null, 0, NONE, NONE, NO_STATE);
+    }
+
+    /**
+     * A table checkpoint loaded into the table; replay starts over from that state.
+     */
+    public static JournalRecord restore(byte[] checkpoint) {
+        return new JournalRecord(JournalCommand.RESTORE, null, null, 0, NONE, NONE, checkpoint);
+    }
+
+    public static JournalRecord tick() {
+        return TICK;
+    }
+
+    public static JournalRecord forceStop() {
+        return FORCE_STOP;
+    }
+
+    public static JournalRecord expirePhase() {
+        return EXPIRE_PHASE;
+    }
+
+    public JournalRecord withDraws(int[] draws) {
+        return new JournalRecord(command, playerId, mode, wager, slots, draws, state);
+    }
+
+    public List<Integer> slotList() {
+        Integer[] boxed = new Integer[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            boxed[i] = slots[i];
+        }
+        return List.of(boxed);
+    }
+}
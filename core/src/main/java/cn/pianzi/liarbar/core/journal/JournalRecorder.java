@@ -0,0 +1,158 @@
+package cn.pianzi.liarbar.core.journal;
+
+import cn.pianzi.liarbar.core.domain.TableMode;
+import cn.pianzi.liarbar.core.port.EconomyPort;
+import cn.pianzi.liarbar.core.port.RandomSource;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Sits between a table and its {@link RandomSource} and {@link EconomyPort}, capturing every random
+ * draw and charge outcome of the command in flight so the command can be journaled and replayed
+ * with exactly the same inputs. During {@link #replay} the captured values are served back instead,
+ * and the economy is not touched again: those charges and rewards already happened before the restart.
+ * Not thread-safe; used only from the table's own lane.
+ */
+public final class JournalRecorder {
+    private static final int[] NO_DRAWS = new int[0];
+
+    private final TableJournal journal;
+    private final RandomSource liveRandom;
+    private final EconomyPort liveEconomy;
+    private final RandomSource random = new RecordingRandom();
+    private final EconomyPort economy = new RecordingEconomy();
+
+    private int[] draws = new int[16];
+    private int drawCount;
+    private int[] replayDraws;
+    private int replayCursor;
+
+    public JournalRecorder(TableJournal journal, RandomSource liveRandom, EconomyPort liveEconomy) {
+        this.journal = Objects.requireNonNull(journal, "journal");
+        this.liveRandom = Objects.requireNonNull(liveRandom, "liveRandom");
+        this.liveEconomy = Objects.requireNonNull(liveEconomy, "liveEconomy");
+    }
+
+    public TableJournal journal() {
+        return journal;
+    }
+
+    /**
+     * Random source to hand to the table. Shuffles go through {@code nextIntInclusive} so they are captured too.
+     */
+    public RandomSource random() {
+        return random;
+    }
+
+    public EconomyPort economy() {
+        return economy;
+    }
+
+    public void begin() {
+        drawCount = 0;
+    }
+
+    /**
+     * Journals the command that just succeeded. A table that went back to idle is equivalent to a
+     * fresh one, so the journal is truncated instead; this happens at every {@code GAME_FINISHED}
+     * and bounds how much a restart has to replay.
+     */
+    public void commit(JournalRecord record, boolean wasIdle, boolean idleNow) {
+        if (idleNow) {
+            if (!wasIdle) {
+                journal.truncate();
+            }
+        } else {
+            journal.append(record.withDraws(drawCount == 0 ? NO_DRAWS : Arrays.copyOf(draws, drawCount)));
+        }
+        drawCount = 0;
+    }
+
+    /**
+     * Discards what a rejected command drew; rejected commands are not journaled.
+     */
+    public void abort() {
+        drawCount = 0;
+    }
+
+    /**
+     * Runs {@code command} with the draws of {@code record} and fails if it did not consume exactly those.
+     */
+    public void replay(JournalRecord record, Runnable command) {
+        replayDraws = record.draws();
+        replayCursor = 0;
+        try {
+            command.run();
+            if (replayCursor != replayDraws.length) {
+                throw new IllegalStateException("journal_replay_diverged");
+            }
+        } finally {
+            replayDraws = null;
+        }
+    }
+
+    private boolean replaying() {
+        return replayDraws != null;
+    }
+
+    private int replayed() {
+        if (replayCursor >= replayDraws.length) {
+            throw new IllegalStateException("journal_replay_diverged");
+        }
+        return replayDraws[replayCursor++];
+    }
+
+    private void capture(int value) {
+        if (drawCount == draws.length) {
+            draws = Arrays.copyOf(draws, drawCount * 2);
+        }
+        draws[drawCount++] = value;
+    }
+
+    private final class RecordingRandom implements RandomSource {
+        @Override
+        public int nextIntInclusive(int minInclusive, int maxInclusive) {
+            if (replaying()) {
+                return replayed();
+            }
+            int value = liveRandom.nextIntInclusive(minInclusive, maxInclusive);
+            capture(value);
+            return value;
+        }
+    }
+
+    private final class RecordingEconomy implements EconomyPort {
+        @Override
+        public boolean charge(UUID playerId, TableMode mode, int amount) {
+            if (replaying()) {
+                return replayed() != 0;
+            }
+            boolean charged = liveEconomy.charge(playerId, mode, amount);
+            capture(charged ? 1 : 0);
+            return charged;
+        }
+
+        @Override
+        public void reward(UUID playerId, TableMode mode, int amount) {
+            if (!replaying()) {
+                liveEconomy.reward(playerId, mode, amount);
+            }
+        }
+
+        @Override
+        public void refund(UUID playerId, TableMode mode, int amount) {
+            if (!replaying()) {
+                liveEconomy.refund(playerId, mode, amount);
+            }
+        }
+
+        @Override
+        public void gameEnded(TableMode mode) {
+            if (!replaying()) {
+                liveEconomy.gameEnded(mode);
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package cn.pianzi.liarbar.core.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Directory of per-table journals sharing one background writer. The writer drains whatever has
+ * queued up since its last pass, writes it, then forces each touched file once, so a burst of
+ * commands across many tables costs one {@code fsync} per table rather than one per command.
+ */
+public final class JournalStore implements AutoCloseable {
+    private static final System.Logger LOGGER = System.getLogger(JournalStore.class.getName());
+    private static final int MAX_BATCH = 512;
+    private static final String EXTENSION = ".journal";
+
+    private final Path directory;
+    private final BlockingQueue<Op> pending = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private volatile boolean closed;
+
+    public JournalStore(Path directory) {
+        this.directory = Objects.requireNonNull(directory, "directory");
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("cannot create journal directory " + directory, ex);
+        }
+        this.writer = Thread.ofPlatform()
+                .name("liar-bar-journal")
+                .daemon(true)
+                .start(this::writeLoop);
+    }
+
+    /**
+     * Opens the journal of one table, reading back every intact record it already holds.
+     */
+    public TableJournal open(String tableId) {
+        Objects.requireNonNull(tableId, "tableId");
+        if (closed) {
+            throw new IllegalStateException("journal store closed");
+        }
+        return new TableJournal(this, directory.resolve(fileName(tableId)));
+    }
+
+    static String fileName(String tableId) {
+        return tableId.replaceAll("[^A-Za-z0-9_\\-]", "_") + EXTENSION;
+    }
+
+    void enqueue(TableJournal journal, OpKind kind, ByteBuffer payload) {
+        if (closed) {
+            return;
+        }
+        pending.add(new Op(journal, kind, payload));
+    }
+
+    private void writeLoop() {
+        List<Op> batch = new ArrayList<>(MAX_BATCH);
+        Set<TableJournal> touched = Collections.newSetFromMap(new IdentityHashMap<>());
+        while (true) {
+            try {
+                batch.add(pending.take());
+            } catch (InterruptedException ex) {
+                return;
+            }
+            pending.drainTo(batch, MAX_BATCH - 1);
+            boolean stop = false;
+            for (Op op : batch) {
+                if (op.kind() == OpKind.STOP) {
+                    stop = true;
+                    continue;
+                }
+                if (op.journal().apply(op.kind(), op.payload())) {
+                    touched.add(op.journal());
+                } else {
+                    touched.remove(op.journal());
+                }
+            }
+            for (TableJournal journal : touched) {
+                journal.force();
+            }
+            batch.clear();
+            touched.clear();
+            if (stop) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Flushes everything queued so far and stops the writer. Journals should be closed first.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        pending.add(new Op(null, OpKind.STOP, null));
+        closed = true;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            LOGGER.log(System.Logger.Level.WARNING, "Journal writer did not finish within 5s; "
+                    + pending.size() + " operations dropped");
+        }
+    }
+
+    enum OpKind { APPEND, TRUNCATE, QUARANTINE, CLOSE, DELETE, STOP }
+
+    private record Op(TableJournal journal, OpKind kind, ByteBuffer payload) {
+    }
+}
@@ -0,0 +1,197 @@
+package cn.pianzi.liarbar.core.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only journal of one table. Callers only enqueue; every file operation runs on the
+ * store's writer thread, in submission order. An I/O failure disables the journal and is logged
+ * once; the table keeps running without durability rather than rejecting commands.
+ */
+public final class TableJournal {
+    private static final System.Logger LOGGER = System.getLogger(TableJournal.class.getName());
+
+    private final JournalStore store;
+    private final Path file;
+    private final List<JournalRecord> recovered;
+    private FileChannel channel;
+    private boolean dirty;
+    private volatile boolean failed;
+
+    TableJournal(JournalStore store, Path file) {
+        this.store = store;
+        this.file = file;
+        try {
+            this.recovered = List.copyOf(recover());
+        } catch (IOException ex) {
+            throw new UncheckedIOException("cannot open journal " + file, ex);
+        }
+    }
+
+    /**
+     * Records found on disk when the journal was opened, oldest first.
+     */
+    public List<JournalRecord> recovered() {
+        return recovered;
+    }
+
+    public void append(JournalRecord record) {
+        store.enqueue(this, JournalStore.OpKind.APPEND, JournalCodec.encode(record));
+    }
+
+    /**
+     * Drops every record. Used once the table is back to a state a fresh table would have.
+     */
+    public void truncate() {
+        store.enqueue(this, JournalStore.OpKind.TRUNCATE, null);
+    }
+
+    /**
+     * Moves the current file aside as {@code <name>.corrupt-<millis>} and starts an empty one.
+     */
+    public void quarantine() {
+        store.enqueue(this, JournalStore.OpKind.QUARANTINE, null);
+    }
+
+    public void close() {
+        store.enqueue(this, JournalStore.OpKind.CLOSE, null);
+    }
+
+    public void delete() {
+        store.enqueue(this, JournalStore.OpKind.DELETE, null);
+    }
+
+    public boolean failed() {
+        return failed;
+    }
+
+    private List<JournalRecord> recover() throws IOException {
+        List<JournalRecord> records = new ArrayList<>();
+        if (!Files.exists(file)) {
+            startEmptyFile();
+            return records;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        try {
+            JournalCodec.checkHeader(buffer);
+        } catch (RuntimeException ex) {
+            LOGGER.log(System.Logger.Level.WARNING, "Unreadable journal header in " + file + ": " + ex.getMessage());
+            moveAside();
+            startEmptyFile();
+            return records;
+        }
+        JournalRecord record;
+        while ((record = JournalCodec.decode(buffer)) != null) {
+            records.add(record);
+        }
+        int validEnd = buffer.position();
+        channel = FileChannel.open(file, StandardOpenOption.WRITE);
+        if (validEnd < buffer.limit()) {
+            LOGGER.log(System.Logger.Level.WARNING, "Dropping " + (buffer.limit() - validEnd)
+                    + " bytes of torn tail from " + file);
+            channel.truncate(validEnd);
+        }
+        channel.position(validEnd);
+        return records;
+    }
+
+    /**
+     * Runs one queued operation on the writer thread.
+     *
+     * @return whether the file has unforced writes afterwards
+     */
+    boolean apply(JournalStore.OpKind kind, ByteBuffer payload) {
+        if (failed || (channel == null && (kind == JournalStore.OpKind.APPEND || kind == JournalStore.OpKind.TRUNCATE))) {
+            return false;
+        }
+        try {
+            switch (kind) {
+                case APPEND -> {
+                    while (payload.hasRemaining()) {
+                        channel.write(payload);
+                    }
+                    dirty = true;
+                }
+                case TRUNCATE -> {
+                    channel.truncate(JournalCodec.HEADER_SIZE);
+                    channel.position(JournalCodec.HEADER_SIZE);
+                    dirty = true;
+                }
+                case QUARANTINE -> {
+                    closeChannel();
+                    moveAside();
+                    startEmptyFile();
+                }
+                case CLOSE -> closeChannel();
+                case DELETE -> {
+                    closeChannel();
+                    Files.deleteIfExists(file);
+                }
+                default -> throw new IllegalStateException("unexpected journal op: " + kind);
+            }
+        } catch (IOException ex) {
+            failed = true;
+            LOGGER.log(System.Logger.Level.ERROR, "Journal " + file + " disabled after I/O failure", ex);
+            closeQuietly();
+            return false;
+        }
+        return dirty;
+    }
+
+    void force() {
+        if (failed || channel == null || !dirty) {
+            return;
+        }
+        try {
+            channel.force(false);
+            dirty = false;
+        } catch (IOException ex) {
+            failed = true;
+            LOGGER.log(System.Logger.Level.ERROR, "Journal " + file + " disabled after I/O failure", ex);
+            closeQuietly();
+        }
+    }
+
+    private void startEmptyFile() throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        channel.write(JournalCodec.header());
+        channel.force(false);
+    }
+
+    private void moveAside() throws IOException {
+        Path target = file.resolveSibling(file.getFileName() + ".corrupt-" + System.currentTimeMillis());
+        Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+        LOGGER.log(System.Logger.Level.WARNING, "Moved journal " + file + " aside to " + target);
+    }
+
+    private void closeChannel() throws IOException {
+        if (channel != null) {
+            if (dirty) {
+                channel.force(false);
+                dirty = false;
+            }
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException ignored) {
+            // Already failed; nothing more to report.
+        }
+        channel = null;
+    }
+}
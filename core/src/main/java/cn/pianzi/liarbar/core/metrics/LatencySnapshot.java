@@ -0,0 +1,41 @@
+package cn.pianzi.liarbar.core.metrics;
+
+/**
+ * Point-in-time copy of a {@link LatencyHistogram}. Snapshots of different histograms can be
+ * {@linkplain #merge merged} bucket by bucket, so aggregate percentiles stay exact to the bucket.
+ */
+public record LatencySnapshot(long[] counts, long count, long totalNanos, long maxNanos) {
+    public static final LatencySnapshot EMPTY = new LatencySnapshot(new long[LatencyHistogram.BUCKETS], 0, 0, 0);
+
+    /**
+     * @param quantile in {@code [0, 1]}
+     * @return the value at that quantile, rounded up to its bucket's upper bound; {@code 0} when empty
+     */
+    public long percentileNanos(double quantile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(LatencyHistogram.highestValueIn(i), maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+
+    public long meanNanos() {
+        return count == 0 ? 0 : totalNanos / count;
+    }
+
+    public LatencySnapshot merge(LatencySnapshot other) {
+        long[] merged = counts.clone();
+        for (int i = 0; i < merged.length; i++) {
+            merged[i] += other.counts[i];
+        }
+        return new LatencySnapshot(merged, count + other.count, totalNanos + other.totalNanos,
+                Math.max(maxNanos, other.maxNanos));
+    }
+}
@@ -0,0 +1,64 @@
+package cn.pianzi.liarbar.core.metrics;
+
+import cn.pianzi.liarbar.core.event.CoreEventType;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Metrics of every table of a runtime manager, with aggregates computed on demand.
+ */
+public record RuntimeMetricsSnapshot(List<TableMetricsSnapshot> tables) {
+    public RuntimeMetricsSnapshot {
+        tables = List.copyOf(tables);
+    }
+
+    public int queueDepth() {
+        int depth = 0;
+        for (TableMetricsSnapshot table : tables) {
+            depth += table.queueDepth();
+        }
+        return depth;
+    }
+
+    public LatencySnapshot queueWait() {
+        LatencySnapshot merged = LatencySnapshot.EMPTY;
+        for (TableMetricsSnapshot table : tables) {
+            merged = merged.merge(table.queueWait());
+        }
+        return merged;
+    }
+
+    public LatencySnapshot execution() {
+        LatencySnapshot merged = LatencySnapshot.EMPTY;
+        for (TableMetricsSnapshot table : tables) {
+            merged = merged.merge(table.execution());
+        }
+        return merged;
+    }
+
+    public long rejected() {
+        long rejected = 0;
+        for (TableMetricsSnapshot table : tables) {
+            rejected += table.rejected();
+        }
+        return rejected;
+    }
+
+    public long coalesced() {
+        long coalesced = 0;
+        for (TableMetricsSnapshot table : tables) {
+            coalesced += table.coalesced();
+        }
+        return coalesced;
+    }
+
+    public Map<CoreEventType, Long> events() {
+        Map<CoreEventType, Long> totals = new EnumMap<>(CoreEventType.class);
+        for (TableMetricsSnapshot table : tables) {
+            table.events().forEach((type, count) -> totals.merge(type, count, Long::sum));
+        }
+        return totals;
+    }
+}
@@ -0,0 +1,70 @@
+package cn.pianzi.liarbar.core.metrics;
+
+import cn.pianzi.liarbar.core.event.CoreEvent;
+import cn.pianzi.liarbar.core.event.CoreEventType;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of one table runtime: how long tasks wait in its mailbox, how long they run, how many player
+ * commands were turned away or coalesced, and how many events of each type the table emitted.
+ * Every method may be called from any thread without locking.
+ */
+public final class TableMetrics {
+    private static final CoreEventType[] EVENT_TYPES = CoreEventType.values();
+
+    private final LatencyHistogram queueWait = new LatencyHistogram();
+    private final LatencyHistogram execution = new LatencyHistogram();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final AtomicLongArray events = new AtomicLongArray(EVENT_TYPES.length);
+
+    public void recordQueueWait(long nanos) {
+        queueWait.record(nanos);
+    }
+
+    public void recordExecution(long nanos) {
+        execution.record(nanos);
+    }
+
+    public void recordRejected() {
+        rejected.increment();
+    }
+
+    public void recordCoalesced() {
+        coalesced.increment();
+    }
+
+    public void recordEvent(CoreEvent event) {
+        events.incrementAndGet(event.type().ordinal());
+    }
+
+    public void recordEvents(List<CoreEvent> emitted) {
+        for (int i = 0; i < emitted.size(); i++) {
+            recordEvent(emitted.get(i));
+        }
+    }
+
+    public TableMetricsSnapshot snapshot(String tableId, int queueDepth) {
+        Map<CoreEventType, Long> counts = new EnumMap<>(CoreEventType.class);
+        for (CoreEventType type : EVENT_TYPES) {
+            long count = events.get(type.ordinal());
+            if (count != 0) {
+                counts.put(type, count);
+            }
+        }
+        return new TableMetricsSnapshot(
+                tableId,
+                queueDepth,
+                queueWait.snapshot(),
+                execution.snapshot(),
+                rejected.sum(),
+                coalesced.sum(),
+                counts
+        );
+    }
+}
@@ -0,0 +1,23 @@
+package cn.pianzi.liarbar.core.metrics;
+
+import cn.pianzi.liarbar.core.event.CoreEventType;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * One table's {@link TableMetrics} at a point in time. Event types that were never emitted are absent.
+ */
+public record TableMetricsSnapshot(
+        String tableId,
+        int queueDepth,
+        LatencySnapshot queueWait,
+        LatencySnapshot execution,
+        long rejected,
+        long coalesced,
+        Map<CoreEventType, Long> events
+) {
+    public TableMetricsSnapshot {
+        events = events.isEmpty() ? Map.of() : new EnumMap<>(events);
+    }
+}
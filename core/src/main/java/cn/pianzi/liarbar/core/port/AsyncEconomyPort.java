@@ -0,0 +1,62 @@
+package cn.pianzi.liarbar.core.port;
+
+import cn.pianzi.liarbar.core.domain.TableMode;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * {@link EconomyPort} for economies that must not be called from a table's lane, for example because
+ * they are only safe on the server thread. Tables park while a charge is outstanding instead of blocking.
+ */
+public interface AsyncEconomyPort {
+    /**
+     * @return completes with {@code true} once the amount was withdrawn, {@code false} if the player cannot pay
+     */
+    CompletionStage<Boolean> charge(UUID playerId, TableMode mode, int amount);
+
+    CompletionStage<Void> reward(UUID playerId, TableMode mode, int amount);
+
+    /**
+     * See {@link EconomyPort#refund}.
+     */
+    default CompletionStage<Void> refund(UUID playerId, TableMode mode, int amount) {
+        return reward(playerId, mode, amount);
+    }
+
+    /**
+     * See {@link EconomyPort#gameEnded}.
+     */
+    default void gameEnded(TableMode mode) {
+    }
+
+    /**
+     * Runs {@code economy} inline on whichever thread calls it.
+     */
+    static AsyncEconomyPort of(EconomyPort economy) {
+        return new AsyncEconomyPort() {
+            @Override
+            public CompletionStage<Boolean> charge(UUID playerId, TableMode mode, int amount) {
+                return CompletableFuture.completedFuture(economy.charge(playerId, mode, amount));
+            }
+
+            @Override
+            public CompletionStage<Void> reward(UUID playerId, TableMode mode, int amount) {
+                economy.reward(playerId, mode, amount);
+                return CompletableFuture.completedFuture(null);
+            }
+
+            @Override
+            public CompletionStage<Void> refund(UUID playerId, TableMode mode, int amount) {
+                economy.refund(playerId, mode, amount);
+                return CompletableFuture.completedFuture(null);
+            }
+
+            @Override
+            public void gameEnded(TableMode mode) {
+                economy.gameEnded(mode);
+            }
+        };
+    }
+}
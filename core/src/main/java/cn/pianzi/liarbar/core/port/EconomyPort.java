@@ -9,6 +9,20 @@ public interface EconomyPort {
 
     void reward(UUID playerId, TableMode mode, int amount);
 
+    /**
+     * Hands a stake back without a game being decided, e.g. when mode selection rolls back.
+     */
+    default void refund(UUID playerId, TableMode mode, int amount) {
+        reward(playerId, mode, amount);
+    }
+
+    /**
+     * Called once a wager game is over, after its payout if it had a winner. Stakes that were not paid out
+     * by then stay with the house.
+     */
+    default void gameEnded(TableMode mode) {
+    }
+
     static EconomyPort noop() {
         return new EconomyPort() {
             @Override
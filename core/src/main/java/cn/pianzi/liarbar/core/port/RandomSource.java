@@ -1,16 +1,40 @@
 package cn.pianzi.liarbar.core.port;
 
-import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
 
+/**
+ * Random draws of one table. The default shuffles are Fisher-Yates over {@link #nextIntInclusive}, so a
+ * source that is deterministic, or recorded, for single draws is so for shuffles too.
+ *
+ * @see SplittableRandomSource
+ */
 public interface RandomSource {
     int nextIntInclusive(int minInclusive, int maxInclusive);
 
     default <T> void shuffle(List<T> list) {
-        Collections.shuffle(list, ThreadLocalRandom.current());
+        for (int i = list.size(); i > 1; i--) {
+            int j = nextIntInclusive(0, i - 1);
+            list.set(j, list.set(i - 1, list.get(j)));
+        }
     }
 
+    /**
+     * In-place shuffle of a primitive array, used for packed decks, with the same swaps as {@link #shuffle(List)}.
+     */
+    default void shuffle(int[] values) {
+        for (int i = values.length; i > 1; i--) {
+            int j = nextIntInclusive(0, i - 1);
+            int swap = values[i - 1];
+            values[i - 1] = values[j];
+            values[j] = swap;
+        }
+    }
+
+    /**
+     * Shared, unseeded and safe from any thread. Prefer a {@link SplittableRandomSource} split per table,
+     * which can be seeded and recorded.
+     */
     static RandomSource threadLocal() {
         return (minInclusive, maxInclusive) -> {
             if (maxInclusive < minInclusive) {
@@ -20,5 +44,3 @@ public interface RandomSource {
         };
     }
 }
-
-
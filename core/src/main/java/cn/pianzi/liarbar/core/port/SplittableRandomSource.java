@@ -0,0 +1,155 @@
+package cn.pianzi.liarbar.core.port;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+/**
+ * {@link RandomSource} backed by a {@link SplittableRandom}. An instance is not thread-safe and belongs to
+ * one table; {@link #split()} hands each new table a statistically independent stream. Built with a seed,
+ * the root and every stream split from it in the same order draw the same values on every run.
+ *
+ * <p>While {@link #startRecording() recording}, every drawn value is kept as an unsigned varint, so a
+ * shuffle of a small deck costs about a byte per draw; {@link #replaying(byte[])} serves the values back
+ * in the same order. Drawing allocates nothing except when the recording buffer has to grow.
+ */
+public final class SplittableRandomSource implements RandomSource {
+    private static final int INITIAL_RECORDING_CAPACITY = 256;
+
+    private SplittableRandom random;
+    private byte[] recording;
+    private int recordedBytes;
+    private int recordedDraws;
+    private boolean recordingEnabled;
+
+    /**
+     * Unseeded: every run draws differently.
+     */
+    public SplittableRandomSource() {
+        this(new SplittableRandom());
+    }
+
+    public SplittableRandomSource(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    private SplittableRandomSource(SplittableRandom random) {
+        this.random = random;
+    }
+
+    /**
+     * A new source on its own stream; this one moves on, so two calls never share a stream.
+     * The new source does not record.
+     */
+    public SplittableRandomSource split() {
+        return new SplittableRandomSource(random.split());
+    }
+
+    /**
+     * Restarts this source on a fresh stream for {@code seed}, so one long-lived source can serve a
+     * series of reproducible games.
+     */
+    public void reseed(long seed) {
+        random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public int nextIntInclusive(int minInclusive, int maxInclusive) {
+        if (maxInclusive < minInclusive) {
+            throw new IllegalArgumentException("maxInclusive must be >= minInclusive");
+        }
+        int value = random.nextInt(minInclusive, maxInclusive + 1);
+        if (recordingEnabled) {
+            record(value);
+        }
+        return value;
+    }
+
+    /**
+     * Starts keeping every value drawn from now on, discarding anything recorded before.
+     */
+    public void startRecording() {
+        if (recording == null) {
+            recording = new byte[INITIAL_RECORDING_CAPACITY];
+        }
+        recordedBytes = 0;
+        recordedDraws = 0;
+        recordingEnabled = true;
+    }
+
+    /**
+     * Stops recording.
+     *
+     * @return the values drawn since {@link #startRecording()}, for {@link #replaying(byte[])}
+     */
+    public byte[] stopRecording() {
+        if (!recordingEnabled) {
+            throw new IllegalStateException("not_recording");
+        }
+        recordingEnabled = false;
+        return Arrays.copyOf(recording, recordedBytes);
+    }
+
+    public boolean isRecording() {
+        return recordingEnabled;
+    }
+
+    /**
+     * Number of values drawn since {@link #startRecording()}.
+     */
+    public int recordedDraws() {
+        return recordedDraws;
+    }
+
+    /**
+     * A source that returns the values of a recording in order, for a table fed the same commands as the
+     * one that was recorded. A draw outside the requested range, or past the end, means the replay took
+     * a different path and fails with {@code random_replay_diverged}.
+     */
+    public static RandomSource replaying(byte[] recording) {
+        return new Replay(Objects.requireNonNull(recording, "recording"));
+    }
+
+    private void record(int value) {
+        if (recordedBytes + 5 > recording.length) {
+            recording = Arrays.copyOf(recording, recording.length * 2);
+        }
+        // Zigzag keeps small negative values short too.
+        int remaining = (value << 1) ^ (value >> 31);
+        while ((remaining & ~0x7F) != 0) {
+            recording[recordedBytes++] = (byte) ((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        recording[recordedBytes++] = (byte) remaining;
+        recordedDraws++;
+    }
+
+    private static final class Replay implements RandomSource {
+        private final byte[] recording;
+        private int cursor;
+
+        private Replay(byte[] recording) {
+            this.recording = recording;
+        }
+
+        @Override
+        public int nextIntInclusive(int minInclusive, int maxInclusive) {
+            int encoded = 0;
+            int shift = 0;
+            byte next;
+            do {
+                if (cursor >= recording.length || shift > 28) {
+                    throw new IllegalStateException("random_replay_diverged");
+                }
+                next = recording[cursor++];
+                encoded |= (next & 0x7F) << shift;
+                shift += 7;
+            } while ((next & 0x80) != 0);
+            int value = (encoded >>> 1) ^ -(encoded & 1);
+            if (value < minInclusive || value > maxInclusive) {
+                throw new IllegalStateException("random_replay_diverged");
+            }
+            return value;
+        }
+    }
+}
@@ -1,77 +1,749 @@
 package cn.pianzi.liarbar.core.runtime;
 
+import cn.pianzi.liarbar.core.bot.BotEngine;
+import cn.pianzi.liarbar.core.bot.BotMove;
+import cn.pianzi.liarbar.core.bot.BotTurn;
+import cn.pianzi.liarbar.core.domain.GamePhase;
 import cn.pianzi.liarbar.core.domain.TableMode;
 import cn.pianzi.liarbar.core.event.CoreEvent;
+import cn.pianzi.liarbar.core.event.CoreEventSink;
+import cn.pianzi.liarbar.core.jfr.TableCommandEvent;
+import cn.pianzi.liarbar.core.journal.JournalCommand;
+import cn.pianzi.liarbar.core.journal.JournalRecord;
+import cn.pianzi.liarbar.core.journal.JournalRecorder;
+import cn.pianzi.liarbar.core.metrics.TableMetrics;
+import cn.pianzi.liarbar.core.metrics.TableMetricsSnapshot;
 import cn.pianzi.liarbar.core.snapshot.GameSnapshot;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 public final class AsyncTableRuntime implements AutoCloseable {
+    private static final System.Logger LOGGER = System.getLogger(AsyncTableRuntime.class.getName());
+    private static final long NO_BOT_TURN = -1;
+
     private final LiarBarTable table;
-    private final ExecutorService mailbox;
+    private final TableLane lane;
+    private final TableMetrics metrics = new TableMetrics();
+    private final TableMailbox mailbox;
+    private final JournalRecorder journal;
+    private final DeadlineScheduler deadlines;
+    private final Consumer<TableTickResult> expiries;
+    private final SettledEconomy charges;
+    private final BotEngine bots;
+
+    // Lane-confined: the armed phase timer and a generation that invalidates older wheel entries.
+    private boolean deadlineArmed;
+    private long armedEpoch;
+    private long deadlineGeneration;
+
+    // Lane-confined: seats played by bots, the turn a decision was asked for, and that decision once it is in.
+    private final Set<UUID> botPlayers = new HashSet<>();
+    private long botEpoch = NO_BOT_TURN;
+    private UUID heldPlayer;
+    private BotMove heldMove;
 
     public AsyncTableRuntime(LiarBarTable table) {
+        this(table, TableExecutors.virtualThreadPerTable().open(table.tableId()));
+    }
+
+    public AsyncTableRuntime(LiarBarTable table, TableLane mailbox) {
+        this(table, mailbox, null);
+    }
+
+    /**
+     * @param journal records every accepted command; {@code null} to run without a journal.
+     *                The table must have been built on the recorder's random source and economy.
+     */
+    AsyncTableRuntime(LiarBarTable table, TableLane mailbox, JournalRecorder journal) {
+        this(table, mailbox, journal, null, null);
+    }
+
+    /**
+     * @param deadlines wheel that fires this table's phase deadlines; {@code null} to rely on {@link #tickSecond()}
+     * @param expiries  receives the events of every fired deadline, on the table's lane
+     */
+    AsyncTableRuntime(
+            LiarBarTable table,
+            TableLane mailbox,
+            JournalRecorder journal,
+            DeadlineScheduler deadlines,
+            Consumer<TableTickResult> expiries
+    ) {
+        this(table, mailbox, journal, deadlines, expiries, null);
+    }
+
+    /**
+     * @param charges the table's economy when it is asynchronous; wager commands then park the table while
+     *                their charges are collected. {@code null} when the table charges synchronously.
+     */
+    AsyncTableRuntime(
+            LiarBarTable table,
+            TableLane lane,
+            JournalRecorder journal,
+            DeadlineScheduler deadlines,
+            Consumer<TableTickResult> expiries,
+            SettledEconomy charges
+    ) {
+        this(table, lane, journal, deadlines, expiries, charges, null);
+    }
+
+    /**
+     * @param bots decides the turn of every player on turn as soon as it starts, off the lane. The decision
+     *             is played when the turn times out instead of the table's first-card auto-play; for a
+     *             {@link #seatBot() bot's} seat it is played on the next tick, or as soon as it is in when
+     *             a deadline wheel drives the table. {@code null} to leave timeouts to the table.
+     */
+    AsyncTableRuntime(
+            LiarBarTable table,
+            TableLane lane,
+            JournalRecorder journal,
+            DeadlineScheduler deadlines,
+            Consumer<TableTickResult> expiries,
+            SettledEconomy charges,
+            BotEngine bots
+    ) {
         this.table = Objects.requireNonNull(table, "table");
-        ThreadFactory threadFactory = Thread.ofVirtual()
-                .name("liar-bar-core-" + table.snapshot().tableId() + "-", 0)
-                .factory();
-        this.mailbox = Executors.newSingleThreadExecutor(threadFactory);
+        this.lane = Objects.requireNonNull(lane, "lane");
+        this.mailbox = new TableMailbox(lane, metrics);
+        this.journal = journal;
+        this.deadlines = deadlines;
+        this.expiries = deadlines == null ? null : Objects.requireNonNull(expiries, "expiries");
+        this.charges = charges;
+        this.bots = bots;
+        if (deadlines != null) {
+            mailbox.execute(this::rearmDeadline);
+        }
     }
 
-    public CompletionStage<List<CoreEvent>> selectMode(UUID actor, TableMode mode) {
-        return CompletableFuture.supplyAsync(() -> table.selectMode(actor, mode), mailbox);
+    /**
+     * Player commands complete with a {@link CommandResult}; a command the table's rules forbid completes
+     * normally as rejected and is not journaled. The future only fails for a full mailbox
+     * ({@link TableBusyException}), a closed table or a bug.
+     */
+    public CompletionStage<CommandResult> selectMode(UUID actor, TableMode mode) {
+        return selectMode(actor, mode, 1);
     }
 
-    public CompletionStage<List<CoreEvent>> selectMode(UUID actor, TableMode mode, int wager) {
-        return CompletableFuture.supplyAsync(() -> table.selectMode(actor, mode, wager), mailbox);
+    public CompletionStage<CommandResult> selectMode(UUID actor, TableMode mode, int wager) {
+        JournalRecord record = JournalRecord.selectMode(actor, mode, wager);
+        Supplier<CommandResult> command = () -> table.trySelectMode(actor, mode, wager);
+        if (charges == null) {
+            return submit(record, command);
+        }
+        return charged(() -> table.parkForModeCharge(actor, mode, wager), record, command);
+    }
+
+    public CompletionStage<CommandResult> join(UUID playerId) {
+        JournalRecord record = JournalRecord.join(playerId);
+        Supplier<CommandResult> command = () -> table.tryJoin(playerId);
+        if (charges == null) {
+            return submit(record, command);
+        }
+        return charged(() -> table.parkForJoinCharge(playerId), record, command);
     }
 
-    public CompletionStage<List<CoreEvent>> join(UUID playerId) {
-        return CompletableFuture.supplyAsync(() -> table.join(playerId), mailbox);
+    public CompletionStage<CommandResult> play(UUID playerId, List<Integer> oneBasedSlots) {
+        return submit(JournalRecord.play(playerId, oneBasedSlots), () -> table.tryPlay(playerId, oneBasedSlots));
     }
 
-    public CompletionStage<List<CoreEvent>> play(UUID playerId, List<Integer> oneBasedSlots) {
-        return CompletableFuture.supplyAsync(() -> table.play(playerId, oneBasedSlots), mailbox);
+    public CompletionStage<CommandResult> challenge(UUID playerId) {
+        return submit(JournalRecord.challenge(playerId), () -> table.tryChallenge(playerId));
     }
 
-    public CompletionStage<List<CoreEvent>> challenge(UUID playerId) {
-        return CompletableFuture.supplyAsync(() -> table.challenge(playerId), mailbox);
+    /**
+     * Seats a bot in the first open seat while the table takes joins for a game without wagers. The bot
+     * joins under a fresh id and is journaled like any join; whether a seat is a bot's is not journaled
+     * or checkpointed, so after a restart the bot's seat is played like an absent player's, on timeout.
+     * {@link #reconcileSeats} leaves bots in the game, since nobody sits in their seat.
+     * Rejected with {@link RejectionCode#BOT_NOT_ALLOWED} on a wager table or without a {@link BotEngine}.
+     */
+    public CompletionStage<CommandResult> seatBot() {
+        UUID botId = UUID.randomUUID();
+        return submit(JournalRecord.join(botId), () -> {
+            if (bots == null || table.snapshot().mode().isWagerMode()) {
+                return CommandResult.rejected(RejectionCode.BOT_NOT_ALLOWED);
+            }
+            if (table.snapshot().phase() != GamePhase.JOINING) {
+                return CommandResult.rejected(RejectionCode.WRONG_PHASE);
+            }
+            CommandResult result = table.tryJoin(botId);
+            if (result.isAccepted()) {
+                botPlayers.add(botId);
+            }
+            return result;
+        });
     }
 
     public CompletionStage<List<CoreEvent>> playerDisconnected(UUID playerId) {
-        return CompletableFuture.supplyAsync(() -> table.playerDisconnected(playerId), mailbox);
+        mailbox.dropCommandsOf(playerId);
+        return submitEvents(JournalRecord.disconnect(playerId), () -> table.playerDisconnected(playerId));
+    }
+
+    /**
+     * Same as {@link #reconcileSeats(List, boolean)} releasing every unseated player.
+     */
+    public CompletionStage<List<CoreEvent>> reconcileSeats(List<UUID> seatedInSeatOrder) {
+        return reconcileSeats(seatedInSeatOrder, false);
     }
 
+    /**
+     * Brings the game in line with who sits at the table in one mailbox task: players who left their seat
+     * disconnect, then newly seated players join in the order they sat down. Each step is journaled as the
+     * plain disconnect or join it is, and a step the table refuses (full, wrong phase, unpaid) is skipped
+     * without failing the rest. Queued like a disconnect, ahead of player commands.
+     *
+     * <p>Joins that charge through an asynchronous economy cannot finish on the lane; those fall back to
+     * {@link #join} one by one after the task.
+     *
+     * @param keepUnseated only join, for example while seats are still being restored after a restart
+     */
+    public CompletionStage<List<CoreEvent>> reconcileSeats(List<UUID> seatedInSeatOrder, boolean keepUnseated) {
+        List<UUID> seated = List.copyOf(seatedInSeatOrder);
+        return CompletableFuture.supplyAsync(() -> reconcileOnLane(seated, keepUnseated), mailbox)
+                .thenCompose(this::joinCharged);
+    }
+
+    /**
+     * Plays a bot decision that is due first, if any; its events come ahead of the tick's.
+     */
     public CompletionStage<List<CoreEvent>> tickSecond() {
-        return CompletableFuture.supplyAsync(table::tickSecond, mailbox);
+        return CompletableFuture.supplyAsync(() -> {
+            CommandResult botPlay = playHeldMove(false);
+            List<CoreEvent> tick = run(JournalRecord.tick(), () -> CommandResult.accepted(table.tickSecond())).events();
+            if (botPlay == null) {
+                return tick;
+            }
+            List<CoreEvent> events = new ArrayList<>(botPlay.events());
+            events.addAll(tick);
+            return List.copyOf(events);
+        }, mailbox);
     }
 
     public CompletionStage<List<CoreEvent>> forceStop() {
-        return CompletableFuture.supplyAsync(table::forceStop, mailbox);
+        return submitEvents(JournalRecord.forceStop(), table::forceStop);
     }
 
+    /**
+     * Snapshot published by the last completed command. Completes immediately without a mailbox hop.
+     */
     public CompletionStage<GameSnapshot> snapshot() {
-        return CompletableFuture.supplyAsync(table::snapshot, mailbox);
+        return CompletableFuture.completedFuture(table.publishedSnapshot());
     }
 
-    @Override
-    public void close() {
-        mailbox.shutdown();
+    /**
+     * Same as {@link #snapshot()}, readable synchronously from any thread.
+     */
+    public GameSnapshot latestSnapshot() {
+        return table.publishedSnapshot();
+    }
+
+    /**
+     * {@link LiarBarTable#checkpoint()} taken on the mailbox, or {@code null} if the table is idle and
+     * there is nothing worth keeping.
+     */
+    public CompletionStage<byte[]> checkpoint() {
+        return CompletableFuture.supplyAsync(() -> table.isIdle() ? null : table.checkpoint(), mailbox);
+    }
+
+    /**
+     * Whether the table is idle, read on the mailbox so anything queued before this call is already applied.
+     */
+    CompletionStage<Boolean> idle() {
+        return CompletableFuture.supplyAsync(table::isIdle, mailbox);
+    }
+
+    /**
+     * Seals the mailbox if the table is still idle at the snapshot version the caller last saw and nothing
+     * is queued behind this call. A sealed runtime rejects every later command and deadline; its table,
+     * journal and economy can then be handed to a new runtime.
+     *
+     * @return whether the runtime is now sealed
+     */
+    CompletionStage<Boolean> sealIfIdle(long version) {
+        return CompletableFuture.supplyAsync(() -> table.isIdle()
+                && !table.isChargePending()
+                && table.snapshot().version() == version
+                && mailbox.sealIfEmpty(), mailbox);
+    }
+
+    boolean isSealed() {
+        return mailbox.isSealed();
+    }
+
+    /**
+     * Loads a checkpoint on the mailbox, ahead of any command queued after this call.
+     */
+    public CompletionStage<GameSnapshot> restore(byte[] checkpoint) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                journaled(JournalRecord.restore(checkpoint), () -> {
+                    table.restore(checkpoint);
+                    return null;
+                });
+            } finally {
+                table.snapshot();
+                rearmDeadline();
+                botEpoch = NO_BOT_TURN;
+                planBotTurn();
+            }
+            return table.publishedSnapshot();
+        }, mailbox);
+    }
+
+    /**
+     * Runs a command on the mailbox and republishes the snapshot before its future completes, so a
+     * caller chaining on the result already sees the new state through {@link #latestSnapshot()}.
+     * Player commands queue behind ticks, disconnects and force stops, and may be turned away with
+     * {@link TableBusyException} or coalesced with an identical one still waiting; see {@link TableMailbox}.
+     */
+    private CompletionStage<CommandResult> submit(JournalRecord record, Supplier<CommandResult> command) {
+        if (isPlayerCommand(record.command())) {
+            return mailbox.submit(record, () -> run(record, command));
+        }
+        return CompletableFuture.supplyAsync(() -> run(record, command), mailbox);
+    }
+
+    /**
+     * {@link #submit} for a command the table never rejects.
+     */
+    private CompletionStage<List<CoreEvent>> submitEvents(JournalRecord record, Supplier<List<CoreEvent>> command) {
+        return submit(record, () -> CommandResult.accepted(command.get())).thenApply(CommandResult::events);
+    }
+
+    private static boolean isPlayerCommand(JournalCommand command) {
+        return switch (command) {
+            case JOIN, SELECT_MODE, PLAY, CHALLENGE -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * Like {@link #submit}, but parks the table while the command's charges are collected so the lane is
+     * free in the meantime, then runs the command against the settled outcomes on a second mailbox hop.
+     */
+    private CompletionStage<CommandResult> charged(
+            Supplier<PendingCharge> park,
+            JournalRecord record,
+            Supplier<CommandResult> command
+    ) {
+        return mailbox.submit(record, () -> {
+            PendingCharge charge;
+            try {
+                charge = park.get();
+            } catch (CommandRejectedException ex) {
+                return CompletableFuture.completedFuture(CommandResult.rejected(ex.code()));
+            } finally {
+                table.snapshot();
+                rearmDeadline();
+            }
+            if (charge == null) {
+                return CompletableFuture.completedFuture(run(record, command));
+            }
+            return charges.collect(charge).thenCompose(outcomes -> resume(charge, outcomes, record, command));
+        }).thenCompose(Function.identity());
+    }
+
+    private CompletionStage<CommandResult> resume(
+            PendingCharge charge,
+            boolean[] outcomes,
+            JournalRecord record,
+            Supplier<CommandResult> command
+    ) {
         try {
-            if (!mailbox.awaitTermination(3, TimeUnit.SECONDS)) {
-                mailbox.shutdownNow();
+            return CompletableFuture.supplyAsync(() -> {
+                table.resumeAfterCharge();
+                charges.settle(charge, outcomes);
+                try {
+                    return run(record, command);
+                } finally {
+                    charges.refundUnclaimed();
+                }
+            }, mailbox);
+        } catch (RejectedExecutionException ex) {
+            // Table closed while the charges were out.
+            charges.refund(charge, outcomes);
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    private Reconciled reconcileOnLane(List<UUID> seated, boolean keepUnseated) {
+        TableCommandEvent trace = new TableCommandEvent();
+        trace.begin();
+        SeatDiff diff = table.seatDiff(seated);
+        List<CoreEvent> events = new ArrayList<>();
+        List<UUID> deferred = List.of();
+        try {
+            if (!keepUnseated) {
+                for (UUID playerId : diff.leaving()) {
+                    if (botPlayers.contains(playerId)) {
+                        // Bots never sit down physically.
+                        continue;
+                    }
+                    mailbox.dropCommandsOf(playerId);
+                    seatStep(JournalRecord.disconnect(playerId),
+                            () -> CommandResult.accepted(table.playerDisconnected(playerId)), events);
+                }
+            }
+            if (charges != null && diff.wagerMode()) {
+                deferred = diff.joining();
+            } else {
+                for (UUID playerId : diff.joining()) {
+                    seatStep(JournalRecord.join(playerId), () -> table.tryJoin(playerId), events);
+                }
             }
-        } catch (InterruptedException ex) {
-            Thread.currentThread().interrupt();
-            mailbox.shutdownNow();
+        } finally {
+            table.snapshot();
+            rearmDeadline();
+            metrics.recordEvents(events);
+            if (trace.shouldCommit()) {
+                trace.tableId = table.tableId();
+                trace.command = "RECONCILE_SEATS";
+                trace.eventsEmitted = events.size();
+                trace.commit();
+            }
+        }
+        return new Reconciled(events, deferred);
+    }
+
+    private void seatStep(JournalRecord record, Supplier<CommandResult> step, List<CoreEvent> events) {
+        CommandResult result = journaled(record, step);
+        if (result.isAccepted()) {
+            events.addAll(result.events());
+            return;
+        }
+        LOGGER.log(System.Logger.Level.DEBUG, () -> "Seat " + record.command() + " of " + record.playerId()
+                + " skipped at table " + table.tableId() + ": " + result.rejection().reason());
+    }
+
+    private CompletionStage<List<CoreEvent>> joinCharged(Reconciled reconciled) {
+        CompletionStage<List<CoreEvent>> sequence = CompletableFuture.completedFuture(reconciled.events());
+        for (UUID playerId : reconciled.deferredJoins()) {
+            sequence = sequence.thenCompose(accumulated -> {
+                CompletionStage<CommandResult> joined;
+                try {
+                    joined = join(playerId);
+                } catch (RejectedExecutionException ex) {
+                    return CompletableFuture.completedFuture(accumulated);
+                }
+                return joined.handle((result, error) -> {
+                    if (error != null || !result.isAccepted()) {
+                        LOGGER.log(System.Logger.Level.DEBUG, () -> "Seat JOIN of " + playerId
+                                + " skipped at table " + table.tableId() + ": "
+                                + (error != null ? error.getMessage() : result.rejection().reason()));
+                        return accumulated;
+                    }
+                    List<CoreEvent> events = result.events();
+                    if (events.isEmpty()) {
+                        return accumulated;
+                    }
+                    List<CoreEvent> merged = new ArrayList<>(accumulated.size() + events.size());
+                    merged.addAll(accumulated);
+                    merged.addAll(events);
+                    return merged;
+                });
+            });
+        }
+        return sequence;
+    }
+
+    private CommandResult run(JournalRecord record, Supplier<CommandResult> command) {
+        TableCommandEvent trace = new TableCommandEvent();
+        trace.begin();
+        CommandResult result = null;
+        String failure = null;
+        try {
+            result = journaled(record, command);
+            metrics.recordEvents(result.events());
+            if (!result.isAccepted()) {
+                failure = result.rejection().reason();
+            }
+            return result;
+        } catch (RuntimeException ex) {
+            failure = String.valueOf(ex.getMessage());
+            throw ex;
+        } finally {
+            table.snapshot();
+            rearmDeadline();
+            planBotTurn();
+            trace(trace, record.command(), result == null ? 0 : result.events().size(), failure);
+        }
+    }
+
+    private void trace(TableCommandEvent trace, JournalCommand command, int eventsEmitted, String failure) {
+        if (trace.shouldCommit()) {
+            trace.tableId = table.tableId();
+            trace.command = command.name();
+            trace.eventsEmitted = eventsEmitted;
+            trace.failure = failure;
+            trace.commit();
+        }
+    }
+
+    /**
+     * Ticks the table in place for a batched pass that is already running on this table's shard.
+     *
+     * @return number of events passed to {@code sink}
+     */
+    int tickInPlace(CoreEventSink sink) {
+        TableCommandEvent trace = new TableCommandEvent();
+        trace.begin();
+        long startedAt = System.nanoTime();
+        CountingSink counting = new CountingSink(sink);
+        String failure = null;
+        try {
+            CommandResult botPlay = playHeldMove(false);
+            int played = 0;
+            if (botPlay != null) {
+                botPlay.events().forEach(sink::accept);
+                played = botPlay.events().size();
+            }
+            journaled(JournalRecord.tick(), () -> {
+                table.tickSecond(counting);
+                return null;
+            });
+            return played + counting.emitted;
+        } catch (RuntimeException ex) {
+            failure = String.valueOf(ex.getMessage());
+            throw ex;
+        } finally {
+            rearmDeadline();
+            planBotTurn();
+            metrics.recordExecution(System.nanoTime() - startedAt);
+            trace(trace, JournalCommand.TICK, counting.emitted, failure);
+        }
+    }
+
+    /**
+     * Arms a wheel entry for the current phase timer, unless one is already armed for it. A timer that
+     * restarted or went away bumps the generation, which turns the old entry into a no-op.
+     */
+    private void rearmDeadline() {
+        if (deadlines == null) {
+            return;
+        }
+        int seconds = table.secondsUntilTimeout();
+        long epoch = table.phaseTimerEpoch();
+        if (seconds == LiarBarTable.NO_TIMEOUT) {
+            if (deadlineArmed) {
+                deadlineArmed = false;
+                deadlineGeneration++;
+            }
+            return;
+        }
+        if (deadlineArmed && armedEpoch == epoch) {
+            return;
+        }
+        deadlineArmed = true;
+        armedEpoch = epoch;
+        long generation = ++deadlineGeneration;
+        deadlines.schedule(TimeUnit.SECONDS.toNanos(seconds), () -> {
+            try {
+                mailbox.execute(() -> expireDeadline(generation));
+            } catch (RejectedExecutionException ignored) {
+                // Table closed before its deadline.
+            }
+        });
+    }
+
+    private void expireDeadline(long generation) {
+        if (generation != deadlineGeneration) {
+            return;
+        }
+        deadlineArmed = false;
+        CommandResult botPlay = playHeldMove(true);
+        if (botPlay != null && botPlay.isAccepted()) {
+            // The bot's move ended the turn this deadline was for; the next turn armed its own.
+            publishExpiry(botPlay.events());
+            return;
+        }
+        TableCommandEvent trace = new TableCommandEvent();
+        trace.begin();
+        List<CoreEvent> events = new ArrayList<>();
+        String failure = null;
+        try {
+            journaled(JournalRecord.expirePhase(), () -> {
+                table.expirePhase(events::add);
+                return null;
+            });
+            metrics.recordEvents(events);
+            publishExpiry(events);
+        } catch (RuntimeException ex) {
+            failure = String.valueOf(ex.getMessage());
+            expiries.accept(new TableTickResult(table.tableId(), List.of(), ex));
+        } finally {
+            table.snapshot();
+            rearmDeadline();
+            planBotTurn();
+            trace(trace, JournalCommand.EXPIRE_PHASE, events.size(), failure);
+        }
+    }
+
+    private void publishExpiry(List<CoreEvent> events) {
+        if (!events.isEmpty()) {
+            expiries.accept(new TableTickResult(table.tableId(), events, null));
+        }
+    }
+
+    /**
+     * Asks the bot engine for the move of the player whose turn just started. Runs after every lane task;
+     * only a restarted phase timer, which every new turn has, starts a new decision.
+     */
+    private void planBotTurn() {
+        if (bots == null) {
+            return;
+        }
+        if (table.isIdle()) {
+            botPlayers.clear();
+        }
+        long epoch = table.phaseTimerEpoch();
+        if (epoch == botEpoch) {
+            return;
+        }
+        botEpoch = epoch;
+        heldPlayer = null;
+        heldMove = null;
+        BotTurn turn = table.botTurn();
+        if (turn == null) {
+            return;
+        }
+        bots.decide(turn).thenAccept(move -> {
+            try {
+                mailbox.execute(() -> botDecided(epoch, turn.player(), move));
+            } catch (RejectedExecutionException ignored) {
+                // Table closed while the bot was deciding.
+            }
+        });
+    }
+
+    private void botDecided(long epoch, UUID player, BotMove move) {
+        if (epoch != botEpoch || epoch != table.phaseTimerEpoch()) {
+            // The player moved, or the turn ended, before the bot did.
+            return;
+        }
+        heldPlayer = player;
+        heldMove = move;
+        if (deadlines != null && botPlayers.contains(player)) {
+            CommandResult botPlay = playHeldMove(true);
+            if (botPlay != null) {
+                publishExpiry(botPlay.events());
+            }
+        }
+    }
+
+    /**
+     * Plays the held bot decision through the journal like the player's own command, once it is due: for a
+     * bot's seat at once, otherwise when the turn is about to time out.
+     *
+     * @param deadlineFired the turn's deadline has passed
+     * @return the outcome, or {@code null} if no decision was due
+     */
+    private CommandResult playHeldMove(boolean deadlineFired) {
+        if (heldMove == null || botEpoch != table.phaseTimerEpoch()) {
+            return null;
+        }
+        if (!deadlineFired && !botPlayers.contains(heldPlayer) && table.secondsUntilTimeout() > 1) {
+            return null;
+        }
+        UUID player = heldPlayer;
+        BotMove move = heldMove;
+        heldPlayer = null;
+        heldMove = null;
+        if (move.challenge()) {
+            return run(JournalRecord.challenge(player), () -> table.tryChallenge(player));
+        }
+        return run(JournalRecord.play(player, move.slots()), () -> table.tryPlay(player, move.slots()));
+    }
+
+    private <T> T journaled(JournalRecord record, Supplier<T> command) {
+        if (journal == null) {
+            return command.get();
+        }
+        boolean wasIdle = table.isIdle();
+        journal.begin();
+        T result;
+        try {
+            result = command.get();
+        } catch (RuntimeException ex) {
+            journal.abort();
+            throw ex;
+        }
+        if (result instanceof CommandResult commandResult && !commandResult.isAccepted()) {
+            journal.abort();
+            return result;
+        }
+        journal.commit(record, wasIdle, table.isIdle());
+        return result;
+    }
+
+    /**
+     * This table's metrics as of now; readable from any thread.
+     */
+    public TableMetricsSnapshot metrics() {
+        return metrics.snapshot(table.tableId(), mailbox.depth());
+    }
+
+    private record Reconciled(List<CoreEvent> events, List<UUID> deferredJoins) {
+    }
+
+    /**
+     * Counts and records every event on its way to the batched pass's sink.
+     */
+    private final class CountingSink implements CoreEventSink {
+        private final CoreEventSink downstream;
+        private int emitted;
+
+        private CountingSink(CoreEventSink downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void accept(CoreEvent event) {
+            emitted++;
+            metrics.recordEvent(event);
+            downstream.accept(event);
+        }
+    }
+
+    LiarBarTable table() {
+        return table;
+    }
+
+    TableLane lane() {
+        return lane;
+    }
+
+    JournalRecorder journal() {
+        return journal;
+    }
+
+    SettledEconomy charges() {
+        return charges;
+    }
+
+    /**
+     * Closes the lane of a sealed runtime but leaves its journal open for the runtime that takes over its table.
+     */
+    void release() {
+        lane.close();
+    }
+
+    @Override
+    public void close() {
+        lane.close();
+        if (journal != null) {
+            journal.journal().close();
         }
     }
 }
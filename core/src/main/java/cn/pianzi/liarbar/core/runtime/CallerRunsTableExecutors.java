@@ -0,0 +1,31 @@
+package cn.pianzi.liarbar.core.runtime;
+
+import java.util.concurrent.RejectedExecutionException;
+
+final class CallerRunsTableExecutors implements TableExecutors {
+    @Override
+    public TableLane open(String tableId) {
+        return new Lane();
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private static final class Lane implements TableLane {
+        private boolean closed;
+
+        @Override
+        public synchronized void execute(Runnable command) {
+            if (closed) {
+                throw new RejectedExecutionException("table lane closed");
+            }
+            command.run();
+        }
+
+        @Override
+        public synchronized void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package cn.pianzi.liarbar.core.runtime;
+
+import java.util.Objects;
+
+/**
+ * Thrown by the throwing command API of {@link LiarBarTable} for a {@link RejectionCode}; the message is
+ * the code's {@link RejectionCode#reason()}. Rejections are routine, so no stack trace is captured.
+ */
+public class CommandRejectedException extends IllegalStateException {
+    private static final long serialVersionUID = 1L;
+
+    private final RejectionCode code;
+
+    public CommandRejectedException(RejectionCode code) {
+        super(Objects.requireNonNull(code, "code").reason());
+        this.code = code;
+    }
+
+    public RejectionCode code() {
+        return code;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,38 @@
+package cn.pianzi.liarbar.core.runtime;
+
+import cn.pianzi.liarbar.core.event.CoreEvent;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Outcome of one player command: the events it emitted, or why the table rejected it
+ * ({@code events} is then empty).
+ */
+public record CommandResult(List<CoreEvent> events, RejectionCode rejection) {
+    public CommandResult {
+        events = List.copyOf(events);
+    }
+
+    public static CommandResult accepted(List<CoreEvent> events) {
+        return new CommandResult(events, null);
+    }
+
+    public static CommandResult rejected(RejectionCode rejection) {
+        return new CommandResult(List.of(), Objects.requireNonNull(rejection, "rejection"));
+    }
+
+    public boolean isAccepted() {
+        return rejection == null;
+    }
+
+    /**
+     * @throws CommandRejectedException if the command was rejected
+     */
+    public List<CoreEvent> eventsOrThrow() {
+        if (rejection != null) {
+            throw new CommandRejectedException(rejection);
+        }
+        return events;
+    }
+}
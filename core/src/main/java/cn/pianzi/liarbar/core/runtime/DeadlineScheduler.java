@@ -0,0 +1,170 @@
+package cn.pianzi.liarbar.core.runtime;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * Hashed timing wheel for phase deadlines on a monotonic clock. Tables arm one deadline per phase timer
+ * and only the tables whose deadline passed are woken, so idle or waiting tables cost nothing between
+ * deadlines, and a lagging server thread does not stretch turn timers.
+ *
+ * <p>Deadlines land in one of {@value #WHEEL_SIZE} buckets of {@code tickNanos} each; one that lies more
+ * than a revolution ahead carries a round counter instead of a second wheel level, which is enough for
+ * phase timeouts of seconds to minutes. Scheduling is lock-free from any thread; buckets are only touched
+ * by the thread calling {@link #advance()}.
+ */
+public final class DeadlineScheduler implements AutoCloseable {
+    private static final System.Logger LOGGER = System.getLogger(DeadlineScheduler.class.getName());
+    private static final int WHEEL_SIZE = 512;
+    private static final int MASK = WHEEL_SIZE - 1;
+    private static final long DEFAULT_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final LongSupplier clock;
+    private final long tickNanos;
+    private final long startNanos;
+    private final Entry[] buckets = new Entry[WHEEL_SIZE];
+    private final Queue<Entry> incoming = new ConcurrentLinkedQueue<>();
+    private final Thread driver;
+    private long tick;
+    private volatile boolean closed;
+
+    /**
+     * Wheel on {@link System#nanoTime()} with 50 ms buckets, advanced by its own daemon thread.
+     */
+    public DeadlineScheduler() {
+        this(System::nanoTime, DEFAULT_TICK_NANOS, true);
+    }
+
+    private DeadlineScheduler(LongSupplier clock, long tickNanos, boolean driven) {
+        this.clock = Objects.requireNonNull(clock, "clock");
+        if (tickNanos <= 0) {
+            throw new IllegalArgumentException("tickNanos must be > 0");
+        }
+        this.tickNanos = tickNanos;
+        this.startNanos = clock.getAsLong();
+        this.driver = driven
+                ? Thread.ofPlatform().name("liar-bar-deadlines").daemon(true).start(this::driveLoop)
+                : null;
+    }
+
+    /**
+     * Wheel without a thread: deadlines only fire when the caller invokes {@link #advance()}. For tests
+     * and simulations that control the clock.
+     */
+    public static DeadlineScheduler manual(LongSupplier nanoClock, long tickNanos) {
+        return new DeadlineScheduler(nanoClock, tickNanos, false);
+    }
+
+    /**
+     * Runs {@code task} on the advancing thread once {@code delayNanos} have passed. Tasks should only
+     * hand work off; a cancelled deadline is expected to be ignored by the task itself.
+     */
+    void schedule(long delayNanos, Runnable task) {
+        if (closed) {
+            return;
+        }
+        long now = clock.getAsLong();
+        long deadline = delayNanos >= Long.MAX_VALUE - now ? Long.MAX_VALUE : now + delayNanos;
+        incoming.add(new Entry(deadline, Objects.requireNonNull(task, "task")));
+    }
+
+    /**
+     * Fires every deadline that passed up to now.
+     *
+     * @return number of tasks fired, including ones their owner has since superseded
+     */
+    public synchronized int advance() {
+        long target = (clock.getAsLong() - startNanos) / tickNanos;
+        int fired = 0;
+        while (tick <= target) {
+            placeIncoming();
+            fired += expireBucket(tick & MASK);
+            tick++;
+        }
+        return fired;
+    }
+
+    private void placeIncoming() {
+        Entry entry;
+        while ((entry = incoming.poll()) != null) {
+            long dueTick = entry.deadlineNanos == Long.MAX_VALUE
+                    ? Long.MAX_VALUE
+                    : Math.max(tick, ceilDiv(entry.deadlineNanos - startNanos, tickNanos));
+            entry.rounds = (dueTick - tick) / WHEEL_SIZE;
+            int slot = (int) (dueTick & MASK);
+            entry.next = buckets[slot];
+            buckets[slot] = entry;
+        }
+    }
+
+    private int expireBucket(long slot) {
+        int index = (int) slot;
+        Entry entry = buckets[index];
+        Entry kept = null;
+        int fired = 0;
+        while (entry != null) {
+            Entry next = entry.next;
+            if (entry.rounds > 0) {
+                entry.rounds--;
+                entry.next = kept;
+                kept = entry;
+            } else {
+                fired++;
+                try {
+                    entry.task.run();
+                } catch (RuntimeException ex) {
+                    LOGGER.log(System.Logger.Level.WARNING, "Deadline task failed", ex);
+                }
+            }
+            entry = next;
+        }
+        buckets[index] = kept;
+        return fired;
+    }
+
+    private void driveLoop() {
+        while (!closed) {
+            long nextTickAt = startNanos + (tick + 1) * tickNanos;
+            long wait = nextTickAt - clock.getAsLong();
+            if (wait > 0) {
+                LockSupport.parkNanos(this, wait);
+                continue;
+            }
+            advance();
+        }
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        long quotient = value / divisor;
+        return quotient * divisor == value ? quotient : quotient + 1;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        if (driver != null) {
+            LockSupport.unpark(driver);
+            try {
+                driver.join(TimeUnit.SECONDS.toMillis(1));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final long deadlineNanos;
+        private final Runnable task;
+        private long rounds;
+        private Entry next;
+
+        private Entry(long deadlineNanos, Runnable task) {
+            this.deadlineNanos = deadlineNanos;
+            this.task = task;
+        }
+    }
+}
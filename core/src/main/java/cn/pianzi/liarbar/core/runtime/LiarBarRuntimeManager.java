@@ -1,54 +1,638 @@
 package cn.pianzi.liarbar.core.runtime;
 
+import cn.pianzi.liarbar.core.bot.BotEngine;
+import cn.pianzi.liarbar.core.checkpoint.CheckpointStore;
 import cn.pianzi.liarbar.core.config.TableConfig;
+import cn.pianzi.liarbar.core.domain.GamePhase;
+import cn.pianzi.liarbar.core.event.CoreEvent;
+import cn.pianzi.liarbar.core.event.CoreEventSink;
+import cn.pianzi.liarbar.core.jfr.TableTickPassEvent;
+import cn.pianzi.liarbar.core.journal.JournalRecord;
+import cn.pianzi.liarbar.core.journal.JournalRecorder;
+import cn.pianzi.liarbar.core.journal.JournalStore;
+import cn.pianzi.liarbar.core.journal.TableJournal;
+import cn.pianzi.liarbar.core.metrics.RuntimeMetricsSnapshot;
+import cn.pianzi.liarbar.core.metrics.TableMetricsSnapshot;
+import cn.pianzi.liarbar.core.port.AsyncEconomyPort;
 import cn.pianzi.liarbar.core.port.EconomyPort;
 import cn.pianzi.liarbar.core.port.RandomSource;
+import cn.pianzi.liarbar.core.snapshot.GameSnapshot;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 public final class LiarBarRuntimeManager implements AutoCloseable {
+    private static final System.Logger LOGGER = System.getLogger(LiarBarRuntimeManager.class.getName());
+    private static final CoreEventSink DISCARD = event -> {
+    };
+    private static final Executor CHECKPOINT_WRITERS = runnable -> Thread.ofVirtual()
+            .name("liar-bar-checkpoint")
+            .start(runnable);
+    private static final Executor LANE_RELEASERS = runnable -> Thread.ofVirtual()
+            .name("liar-bar-hibernate")
+            .start(runnable);
+
     private final Map<String, AsyncTableRuntime> runtimes = new ConcurrentHashMap<>();
+    // Hibernating tables; an id is in at most one of the two maps, and both only change inside runtimes.compute.
+    private final Map<String, DormantTable> dormant = new ConcurrentHashMap<>();
+    private final Map<String, IdleMark> idleMarks = new ConcurrentHashMap<>();
+    private final TableExecutors executors;
+    private final JournalStore journals;
+    private final CheckpointStore checkpoints;
+    private final DeadlineScheduler deadlines;
+    private final Queue<TableTickResult> expired = new ConcurrentLinkedQueue<>();
+    private final long hibernateAfterNanos;
+    private final BotEngine bots;
+
+    public LiarBarRuntimeManager() {
+        this(TableExecutors.virtualThreadPerTable());
+    }
+
+    public LiarBarRuntimeManager(TableExecutors executors) {
+        this(executors, null);
+    }
+
+    /**
+     * @param journals where each table journals its commands; {@code null} to keep tables in memory only.
+     *                 A table created under an id that still has a journal is rebuilt by replaying it.
+     */
+    public LiarBarRuntimeManager(TableExecutors executors, JournalStore journals) {
+        this(executors, journals, null);
+    }
+
+    /**
+     * @param checkpoints where live tables are checkpointed on {@link #close()}; {@code null} to drop them.
+     *                    A table created under an id with a checkpoint loads it as its first mailbox task,
+     *                    unless its journal already rebuilt a newer state.
+     */
+    public LiarBarRuntimeManager(TableExecutors executors, JournalStore journals, CheckpointStore checkpoints) {
+        this(executors, journals, checkpoints, null);
+    }
+
+    /**
+     * @param deadlines wheel that fires phase timeouts by wall clock; {@code null} to advance tables with
+     *                  {@link #tickAll()}. With a wheel, {@link #tickAll()} ticks nothing and only collects
+     *                  what the fired deadlines produced since the last call.
+     */
+    public LiarBarRuntimeManager(
+            TableExecutors executors,
+            JournalStore journals,
+            CheckpointStore checkpoints,
+            DeadlineScheduler deadlines
+    ) {
+        this(executors, journals, checkpoints, deadlines, null);
+    }
+
+    /**
+     * @param hibernateAfter how long a table must sit in {@code MODE_SELECTION} with nobody joined before
+     *                       {@link #tickAll()} hibernates it: its runtime and lane are released and it is no
+     *                       longer ticked, while its table, journal and economy are kept for the next
+     *                       {@link #getTable} or {@link #createTable}, which wakes it. {@code null} to keep
+     *                       every table awake.
+     */
+    public LiarBarRuntimeManager(
+            TableExecutors executors,
+            JournalStore journals,
+            CheckpointStore checkpoints,
+            DeadlineScheduler deadlines,
+            Duration hibernateAfter
+    ) {
+        this(executors, journals, checkpoints, deadlines, hibernateAfter, null);
+    }
+
+    /**
+     * @param bots plays the turns of players who let their turn time out and of bots seated with
+     *             {@link AsyncTableRuntime#seatBot()}; {@code null} to let a timed-out turn play its first card.
+     *             Closed with this manager.
+     */
+    public LiarBarRuntimeManager(
+            TableExecutors executors,
+            JournalStore journals,
+            CheckpointStore checkpoints,
+            DeadlineScheduler deadlines,
+            Duration hibernateAfter,
+            BotEngine bots
+    ) {
+        this.executors = Objects.requireNonNull(executors, "executors");
+        this.journals = journals;
+        this.checkpoints = checkpoints;
+        this.deadlines = deadlines;
+        if (hibernateAfter != null && hibernateAfter.isNegative()) {
+            throw new IllegalArgumentException("hibernateAfter must not be negative");
+        }
+        this.hibernateAfterNanos = hibernateAfter == null ? -1 : hibernateAfter.toNanos();
+        this.bots = bots;
+    }
 
     public AsyncTableRuntime createTable(String tableId, TableConfig config, EconomyPort economy, RandomSource random) {
+        Objects.requireNonNull(economy, "economy");
+        return createTable(tableId, config, economy, null, random);
+    }
+
+    /**
+     * Creates a table whose charges and rewards go through {@code economy} without blocking its lane:
+     * wager commands park the table until their charges complete.
+     */
+    public AsyncTableRuntime createTable(String tableId, TableConfig config, AsyncEconomyPort economy, RandomSource random) {
+        SettledEconomy charges = new SettledEconomy(Objects.requireNonNull(economy, "economy"));
+        return createTable(tableId, config, charges, charges, random);
+    }
+
+    private AsyncTableRuntime createTable(
+            String tableId,
+            TableConfig config,
+            EconomyPort economy,
+            SettledEconomy charges,
+            RandomSource random
+    ) {
         Objects.requireNonNull(tableId, "tableId");
         Objects.requireNonNull(config, "config");
-        Objects.requireNonNull(economy, "economy");
         Objects.requireNonNull(random, "random");
 
-        return runtimes.computeIfAbsent(tableId, id -> {
-            LiarBarTable table = new LiarBarTable(id, config, economy, random);
-            return new AsyncTableRuntime(table);
+        return runtimes.compute(tableId, (id, current) -> {
+            AsyncTableRuntime awake = wake(id, current);
+            if (awake != null) {
+                return awake;
+            }
+            AsyncTableRuntime runtime;
+            if (journals == null) {
+                LiarBarTable table = new LiarBarTable(id, config, economy, random);
+                runtime = new AsyncTableRuntime(table, executors.open(id), null, deadlines, expired::add, charges, bots);
+            } else {
+                JournalRecorder recorder = new JournalRecorder(journals.open(id), random, economy);
+                LiarBarTable table = recover(id, config, recorder);
+                runtime = new AsyncTableRuntime(
+                        table, executors.open(id), recorder, deadlines, expired::add, charges, bots);
+            }
+            if (checkpoints != null) {
+                restoreCheckpoint(runtime);
+            }
+            return runtime;
+        });
+    }
+
+    /**
+     * Runtime for a table that is awake or can be woken, or {@code null} if the id is unknown.
+     * Only called inside {@code runtimes.compute} for {@code id}.
+     *
+     * @param current the runtime mapped to {@code id}, possibly one that has just sealed itself for
+     *                hibernation and not yet moved its table to {@link #dormant}
+     */
+    private AsyncTableRuntime wake(String id, AsyncTableRuntime current) {
+        DormantTable sleeping;
+        if (current == null) {
+            sleeping = dormant.remove(id);
+            if (sleeping == null) {
+                return null;
+            }
+        } else if (current.isSealed()) {
+            sleeping = DormantTable.of(current);
+        } else {
+            return current;
+        }
+        idleMarks.remove(id);
+        return new AsyncTableRuntime(
+                sleeping.table(),
+                executors.open(id),
+                sleeping.journal(),
+                deadlines,
+                expired::add,
+                sleeping.charges(),
+                bots
+        );
+    }
+
+    /**
+     * Queues the table's checkpoint, if any, as the first task on its mailbox. The file is consumed either
+     * way, so a later crash can never bring back a checkpoint older than the journal.
+     */
+    private void restoreCheckpoint(AsyncTableRuntime runtime) {
+        String tableId = runtime.table().tableId();
+        Optional<byte[]> checkpoint;
+        try {
+            checkpoint = checkpoints.read(tableId);
+        } catch (RuntimeException ex) {
+            LOGGER.log(System.Logger.Level.WARNING, "Cannot read checkpoint of table " + tableId, ex);
+            return;
+        }
+        if (checkpoint.isEmpty()) {
+            return;
+        }
+        if (!runtime.table().isIdle()) {
+            // The journal already replayed past this checkpoint.
+            checkpoints.delete(tableId);
+            return;
+        }
+        runtime.restore(checkpoint.get()).whenComplete((snapshot, error) -> {
+            try {
+                if (error == null) {
+                    checkpoints.delete(tableId);
+                    LOGGER.log(System.Logger.Level.INFO, "Restored table " + tableId + " from checkpoint in phase "
+                            + snapshot.phase());
+                } else {
+                    checkpoints.quarantine(tableId);
+                    LOGGER.log(System.Logger.Level.WARNING, "Checkpoint of table " + tableId
+                            + " could not be restored; starting fresh", error);
+                }
+            } catch (RuntimeException ex) {
+                LOGGER.log(System.Logger.Level.WARNING, "Cannot clean up checkpoint of table " + tableId, ex);
+            }
+        });
+    }
+
+    /**
+     * Replays the table's journal onto a new table. A journal that no longer replays cleanly (for
+     * example after a rules change) is moved aside and the table starts fresh.
+     */
+    private static LiarBarTable recover(String tableId, TableConfig config, JournalRecorder recorder) {
+        TableJournal journal = recorder.journal();
+        LiarBarTable table = new LiarBarTable(tableId, config, recorder.economy(), recorder.random());
+        List<JournalRecord> records = journal.recovered();
+        if (records.isEmpty()) {
+            return table;
+        }
+        try {
+            for (JournalRecord record : records) {
+                recorder.replay(record, () -> replay(table, record));
+            }
+            table.snapshot();
+            LOGGER.log(System.Logger.Level.INFO, "Recovered table " + tableId + " from "
+                    + records.size() + " journaled commands");
+            return table;
+        } catch (RuntimeException ex) {
+            LOGGER.log(System.Logger.Level.WARNING, "Journal of table " + tableId
+                    + " could not be replayed; starting fresh", ex);
+            journal.quarantine();
+            return new LiarBarTable(tableId, config, recorder.economy(), recorder.random());
+        }
+    }
+
+    private static void replay(LiarBarTable table, JournalRecord record) {
+        switch (record.command()) {
+            case JOIN -> table.join(record.playerId(), DISCARD);
+            case SELECT_MODE -> table.selectMode(record.playerId(), record.mode(), record.wager(), DISCARD);
+            case PLAY -> table.play(record.playerId(), record.slotList(), DISCARD);
+            case CHALLENGE -> table.challenge(record.playerId(), DISCARD);
+            case DISCONNECT -> table.playerDisconnected(record.playerId(), DISCARD);
+            case TICK -> table.tickSecond(DISCARD);
+            case FORCE_STOP -> table.forceStop(DISCARD);
+            case RESTORE -> table.restore(record.state());
+            case EXPIRE_PHASE -> table.expirePhase(DISCARD);
+        }
+    }
+
+    /**
+     * Ids of the tables with a game in progress, read on each table's lane so a checkpoint restored at
+     * creation already counts.
+     */
+    public CompletionStage<Set<String>> activeTableIds() {
+        Map<String, CompletableFuture<Boolean>> idle = new HashMap<>();
+        runtimes.forEach((tableId, runtime) -> {
+            try {
+                idle.put(tableId, runtime.idle().toCompletableFuture());
+            } catch (RejectedExecutionException ignored) {
+                // Removed while we were asking.
+            }
+        });
+        return CompletableFuture.allOf(idle.values().toArray(CompletableFuture<?>[]::new)).thenApply(ignored -> {
+            Set<String> active = new HashSet<>();
+            idle.forEach((tableId, isIdle) -> {
+                if (!isIdle.join()) {
+                    active.add(tableId);
+                }
+            });
+            return Set.copyOf(active);
         });
     }
 
+    /**
+     * The table's runtime, waking the table first if it is hibernating.
+     */
     public Optional<AsyncTableRuntime> getTable(String tableId) {
-        return Optional.ofNullable(runtimes.get(tableId));
+        AsyncTableRuntime runtime = runtimes.get(tableId);
+        if (runtime != null && !runtime.isSealed()) {
+            return Optional.of(runtime);
+        }
+        if (runtime == null && !dormant.containsKey(tableId)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(runtimes.compute(tableId, this::wake));
+    }
+
+    public boolean hasTable(String tableId) {
+        return runtimes.containsKey(tableId) || dormant.containsKey(tableId);
+    }
+
+    /**
+     * Last published snapshot of the table, read without waking it.
+     */
+    public Optional<GameSnapshot> latestSnapshot(String tableId) {
+        AsyncTableRuntime runtime = runtimes.get(tableId);
+        if (runtime != null) {
+            return Optional.of(runtime.latestSnapshot());
+        }
+        DormantTable sleeping = dormant.get(tableId);
+        return sleeping == null ? Optional.empty() : Optional.of(sleeping.table().publishedSnapshot());
+    }
+
+    public boolean isHibernating(String tableId) {
+        return dormant.containsKey(tableId);
     }
 
     public boolean removeTable(String tableId) {
         AsyncTableRuntime runtime = runtimes.remove(tableId);
+        idleMarks.remove(tableId);
         if (runtime != null) {
             runtime.close();
+            if (runtime.journal() != null) {
+                runtime.journal().journal().delete();
+            }
+            return true;
+        }
+        DormantTable sleeping = dormant.remove(tableId);
+        if (sleeping != null) {
+            if (sleeping.journal() != null) {
+                sleeping.journal().journal().close();
+                sleeping.journal().journal().delete();
+            }
             return true;
         }
         return false;
     }
 
+    /**
+     * Ids of every table, hibernating ones included.
+     */
     public Set<String> tableIds() {
+        Set<String> ids = new HashSet<>(runtimes.keySet());
+        ids.addAll(dormant.keySet());
+        return Set.copyOf(ids);
+    }
+
+    /**
+     * Ids of the tables that are not hibernating.
+     */
+    public Set<String> awakeTableIds() {
         return Set.copyOf(runtimes.keySet());
     }
 
+    /**
+     * Queue depth, queue wait and execution latency, rejected and coalesced commands, and emitted events
+     * of every table, read without a lane hop. Counters of removed tables are dropped with them.
+     */
+    public RuntimeMetricsSnapshot metrics() {
+        List<TableMetricsSnapshot> tables = new ArrayList<>(runtimes.size());
+        for (AsyncTableRuntime runtime : runtimes.values()) {
+            tables.add(runtime.metrics());
+        }
+        return new RuntimeMetricsSnapshot(tables);
+    }
+
+    /**
+     * Advances every table by one second with a single task per shard instead of one hop per table.
+     * Idle tables are skipped and tables that emitted nothing are left out of the result.
+     * With a {@link DeadlineScheduler} tables advance on their own and this only drains the results of
+     * deadlines fired since the last call.
+     */
+    public CompletionStage<List<TableTickResult>> tickAll() {
+        if (hibernateAfterNanos >= 0) {
+            hibernateIdleTables();
+        }
+        if (deadlines != null) {
+            List<TableTickResult> fired = new ArrayList<>();
+            TableTickResult result;
+            while ((result = expired.poll()) != null) {
+                fired.add(result);
+            }
+            return CompletableFuture.completedFuture(fired);
+        }
+        Map<Executor, List<AsyncTableRuntime>> byShard = new IdentityHashMap<>();
+        for (AsyncTableRuntime runtime : runtimes.values()) {
+            if (runtime.isSealed()) {
+                // Going to sleep: its lane may be released before the pass would run.
+                continue;
+            }
+            byShard.computeIfAbsent(runtime.lane().shard(), shard -> new ArrayList<>()).add(runtime);
+        }
+        if (byShard.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+
+        List<CompletableFuture<List<TableTickResult>>> passes = new ArrayList<>(byShard.size());
+        for (Map.Entry<Executor, List<AsyncTableRuntime>> entry : byShard.entrySet()) {
+            List<AsyncTableRuntime> tables = entry.getValue();
+            CompletableFuture<List<TableTickResult>> pass;
+            try {
+                pass = CompletableFuture.supplyAsync(() -> tickShard(tables), entry.getKey());
+            } catch (RejectedExecutionException ex) {
+                // The lane of a table that hibernated since the grouping; only its own tables fail.
+                List<TableTickResult> failed = new ArrayList<>(tables.size());
+                for (AsyncTableRuntime runtime : tables) {
+                    failed.add(new TableTickResult(runtime.table().tableId(), List.of(), ex));
+                }
+                pass = CompletableFuture.completedFuture(failed);
+            }
+            passes.add(pass);
+        }
+        return CompletableFuture.allOf(passes.toArray(CompletableFuture[]::new)).thenApply(ignored -> {
+            List<TableTickResult> merged = new ArrayList<>();
+            for (CompletableFuture<List<TableTickResult>> pass : passes) {
+                merged.addAll(pass.join());
+            }
+            return merged;
+        });
+    }
+
+    private List<TableTickResult> tickShard(List<AsyncTableRuntime> tables) {
+        TableTickPassEvent trace = new TableTickPassEvent();
+        trace.begin();
+        int ticked = 0;
+        int emitted = 0;
+        List<TableTickResult> results = new ArrayList<>();
+        // One buffer for the whole pass; TableTickResult copies out whatever a table emitted.
+        List<CoreEvent> buffer = new ArrayList<>();
+        CoreEventSink sink = buffer::add;
+        for (AsyncTableRuntime runtime : tables) {
+            LiarBarTable table = runtime.table();
+            String tableId = table.tableId();
+            // The pass bypasses the mailbox, so it checks the seal itself: a sealed runtime, or one a wake
+            // has already replaced, no longer owns its table.
+            if (runtime.isSealed() || runtimes.get(tableId) != runtime || table.isIdle()) {
+                continue;
+            }
+            buffer.clear();
+            ticked++;
+            try {
+                emitted += runtime.tickInPlace(sink);
+                if (!buffer.isEmpty()) {
+                    results.add(new TableTickResult(tableId, buffer, null));
+                }
+            } catch (RuntimeException ex) {
+                results.add(new TableTickResult(tableId, List.of(), ex));
+            }
+            table.snapshot();
+        }
+        if (trace.shouldCommit()) {
+            trace.tables = tables.size();
+            trace.ticked = ticked;
+            trace.eventsEmitted = emitted;
+            trace.commit();
+        }
+        return results;
+    }
+
+    /**
+     * Starts hibernating every table that has sat idle, at an unchanged snapshot version, for at least
+     * {@code hibernateAfter}. Idleness is read from published snapshots; the final check and the seal run on
+     * the table's lane, so a command that slips in first keeps the table awake.
+     */
+    private void hibernateIdleTables() {
+        long now = System.nanoTime();
+        runtimes.forEach((tableId, runtime) -> {
+            GameSnapshot snapshot = runtime.latestSnapshot();
+            if (snapshot.phase() != GamePhase.MODE_SELECTION || snapshot.joinedCount() != 0) {
+                idleMarks.remove(tableId);
+                return;
+            }
+            IdleMark mark = idleMarks.get(tableId);
+            if (mark == null || mark.version() != snapshot.version()) {
+                idleMarks.put(tableId, new IdleMark(snapshot.version(), now, false));
+                return;
+            }
+            if (mark.sealing() || now - mark.sinceNanos() < hibernateAfterNanos) {
+                return;
+            }
+            idleMarks.put(tableId, new IdleMark(mark.version(), mark.sinceNanos(), true));
+            CompletionStage<Boolean> sealed;
+            try {
+                sealed = runtime.sealIfIdle(mark.version());
+            } catch (RejectedExecutionException ex) {
+                // Removed, or sealed by an earlier pass that has not moved it yet.
+                idleMarks.remove(tableId);
+                return;
+            }
+            sealed.whenComplete((done, error) -> {
+                idleMarks.remove(tableId);
+                if (Boolean.TRUE.equals(done)) {
+                    hibernate(tableId, runtime);
+                }
+            });
+        });
+    }
+
+    /**
+     * Moves the table of a sealed runtime to {@link #dormant} and releases the runtime's lane, unless a
+     * caller already woke the table into a new runtime.
+     */
+    private void hibernate(String tableId, AsyncTableRuntime sealed) {
+        runtimes.computeIfPresent(tableId, (id, current) -> {
+            if (current != sealed) {
+                return current;
+            }
+            dormant.put(id, DormantTable.of(sealed));
+            return null;
+        });
+        // Possibly on the sealed lane itself, which cannot close from inside its own task.
+        LANE_RELEASERS.execute(sealed::release);
+        LOGGER.log(System.Logger.Level.DEBUG, "Hibernated idle table " + tableId);
+    }
+
+    /**
+     * Checkpoints every live table in parallel and waits for the files to be written. A table whose
+     * checkpoint was written no longer needs its journal, which is truncated so the next start restores
+     * from the checkpoint alone.
+     */
+    private void checkpointAll() {
+        List<CompletableFuture<Void>> writes = new ArrayList<>(runtimes.size());
+        for (AsyncTableRuntime runtime : runtimes.values()) {
+            String tableId = runtime.table().tableId();
+            CompletionStage<byte[]> taken;
+            try {
+                taken = runtime.checkpoint();
+            } catch (RejectedExecutionException ex) {
+                // Sealed for hibernation, so idle with nothing to keep.
+                continue;
+            }
+            writes.add(taken.thenAcceptAsync(checkpoint -> {
+                if (checkpoint == null) {
+                    checkpoints.delete(tableId);
+                    return;
+                }
+                checkpoints.write(tableId, checkpoint);
+                if (runtime.journal() != null) {
+                    runtime.journal().journal().truncate();
+                }
+            }, CHECKPOINT_WRITERS).exceptionally(ex -> {
+                LOGGER.log(System.Logger.Level.ERROR, "Cannot checkpoint table " + tableId, ex);
+                return null;
+            }).toCompletableFuture());
+        }
+        try {
+            CompletableFuture.allOf(writes.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException ex) {
+            LOGGER.log(System.Logger.Level.ERROR, "Checkpointing tables did not finish", ex);
+        }
+    }
+
     @Override
     public void close() {
+        if (checkpoints != null) {
+            checkpointAll();
+        }
         for (AsyncTableRuntime runtime : runtimes.values()) {
             runtime.close();
         }
         runtimes.clear();
+        for (DormantTable sleeping : dormant.values()) {
+            if (sleeping.journal() != null) {
+                sleeping.journal().journal().close();
+            }
+        }
+        dormant.clear();
+        if (deadlines != null) {
+            deadlines.close();
+        }
+        if (bots != null) {
+            bots.close();
+        }
+        executors.close();
+        if (journals != null) {
+            journals.close();
+        }
     }
-}
 
+    /**
+     * What a hibernating table keeps: enough to run it again under a new runtime.
+     */
+    private record DormantTable(LiarBarTable table, JournalRecorder journal, SettledEconomy charges) {
+        static DormantTable of(AsyncTableRuntime runtime) {
+            return new DormantTable(runtime.table(), runtime.journal(), runtime.charges());
+        }
+    }
 
+    /**
+     * Since when a table has been idle at one snapshot version, and whether a seal is on its way.
+     */
+    private record IdleMark(long version, long sinceNanos, boolean sealing) {
+    }
+}
@@ -1,62 +1,119 @@
 package cn.pianzi.liarbar.core.runtime;
 
+import cn.pianzi.liarbar.core.bot.BotTurn;
 import cn.pianzi.liarbar.core.config.TableConfig;
 import cn.pianzi.liarbar.core.domain.Card;
 import cn.pianzi.liarbar.core.domain.CardRank;
+import cn.pianzi.liarbar.core.domain.ChallengeOutcome;
 import cn.pianzi.liarbar.core.domain.GamePhase;
+import cn.pianzi.liarbar.core.domain.PackedCard;
 import cn.pianzi.liarbar.core.domain.TableMode;
 import cn.pianzi.liarbar.core.event.CoreEvent;
-import cn.pianzi.liarbar.core.event.CoreEventType;
+import cn.pianzi.liarbar.core.event.CoreEventSink;
 import cn.pianzi.liarbar.core.port.EconomyPort;
 import cn.pianzi.liarbar.core.port.RandomSource;
 import cn.pianzi.liarbar.core.snapshot.GameSnapshot;
 import cn.pianzi.liarbar.core.snapshot.PlayerSnapshot;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.Comparator;
-import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 import java.util.UUID;
-
+import java.util.zip.CRC32;
+
+/**
+ * Single-table Liar Bar state machine. Not thread-safe; {@link AsyncTableRuntime} serializes access.
+ *
+ * <p>Player state is stored per seat (1-based, {@code 0} means "nobody") in primitive arrays and
+ * bitmasks where bit {@code seat - 1} stands for that seat. UUIDs are only resolved to seats at the
+ * public API boundary, so turn order, survivor checks and shot resolution do not allocate.
+ *
+ * <p>Cards are held as {@link PackedCard} ints in a per-table deck that is refilled and shuffled in
+ * place every round; {@link Card} records are only created for snapshots and events.
+ *
+ * <p>Every command has a {@link CoreEventSink} overload that appends events as they happen; the
+ * list-returning methods are thin adapters that collect into a fresh list. Player commands the rules
+ * forbid throw {@link CommandRejectedException}; their {@code try} variants return the same outcome as a
+ * {@link CommandResult} instead, so a rejection costs no more than the checks that led to it.
+ *
+ * <p>Each command that changes the table bumps a version counter; rejected and no-op commands leave it
+ * alone. {@link #snapshot()} only rebuilds the {@link GameSnapshot} when that version moved, and
+ * publishes it through a volatile field so {@link #publishedSnapshot()} can be read from any thread
+ * without going through the table's executor.
+ *
+ * <p>Phase timeouts advance either by calling {@link #tickSecond} once a second, or by arming a deadline
+ * {@link #secondsUntilTimeout()} ahead and calling {@link #expirePhase} when it passes; see
+ * {@link DeadlineScheduler}. In the second mode {@code phaseSeconds} only moves when a deadline fires.
+ *
+ * <p>With an asynchronous economy, wager commands are split in two: {@link #parkForModeCharge} or
+ * {@link #parkForJoinCharge} validates the command and parks the table while the charges are collected,
+ * then {@link #resumeAfterCharge()} unparks it and the command runs against the settled outcomes.
+ */
 public final class LiarBarTable {
+    /**
+     * Returned by {@link #secondsUntilTimeout()} when the current phase has no deadline.
+     */
+    public static final int NO_TIMEOUT = -1;
+
     private static final List<CardRank> MAIN_RANKS = List.of(CardRank.A, CardRank.Q, CardRank.K);
     private static final int MIN_WAGER = 1;
     private static final int MAX_WAGER = 1_000_000;
+    private static final int MAX_SEATS = Integer.SIZE - 1;
+    private static final int NO_SEAT = 0;
+    private static final List<Integer> AUTO_PLAY_SLOTS = List.of(1);
+    // 7 A, 6 Q, 5 K, 2 J with id 0; each round ORs fresh ids in.
+    private static final int[] DECK_TEMPLATE = deckTemplate();
+    private static final int CHECKPOINT_MAGIC = 0x4C424331;
+    private static final short CHECKPOINT_VERSION = 1;
+    // Header, scalars, turn pointers, masks, occupied mask, center size and CRC; seats and cards come on top.
+    private static final int CHECKPOINT_FIXED_SIZE = 4 + 2 + 1 + 4 + 4
+            + 1 + 1 + 4 + 4 + 4 + 8 + 1 + 4 + 1 + 1 + 16
+            + 3 + 5 * 4 + 4 + 1 + 4;
 
     private final String tableId;
     private final TableConfig config;
     private final EconomyPort economy;
     private final RandomSource random;
 
-    private final Map<UUID, PlayerState> players;
     private final UUID[] seats;
-    private final List<Card> centerCards;
-
-    private final LinkedHashSet<UUID> shootCandidates;
-    private final LinkedHashSet<UUID> preferredShooters;
+    private final int[] bullets;
+    private final int[][] hands;
+    private final int[] handSizes;
+    private final int[] deck;
+    private final int[] centerCards;
+    private int centerSize;
+
+    // Bit (seat - 1) set when that seat is occupied / alive / holding cards / pending a shot / preferred first player.
+    private int seatedMask;
+    private int aliveMask;
+    private int cardsMask;
+    private int shootMask;
+    private int preferredMask;
 
     private TableMode mode;
     private GamePhase phase;
     private int phaseSeconds;
     private int joinedCount;
-    private int aliveCount;
     private int round;
     private long nextCardId;
     private boolean forceChallenge;
     private int wagerPerPlayer;
+    private boolean chargePending;
 
     private CardRank mainRank;
     private UUID ownerId;
-    private UUID currentPlayerId;
-    private UUID lastPlayerId;
-    private UUID afterGunCandidateId;
+    private int currentSeat;
+    private int lastSeat;
+    private int afterGunCandidateSeat;
+
+    private long version;
+    private long phaseTimerEpoch;
+    private volatile GameSnapshot published;
 
     public LiarBarTable(String tableId) {
         this(tableId, TableConfig.defaults(), EconomyPort.noop(), RandomSource.threadLocal());
@@ -67,25 +124,36 @@ public final class LiarBarTable {
         this.config = Objects.requireNonNull(config, "config");
         this.economy = Objects.requireNonNull(economy, "economy");
         this.random = Objects.requireNonNull(random, "random");
-        this.players = new HashMap<>();
-        this.seats = new UUID[config.maxPlayers() + 1];
-        this.centerCards = new ArrayList<>();
-        this.shootCandidates = new LinkedHashSet<>();
-        this.preferredShooters = new LinkedHashSet<>();
+        if (config.maxPlayers() < 1 || config.maxPlayers() > MAX_SEATS) {
+            throw new IllegalArgumentException("maxPlayers must be in [1, " + MAX_SEATS + "]");
+        }
+        int seatSlots = config.maxPlayers() + 1;
+        this.seats = new UUID[seatSlots];
+        this.bullets = new int[seatSlots];
+        this.hands = new int[seatSlots][config.handSize()];
+        this.handSizes = new int[seatSlots];
+        this.deck = new int[DECK_TEMPLATE.length];
+        this.centerCards = new int[Math.max(1, config.maxPlayCards())];
+        this.centerSize = 0;
         this.mode = TableMode.LIFE_ONLY;
         this.phase = GamePhase.MODE_SELECTION;
         this.phaseSeconds = 0;
         this.joinedCount = 0;
-        this.aliveCount = 0;
         this.round = 0;
         this.nextCardId = 1;
         this.forceChallenge = false;
         this.wagerPerPlayer = 1;
         this.mainRank = null;
         this.ownerId = null;
-        this.currentPlayerId = null;
-        this.lastPlayerId = null;
-        this.afterGunCandidateId = null;
+        this.currentSeat = NO_SEAT;
+        this.lastSeat = NO_SEAT;
+        this.afterGunCandidateSeat = NO_SEAT;
+        this.version = 0;
+        this.published = buildSnapshot();
+    }
+
+    public String tableId() {
+        return tableId;
     }
 
     public List<CoreEvent> selectMode(UUID actor, TableMode selectedMode) {
@@ -93,354 +161,720 @@ public final class LiarBarTable {
     }
 
     public List<CoreEvent> selectMode(UUID actor, TableMode selectedMode, int wager) {
+        List<CoreEvent> events = new ArrayList<>();
+        selectMode(actor, selectedMode, wager, events::add);
+        return Collections.unmodifiableList(events);
+    }
+
+    public List<CoreEvent> join(UUID playerId) {
+        List<CoreEvent> events = new ArrayList<>();
+        join(playerId, events::add);
+        return Collections.unmodifiableList(events);
+    }
+
+    public List<CoreEvent> playerDisconnected(UUID playerId) {
+        List<CoreEvent> events = new ArrayList<>();
+        playerDisconnected(playerId, events::add);
+        return Collections.unmodifiableList(events);
+    }
+
+    public List<CoreEvent> play(UUID playerId, List<Integer> oneBasedSlots) {
+        List<CoreEvent> events = new ArrayList<>();
+        play(playerId, oneBasedSlots, events::add);
+        return Collections.unmodifiableList(events);
+    }
+
+    public List<CoreEvent> challenge(UUID playerId) {
+        List<CoreEvent> events = new ArrayList<>();
+        challenge(playerId, events::add);
+        return Collections.unmodifiableList(events);
+    }
+
+    public List<CoreEvent> tickSecond() {
+        List<CoreEvent> events = new ArrayList<>();
+        tickSecond(events::add);
+        return Collections.unmodifiableList(events);
+    }
+
+    public List<CoreEvent> forceStop() {
+        List<CoreEvent> events = new ArrayList<>();
+        forceStop(events::add);
+        return Collections.unmodifiableList(events);
+    }
+
+    public void selectMode(UUID actor, TableMode selectedMode, CoreEventSink sink) {
+        selectMode(actor, selectedMode, 1, sink);
+    }
+
+    /**
+     * Same as {@link #selectMode(UUID, TableMode, int)}, reporting a rejection in the result instead of throwing.
+     */
+    public CommandResult trySelectMode(UUID actor, TableMode selectedMode, int wager) {
+        List<CoreEvent> events = new ArrayList<>();
+        return result(applySelectMode(actor, selectedMode, wager, events::add), events);
+    }
+
+    public CommandResult tryJoin(UUID playerId) {
+        List<CoreEvent> events = new ArrayList<>();
+        return result(applyJoin(playerId, events::add), events);
+    }
+
+    public CommandResult tryPlay(UUID playerId, List<Integer> oneBasedSlots) {
+        List<CoreEvent> events = new ArrayList<>();
+        return result(applyPlay(playerId, oneBasedSlots, events::add), events);
+    }
+
+    public CommandResult tryChallenge(UUID playerId) {
+        List<CoreEvent> events = new ArrayList<>();
+        return result(applyChallenge(playerId, events::add), events);
+    }
+
+    /**
+     * @throws CommandRejectedException if the table rejects the command; nothing was emitted to {@code sink}
+     */
+    public void selectMode(UUID actor, TableMode selectedMode, int wager, CoreEventSink sink) {
+        throwIfRejected(applySelectMode(actor, selectedMode, wager, sink));
+    }
+
+    public void join(UUID playerId, CoreEventSink sink) {
+        throwIfRejected(applyJoin(playerId, sink));
+    }
+
+    public void play(UUID playerId, List<Integer> oneBasedSlots, CoreEventSink sink) {
+        throwIfRejected(applyPlay(playerId, oneBasedSlots, sink));
+    }
+
+    public void challenge(UUID playerId, CoreEventSink sink) {
+        throwIfRejected(applyChallenge(playerId, sink));
+    }
+
+    /**
+     * @return why the command was rejected, or {@code null} once it is applied
+     */
+    private RejectionCode applySelectMode(UUID actor, TableMode selectedMode, int wager, CoreEventSink sink) {
         Objects.requireNonNull(actor, "actor");
         Objects.requireNonNull(selectedMode, "selectedMode");
-        ensurePhase(GamePhase.MODE_SELECTION, "select mode");
-        PlayerState selector = players.get(actor);
-        if (selector == null || !selector.alive) {
-            throw new IllegalStateException("player_not_joined");
+        RejectionCode rejection = checkModeSelection(actor, selectedMode, wager);
+        if (rejection != null) {
+            return rejection;
         }
-
-        List<CoreEvent> events = new ArrayList<>();
-        int chargeAmount = resolveWagerAmount(selectedMode, wager);
+        int chargeAmount = wagerAmount(selectedMode, wager);
 
         if (selectedMode.isWagerMode()) {
             // Players can now sit before mode selection; charge everyone once mode is locked.
             // Roll back already charged players if anyone cannot pay to keep behavior atomic.
-            List<UUID> charged = new ArrayList<>();
-            for (PlayerState state : players.values()) {
-                if (!state.alive) {
-                    continue;
-                }
-                if (!economy.charge(state.id, selectedMode, chargeAmount)) {
-                    for (UUID paid : charged) {
-                        economy.reward(paid, selectedMode, chargeAmount);
+            int charged = 0;
+            for (int remaining = aliveMask; remaining != 0; remaining &= remaining - 1) {
+                int seat = lowestSeat(remaining);
+                if (!economy.charge(seats[seat], selectedMode, chargeAmount)) {
+                    for (int paid = charged; paid != 0; paid &= paid - 1) {
+                        economy.refund(seats[lowestSeat(paid)], selectedMode, chargeAmount);
                     }
-                    throw new IllegalStateException("insufficient_balance");
+                    return RejectionCode.INSUFFICIENT_BALANCE;
                 }
-                charged.add(state.id);
+                charged |= bit(seat);
             }
         }
 
+        version++;
         this.mode = selectedMode;
         this.wagerPerPlayer = chargeAmount;
-        events.add(CoreEvent.of(
-                CoreEventType.MODE_SELECTED,
-                "mode selected",
-                Map.of(
-                        "actor", actor,
-                        "mode", selectedMode.name(),
-                        "wagerPerPlayer", chargeAmount,
-                        "maxPlayers", config.maxPlayers()
-                )
-        ));
-        setPhase(GamePhase.JOINING, events, "mode_selected");
+        sink.accept(new CoreEvent.ModeSelected(actor, selectedMode, chargeAmount, config.maxPlayers()));
+        setPhase(GamePhase.JOINING, sink, "mode_selected");
         if (alivePlayersCount() >= config.maxPlayers()) {
-            events.addAll(startInitialDeal("table_full_after_mode_selected"));
+            startInitialDeal("table_full_after_mode_selected", sink);
         }
-        return Collections.unmodifiableList(events);
+        return null;
     }
 
-    public List<CoreEvent> join(UUID playerId) {
+    private RejectionCode applyJoin(UUID playerId, CoreEventSink sink) {
         Objects.requireNonNull(playerId, "playerId");
-        if (phase != GamePhase.MODE_SELECTION && phase != GamePhase.JOINING) {
-            throw new IllegalStateException("cannot join in phase " + phase);
+        RejectionCode rejection = checkJoin(playerId);
+        if (rejection != null) {
+            return rejection;
         }
-        List<CoreEvent> events = new ArrayList<>();
-        if (players.containsKey(playerId)) {
-            throw new IllegalStateException("player already joined: " + playerId);
+        if (mode.isWagerMode() && !economy.charge(playerId, mode, wagerPerPlayer)) {
+            return RejectionCode.INSUFFICIENT_BALANCE;
         }
 
+        version++;
         int seat = firstOpenSeat();
-        if (seat < 1) {
-            throw new IllegalStateException("table is full");
-        }
-
-        if (mode.isWagerMode() && !economy.charge(playerId, mode, wagerPerPlayer)) {
-            throw new IllegalStateException("insufficient_balance");
-        }
 
-        PlayerState player = new PlayerState(playerId, seat, config.startingBullets());
-        players.put(playerId, player);
         seats[seat] = playerId;
+        bullets[seat] = config.startingBullets();
+        handSizes[seat] = 0;
+        seatedMask |= bit(seat);
+        aliveMask |= bit(seat);
         joinedCount++;
-        aliveCount++;
-
-        events.add(CoreEvent.of(
-                CoreEventType.PLAYER_JOINED,
-                "player joined",
-                Map.of(
-                        "playerId", playerId,
-                        "seat", seat,
-                        "joinedCount", joinedCount,
-                        "maxPlayers", config.maxPlayers()
-                )
-        ));
+
+        sink.accept(new CoreEvent.PlayerJoined(playerId, seat, joinedCount, config.maxPlayers()));
         if (phase == GamePhase.MODE_SELECTION) {
             // A player just sat down; restart mode-selection timeout window.
-            phaseSeconds = 0;
+            restartPhaseTimer();
         }
 
         if (phase == GamePhase.JOINING && alivePlayersCount() >= config.maxPlayers()) {
-            events.addAll(startInitialDeal("table_full"));
+            startInitialDeal("table_full", sink);
         }
-        return Collections.unmodifiableList(events);
+        return null;
     }
 
-    public List<CoreEvent> playerDisconnected(UUID playerId) {
+    public void playerDisconnected(UUID playerId, CoreEventSink sink) {
         Objects.requireNonNull(playerId, "playerId");
         if (phase == GamePhase.FINISHED) {
-            return List.of();
+            return;
         }
 
-        PlayerState state = players.get(playerId);
-        if (state == null || !state.alive) {
-            return List.of();
+        int seat = seatOf(playerId);
+        if (seat == NO_SEAT || !isAliveSeat(seat)) {
+            return;
         }
+        version++;
         if (phase == GamePhase.MODE_SELECTION || phase == GamePhase.JOINING) {
-            return removeBeforeGameStart(state);
+            removeBeforeGameStart(seat, sink);
+            return;
         }
 
-        List<CoreEvent> events = new ArrayList<>();
-        players.remove(state.id);
-        seats[state.seat] = null;
-        aliveCount = Math.max(0, aliveCount - 1);
-
-        shootCandidates.remove(playerId);
-        preferredShooters.remove(playerId);
-
-        if (Objects.equals(currentPlayerId, playerId)) {
-            currentPlayerId = null;
-        }
-        if (Objects.equals(lastPlayerId, playerId)) {
-            lastPlayerId = null;
-        }
-        if (Objects.equals(afterGunCandidateId, playerId)) {
-            afterGunCandidateId = null;
-        }
-        events.add(CoreEvent.of(
-                CoreEventType.PLAYER_FORFEITED,
-                "player disconnected and forfeited",
-                Map.of(
-                        "playerId", playerId,
-                        "seat", state.seat,
-                        "phase", phase.name(),
-                        "beforeStart", false,
-                        "roundReset", true
-                )
-        ));
+        vacateSeat(seat);
+        sink.accept(new CoreEvent.PlayerForfeited(playerId, seat, phase, false));
 
         if (alivePlayersCount() == 0) {
-            cancelToIdle("disconnect:no_alive_players", events);
-            return Collections.unmodifiableList(events);
+            cancelToIdle("disconnect:no_alive_players", sink);
+            return;
         }
 
-        events.addAll(startDealRound("disconnect_round_reset"));
-
-        return Collections.unmodifiableList(events);
+        startDealRound("disconnect_round_reset", sink);
     }
 
-    public List<CoreEvent> play(UUID playerId, List<Integer> oneBasedSlots) {
+    private RejectionCode applyPlay(UUID playerId, List<Integer> oneBasedSlots, CoreEventSink sink) {
         Objects.requireNonNull(playerId, "playerId");
         Objects.requireNonNull(oneBasedSlots, "oneBasedSlots");
         if (phase != GamePhase.FIRST_TURN && phase != GamePhase.STANDARD_TURN) {
-            throw new IllegalStateException("cannot play cards in phase " + phase);
+            return RejectionCode.WRONG_PHASE;
         }
-        if (!Objects.equals(currentPlayerId, playerId)) {
-            throw new IllegalStateException("not current player");
+        if (!isCurrentPlayer(playerId)) {
+            return RejectionCode.NOT_CURRENT_PLAYER;
         }
         if (forceChallenge) {
-            throw new IllegalStateException("current player must challenge");
+            return RejectionCode.MUST_CHALLENGE;
         }
 
-        PlayerState player = requiredAlivePlayer(playerId);
-        List<Integer> slots = normalizeSlots(oneBasedSlots, player.hand.size());
+        int seat = requiredAliveSeat(playerId);
+        int[] hand = hands[seat];
+        List<Integer> slots = sortedDistinct(oneBasedSlots);
+        if (slots.isEmpty()) {
+            return RejectionCode.NO_CARDS_SELECTED;
+        }
+        if (slots.get(0) < 1 || slots.get(slots.size() - 1) > handSizes[seat]) {
+            return RejectionCode.INVALID_CARD_SLOT;
+        }
         if (slots.size() < config.minPlayCards() || slots.size() > config.maxPlayCards()) {
-            throw new IllegalStateException("play card count must be in [" + config.minPlayCards() + ", " + config.maxPlayCards() + "]");
+            return RejectionCode.INVALID_CARD_COUNT;
         }
 
-        List<Card> selected = new ArrayList<>();
-        for (int slot : slots) {
-            selected.add(player.hand.get(slot - 1));
+        int playedCount = slots.size();
+        CardRank[] ranks = new CardRank[playedCount];
+        boolean hasDemon = false;
+        for (int i = 0; i < playedCount; i++) {
+            int card = hand[slots.get(i) - 1];
+            ranks[i] = PackedCard.rank(card);
+            hasDemon |= PackedCard.isDemon(card);
         }
-
-        boolean hasDemon = selected.stream().anyMatch(Card::demon);
-        if (hasDemon && selected.size() > 1) {
-            throw new IllegalStateException("demon card can only be played as single card");
+        if (hasDemon && playedCount > 1) {
+            return RejectionCode.DEMON_NOT_SINGLE;
         }
 
-        List<Integer> removeOrder = new ArrayList<>(slots);
-        removeOrder.sort(Comparator.reverseOrder());
-        for (int slot : removeOrder) {
-            player.hand.remove(slot - 1);
+        version++;
+        // Slots are sorted ascending; move played cards to the center and compact the rest left in one pass.
+        int write = 0;
+        int nextPlayed = 0;
+        for (int read = 0; read < handSizes[seat]; read++) {
+            if (nextPlayed < playedCount && slots.get(nextPlayed) == read + 1) {
+                centerCards[nextPlayed++] = hand[read];
+                continue;
+            }
+            hand[write++] = hand[read];
         }
-
-        centerCards.clear();
-        centerCards.addAll(selected);
-        lastPlayerId = playerId;
-
-        List<CoreEvent> events = new ArrayList<>();
-        events.add(CoreEvent.of(
-                CoreEventType.CARDS_PLAYED,
-                "cards played",
-                Map.of(
-                        "playerId", playerId,
-                        "count", selected.size()
-                )
-        ));
-        events.add(CoreEvent.of(
-                CoreEventType.CARDS_PLAYED_DETAIL,
-                "cards played detail",
-                Map.of(
-                        "playerId", playerId,
-                        "count", selected.size(),
-                        "ranks", selected.stream().map(c -> c.rank().name()).toList(),
-                        "containsDemon", hasDemon
-                )
-        ));
-        events.addAll(advanceAfterPlay(playerId));
-        return Collections.unmodifiableList(events);
+        handSizes[seat] = write;
+        if (write == 0) {
+            cardsMask &= ~bit(seat);
+        }
+        centerSize = playedCount;
+        lastSeat = seat;
+        sink.accept(new CoreEvent.CardsPlayed(playerId, ranks.length));
+        sink.accept(new CoreEvent.CardsPlayedDetail(playerId, ranks, hasDemon));
+        advanceAfterPlay(seat, sink);
+        return null;
     }
 
-    public List<CoreEvent> challenge(UUID playerId) {
+    private RejectionCode applyChallenge(UUID playerId, CoreEventSink sink) {
         Objects.requireNonNull(playerId, "playerId");
-        ensurePhase(GamePhase.STANDARD_TURN, "challenge");
-        if (!Objects.equals(currentPlayerId, playerId)) {
-            throw new IllegalStateException("not current player");
+        if (phase != GamePhase.STANDARD_TURN) {
+            return RejectionCode.WRONG_PHASE;
         }
-        if (centerCards.isEmpty()) {
-            throw new IllegalStateException("cannot challenge with empty center cards");
+        if (!isCurrentPlayer(playerId)) {
+            return RejectionCode.NOT_CURRENT_PLAYER;
         }
-        if (lastPlayerId == null) {
-            throw new IllegalStateException("cannot challenge without last player");
+        if (centerSize == 0 || lastSeat == NO_SEAT) {
+            return RejectionCode.NOTHING_TO_CHALLENGE;
         }
 
-        List<CoreEvent> events = new ArrayList<>();
-        shootCandidates.clear();
+        version++;
+        int challengerSeat = currentSeat;
 
-        boolean hasDemon = centerCards.stream().anyMatch(Card::demon);
-        boolean hasNonMain = centerCards.stream().anyMatch(card -> !card.isMainLike(mainRank));
-        String outcome;
+        boolean hasDemon = false;
+        boolean hasNonMain = false;
+        for (int i = 0; i < centerSize; i++) {
+            hasDemon |= PackedCard.isDemon(centerCards[i]);
+            hasNonMain |= !PackedCard.isMainLike(centerCards[i], mainRank);
+        }
+        ChallengeOutcome outcome;
 
         if (hasDemon) {
-            outcome = "DEMON";
-            for (PlayerState state : players.values()) {
-                if (state.alive && !state.id.equals(lastPlayerId)) {
-                    shootCandidates.add(state.id);
-                }
-            }
+            outcome = ChallengeOutcome.DEMON;
+            shootMask = aliveMask & ~bit(lastSeat);
         } else if (hasNonMain) {
-            outcome = "NOT_MAIN";
-            if (isAlive(lastPlayerId)) {
-                shootCandidates.add(lastPlayerId);
-            }
-            afterGunCandidateId = playerId;
+            outcome = ChallengeOutcome.NOT_MAIN;
+            shootMask = aliveMask & bit(lastSeat);
+            afterGunCandidateSeat = challengerSeat;
         } else {
-            outcome = "MAIN";
-            if (isAlive(playerId)) {
-                shootCandidates.add(playerId);
-            }
-            afterGunCandidateId = findNextPlayerWithCardsAfter(playerId);
+            outcome = ChallengeOutcome.MAIN;
+            shootMask = aliveMask & bit(challengerSeat);
+            afterGunCandidateSeat = nextSeatWithCardsAfter(challengerSeat);
         }
 
-        currentPlayerId = null;
+        currentSeat = NO_SEAT;
         forceChallenge = false;
-        setPhase(GamePhase.RESOLVE_CHALLENGE, events, "challenge");
-        events.add(CoreEvent.of(
-                CoreEventType.CHALLENGE_RESOLVED,
-                "challenge resolved",
-                Map.of(
-                        "challenger", playerId,
-                        "lastPlayer", lastPlayerId,
-                        "outcome", outcome,
-                        "shooters", List.copyOf(shootCandidates)
-                )
+        setPhase(GamePhase.RESOLVE_CHALLENGE, sink, "challenge");
+        sink.accept(new CoreEvent.ChallengeResolved(
+                playerId,
+                seats[lastSeat],
+                outcome,
+                playersOf(shootMask)
         ));
-        return Collections.unmodifiableList(events);
+        return null;
     }
 
-    public List<CoreEvent> tickSecond() {
-        if (phase == GamePhase.FINISHED) {
-            return List.of();
+    public void tickSecond(CoreEventSink sink) {
+        if (phase == GamePhase.FINISHED || chargePending) {
+            return;
         }
+        version++;
 
         phaseSeconds++;
-        List<CoreEvent> events = new ArrayList<>();
         switch (phase) {
             case MODE_SELECTION -> {
                 if (phaseSeconds >= config.modeSelectionSeconds()) {
-                    cancelToIdle("mode_selection_timeout", events);
+                    cancelToIdle("mode_selection_timeout", sink);
                 }
             }
             case JOINING -> {
                 if (phaseSeconds >= config.joinSeconds()) {
                     if (alivePlayersCount() == 0) {
-                        cancelToIdle("join_timeout:no_players", events);
+                        cancelToIdle("join_timeout:no_players", sink);
                     } else if (hasEnoughPlayersToStart()) {
-                        events.addAll(startInitialDeal("join_timeout"));
+                        startInitialDeal("join_timeout", sink);
                     } else {
                         // Keep lobby open and restart countdown when player count is insufficient.
-                        phaseSeconds = 0;
+                        restartPhaseTimer();
                     }
                 }
             }
             case DEALING -> {
                 if (phaseSeconds >= config.dealingSeconds()) {
-                    events.addAll(beginFirstTurn());
+                    beginFirstTurn(sink);
                 }
             }
             case FIRST_TURN -> {
                 if (phaseSeconds >= config.firstTurnSeconds()) {
-                    events.addAll(autoPlayCurrent("first_turn_timeout"));
+                    autoPlayCurrent("first_turn_timeout", sink);
                 }
             }
             case STANDARD_TURN -> {
                 if (phaseSeconds >= config.standardTurnSeconds()) {
-                    events.addAll(autoPlayCurrent("standard_turn_timeout"));
+                    autoPlayCurrent("standard_turn_timeout", sink);
                 }
             }
             case RESOLVE_CHALLENGE -> {
                 if (phaseSeconds >= config.resolveChallengeSeconds()) {
-                    events.addAll(resolveShotsAndContinue());
+                    resolveShotsAndContinue(sink);
                 }
             }
             case FINISHED -> {
             }
         }
+    }
+
+    /**
+     * Validates {@code selectMode} without charging anyone. A wager mode parks the table until
+     * {@link #resumeAfterCharge()}: joins and mode selection are rejected and the phase timer stops.
+     * Disconnects still go through, so the seats may have changed by the time the command runs.
+     *
+     * @return the charges to collect first, or {@code null} if the mode is free and the command can run right away
+     * @throws CommandRejectedException if {@code selectMode} would be rejected; the table is not parked
+     */
+    public PendingCharge parkForModeCharge(UUID actor, TableMode selectedMode, int wager) {
+        Objects.requireNonNull(actor, "actor");
+        Objects.requireNonNull(selectedMode, "selectedMode");
+        throwIfRejected(checkModeSelection(actor, selectedMode, wager));
+        if (!selectedMode.isWagerMode()) {
+            return null;
+        }
+        park();
+        return new PendingCharge(selectedMode, wagerAmount(selectedMode, wager), playersOf(aliveMask));
+    }
+
+    /**
+     * Same as {@link #parkForModeCharge} for {@code join}: the joining player is charged the table's wager.
+     */
+    public PendingCharge parkForJoinCharge(UUID playerId) {
+        Objects.requireNonNull(playerId, "playerId");
+        throwIfRejected(checkJoin(playerId));
+        if (!mode.isWagerMode()) {
+            return null;
+        }
+        park();
+        return new PendingCharge(mode, wagerPerPlayer, List.of(playerId));
+    }
+
+    public void resumeAfterCharge() {
+        if (!chargePending) {
+            throw new IllegalStateException("no_charge_pending");
+        }
+        version++;
+        chargePending = false;
+    }
+
+    public boolean isChargePending() {
+        return chargePending;
+    }
+
+    /**
+     * Compares the players sitting at the table with the ones in its game. Read-only.
+     *
+     * @param seatedInSeatOrder everyone sitting at the table, in the order they sat down
+     */
+    public SeatDiff seatDiff(List<UUID> seatedInSeatOrder) {
+        Objects.requireNonNull(seatedInSeatOrder, "seatedInSeatOrder");
+        List<UUID> leaving = new ArrayList<>();
+        for (int remaining = aliveMask; remaining != 0; remaining &= remaining - 1) {
+            UUID playerId = seats[lowestSeat(remaining)];
+            if (!seatedInSeatOrder.contains(playerId)) {
+                leaving.add(playerId);
+            }
+        }
+        List<UUID> joining = new ArrayList<>();
+        for (UUID playerId : seatedInSeatOrder) {
+            if (seatOf(playerId) == NO_SEAT && !joining.contains(playerId)) {
+                joining.add(playerId);
+            }
+        }
+        return new SeatDiff(leaving, joining, mode.isWagerMode());
+    }
+
+    /**
+     * True while nobody is seated and no mode is chosen. Ticking such a table has no observable effect.
+     */
+    public boolean isIdle() {
+        return phase == GamePhase.MODE_SELECTION && joinedCount == 0;
+    }
+
+    /**
+     * Whole seconds of {@link #tickSecond} until the current phase times out, or {@link #NO_TIMEOUT} when
+     * nothing would happen, as for an idle or parked table. Constant between commands: only ticks move it.
+     */
+    public int secondsUntilTimeout() {
+        if (isIdle() || chargePending) {
+            return NO_TIMEOUT;
+        }
+        int limit = switch (phase) {
+            case MODE_SELECTION -> config.modeSelectionSeconds();
+            case JOINING -> config.joinSeconds();
+            case DEALING -> config.dealingSeconds();
+            case FIRST_TURN -> config.firstTurnSeconds();
+            case STANDARD_TURN -> config.standardTurnSeconds();
+            case RESOLVE_CHALLENGE -> config.resolveChallengeSeconds();
+            case FINISHED -> NO_TIMEOUT;
+        };
+        if (limit == NO_TIMEOUT) {
+            return NO_TIMEOUT;
+        }
+        return Math.max(1, limit - phaseSeconds);
+    }
+
+    /**
+     * What the player on turn knows, for a bot to decide their move; {@code null} when nobody is on turn.
+     * The counts of unseen cards cover everything outside that player's hand, including cards that were
+     * played and discarded this round.
+     */
+    public BotTurn botTurn() {
+        if ((phase != GamePhase.FIRST_TURN && phase != GamePhase.STANDARD_TURN) || chargePending
+                || currentSeat == NO_SEAT || !isAliveSeat(currentSeat)) {
+            return null;
+        }
+        int mainCards = 0;
+        int jacks = 0;
+        for (int card : DECK_TEMPLATE) {
+            CardRank rank = PackedCard.rank(card);
+            if (rank == mainRank) {
+                mainCards++;
+            } else if (rank == CardRank.J) {
+                jacks++;
+            }
+        }
+        // One main card of every deal is the demon.
+        int unseenMain = mainCards - 1;
+        int unseenDemons = 1;
+        int unseenOthers = DECK_TEMPLATE.length - mainCards - jacks;
+        int[] hand = Arrays.copyOf(hands[currentSeat], handSizes[currentSeat]);
+        for (int card : hand) {
+            if (PackedCard.isDemon(card)) {
+                unseenDemons--;
+            } else if (PackedCard.rank(card) == mainRank) {
+                unseenMain--;
+            } else if (PackedCard.rank(card) == CardRank.J) {
+                jacks--;
+            } else {
+                unseenOthers--;
+            }
+        }
+        int next = nextSeatWithCardsAfter(currentSeat);
+        boolean challengeable = phase == GamePhase.STANDARD_TURN && lastSeat != NO_SEAT;
+        return new BotTurn(
+                seats[currentSeat],
+                hand,
+                mainRank,
+                challengeable ? centerSize : 0,
+                challengeable ? handSizes[lastSeat] : 0,
+                forceChallenge,
+                config.minPlayCards(),
+                config.maxPlayCards(),
+                next == NO_SEAT || next == currentSeat ? 0 : handSizes[next],
+                unseenMain,
+                jacks,
+                unseenDemons,
+                unseenOthers
+        );
+    }
+
+    /**
+     * Changes whenever the phase timer restarts, including a restart into the same phase such as the
+     * next player's turn. A deadline armed for one epoch is stale once this moves.
+     */
+    public long phaseTimerEpoch() {
+        return phaseTimerEpoch;
+    }
+
+    /**
+     * Fast-forwards the phase timer to its deadline and fires it, the same as calling {@link #tickSecond}
+     * {@link #secondsUntilTimeout()} times. Does nothing when there is no deadline.
+     */
+    public void expirePhase(CoreEventSink sink) {
+        int remaining = secondsUntilTimeout();
+        if (remaining == NO_TIMEOUT) {
+            return;
+        }
+        phaseSeconds += remaining - 1;
+        tickSecond(sink);
+    }
+
+    public List<CoreEvent> expirePhase() {
+        List<CoreEvent> events = new ArrayList<>();
+        expirePhase(events::add);
         return Collections.unmodifiableList(events);
     }
 
-    public List<CoreEvent> forceStop() {
+    public void forceStop(CoreEventSink sink) {
         if (phase == GamePhase.FINISHED) {
-            return List.of();
+            return;
         }
-        List<CoreEvent> events = new ArrayList<>();
+        version++;
         if (mode.isWagerMode() && alivePlayersCount() > 0) {
-            UUID winner = pickRandom(alivePlayersInSeatOrder());
-            finish(winner, "forced_stop_wager_mode", events);
+            UUID winner = seats[pickRandomSeat(aliveMask)];
+            finish(winner, "forced_stop_wager_mode", sink);
         } else {
-            finish(null, "forced_stop", events);
+            finish(null, "forced_stop", sink);
         }
-        return Collections.unmodifiableList(events);
     }
 
+    /**
+     * Current state, rebuilt only if a command ran since the last call. Must be called from the thread
+     * that runs this table's commands; the result is also published to {@link #publishedSnapshot()}.
+     */
     public GameSnapshot snapshot() {
-        List<PlayerSnapshot> snapshots = new ArrayList<>(joinedCount);
-        for (int seat = 1; seat <= config.maxPlayers(); seat++) {
-            UUID playerId = seats[seat];
-            if (playerId == null) {
-                continue;
+        GameSnapshot current = published;
+        if (current.version() != version) {
+            current = buildSnapshot();
+            published = current;
+        }
+        return current;
+    }
+
+    /**
+     * Latest snapshot published by {@link #snapshot()}. Safe to call from any thread; it may lag behind a
+     * command that is still running.
+     */
+    public GameSnapshot publishedSnapshot() {
+        return published;
+    }
+
+    /**
+     * Serializes the live game into a compact versioned binary form that {@link #restore(byte[])} reads back
+     * on a fresh table with the same config. Covers everything a running game needs to continue: phase and
+     * its timer, seats, bullets, hands, center cards, mode, wager and turn pointers. The deck is not
+     * included; it is refilled at the start of every round.
+     */
+    public byte[] checkpoint() {
+        int occupied = 0;
+        int size = CHECKPOINT_FIXED_SIZE + centerSize * Integer.BYTES;
+        for (int seat = 1; seat < seats.length; seat++) {
+            if (seats[seat] != null) {
+                occupied |= bit(seat);
+                size += Long.BYTES * 2 + Integer.BYTES + Byte.BYTES + handSizes[seat] * Integer.BYTES;
             }
-            PlayerState state = players.get(playerId);
-            if (state == null) {
-                continue;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(CHECKPOINT_MAGIC).putShort(CHECKPOINT_VERSION);
+        buffer.put((byte) config.maxPlayers()).putInt(config.handSize()).putInt(centerCards.length);
+        buffer.put((byte) mode.ordinal()).put((byte) phase.ordinal()).putInt(phaseSeconds);
+        buffer.putInt(joinedCount).putInt(round).putLong(nextCardId);
+        buffer.put((byte) (forceChallenge ? 1 : 0)).putInt(wagerPerPlayer);
+        buffer.put((byte) (mainRank == null ? -1 : mainRank.ordinal()));
+        buffer.put((byte) (ownerId == null ? 0 : 1));
+        buffer.putLong(ownerId == null ? 0L : ownerId.getMostSignificantBits());
+        buffer.putLong(ownerId == null ? 0L : ownerId.getLeastSignificantBits());
+        buffer.put((byte) currentSeat).put((byte) lastSeat).put((byte) afterGunCandidateSeat);
+        buffer.putInt(seatedMask).putInt(aliveMask).putInt(cardsMask).putInt(shootMask).putInt(preferredMask);
+
+        buffer.putInt(occupied);
+        for (int remaining = occupied; remaining != 0; remaining &= remaining - 1) {
+            int seat = lowestSeat(remaining);
+            buffer.putLong(seats[seat].getMostSignificantBits()).putLong(seats[seat].getLeastSignificantBits());
+            buffer.putInt(bullets[seat]);
+            buffer.put((byte) handSizes[seat]);
+            for (int i = 0; i < handSizes[seat]; i++) {
+                buffer.putInt(hands[seat][i]);
+            }
+        }
+        buffer.put((byte) centerSize);
+        for (int i = 0; i < centerSize; i++) {
+            buffer.putInt(centerCards[i]);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+        return buffer.array();
+    }
+
+    /**
+     * Loads a {@link #checkpoint()} into this table, which must still be idle. Throws
+     * {@link IllegalArgumentException} for a damaged checkpoint or one taken under a different table shape;
+     * the table is left idle in that case.
+     */
+    public void restore(byte[] checkpoint) {
+        Objects.requireNonNull(checkpoint, "checkpoint");
+        if (!isIdle()) {
+            throw new IllegalStateException("table_not_idle");
+        }
+        version++;
+        phaseTimerEpoch++;
+        try {
+            readCheckpoint(ByteBuffer.wrap(checkpoint));
+        } catch (RuntimeException ex) {
+            resetForIdle();
+            throw ex instanceof IllegalArgumentException ? ex : new IllegalArgumentException("corrupt checkpoint", ex);
+        }
+    }
+
+    private void readCheckpoint(ByteBuffer buffer) {
+        if (buffer.remaining() < CHECKPOINT_FIXED_SIZE) {
+            throw new IllegalArgumentException("checkpoint truncated");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.limit() - Integer.BYTES);
+        if ((int) crc.getValue() != buffer.getInt(buffer.limit() - Integer.BYTES)) {
+            throw new IllegalArgumentException("checkpoint checksum mismatch");
+        }
+        if (buffer.getInt() != CHECKPOINT_MAGIC) {
+            throw new IllegalArgumentException("not a table checkpoint");
+        }
+        short formatVersion = buffer.getShort();
+        if (formatVersion != CHECKPOINT_VERSION) {
+            throw new IllegalArgumentException("unsupported checkpoint version: " + formatVersion);
+        }
+        if (buffer.get() != config.maxPlayers() || buffer.getInt() != config.handSize()
+                || buffer.getInt() != centerCards.length) {
+            throw new IllegalArgumentException("checkpoint was taken with a different table config");
+        }
+
+        mode = TableMode.values()[buffer.get()];
+        phase = GamePhase.values()[buffer.get()];
+        phaseSeconds = buffer.getInt();
+        joinedCount = buffer.getInt();
+        round = buffer.getInt();
+        nextCardId = buffer.getLong();
+        forceChallenge = buffer.get() != 0;
+        wagerPerPlayer = buffer.getInt();
+        byte rank = buffer.get();
+        mainRank = rank < 0 ? null : CardRank.values()[rank];
+        boolean hasOwner = buffer.get() != 0;
+        long ownerMost = buffer.getLong();
+        long ownerLeast = buffer.getLong();
+        ownerId = hasOwner ? new UUID(ownerMost, ownerLeast) : null;
+        currentSeat = checkedSeat(buffer.get());
+        lastSeat = checkedSeat(buffer.get());
+        afterGunCandidateSeat = checkedSeat(buffer.get());
+        seatedMask = buffer.getInt();
+        aliveMask = buffer.getInt();
+        cardsMask = buffer.getInt();
+        shootMask = buffer.getInt();
+        preferredMask = buffer.getInt();
+
+        int occupied = buffer.getInt();
+        for (int remaining = occupied; remaining != 0; remaining &= remaining - 1) {
+            int seat = checkedSeat(lowestSeat(remaining));
+            seats[seat] = new UUID(buffer.getLong(), buffer.getLong());
+            bullets[seat] = buffer.getInt();
+            int handSize = buffer.get();
+            if (handSize < 0 || handSize > hands[seat].length) {
+                throw new IllegalArgumentException("checkpoint hand size out of range: " + handSize);
+            }
+            handSizes[seat] = handSize;
+            for (int i = 0; i < handSize; i++) {
+                hands[seat][i] = buffer.getInt();
             }
+        }
+        int center = buffer.get();
+        if (center < 0 || center > centerCards.length) {
+            throw new IllegalArgumentException("checkpoint center size out of range: " + center);
+        }
+        centerSize = center;
+        for (int i = 0; i < center; i++) {
+            centerCards[i] = buffer.getInt();
+        }
+        if (buffer.remaining() != Integer.BYTES) {
+            throw new IllegalArgumentException("checkpoint has trailing bytes");
+        }
+    }
+
+    private int checkedSeat(int seat) {
+        if (seat < NO_SEAT || seat >= seats.length) {
+            throw new IllegalArgumentException("checkpoint seat out of range: " + seat);
+        }
+        return seat;
+    }
+
+    private GameSnapshot buildSnapshot() {
+        List<PlayerSnapshot> snapshots = new ArrayList<>(joinedCount);
+        for (int remaining = seatedMask; remaining != 0; remaining &= remaining - 1) {
+            int seat = lowestSeat(remaining);
             snapshots.add(new PlayerSnapshot(
-                    state.id,
-                    state.seat,
-                    state.alive,
-                    state.bullets,
-                    state.hand.size()
+                    seats[seat],
+                    seat,
+                    isAliveSeat(seat),
+                    bullets[seat],
+                    handSizes[seat]
             ));
         }
 
@@ -452,331 +886,278 @@ public final class LiarBarTable {
                 joinedCount,
                 round,
                 Optional.ofNullable(mainRank),
-                List.copyOf(centerCards),
+                List.of(PackedCard.toCards(centerCards, centerSize)),
                 snapshots,
                 Optional.ofNullable(ownerId),
-                Optional.ofNullable(currentPlayerId),
-                Optional.ofNullable(lastPlayerId),
-                forceChallenge
+                Optional.ofNullable(playerAt(currentSeat)),
+                Optional.ofNullable(playerAt(lastSeat)),
+                forceChallenge,
+                version
         );
     }
 
-    private List<CoreEvent> startInitialDeal(String reason) {
-        List<CoreEvent> events = new ArrayList<>();
+    private void startInitialDeal(String reason, CoreEventSink sink) {
         if (alivePlayersCount() == 0) {
-            cancelToIdle(reason + ":no_players", events);
-            return events;
+            cancelToIdle(reason + ":no_players", sink);
+            return;
         }
         if (!hasEnoughPlayersToStart()) {
-            phaseSeconds = 0;
-            return events;
+            restartPhaseTimer();
+            return;
         }
-        for (PlayerState state : players.values()) {
-            if (state.alive) {
-                state.bullets = config.startingBullets();
-            }
+        for (int remaining = aliveMask; remaining != 0; remaining &= remaining - 1) {
+            bullets[lowestSeat(remaining)] = config.startingBullets();
         }
-        events.addAll(startDealRound("initial:" + reason));
-        return events;
+        startDealRound("initial:" + reason, sink);
     }
 
-    private List<CoreEvent> startDealRound(String reason) {
-        List<CoreEvent> events = new ArrayList<>();
+    private void startDealRound(String reason, CoreEventSink sink) {
         UUID winner = soleAlivePlayer();
         if (winner != null) {
-            finish(winner, "winner_before_deal:" + reason, events);
-            return events;
+            finish(winner, "winner_before_deal:" + reason, sink);
+            return;
         }
 
-        for (PlayerState state : players.values()) {
-            if (state.alive) {
-                state.hand.clear();
-            }
+        for (int remaining = aliveMask; remaining != 0; remaining &= remaining - 1) {
+            clearHand(lowestSeat(remaining));
         }
 
         round++;
         mainRank = MAIN_RANKS.get(random.nextIntInclusive(0, MAIN_RANKS.size() - 1));
-        List<Card> deck = createRoundDeck(mainRank);
+        refillDeck(mainRank);
         random.shuffle(deck);
 
-        centerCards.clear();
-        currentPlayerId = null;
+        centerSize = 0;
+        currentSeat = NO_SEAT;
         forceChallenge = false;
 
         int cursor = 0;
-        for (PlayerState state : alivePlayerStatesInSeatOrder()) {
-            for (int i = 0; i < config.handSize(); i++) {
-                if (cursor >= deck.size()) {
-                    break;
-                }
-                state.hand.add(deck.get(cursor++));
+        for (int remaining = aliveMask; remaining != 0; remaining &= remaining - 1) {
+            int seat = lowestSeat(remaining);
+            int[] hand = hands[seat];
+            int dealt = 0;
+            while (dealt < config.handSize() && cursor < deck.length) {
+                hand[dealt++] = deck[cursor++];
+            }
+            handSizes[seat] = dealt;
+            if (dealt > 0) {
+                cardsMask |= bit(seat);
             }
         }
 
-        setPhase(GamePhase.DEALING, events, "deal_round:" + reason);
-        events.add(CoreEvent.of(
-                CoreEventType.DEAL_COMPLETED,
-                "deal completed",
-                Map.of(
-                        "round", round,
-                        "mainRank", mainRank.name(),
-                        "alivePlayers", alivePlayersCount()
-                )
-        ));
+        setPhase(GamePhase.DEALING, sink, "deal_round:" + reason);
+        sink.accept(new CoreEvent.DealCompleted(round, mainRank, alivePlayersCount()));
 
         // Emit HAND_DEALT per player so the presentation layer can show cards
-        for (PlayerState state : alivePlayerStatesInSeatOrder()) {
-            List<Map<String, Object>> cardList = state.hand.stream()
-                    .map(card -> Map.<String, Object>of(
-                            "id", card.id(),
-                            "rank", card.rank().name(),
-                            "demon", card.demon()
-                    ))
-                    .toList();
-            events.add(CoreEvent.of(
-                    CoreEventType.HAND_DEALT,
-                    "hand dealt",
-                    Map.of(
-                            "playerId", state.id,
-                            "seat", state.seat,
-                            "cards", cardList,
-                            "mainRank", mainRank.name(),
-                            "round", round
-                    )
+        for (int remaining = aliveMask; remaining != 0; remaining &= remaining - 1) {
+            int seat = lowestSeat(remaining);
+            sink.accept(new CoreEvent.HandDealt(
+                    seats[seat],
+                    seat,
+                    Arrays.copyOf(hands[seat], handSizes[seat]),
+                    mainRank,
+                    round
             ));
         }
-
-        return events;
     }
 
-    private List<CoreEvent> beginFirstTurn() {
-        List<CoreEvent> events = new ArrayList<>();
+    private void beginFirstTurn(CoreEventSink sink) {
         UUID winner = soleAlivePlayer();
         if (winner != null) {
-            finish(winner, "winner_before_first_turn", events);
-            return events;
+            finish(winner, "winner_before_first_turn", sink);
+            return;
         }
 
-        UUID first = selectFirstPlayerAfterDeal();
-        if (first == null) {
-            finish(null, "no_player_for_first_turn", events);
-            return events;
+        int first = selectFirstSeatAfterDeal();
+        if (first == NO_SEAT) {
+            finish(null, "no_player_for_first_turn", sink);
+            return;
         }
 
-        currentPlayerId = first;
+        currentSeat = first;
         forceChallenge = false;
-        setPhase(GamePhase.FIRST_TURN, events, "first_turn");
-        events.add(CoreEvent.of(
-                CoreEventType.TURN_CHANGED,
-                "first turn selected",
-                Map.of("playerId", first, "phase", GamePhase.FIRST_TURN.name())
-        ));
-        return events;
+        setPhase(GamePhase.FIRST_TURN, sink, "first_turn");
+        sink.accept(new CoreEvent.TurnChanged(seats[first], GamePhase.FIRST_TURN, false));
     }
 
-    private List<CoreEvent> autoPlayCurrent(String reason) {
-        UUID actor = currentPlayerId;
-        if (actor == null || !isAlive(actor)) {
-            actor = findAnyPlayerWithCards();
+    private void autoPlayCurrent(String reason, CoreEventSink sink) {
+        int actor = currentSeat;
+        if (actor == NO_SEAT || !isAliveSeat(actor)) {
+            actor = firstSeatWithCards();
         }
-        if (actor == null) {
-            return startDealRound("auto_play_no_actor:" + reason);
+        if (actor == NO_SEAT) {
+            startDealRound("auto_play_no_actor:" + reason, sink);
+            return;
         }
 
         if (phase == GamePhase.STANDARD_TURN && forceChallenge) {
-            return challenge(actor);
+            challenge(seats[actor], sink);
+            return;
         }
 
-        PlayerState state = players.get(actor);
-        if (state == null || state.hand.isEmpty()) {
-            return startDealRound("auto_play_empty_hand:" + reason);
+        if (handSizes[actor] == 0) {
+            startDealRound("auto_play_empty_hand:" + reason, sink);
+            return;
         }
-        return play(actor, List.of(1));
+        play(seats[actor], AUTO_PLAY_SLOTS, sink);
     }
 
-    private List<CoreEvent> advanceAfterPlay(UUID fromPlayer) {
-        List<CoreEvent> events = new ArrayList<>();
-        UUID next = findNextPlayerWithCardsAfter(fromPlayer);
-        if (next == null) {
-            events.addAll(startDealRound("no_next_player_after_play"));
-            return events;
-        }
-
-        currentPlayerId = next;
-        setPhase(GamePhase.STANDARD_TURN, events, "advance_after_play");
-        forceChallenge = countPlayersWithCards() == 1;
-        events.add(CoreEvent.of(
-                CoreEventType.TURN_CHANGED,
-                "turn moved",
-                Map.of("playerId", next, "forceChallenge", forceChallenge)
-        ));
+    private void advanceAfterPlay(int fromSeat, CoreEventSink sink) {
+        int next = nextSeatWithCardsAfter(fromSeat);
+        if (next == NO_SEAT) {
+            startDealRound("no_next_player_after_play", sink);
+            return;
+        }
+
+        currentSeat = next;
+        setPhase(GamePhase.STANDARD_TURN, sink, "advance_after_play");
+        forceChallenge = Integer.bitCount(cardsMask) == 1;
+        UUID nextPlayer = seats[next];
+        sink.accept(new CoreEvent.TurnChanged(nextPlayer, GamePhase.STANDARD_TURN, forceChallenge));
         if (forceChallenge) {
-            events.add(CoreEvent.of(
-                    CoreEventType.FORCE_CHALLENGE,
-                    "only one player has cards, challenge forced",
-                    Map.of("playerId", next)
-            ));
-            events.addAll(challenge(next));
+            sink.accept(new CoreEvent.ForceChallenge(nextPlayer));
+            challenge(nextPlayer, sink);
         }
-        return events;
     }
 
-    private List<CoreEvent> resolveShotsAndContinue() {
-        List<CoreEvent> events = new ArrayList<>();
-        List<UUID> shooters = shootCandidates.stream()
-                .filter(this::isAlive)
-                .sorted(Comparator.comparingInt(this::seatOf))
-                .toList();
-
-        preferredShooters.clear();
-        for (UUID shooterId : shooters) {
-            PlayerState shooter = players.get(shooterId);
-            if (shooter == null || !shooter.alive) {
+    private void resolveShotsAndContinue(CoreEventSink sink) {
+        int shooters = shootMask & aliveMask;
+
+        preferredMask = 0;
+        for (int remaining = shooters; remaining != 0; remaining &= remaining - 1) {
+            int seat = lowestSeat(remaining);
+            if (!isAliveSeat(seat)) {
                 continue;
             }
 
-            int bulletsBefore = Math.max(1, shooter.bullets);
+            int bulletsBefore = Math.max(1, bullets[seat]);
             int roll = bulletsBefore == 1 ? 1 : random.nextIntInclusive(1, bulletsBefore);
-            shooter.bullets = Math.max(0, shooter.bullets - 1);
+            bullets[seat] = Math.max(0, bullets[seat] - 1);
             boolean lethal = roll == 1;
 
-            events.add(CoreEvent.of(
-                    CoreEventType.SHOT_RESOLVED,
-                    "shot resolved",
-                    Map.of(
-                            "playerId", shooterId,
-                            "roll", roll,
-                            "bulletsBefore", bulletsBefore,
-                            "bulletsAfter", shooter.bullets,
-                            "lethal", lethal
-                    )
-            ));
+            sink.accept(new CoreEvent.ShotResolved(seats[seat], roll, bulletsBefore, bullets[seat], lethal));
 
             if (lethal) {
-                eliminate(shooter, events);
+                eliminate(seat, sink);
             } else {
-                preferredShooters.add(shooterId);
+                preferredMask |= bit(seat);
             }
 
             UUID winner = soleAlivePlayer();
             if (winner != null) {
-                shootCandidates.clear();
-                finish(winner, "winner_after_shoot", events);
-                return events;
+                shootMask = 0;
+                finish(winner, "winner_after_shoot", sink);
+                return;
             }
         }
-        shootCandidates.clear();
+        shootMask = 0;
 
         UUID winner = soleAlivePlayer();
         if (winner != null) {
-            finish(winner, "winner_after_shoot", events);
-            return events;
+            finish(winner, "winner_after_shoot", sink);
+            return;
         }
 
-        events.addAll(startDealRound("after_shoot"));
-        return events;
+        startDealRound("after_shoot", sink);
     }
 
-    private void eliminate(PlayerState player, List<CoreEvent> events) {
-        player.alive = false;
-        aliveCount--;
-        player.hand.clear();
-        player.bullets = 0;
+    private void eliminate(int seat, CoreEventSink sink) {
+        aliveMask &= ~bit(seat);
+        clearHand(seat);
+        bullets[seat] = 0;
 
-        if (Objects.equals(currentPlayerId, player.id)) {
-            currentPlayerId = null;
+        if (currentSeat == seat) {
+            currentSeat = NO_SEAT;
         }
-        if (Objects.equals(afterGunCandidateId, player.id)) {
-            afterGunCandidateId = null;
+        if (afterGunCandidateSeat == seat) {
+            afterGunCandidateSeat = NO_SEAT;
         }
 
-        events.add(CoreEvent.of(
-                CoreEventType.PLAYER_ELIMINATED,
-                "player eliminated",
-                Map.of("playerId", player.id, "seat", player.seat)
-        ));
+        sink.accept(new CoreEvent.PlayerEliminated(seats[seat], seat));
     }
 
-    private void finish(UUID winner, String reason, List<CoreEvent> events) {
+    private void finish(UUID winner, String reason, CoreEventSink sink) {
         if (phase == GamePhase.FINISHED) {
             return;
         }
         if (winner != null) {
             economy.reward(winner, mode, joinedCount * wagerPerPlayer);
         }
-        currentPlayerId = null;
+        if (mode.isWagerMode()) {
+            economy.gameEnded(mode);
+        }
+        currentSeat = NO_SEAT;
         forceChallenge = false;
-        shootCandidates.clear();
-        preferredShooters.clear();
-        setPhase(GamePhase.FINISHED, events, reason);
-        Map<String, Object> payload = new HashMap<>();
-        if (winner != null) {
-            payload.put("winner", winner);
-        }
-        payload.put("mode", mode.name());
-        payload.put("joinedCount", joinedCount);
-        payload.put("reason", reason);
-        events.add(CoreEvent.of(
-                CoreEventType.GAME_FINISHED,
-                "game finished",
-                payload
-        ));
+        shootMask = 0;
+        preferredMask = 0;
+        setPhase(GamePhase.FINISHED, sink, reason);
+        sink.accept(new CoreEvent.GameFinished(winner, mode, joinedCount, reason));
         resetForIdle();
     }
 
-    private void cancelToIdle(String reason, List<CoreEvent> events) {
+    private void cancelToIdle(String reason, CoreEventSink sink) {
+        if (mode.isWagerMode()) {
+            economy.gameEnded(mode);
+        }
         if (phase != GamePhase.MODE_SELECTION) {
-            setPhase(GamePhase.MODE_SELECTION, events, reason);
+            setPhase(GamePhase.MODE_SELECTION, sink, reason);
         } else {
-            phaseSeconds = 0;
+            restartPhaseTimer();
         }
         resetForIdle();
     }
 
-    private List<CoreEvent> removeBeforeGameStart(PlayerState state) {
-        List<CoreEvent> events = new ArrayList<>();
-        players.remove(state.id);
-        seats[state.seat] = null;
+    private void removeBeforeGameStart(int seat, CoreEventSink sink) {
+        UUID playerId = seats[seat];
+        vacateSeat(seat);
         joinedCount = Math.max(0, joinedCount - 1);
-        aliveCount = Math.max(0, aliveCount - 1);
-
-        shootCandidates.remove(state.id);
-        preferredShooters.remove(state.id);
-        if (Objects.equals(currentPlayerId, state.id)) {
-            currentPlayerId = null;
-        }
-        if (Objects.equals(lastPlayerId, state.id)) {
-            lastPlayerId = null;
-        }
-        if (Objects.equals(afterGunCandidateId, state.id)) {
-            afterGunCandidateId = null;
-        }
-        events.add(CoreEvent.of(
-                CoreEventType.PLAYER_FORFEITED,
-                "player left before game start",
-                Map.of(
-                        "playerId", state.id,
-                        "seat", state.seat,
-                        "phase", phase.name(),
-                        "beforeStart", true
-                )
-        ));
+        sink.accept(new CoreEvent.PlayerForfeited(playerId, seat, phase, true));
+    }
 
-        return Collections.unmodifiableList(events);
+    /**
+     * Removes the player from the seat entirely and drops every turn pointer that referenced it.
+     */
+    private void vacateSeat(int seat) {
+        int mask = ~bit(seat);
+        clearHand(seat);
+        seats[seat] = null;
+        bullets[seat] = 0;
+        seatedMask &= mask;
+        aliveMask &= mask;
+        shootMask &= mask;
+        preferredMask &= mask;
+
+        if (currentSeat == seat) {
+            currentSeat = NO_SEAT;
+        }
+        if (lastSeat == seat) {
+            lastSeat = NO_SEAT;
+        }
+        if (afterGunCandidateSeat == seat) {
+            afterGunCandidateSeat = NO_SEAT;
+        }
+    }
+
+    private void clearHand(int seat) {
+        handSizes[seat] = 0;
+        cardsMask &= ~bit(seat);
     }
 
     private void resetForIdle() {
-        players.clear();
         Arrays.fill(seats, null);
-        centerCards.clear();
-        shootCandidates.clear();
-        preferredShooters.clear();
+        Arrays.fill(bullets, 0);
+        Arrays.fill(handSizes, 0);
+        centerSize = 0;
+        seatedMask = 0;
+        aliveMask = 0;
+        cardsMask = 0;
+        shootMask = 0;
+        preferredMask = 0;
 
         mode = TableMode.LIFE_ONLY;
         phase = GamePhase.MODE_SELECTION;
-        phaseSeconds = 0;
+        restartPhaseTimer();
         joinedCount = 0;
-        aliveCount = 0;
         round = 0;
         nextCardId = 1;
         forceChallenge = false;
@@ -784,251 +1165,247 @@ public final class LiarBarTable {
 
         mainRank = null;
         ownerId = null;
-        currentPlayerId = null;
-        lastPlayerId = null;
-        afterGunCandidateId = null;
+        currentSeat = NO_SEAT;
+        lastSeat = NO_SEAT;
+        afterGunCandidateSeat = NO_SEAT;
     }
 
-    private List<Card> createRoundDeck(CardRank selectedMain) {
-        List<Card> cards = new ArrayList<>(20);
-        addCards(cards, CardRank.A, 7);
-        addCards(cards, CardRank.Q, 6);
-        addCards(cards, CardRank.K, 5);
-        addCards(cards, CardRank.J, 2);
-
-        // Collect main card indexes without allocating a separate list
-        int mainCount = 0;
+    /**
+     * Refills the reusable deck with fresh ids in template order and turns one card of
+     * {@code selectedMain} into the demon. Draws the same random values as the old list-based deck.
+     */
+    private void refillDeck(CardRank selectedMain) {
         int firstMainIndex = -1;
-        for (int i = 0; i < cards.size(); i++) {
-            if (cards.get(i).rank() == selectedMain) {
+        int mainCount = 0;
+        for (int i = 0; i < deck.length; i++) {
+            deck[i] = PackedCard.withId(DECK_TEMPLATE[i], nextCardId++);
+            if (PackedCard.rank(DECK_TEMPLATE[i]) == selectedMain) {
                 if (firstMainIndex == -1) firstMainIndex = i;
                 mainCount++;
             }
         }
+        // Template groups ranks contiguously, so the pick-th main card is a fixed offset.
         int pick = random.nextIntInclusive(0, mainCount - 1);
-        int selectedIndex = firstMainIndex;
-        for (int i = firstMainIndex, seen = 0; i < cards.size(); i++) {
-            if (cards.get(i).rank() == selectedMain) {
-                if (seen == pick) { selectedIndex = i; break; }
-                seen++;
-            }
-        }
-        cards.set(selectedIndex, cards.get(selectedIndex).asDemon());
-        return cards;
+        deck[firstMainIndex + pick] = PackedCard.asDemon(deck[firstMainIndex + pick]);
+    }
+
+    private static int[] deckTemplate() {
+        int[] template = new int[20];
+        int cursor = 0;
+        cursor = addTemplateCards(template, cursor, CardRank.A, 7);
+        cursor = addTemplateCards(template, cursor, CardRank.Q, 6);
+        cursor = addTemplateCards(template, cursor, CardRank.K, 5);
+        addTemplateCards(template, cursor, CardRank.J, 2);
+        return template;
     }
 
-    private void addCards(List<Card> cards, CardRank rank, int count) {
+    private static int addTemplateCards(int[] template, int cursor, CardRank rank, int count) {
         for (int i = 0; i < count; i++) {
-            cards.add(new Card(nextCardId++, rank, false));
+            template[cursor++] = PackedCard.pack(0, rank, false);
         }
+        return cursor;
     }
 
-    private UUID selectFirstPlayerAfterDeal() {
-        if (lastPlayerId != null && preferredShooters.contains(lastPlayerId) && isAlive(lastPlayerId)) {
-            preferredShooters.clear();
-            afterGunCandidateId = null;
-            return lastPlayerId;
+    private int selectFirstSeatAfterDeal() {
+        if (lastSeat != NO_SEAT && (preferredMask & bit(lastSeat)) != 0 && isAliveSeat(lastSeat)) {
+            preferredMask = 0;
+            afterGunCandidateSeat = NO_SEAT;
+            return lastSeat;
         }
 
-        List<UUID> alivePreferredShooters = preferredShooters.stream().filter(this::isAlive).toList();
-        if (!alivePreferredShooters.isEmpty()) {
-            UUID selected = pickRandom(alivePreferredShooters);
-            preferredShooters.clear();
-            afterGunCandidateId = null;
+        int alivePreferred = preferredMask & aliveMask;
+        if (alivePreferred != 0) {
+            int selected = pickRandomSeat(alivePreferred);
+            preferredMask = 0;
+            afterGunCandidateSeat = NO_SEAT;
             return selected;
         }
 
-        if (afterGunCandidateId != null && isAlive(afterGunCandidateId)) {
-            UUID selected = afterGunCandidateId;
-            preferredShooters.clear();
-            afterGunCandidateId = null;
+        if (afterGunCandidateSeat != NO_SEAT && isAliveSeat(afterGunCandidateSeat)) {
+            int selected = afterGunCandidateSeat;
+            preferredMask = 0;
+            afterGunCandidateSeat = NO_SEAT;
             return selected;
         }
 
-        preferredShooters.clear();
-        afterGunCandidateId = null;
-        List<UUID> alive = alivePlayersInSeatOrder();
-        if (alive.isEmpty()) {
-            return null;
+        preferredMask = 0;
+        afterGunCandidateSeat = NO_SEAT;
+        if (aliveMask == 0) {
+            return NO_SEAT;
         }
-        return pickRandom(alive);
+        return pickRandomSeat(aliveMask);
     }
 
-    private UUID findNextPlayerWithCardsAfter(UUID playerId) {
-        if (playerId == null) {
-            return findAnyPlayerWithCards();
+    /**
+     * Next seat clockwise from {@code seat} (wrapping, and including {@code seat} itself last)
+     * whose player is alive and still holds cards.
+     */
+    private int nextSeatWithCardsAfter(int seat) {
+        if (seat == NO_SEAT || (seatedMask & bit(seat)) == 0) {
+            return firstSeatWithCards();
         }
+        int after = cardsMask & (-1 << seat);
+        return lowestSeatOrNone(after != 0 ? after : cardsMask);
+    }
 
-        PlayerState base = players.get(playerId);
-        if (base == null) {
-            return findAnyPlayerWithCards();
-        }
+    private int firstSeatWithCards() {
+        return lowestSeatOrNone(cardsMask);
+    }
 
-        int max = config.maxPlayers();
-        for (int offset = 1; offset <= max; offset++) {
-            int seat = ((base.seat - 1 + offset) % max) + 1;
-            UUID candidateId = seats[seat];
-            if (candidateId == null) {
-                continue;
-            }
-            PlayerState candidate = players.get(candidateId);
-            if (candidate != null && candidate.alive && !candidate.hand.isEmpty()) {
-                return candidateId;
-            }
+    private UUID soleAlivePlayer() {
+        if (Integer.bitCount(aliveMask) != 1) {
+            return null;
         }
-        return null;
+        return seats[lowestSeat(aliveMask)];
     }
 
-    private UUID findAnyPlayerWithCards() {
-        for (PlayerState state : alivePlayerStatesInSeatOrder()) {
-            if (!state.hand.isEmpty()) {
-                return state.id;
-            }
-        }
-        return null;
+    private int alivePlayersCount() {
+        return Integer.bitCount(aliveMask);
     }
 
-    private List<PlayerState> alivePlayerStatesInSeatOrder() {
-        List<PlayerState> states = new ArrayList<>(aliveCount);
-        for (int seat = 1; seat <= config.maxPlayers(); seat++) {
-            UUID playerId = seats[seat];
-            if (playerId == null) {
-                continue;
-            }
-            PlayerState state = players.get(playerId);
-            if (state != null && state.alive) {
-                states.add(state);
-            }
-        }
-        return states;
+    private boolean hasEnoughPlayersToStart() {
+        return alivePlayersCount() >= config.maxPlayers();
     }
 
-    private List<UUID> alivePlayersInSeatOrder() {
-        List<UUID> ids = new ArrayList<>(aliveCount);
-        for (int seat = 1; seat <= config.maxPlayers(); seat++) {
-            UUID playerId = seats[seat];
-            if (playerId == null) {
-                continue;
-            }
-            PlayerState state = players.get(playerId);
-            if (state != null && state.alive) {
-                ids.add(playerId);
-            }
-        }
-        return ids;
+    private int firstOpenSeat() {
+        int open = ~seatedMask & (-1 >>> (Integer.SIZE - config.maxPlayers()));
+        return open == 0 ? -1 : lowestSeat(open);
     }
 
-    private UUID soleAlivePlayer() {
-        if (aliveCount != 1) {
-            return null;
+    private int requiredAliveSeat(UUID playerId) {
+        int seat = seatOf(playerId);
+        if (seat == NO_SEAT || !isAliveSeat(seat)) {
+            throw new IllegalStateException("player is not alive in this table: " + playerId);
         }
-        for (int seat = 1; seat <= config.maxPlayers(); seat++) {
-            UUID playerId = seats[seat];
-            if (playerId == null) {
-                continue;
-            }
-            PlayerState state = players.get(playerId);
-            if (state != null && state.alive) {
-                return playerId;
+        return seat;
+    }
+
+    /**
+     * Resolves a player to their seat, or {@link #NO_SEAT}. A linear scan over at most
+     * {@code maxPlayers} references is cheaper than hashing for table-sized inputs.
+     */
+    private int seatOf(UUID playerId) {
+        for (int seat = 1; seat < seats.length; seat++) {
+            if (playerId.equals(seats[seat])) {
+                return seat;
             }
         }
-        return null;
+        return NO_SEAT;
     }
 
-    private int alivePlayersCount() {
-        return aliveCount;
+    private UUID playerAt(int seat) {
+        return seat == NO_SEAT ? null : seats[seat];
     }
 
-    private int countPlayersWithCards() {
-        int count = 0;
-        for (PlayerState state : players.values()) {
-            if (state.alive && !state.hand.isEmpty()) {
-                count++;
-            }
+    private boolean isCurrentPlayer(UUID playerId) {
+        return currentSeat != NO_SEAT && playerId.equals(seats[currentSeat]);
+    }
+
+    private boolean isAliveSeat(int seat) {
+        return (aliveMask & bit(seat)) != 0;
+    }
+
+    private List<UUID> playersOf(int mask) {
+        UUID[] ids = new UUID[Integer.bitCount(mask)];
+        int i = 0;
+        for (int remaining = mask; remaining != 0; remaining &= remaining - 1) {
+            ids[i++] = seats[lowestSeat(remaining)];
         }
-        return count;
+        return List.of(ids);
     }
 
-    private boolean hasEnoughPlayersToStart() {
-        return alivePlayersCount() >= config.maxPlayers();
+    private void park() {
+        version++;
+        chargePending = true;
     }
 
-    private int firstOpenSeat() {
-        for (int i = 1; i <= config.maxPlayers(); i++) {
-            if (seats[i] == null) {
-                return i;
-            }
+    private RejectionCode checkModeSelection(UUID actor, TableMode selectedMode, int wager) {
+        if (chargePending) {
+            return RejectionCode.CHARGE_PENDING;
+        }
+        if (phase != GamePhase.MODE_SELECTION) {
+            return RejectionCode.WRONG_PHASE;
+        }
+        int selectorSeat = seatOf(actor);
+        if (selectorSeat == NO_SEAT || !isAliveSeat(selectorSeat)) {
+            return RejectionCode.PLAYER_NOT_JOINED;
+        }
+        if (selectedMode == TableMode.KUNKUN_COIN && (wager < MIN_WAGER || wager > MAX_WAGER)) {
+            return RejectionCode.INVALID_WAGER_AMOUNT;
         }
-        return -1;
+        return null;
     }
 
-    private PlayerState requiredAlivePlayer(UUID playerId) {
-        PlayerState state = players.get(playerId);
-        if (state == null || !state.alive) {
-            throw new IllegalStateException("player is not alive in this table: " + playerId);
+    private RejectionCode checkJoin(UUID playerId) {
+        if (chargePending) {
+            return RejectionCode.CHARGE_PENDING;
+        }
+        if (phase != GamePhase.MODE_SELECTION && phase != GamePhase.JOINING) {
+            return RejectionCode.WRONG_PHASE;
+        }
+        if (seatOf(playerId) != NO_SEAT) {
+            return RejectionCode.PLAYER_ALREADY_JOINED;
         }
-        return state;
+        if (firstOpenSeat() < 1) {
+            return RejectionCode.TABLE_FULL;
+        }
+        return null;
     }
 
-    private int seatOf(UUID playerId) {
-        PlayerState state = players.get(playerId);
-        if (state == null) {
-            return Integer.MAX_VALUE;
+    private static void throwIfRejected(RejectionCode rejection) {
+        if (rejection != null) {
+            throw new CommandRejectedException(rejection);
         }
-        return state.seat;
     }
 
-    private boolean isAlive(UUID playerId) {
-        PlayerState state = players.get(playerId);
-        return state != null && state.alive;
+    private static CommandResult result(RejectionCode rejection, List<CoreEvent> events) {
+        return rejection == null ? CommandResult.accepted(events) : CommandResult.rejected(rejection);
     }
 
-    private void ensurePhase(GamePhase expected, String action) {
-        if (phase != expected) {
-            throw new IllegalStateException("cannot " + action + " in phase " + phase);
-        }
+    private void restartPhaseTimer() {
+        phaseSeconds = 0;
+        phaseTimerEpoch++;
     }
 
-    private void setPhase(GamePhase next, List<CoreEvent> events, String reason) {
+    private void setPhase(GamePhase next, CoreEventSink sink, String reason) {
         phase = next;
-        phaseSeconds = 0;
-        events.add(CoreEvent.of(
-                CoreEventType.PHASE_CHANGED,
-                "phase changed",
-                Map.of("phase", next.name(), "reason", reason)
-        ));
+        restartPhaseTimer();
+        sink.accept(new CoreEvent.PhaseChanged(next, reason));
     }
 
-    private UUID pickRandom(List<UUID> candidates) {
-        if (candidates.isEmpty()) {
-            return null;
+    /**
+     * Uniformly picks one of the seats in {@code mask}, counting in seat order.
+     */
+    private int pickRandomSeat(int mask) {
+        int remaining = mask;
+        for (int skip = random.nextIntInclusive(0, Integer.bitCount(mask) - 1); skip > 0; skip--) {
+            remaining &= remaining - 1;
         }
-        int idx = random.nextIntInclusive(0, candidates.size() - 1);
-        return candidates.get(idx);
+        return lowestSeat(remaining);
     }
 
-    private int resolveWagerAmount(TableMode selectedMode, int wager) {
-        if (selectedMode != TableMode.KUNKUN_COIN) {
-            return 1;
-        }
-        if (wager < MIN_WAGER || wager > MAX_WAGER) {
-            throw new IllegalStateException("invalid_wager_amount");
-        }
-        return wager;
+    /**
+     * The wager each player pays for {@code selectedMode}; only {@link TableMode#KUNKUN_COIN} takes a custom amount.
+     */
+    private static int wagerAmount(TableMode selectedMode, int wager) {
+        return selectedMode == TableMode.KUNKUN_COIN ? wager : 1;
     }
 
-    private List<Integer> normalizeSlots(List<Integer> slots, int handSize) {
-        if (slots.isEmpty()) {
-            throw new IllegalStateException("must select at least one card");
-        }
-        Set<Integer> unique = new LinkedHashSet<>(slots);
-        List<Integer> normalized = new ArrayList<>(unique);
+    private static List<Integer> sortedDistinct(List<Integer> slots) {
+        List<Integer> normalized = new ArrayList<>(new LinkedHashSet<>(slots));
         normalized.sort(Integer::compareTo);
-        for (int slot : normalized) {
-            if (slot < 1 || slot > handSize) {
-                throw new IllegalStateException("invalid card slot: " + slot);
-            }
-        }
         return normalized;
     }
+
+    private static int bit(int seat) {
+        return 1 << (seat - 1);
+    }
+
+    private static int lowestSeat(int mask) {
+        return Integer.numberOfTrailingZeros(mask) + 1;
+    }
+
+    private static int lowestSeatOrNone(int mask) {
+        return mask == 0 ? NO_SEAT : lowestSeat(mask);
+    }
 }
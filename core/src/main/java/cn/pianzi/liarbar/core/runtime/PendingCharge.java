@@ -0,0 +1,15 @@
+package cn.pianzi.liarbar.core.runtime;
+
+import cn.pianzi.liarbar.core.domain.TableMode;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Charges a parked {@link LiarBarTable} is waiting for: {@code amount} of {@code mode} from each player.
+ */
+public record PendingCharge(TableMode mode, int amount, List<UUID> players) {
+    public PendingCharge {
+        players = List.copyOf(players);
+    }
+}
@@ -0,0 +1,46 @@
+package cn.pianzi.liarbar.core.runtime;
+
+/**
+ * Why a table turned a player command away. Rejections are expected outcomes, not failures: they
+ * come back as a {@link CommandResult} and leave the table exactly as it was.
+ */
+public enum RejectionCode {
+    /** The command is not allowed in the table's current phase. */
+    WRONG_PHASE("wrong_phase"),
+    /** The table is waiting for charges to settle and takes no joins or mode selection until then. */
+    CHARGE_PENDING("charge_pending"),
+    /** The player has no live seat in this game. */
+    PLAYER_NOT_JOINED("player_not_joined"),
+    PLAYER_ALREADY_JOINED("player_already_joined"),
+    TABLE_FULL("table_full"),
+    /** A player who had to pay could not. Anyone already charged for the command was refunded. */
+    INSUFFICIENT_BALANCE("insufficient_balance"),
+    INVALID_WAGER_AMOUNT("invalid_wager_amount"),
+    NOT_CURRENT_PLAYER("not_current_player"),
+    /** The previous player emptied their hand, so the current player can only challenge. */
+    MUST_CHALLENGE("must_challenge"),
+    NO_CARDS_SELECTED("no_cards_selected"),
+    INVALID_CARD_SLOT("invalid_card_slot"),
+    /** More or fewer cards than the table config allows in one play. */
+    INVALID_CARD_COUNT("invalid_card_count"),
+    DEMON_NOT_SINGLE("demon_not_single"),
+    /** Nothing has been played since the last challenge. */
+    NOTHING_TO_CHALLENGE("nothing_to_challenge"),
+    /** Bots are off for this runtime, or the table plays for wagers, which bots cannot pay. */
+    BOT_NOT_ALLOWED("bot_not_allowed"),
+    /** The table's mailbox is full; see {@link TableBusyException}. */
+    TABLE_BUSY("table_busy");
+
+    private final String reason;
+
+    RejectionCode(String reason) {
+        this.reason = reason;
+    }
+
+    /**
+     * Stable snake_case key for logs and translations.
+     */
+    public String reason() {
+        return reason;
+    }
+}
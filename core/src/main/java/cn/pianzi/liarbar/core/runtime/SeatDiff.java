@@ -0,0 +1,22 @@
+package cn.pianzi.liarbar.core.runtime;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Difference between who sits at a table and who has joined its game, from {@link LiarBarTable#seatDiff}.
+ *
+ * @param leaving   players still in the game who no longer sit at the table, in seat order
+ * @param joining   players sitting at the table who have not joined, in the order they sat down
+ * @param wagerMode whether the table's mode charges each joining player
+ */
+public record SeatDiff(List<UUID> leaving, List<UUID> joining, boolean wagerMode) {
+    public SeatDiff {
+        leaving = List.copyOf(leaving);
+        joining = List.copyOf(joining);
+    }
+
+    public boolean isEmpty() {
+        return leaving.isEmpty() && joining.isEmpty();
+    }
+}
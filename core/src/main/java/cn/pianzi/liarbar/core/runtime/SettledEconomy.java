@@ -0,0 +1,119 @@
+package cn.pianzi.liarbar.core.runtime;
+
+import cn.pianzi.liarbar.core.domain.TableMode;
+import cn.pianzi.liarbar.core.port.AsyncEconomyPort;
+import cn.pianzi.liarbar.core.port.EconomyPort;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * The synchronous {@link EconomyPort} a table sees when its real economy is an {@link AsyncEconomyPort}.
+ * Charges are collected ahead of the command while the table is parked; {@link #charge} then only hands
+ * out those settled outcomes. Rewards are sent off without waiting. Charges the command did not claim,
+ * because it was rejected or a player left in the meantime, are refunded.
+ */
+final class SettledEconomy implements EconomyPort {
+    private static final System.Logger LOGGER = System.getLogger(SettledEconomy.class.getName());
+
+    private final AsyncEconomyPort economy;
+    // Lane-confined: outcomes of the charges collected for the command about to run.
+    private final Map<UUID, Boolean> settled = new HashMap<>();
+    private PendingCharge settledCharge;
+
+    SettledEconomy(AsyncEconomyPort economy) {
+        this.economy = Objects.requireNonNull(economy, "economy");
+    }
+
+    /**
+     * Issues every charge at once. A charge that fails exceptionally counts as not paid.
+     */
+    CompletableFuture<boolean[]> collect(PendingCharge charge) {
+        List<UUID> players = charge.players();
+        boolean[] outcomes = new boolean[players.size()];
+        CompletableFuture<?>[] pending = new CompletableFuture<?>[players.size()];
+        for (int i = 0; i < pending.length; i++) {
+            int index = i;
+            UUID playerId = players.get(i);
+            pending[i] = economy.charge(playerId, charge.mode(), charge.amount())
+                    .toCompletableFuture()
+                    .handle((paid, error) -> {
+                        if (error != null) {
+                            LOGGER.log(System.Logger.Level.WARNING, "Cannot charge player " + playerId, error);
+                        }
+                        outcomes[index] = error == null && Boolean.TRUE.equals(paid);
+                        return null;
+                    });
+        }
+        return CompletableFuture.allOf(pending).thenApply(ignored -> outcomes);
+    }
+
+    void settle(PendingCharge charge, boolean[] outcomes) {
+        settledCharge = charge;
+        List<UUID> players = charge.players();
+        for (int i = 0; i < outcomes.length; i++) {
+            settled.put(players.get(i), outcomes[i]);
+        }
+    }
+
+    void refundUnclaimed() {
+        if (settledCharge == null) {
+            return;
+        }
+        TableMode mode = settledCharge.mode();
+        int amount = settledCharge.amount();
+        settled.forEach((playerId, paid) -> {
+            if (paid) {
+                refund(playerId, mode, amount);
+            }
+        });
+        settled.clear();
+        settledCharge = null;
+    }
+
+    /**
+     * Refunds collected charges that can no longer reach their table. Safe off the lane.
+     */
+    void refund(PendingCharge charge, boolean[] outcomes) {
+        List<UUID> players = charge.players();
+        for (int i = 0; i < outcomes.length; i++) {
+            if (outcomes[i]) {
+                refund(players.get(i), charge.mode(), charge.amount());
+            }
+        }
+    }
+
+    @Override
+    public boolean charge(UUID playerId, TableMode mode, int amount) {
+        Boolean paid = settled.remove(playerId);
+        return paid != null && paid;
+    }
+
+    @Override
+    public void reward(UUID playerId, TableMode mode, int amount) {
+        logFailure(economy.reward(playerId, mode, amount), playerId, mode, amount);
+    }
+
+    @Override
+    public void refund(UUID playerId, TableMode mode, int amount) {
+        logFailure(economy.refund(playerId, mode, amount), playerId, mode, amount);
+    }
+
+    @Override
+    public void gameEnded(TableMode mode) {
+        economy.gameEnded(mode);
+    }
+
+    private static void logFailure(CompletionStage<Void> payment, UUID playerId, TableMode mode, int amount) {
+        payment.whenComplete((ignored, error) -> {
+            if (error != null) {
+                LOGGER.log(System.Logger.Level.WARNING, "Cannot pay " + amount + " " + mode + " to player " + playerId, error);
+            }
+        });
+    }
+}
@@ -0,0 +1,85 @@
+package cn.pianzi.liarbar.core.runtime;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * N single-thread platform loops. A table always maps to the same loop, so its commands stay
+ * strictly ordered without a per-table thread or queue.
+ */
+final class ShardedTableExecutors implements TableExecutors {
+    private final ExecutorService[] shards;
+
+    ShardedTableExecutors(int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("shardCount must be >= 1");
+        }
+        ThreadFactory threadFactory = Thread.ofPlatform()
+                .name("liar-bar-shard-", 0)
+                .daemon(true)
+                .factory();
+        this.shards = new ExecutorService[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = Executors.newSingleThreadExecutor(threadFactory);
+        }
+    }
+
+    @Override
+    public TableLane open(String tableId) {
+        return new Lane(shards[Math.floorMod(tableId.hashCode(), shards.length)]);
+    }
+
+    @Override
+    public void close() {
+        for (ExecutorService shard : shards) {
+            VirtualThreadTableExecutors.shutdownAndAwait(shard);
+        }
+    }
+
+    private static final class Lane implements TableLane {
+        private final ExecutorService shard;
+        private volatile boolean closed;
+
+        private Lane(ExecutorService shard) {
+            this.shard = shard;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            if (closed) {
+                throw new RejectedExecutionException("table lane closed");
+            }
+            shard.execute(command);
+        }
+
+        @Override
+        public Executor shard() {
+            return shard;
+        }
+
+        /**
+         * Waits for the tasks this lane already queued by sending a barrier through the shard.
+         */
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            CountDownLatch drained = new CountDownLatch(1);
+            try {
+                shard.execute(drained::countDown);
+                drained.await(3, TimeUnit.SECONDS);
+            } catch (RejectedExecutionException ignored) {
+                // Shard already stopped; nothing left to drain.
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
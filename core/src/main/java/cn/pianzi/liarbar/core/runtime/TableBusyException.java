@@ -0,0 +1,13 @@
+package cn.pianzi.liarbar.core.runtime;
+
+/**
+ * A player command was turned away because its table already has as many player commands waiting as its
+ * mailbox holds. Nothing was queued; the command's future fails with this right away.
+ */
+public final class TableBusyException extends CommandRejectedException {
+    private static final long serialVersionUID = 1L;
+
+    public TableBusyException() {
+        super(RejectionCode.TABLE_BUSY);
+    }
+}
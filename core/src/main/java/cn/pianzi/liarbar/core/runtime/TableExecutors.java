@@ -0,0 +1,37 @@
+package cn.pianzi.liarbar.core.runtime;
+
+/**
+ * Decides which threads run table commands. {@link LiarBarRuntimeManager} opens one {@link TableLane}
+ * per table; a lane runs its tasks one at a time in submission order, while lanes of different tables
+ * may share a thread.
+ */
+public interface TableExecutors extends AutoCloseable {
+    TableLane open(String tableId);
+
+    /**
+     * Stops every thread owned by this strategy. Lanes should be closed first.
+     */
+    @Override
+    void close();
+
+    /**
+     * One single-thread executor over a virtual thread per table. Default strategy.
+     */
+    static TableExecutors virtualThreadPerTable() {
+        return new VirtualThreadTableExecutors();
+    }
+
+    /**
+     * A fixed set of platform-thread loops; each table is hashed to one loop for its whole lifetime.
+     */
+    static TableExecutors sharded(int shards) {
+        return new ShardedTableExecutors(shards);
+    }
+
+    /**
+     * Runs every command on the submitting thread, serialized per table by a lock. Intended for tests.
+     */
+    static TableExecutors callerRuns() {
+        return new CallerRunsTableExecutors();
+    }
+}
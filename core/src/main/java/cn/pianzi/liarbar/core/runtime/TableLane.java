@@ -0,0 +1,20 @@
+package cn.pianzi.liarbar.core.runtime;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Serial executor owned by a single table. After {@link #close()} new tasks are rejected with
+ * {@link java.util.concurrent.RejectedExecutionException}; tasks accepted before are still run.
+ */
+public interface TableLane extends Executor, AutoCloseable {
+    @Override
+    void close();
+
+    /**
+     * Executor shared by every lane that runs on the same thread as this one. A task submitted there
+     * may touch any table whose lane returns the same shard. Lanes with a thread of their own return themselves.
+     */
+    default Executor shard() {
+        return this;
+    }
+}
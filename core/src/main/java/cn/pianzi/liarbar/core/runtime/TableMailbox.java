@@ -0,0 +1,252 @@
+package cn.pianzi.liarbar.core.runtime;
+
+import cn.pianzi.liarbar.core.domain.TableMode;
+import cn.pianzi.liarbar.core.journal.JournalCommand;
+import cn.pianzi.liarbar.core.journal.JournalRecord;
+import cn.pianzi.liarbar.core.metrics.TableMetrics;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Two-level queue in front of a table's {@link TableLane}. Tasks given to {@link #execute} (ticks,
+ * disconnects, force stops and internal continuations) are always accepted and run before any queued
+ * player command. Player commands are bounded: past {@link #CAPACITY} waiting, {@link #submit} fails fast
+ * with {@link TableBusyException}, and a command identical to one still waiting, down to its mode, wager
+ * and card slots, shares that command's future instead of queueing again.
+ *
+ * <p>At most one drain task sits on the lane at a time; it runs everything queued, so lane ordering
+ * guarantees (and {@link TableLane#close()} waiting for accepted work) carry over unchanged. The drain
+ * also records into the table's {@link TableMetrics} how long each task waited and ran, and every
+ * rejected or coalesced command.
+ *
+ * <p>A mailbox {@linkplain #sealIfEmpty() sealed} while nothing waits turns every later task away with
+ * {@link RejectedExecutionException}, so its table can move to a new runtime without losing a command.
+ */
+final class TableMailbox implements Executor {
+    static final int CAPACITY = 32;
+
+    private static final System.Logger LOGGER = System.getLogger(TableMailbox.class.getName());
+
+    private final TableLane lane;
+    private final TableMetrics metrics;
+    // Guarded by this.
+    private final ArrayDeque<QueuedTask> urgent = new ArrayDeque<>();
+    private final ArrayDeque<PendingCommand<?>> commands = new ArrayDeque<>();
+    private final Map<CommandKey, PendingCommand<?>> waiting = new HashMap<>();
+    private boolean draining;
+    // Written under this, read without it by callers checking whether to move on.
+    private volatile boolean sealed;
+
+    TableMailbox(TableLane lane, TableMetrics metrics) {
+        this.lane = Objects.requireNonNull(lane, "lane");
+        this.metrics = Objects.requireNonNull(metrics, "metrics");
+    }
+
+    /**
+     * Queues a task ahead of every player command.
+     *
+     * @throws RejectedExecutionException if the lane is closed or the mailbox sealed
+     */
+    @Override
+    public void execute(Runnable task) {
+        Objects.requireNonNull(task, "task");
+        synchronized (this) {
+            checkNotSealed();
+            urgent.add(new QueuedTask(task, System.nanoTime()));
+            if (draining) {
+                return;
+            }
+            draining = true;
+        }
+        startDrain();
+    }
+
+    /**
+     * Queues a player command behind the urgent tasks.
+     *
+     * @throws RejectedExecutionException if the lane is closed or the mailbox sealed
+     */
+    <T> CompletableFuture<T> submit(JournalRecord record, Supplier<T> body) {
+        CommandKey key = CommandKey.of(record);
+        PendingCommand<T> command;
+        synchronized (this) {
+            checkNotSealed();
+            PendingCommand<?> duplicate = waiting.get(key);
+            if (duplicate != null) {
+                // Identical commands come from the same runtime method with the same economy, so the result types match.
+                @SuppressWarnings("unchecked")
+                CompletableFuture<T> shared = (CompletableFuture<T>) duplicate.result;
+                metrics.recordCoalesced();
+                return shared;
+            }
+            if (commands.size() >= CAPACITY) {
+                metrics.recordRejected();
+                return CompletableFuture.failedFuture(new TableBusyException());
+            }
+            command = new PendingCommand<>(key, body, System.nanoTime());
+            commands.add(command);
+            waiting.put(key, command);
+            if (draining) {
+                return command.result;
+            }
+            draining = true;
+        }
+        startDrain();
+        return command.result;
+    }
+
+    /**
+     * Fails every waiting command of a player who left; run before their disconnect so none of them
+     * lands after it.
+     */
+    void dropCommandsOf(UUID playerId) {
+        List<PendingCommand<?>> dropped = new ArrayList<>();
+        synchronized (this) {
+            for (Iterator<PendingCommand<?>> it = commands.iterator(); it.hasNext(); ) {
+                PendingCommand<?> command = it.next();
+                if (command.key.playerId().equals(playerId)) {
+                    it.remove();
+                    waiting.remove(command.key);
+                    dropped.add(command);
+                }
+            }
+        }
+        for (PendingCommand<?> command : dropped) {
+            command.result.completeExceptionally(new CompletionException(new IllegalStateException("player_disconnected")));
+        }
+    }
+
+    synchronized int pendingCommands() {
+        return commands.size();
+    }
+
+    /**
+     * Seals the mailbox unless something is still waiting. Run on the lane, so the task calling this is the
+     * last one the mailbox ever runs.
+     *
+     * @return whether the mailbox is now sealed
+     */
+    synchronized boolean sealIfEmpty() {
+        if (!urgent.isEmpty() || !commands.isEmpty()) {
+            return false;
+        }
+        sealed = true;
+        return true;
+    }
+
+    boolean isSealed() {
+        return sealed;
+    }
+
+    private void checkNotSealed() {
+        if (sealed) {
+            throw new RejectedExecutionException("table_hibernated");
+        }
+    }
+
+    /**
+     * Urgent tasks and player commands waiting, not counting the one running.
+     */
+    synchronized int depth() {
+        return urgent.size() + commands.size();
+    }
+
+    private void startDrain() {
+        try {
+            lane.execute(this::drain);
+        } catch (RejectedExecutionException ex) {
+            synchronized (this) {
+                // Nothing was draining, so everything queued is what this call just added.
+                urgent.clear();
+                commands.clear();
+                waiting.clear();
+                draining = false;
+            }
+            throw ex;
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            Runnable next;
+            long enqueuedAt;
+            synchronized (this) {
+                QueuedTask task = urgent.poll();
+                if (task != null) {
+                    next = task.task();
+                    enqueuedAt = task.enqueuedAt();
+                } else {
+                    PendingCommand<?> command = commands.poll();
+                    if (command == null) {
+                        draining = false;
+                        return;
+                    }
+                    waiting.remove(command.key);
+                    next = command;
+                    enqueuedAt = command.enqueuedAt;
+                }
+            }
+            long startedAt = System.nanoTime();
+            metrics.recordQueueWait(startedAt - enqueuedAt);
+            try {
+                next.run();
+            } catch (RuntimeException ex) {
+                LOGGER.log(System.Logger.Level.WARNING, "Table task failed", ex);
+            } finally {
+                metrics.recordExecution(System.nanoTime() - startedAt);
+            }
+        }
+    }
+
+    /**
+     * Everything that makes a player command do what it does; commands with equal keys are interchangeable.
+     */
+    private record CommandKey(UUID playerId, JournalCommand kind, TableMode mode, int wager, List<Integer> slots) {
+        private static CommandKey of(JournalRecord record) {
+            Objects.requireNonNull(record.playerId(), "playerId");
+            List<Integer> slots = new ArrayList<>(record.slots().length);
+            for (int slot : record.slots()) {
+                slots.add(slot);
+            }
+            return new CommandKey(record.playerId(), record.command(), record.mode(), record.wager(), slots);
+        }
+    }
+
+    private record QueuedTask(Runnable task, long enqueuedAt) {
+    }
+
+    private static final class PendingCommand<T> implements Runnable {
+        private final CommandKey key;
+        private final Supplier<T> body;
+        private final long enqueuedAt;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private PendingCommand(CommandKey key, Supplier<T> body, long enqueuedAt) {
+            this.key = key;
+            this.body = body;
+            this.enqueuedAt = enqueuedAt;
+        }
+
+        @Override
+        public void run() {
+            try {
+                result.complete(body.get());
+            } catch (RuntimeException ex) {
+                // Same shape as CompletableFuture.supplyAsync, so callers unwrap both alike.
+                result.completeExceptionally(new CompletionException(ex));
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package cn.pianzi.liarbar.core.runtime;
+
+import cn.pianzi.liarbar.core.event.CoreEvent;
+
+import java.util.List;
+
+/**
+ * Outcome of one table inside {@link LiarBarRuntimeManager#tickAll()}: the events it emitted,
+ * or the failure that stopped its tick ({@code events} is then empty).
+ */
+public record TableTickResult(String tableId, List<CoreEvent> events, Throwable error) {
+    public TableTickResult {
+        events = List.copyOf(events);
+    }
+
+    public boolean failed() {
+        return error != null;
+    }
+}
@@ -0,0 +1,45 @@
+package cn.pianzi.liarbar.core.runtime;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+final class VirtualThreadTableExecutors implements TableExecutors {
+    @Override
+    public TableLane open(String tableId) {
+        ThreadFactory threadFactory = Thread.ofVirtual()
+                .name("liar-bar-core-" + tableId + "-", 0)
+                .factory();
+        return new Lane(Executors.newSingleThreadExecutor(threadFactory));
+    }
+
+    @Override
+    public void close() {
+        // Every lane owns its own executor; nothing shared to stop.
+    }
+
+    private record Lane(ExecutorService mailbox) implements TableLane {
+        @Override
+        public void execute(Runnable command) {
+            mailbox.execute(command);
+        }
+
+        @Override
+        public void close() {
+            shutdownAndAwait(mailbox);
+        }
+    }
+
+    static void shutdownAndAwait(ExecutorService executor) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(3, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+}
@@ -9,6 +9,10 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * Immutable view of a table. {@code version} increases with every command the table accepts, so two
+ * snapshots with the same version describe the same state.
+ */
 public record GameSnapshot(
         String tableId,
         GamePhase phase,
@@ -22,8 +26,13 @@ public record GameSnapshot(
         Optional<UUID> owner,
         Optional<UUID> currentPlayer,
         Optional<UUID> lastPlayer,
-        boolean forceChallenge
+        boolean forceChallenge,
+        long version
 ) {
+    public GameSnapshot {
+        centerCards = List.copyOf(centerCards);
+        players = List.copyOf(players);
+    }
 }
 
 
@@ -1,28 +1,64 @@
 package cn.pianzi.liarbar.core;
 
+import cn.pianzi.liarbar.core.bot.BotEngine;
+import cn.pianzi.liarbar.core.bot.BotTurn;
+import cn.pianzi.liarbar.core.checkpoint.CheckpointStore;
 import cn.pianzi.liarbar.core.config.TableConfig;
+import cn.pianzi.liarbar.core.domain.Card;
+import cn.pianzi.liarbar.core.domain.CardRank;
 import cn.pianzi.liarbar.core.domain.GamePhase;
+import cn.pianzi.liarbar.core.domain.PackedCard;
 import cn.pianzi.liarbar.core.domain.TableMode;
 import cn.pianzi.liarbar.core.event.CoreEvent;
+import cn.pianzi.liarbar.core.escrow.Escrow;
+import cn.pianzi.liarbar.core.escrow.EscrowLedger;
 import cn.pianzi.liarbar.core.event.CoreEventType;
+import cn.pianzi.liarbar.core.journal.JournalStore;
+import cn.pianzi.liarbar.core.metrics.LatencyHistogram;
+import cn.pianzi.liarbar.core.metrics.TableMetricsSnapshot;
+import cn.pianzi.liarbar.core.port.AsyncEconomyPort;
 import cn.pianzi.liarbar.core.port.EconomyPort;
 import cn.pianzi.liarbar.core.port.RandomSource;
+import cn.pianzi.liarbar.core.port.SplittableRandomSource;
+import cn.pianzi.liarbar.core.runtime.AsyncTableRuntime;
+import cn.pianzi.liarbar.core.runtime.CommandRejectedException;
+import cn.pianzi.liarbar.core.runtime.CommandResult;
+import cn.pianzi.liarbar.core.runtime.DeadlineScheduler;
+import cn.pianzi.liarbar.core.runtime.LiarBarRuntimeManager;
 import cn.pianzi.liarbar.core.runtime.LiarBarTable;
+import cn.pianzi.liarbar.core.runtime.RejectionCode;
+import cn.pianzi.liarbar.core.runtime.TableExecutors;
+import cn.pianzi.liarbar.core.runtime.TableLane;
+import cn.pianzi.liarbar.core.runtime.TableTickResult;
 import cn.pianzi.liarbar.core.snapshot.GameSnapshot;
 import cn.pianzi.liarbar.core.snapshot.PlayerSnapshot;
 
 import org.junit.jupiter.api.Test;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Random;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class LiarBarTableTest {
@@ -44,6 +80,113 @@ class LiarBarTableTest {
         assertTrue(!containsEvent(events, CoreEventType.HOST_ASSIGNED));
     }
 
+    @Test
+    void shouldReportRejectedCommandsAsResults() {
+        LiarBarTable table = new LiarBarTable(
+                "rejections",
+                testConfig(),
+                EconomyPort.noop(),
+                new SeededRandomSource(13L)
+        );
+        UUID host = UUID.randomUUID();
+        assertTrue(table.tryJoin(host).isAccepted());
+        GameSnapshot before = table.snapshot();
+
+        assertEquals(RejectionCode.PLAYER_ALREADY_JOINED, table.tryJoin(host).rejection());
+        assertEquals(RejectionCode.WRONG_PHASE, table.tryPlay(host, List.of(1)).rejection());
+        assertEquals(RejectionCode.WRONG_PHASE, table.tryChallenge(host).rejection());
+        assertEquals(RejectionCode.PLAYER_NOT_JOINED,
+                table.trySelectMode(UUID.randomUUID(), TableMode.LIFE_ONLY, 1).rejection());
+        CommandResult badWager = table.trySelectMode(host, TableMode.KUNKUN_COIN, 0);
+        assertEquals(RejectionCode.INVALID_WAGER_AMOUNT, badWager.rejection());
+        assertTrue(badWager.events().isEmpty());
+
+        RejectionCode thrown = null;
+        try {
+            table.join(host);
+        } catch (CommandRejectedException ex) {
+            thrown = ex.code();
+            assertEquals(0, ex.getStackTrace().length);
+        }
+        assertEquals(RejectionCode.PLAYER_ALREADY_JOINED, thrown);
+
+        GameSnapshot after = table.snapshot();
+        assertEquals(before.phase(), after.phase());
+        assertEquals(before.players(), after.players());
+        assertEquals(Long.valueOf(before.version()), Long.valueOf(after.version()));
+    }
+
+    @Test
+    void shouldReplayRecordedDrawsIntoIdenticalDeal() {
+        UUID host = UUID.randomUUID();
+        UUID guest = UUID.randomUUID();
+        SplittableRandomSource recorded = new SplittableRandomSource(7L).split();
+        recorded.startRecording();
+        LiarBarTable live = new LiarBarTable("live", testConfig(), EconomyPort.noop(), recorded);
+        live.join(host);
+        live.selectMode(host, TableMode.LIFE_ONLY);
+        live.join(guest);
+        byte[] draws = recorded.stopRecording();
+        assertTrue(recorded.recordedDraws() > 20);
+        assertTrue(draws.length < recorded.recordedDraws() * 2);
+
+        LiarBarTable replayed = new LiarBarTable(
+                "live", testConfig(), EconomyPort.noop(), SplittableRandomSource.replaying(draws));
+        replayed.join(host);
+        replayed.selectMode(host, TableMode.LIFE_ONLY);
+        replayed.join(guest);
+        assertArrayEquals(live.checkpoint(), replayed.checkpoint());
+
+        LiarBarTable sameSeed = new LiarBarTable(
+                "live", testConfig(), EconomyPort.noop(), new SplittableRandomSource(7L).split());
+        sameSeed.join(host);
+        sameSeed.selectMode(host, TableMode.LIFE_ONLY);
+        sameSeed.join(guest);
+        assertArrayEquals(live.checkpoint(), sameSeed.checkpoint());
+    }
+
+    @Test
+    void shouldLetBotsChallengeImpossibleClaimsAndFillFreeSeats() {
+        UUID host = UUID.randomUUID();
+        UUID guest = UUID.randomUUID();
+        LiarBarTable table = new LiarBarTable("bot-view", testConfig(), EconomyPort.noop(), new SeededRandomSource(5L));
+        table.join(host);
+        table.join(guest);
+        table.selectMode(host, TableMode.LIFE_ONLY);
+        table.tickSecond();
+        BotTurn firstTurn = table.botTurn();
+        assertNotNull(firstTurn);
+        assertEquals(5, firstTurn.hand().length);
+        assertEquals(15, firstTurn.unseenCards());
+        assertFalse(firstTurn.canChallenge());
+
+        int[] hand = {PackedCard.pack(1, CardRank.A, false), PackedCard.pack(2, CardRank.J, false)};
+        // Every card the player cannot see is off-rank, so any claim of main cards is a lie.
+        BotTurn impossible = new BotTurn(host, hand, CardRank.A, 2, 3, false, 1, 3, 5, 0, 0, 0, 18);
+        try (BotEngine bots = new BotEngine(ForkJoinPool.commonPool(), Duration.ofSeconds(5), 1024)) {
+            assertTrue(bots.decide(impossible).join().challenge());
+        }
+        BotTurn opening = new BotTurn(host, hand, CardRank.A, 0, 0, false, 1, 3, 5, 0, 0, 0, 18);
+        assertEquals(List.of(1, 2), BotEngine.fallback(opening).slots());
+
+        try (LiarBarRuntimeManager manager = new LiarBarRuntimeManager(
+                TableExecutors.callerRuns(), null, null, null, null, new BotEngine(Duration.ofMillis(200)))) {
+            AsyncTableRuntime runtime = manager.createTable("bots", testConfig(), EconomyPort.noop(), new SeededRandomSource(6L));
+            assertEquals(RejectionCode.WRONG_PHASE, runtime.seatBot().toCompletableFuture().join().rejection());
+            runtime.join(host).toCompletableFuture().join();
+            runtime.selectMode(host, TableMode.LIFE_ONLY).toCompletableFuture().join();
+
+            assertTrue(runtime.seatBot().toCompletableFuture().join().isAccepted());
+            assertEquals(2, runtime.latestSnapshot().joinedCount());
+            assertEquals(GamePhase.DEALING, runtime.latestSnapshot().phase());
+
+            // Only the host sits physically; the per-second seat sync must not take the bot's seat away.
+            runtime.reconcileSeats(List.of(host)).toCompletableFuture().join();
+            assertEquals(2, runtime.latestSnapshot().joinedCount());
+            assertTrue(runtime.latestSnapshot().players().stream().allMatch(PlayerSnapshot::alive));
+        }
+    }
+
     @Test
     void shouldDealCardsWhenTableBecomesFull() {
         LiarBarTable table = new LiarBarTable(
@@ -420,6 +563,539 @@ class LiarBarTableTest {
         assertEquals(List.of(result.challenger()), result.shooters());
     }
 
+    @Test
+    void shouldEmitTypedHandDealtWithCompatibleDataView() {
+        LiarBarTable table = new LiarBarTable(
+                "typed_events",
+                testConfig(),
+                EconomyPort.noop(),
+                new SeededRandomSource(5L)
+        );
+        UUID host = UUID.randomUUID();
+        table.join(host);
+        table.selectMode(host, TableMode.LIFE_ONLY);
+        List<CoreEvent> events = table.join(UUID.randomUUID());
+
+        CoreEvent.HandDealt hand = (CoreEvent.HandDealt) eventOf(events, CoreEventType.HAND_DEALT);
+        assertEquals(5, hand.cards().length);
+        assertEquals(1, hand.round());
+        assertEquals(table.snapshot().mainRank().orElseThrow(), hand.mainRank());
+
+        Map<String, Object> data = hand.data();
+        assertEquals(hand.playerId(), data.get("playerId"));
+        assertEquals(hand.mainRank().name(), data.get("mainRank"));
+        assertEquals(5, ((List<?>) data.get("cards")).size());
+    }
+
+    @Test
+    void shouldMoveDealtCardIntoCenterWhenPlayed() {
+        LiarBarTable table = new LiarBarTable(
+                "packed_cards",
+                testConfig(),
+                EconomyPort.noop(),
+                new SeededRandomSource(6L)
+        );
+        UUID host = UUID.randomUUID();
+        table.join(host);
+        table.selectMode(host, TableMode.LIFE_ONLY);
+        List<CoreEvent> dealEvents = table.join(UUID.randomUUID());
+        table.tickSecond(); // DEALING -> FIRST_TURN
+
+        UUID first = table.snapshot().currentPlayer().orElseThrow();
+        Card played = null;
+        for (CoreEvent event : dealEvents) {
+            if (event instanceof CoreEvent.HandDealt hand && hand.playerId().equals(first)) {
+                played = hand.cards()[0];
+            }
+        }
+        assertNotNull(played);
+
+        table.play(first, List.of(1));
+
+        assertEquals(List.of(played), table.snapshot().centerCards());
+        assertEquals(4, handSizeOf(table.snapshot(), first));
+    }
+
+    @Test
+    void shouldDeliverSameEventsToSinkAsListApi() {
+        UUID host = UUID.randomUUID();
+        UUID guest = UUID.randomUUID();
+        LiarBarTable listTable = new LiarBarTable("list", testConfig(), EconomyPort.noop(), new SeededRandomSource(9L));
+        LiarBarTable sinkTable = new LiarBarTable("sink", testConfig(), EconomyPort.noop(), new SeededRandomSource(9L));
+
+        List<CoreEvent> fromList = new ArrayList<>();
+        fromList.addAll(listTable.join(host));
+        fromList.addAll(listTable.selectMode(host, TableMode.LIFE_ONLY));
+        fromList.addAll(listTable.join(guest));
+        fromList.addAll(listTable.tickSecond());
+
+        List<CoreEvent> fromSink = new ArrayList<>();
+        sinkTable.join(host, fromSink::add);
+        sinkTable.selectMode(host, TableMode.LIFE_ONLY, fromSink::add);
+        sinkTable.join(guest, fromSink::add);
+        sinkTable.tickSecond(fromSink::add);
+
+        assertEquals(fromList.size(), fromSink.size());
+        for (int i = 0; i < fromList.size(); i++) {
+            assertEquals(fromList.get(i).type(), fromSink.get(i).type());
+            assertEquals(fromList.get(i).message(), fromSink.get(i).message());
+        }
+    }
+
+    @Test
+    void shouldPublishVersionedSnapshotAfterEachCommand() {
+        try (LiarBarRuntimeManager manager = new LiarBarRuntimeManager(TableExecutors.callerRuns())) {
+            AsyncTableRuntime runtime = manager.createTable("versioned", testConfig(), EconomyPort.noop(), new SeededRandomSource(10L));
+            GameSnapshot initial = runtime.latestSnapshot();
+            assertEquals(0, initial.joinedCount());
+
+            UUID host = UUID.randomUUID();
+            runtime.join(host).toCompletableFuture().join();
+
+            GameSnapshot afterJoin = runtime.latestSnapshot();
+            assertEquals(1, afterJoin.joinedCount());
+            assertEquals(host, afterJoin.players().getFirst().playerId());
+            assertTrue(afterJoin.version() > initial.version());
+            assertTrue(afterJoin == runtime.latestSnapshot());
+        }
+    }
+
+    @Test
+    void shouldTickAllTablesInOneBatchSkippingIdleOnes() {
+        try (LiarBarRuntimeManager manager = new LiarBarRuntimeManager(TableExecutors.callerRuns())) {
+            manager.createTable("idle", testConfig(), EconomyPort.noop(), new SeededRandomSource(7L));
+            AsyncTableRuntime dealing = manager.createTable("dealing", testConfig(), EconomyPort.noop(), new SeededRandomSource(8L));
+            UUID host = UUID.randomUUID();
+            dealing.join(host);
+            dealing.selectMode(host, TableMode.LIFE_ONLY);
+            dealing.join(UUID.randomUUID());
+
+            List<TableTickResult> results = manager.tickAll().toCompletableFuture().join();
+
+            assertEquals(1, results.size());
+            TableTickResult result = results.getFirst();
+            assertEquals("dealing", result.tableId());
+            assertTrue(!result.failed());
+            assertTrue(containsEvent(result.events(), CoreEventType.TURN_CHANGED));
+        }
+    }
+
+    @Test
+    void shouldRebuildTableFromJournalAfterRestart() throws Exception {
+        Path directory = Files.createTempDirectory("liarbar-journal");
+        UUID host = UUID.randomUUID();
+        UUID guest = UUID.randomUUID();
+        GameSnapshot before;
+        try (LiarBarRuntimeManager manager = new LiarBarRuntimeManager(TableExecutors.callerRuns(), new JournalStore(directory))) {
+            AsyncTableRuntime runtime = manager.createTable("journaled", testConfig(), EconomyPort.noop(), new SeededRandomSource(11L));
+            runtime.join(host).toCompletableFuture().join();
+            runtime.selectMode(host, TableMode.LIFE_ONLY).toCompletableFuture().join();
+            runtime.join(guest).toCompletableFuture().join();
+            runtime.tickSecond().toCompletableFuture().join();
+            manager.tickAll().toCompletableFuture().join();
+            UUID current = runtime.latestSnapshot().currentPlayer().orElseThrow();
+            runtime.play(current, List.of(1)).toCompletableFuture().join();
+            before = runtime.latestSnapshot();
+        }
+
+        try (LiarBarRuntimeManager manager = new LiarBarRuntimeManager(TableExecutors.callerRuns(), new JournalStore(directory))) {
+            // A different seed proves every draw came from the journal.
+            AsyncTableRuntime runtime = manager.createTable("journaled", testConfig(), EconomyPort.noop(), new SeededRandomSource(999L));
+            GameSnapshot after = runtime.latestSnapshot();
+
+            assertEquals(GamePhase.STANDARD_TURN, after.phase());
+            assertEquals(withoutVersion(before), withoutVersion(after));
+        }
+    }
+
+    @Test
+    void shouldHibernateIdleTableAndWakeItOnFirstCommand() throws Exception {
+        Path directory = Files.createTempDirectory("liarbar-hibernate");
+        UUID host = UUID.randomUUID();
+        try (LiarBarRuntimeManager manager = new LiarBarRuntimeManager(
+                TableExecutors.callerRuns(), new JournalStore(directory), null, null, Duration.ZERO)) {
+            AsyncTableRuntime sleeping = manager.createTable("lobby", testConfig(), EconomyPort.noop(), new SeededRandomSource(21L));
+            manager.createTable("busy", testConfig(), EconomyPort.noop(), new SeededRandomSource(22L))
+                    .join(UUID.randomUUID()).toCompletableFuture().join();
+
+            // The first pass starts the idle clock, the second one hibernates.
+            manager.tickAll().toCompletableFuture().join();
+            manager.tickAll().toCompletableFuture().join();
+
+            assertTrue(manager.isHibernating("lobby"));
+            assertEquals(Set.of("busy"), manager.awakeTableIds());
+            assertEquals(Set.of("lobby", "busy"), manager.tableIds());
+            assertTrue(manager.latestSnapshot("lobby").isPresent());
+            assertTrue(manager.isHibernating("lobby"), "reading the snapshot must not wake the table");
+
+            AsyncTableRuntime woken = manager.getTable("lobby").orElseThrow();
+            assertNotSame(sleeping, woken);
+            woken.join(host).toCompletableFuture().join();
+
+            assertFalse(manager.isHibernating("lobby"));
+            assertEquals(1, manager.latestSnapshot("lobby").orElseThrow().joinedCount());
+        }
+    }
+
+    @Test
+    void shouldReconcileSeatsInOneTask() {
+        UUID stays = UUID.randomUUID();
+        UUID leaves = UUID.randomUUID();
+        UUID arrives = UUID.randomUUID();
+        try (LiarBarRuntimeManager manager = new LiarBarRuntimeManager(TableExecutors.callerRuns())) {
+            AsyncTableRuntime runtime = manager.createTable("seats", testConfig(), EconomyPort.noop(), new SeededRandomSource(8L));
+            runtime.join(stays).toCompletableFuture().join();
+            runtime.join(leaves).toCompletableFuture().join();
+
+            List<CoreEvent> events = runtime.reconcileSeats(List.of(stays, arrives, arrives)).toCompletableFuture().join();
+
+            assertEquals(List.of(CoreEventType.PLAYER_FORFEITED, CoreEventType.PLAYER_JOINED),
+                    events.stream().map(CoreEvent::type).filter(type -> type != CoreEventType.HOST_ASSIGNED).toList());
+            GameSnapshot snapshot = runtime.latestSnapshot();
+            assertEquals(2, snapshot.joinedCount());
+            assertEquals(Set.of(stays, arrives), Set.of(
+                    snapshot.players().get(0).playerId(), snapshot.players().get(1).playerId()));
+            assertTrue(runtime.reconcileSeats(List.of(stays, arrives)).toCompletableFuture().join().isEmpty());
+        }
+    }
+
+    @Test
+    void shouldContinueGameFromCheckpoint() {
+        UUID host = UUID.randomUUID();
+        UUID guest = UUID.randomUUID();
+        LiarBarTable original = new LiarBarTable("cp", testConfig(), EconomyPort.noop(), new SeededRandomSource(5L));
+        original.join(host);
+        original.selectMode(host, TableMode.LIFE_ONLY);
+        original.join(guest);
+        original.tickSecond();
+        original.tickSecond();
+        UUID current = original.snapshot().currentPlayer().orElseThrow();
+        original.play(current, List.of(1));
+
+        LiarBarTable restored = new LiarBarTable("cp", testConfig(), EconomyPort.noop(), new SeededRandomSource(5L));
+        restored.restore(original.checkpoint());
+
+        assertEquals(withoutVersion(original.snapshot()), withoutVersion(restored.snapshot()));
+        UUID next = original.snapshot().currentPlayer().orElseThrow();
+        assertEquals(original.challenge(next).size(), restored.challenge(next).size());
+        assertEquals(withoutVersion(original.snapshot()), withoutVersion(restored.snapshot()));
+    }
+
+    @Test
+    void shouldCheckpointLiveTablesOnCloseAndRestoreOnCreate() throws Exception {
+        Path directory = Files.createTempDirectory("liarbar-checkpoint");
+        UUID host = UUID.randomUUID();
+        GameSnapshot before;
+        try (LiarBarRuntimeManager manager = new LiarBarRuntimeManager(
+                TableExecutors.callerRuns(), null, new CheckpointStore(directory))) {
+            manager.createTable("idle", testConfig(), EconomyPort.noop(), new SeededRandomSource(1L));
+            AsyncTableRuntime runtime = manager.createTable("live", testConfig(), EconomyPort.noop(), new SeededRandomSource(2L));
+            runtime.join(host).toCompletableFuture().join();
+            runtime.selectMode(host, TableMode.LIFE_ONLY).toCompletableFuture().join();
+            runtime.join(UUID.randomUUID()).toCompletableFuture().join();
+            before = runtime.latestSnapshot();
+        }
+        assertTrue(Files.exists(directory.resolve("live.checkpoint")));
+        assertTrue(!Files.exists(directory.resolve("idle.checkpoint")));
+
+        try (LiarBarRuntimeManager manager = new LiarBarRuntimeManager(
+                TableExecutors.callerRuns(), null, new CheckpointStore(directory))) {
+            AsyncTableRuntime runtime = manager.createTable("live", testConfig(), EconomyPort.noop(), new SeededRandomSource(3L));
+            GameSnapshot after = runtime.snapshot().toCompletableFuture().join();
+
+            assertEquals(withoutVersion(before), withoutVersion(after));
+            assertTrue(!Files.exists(directory.resolve("live.checkpoint")));
+        }
+    }
+
+    @Test
+    void shouldFireOnlyExpiredPhaseDeadlines() {
+        AtomicLong clock = new AtomicLong();
+        DeadlineScheduler wheel = DeadlineScheduler.manual(clock::get, TimeUnit.MILLISECONDS.toNanos(50));
+        try (LiarBarRuntimeManager manager = new LiarBarRuntimeManager(TableExecutors.callerRuns(), null, null, wheel)) {
+            manager.createTable("idle", testConfig(), EconomyPort.noop(), new SeededRandomSource(7L));
+            AsyncTableRuntime dealing = manager.createTable("dealing", testConfig(), EconomyPort.noop(), new SeededRandomSource(8L));
+            UUID host = UUID.randomUUID();
+            dealing.join(host);
+            dealing.selectMode(host, TableMode.LIFE_ONLY);
+            dealing.join(UUID.randomUUID());
+            assertEquals(GamePhase.DEALING, dealing.latestSnapshot().phase());
+
+            clock.set(TimeUnit.MILLISECONDS.toNanos(900));
+            assertEquals(0, wheel.advance());
+            assertTrue(manager.tickAll().toCompletableFuture().join().isEmpty());
+
+            clock.set(TimeUnit.MILLISECONDS.toNanos(1_050));
+            // the JOINING deadline superseded by DEALING fires too, but its runtime drops it
+            assertEquals(2, wheel.advance());
+            List<TableTickResult> results = manager.tickAll().toCompletableFuture().join();
+
+            assertEquals(1, results.size());
+            assertEquals("dealing", results.getFirst().tableId());
+            assertTrue(containsEvent(results.getFirst().events(), CoreEventType.TURN_CHANGED));
+            assertEquals(GamePhase.FIRST_TURN, dealing.latestSnapshot().phase());
+        }
+    }
+
+    @Test
+    void shouldParkTableUntilAsyncChargesSettleAndRefundOnFailure() {
+        Map<UUID, CompletableFuture<Boolean>> charges = new HashMap<>();
+        List<UUID> refunded = new ArrayList<>();
+        AsyncEconomyPort economy = new AsyncEconomyPort() {
+            @Override
+            public CompletionStage<Boolean> charge(UUID playerId, TableMode mode, int amount) {
+                CompletableFuture<Boolean> charge = new CompletableFuture<>();
+                charges.put(playerId, charge);
+                return charge;
+            }
+
+            @Override
+            public CompletionStage<Void> reward(UUID playerId, TableMode mode, int amount) {
+                refunded.add(playerId);
+                return CompletableFuture.completedFuture(null);
+            }
+        };
+        try (LiarBarRuntimeManager manager = new LiarBarRuntimeManager(TableExecutors.callerRuns())) {
+            AsyncTableRuntime runtime = manager.createTable("async", testConfig(), economy, new SeededRandomSource(9L));
+            UUID host = UUID.randomUUID();
+            UUID guest = UUID.randomUUID();
+            runtime.join(host).toCompletableFuture().join();
+            runtime.join(guest).toCompletableFuture().join();
+
+            CompletableFuture<CommandResult> selected = runtime.selectMode(host, TableMode.FANTUAN_COIN)
+                    .toCompletableFuture();
+            assertTrue(!selected.isDone());
+            assertEquals(Set.of(host, guest), charges.keySet());
+            CommandResult parked = runtime.join(UUID.randomUUID()).toCompletableFuture().join();
+            assertEquals(RejectionCode.CHARGE_PENDING, parked.rejection());
+
+            charges.get(host).complete(true);
+            charges.get(guest).complete(false);
+
+            assertEquals(RejectionCode.INSUFFICIENT_BALANCE, selected.join().rejection());
+            assertEquals(List.of(host), refunded);
+            assertEquals(GamePhase.MODE_SELECTION, runtime.latestSnapshot().phase());
+        }
+    }
+
+    @Test
+    void shouldSettleEscrowLeftOpenByCrashExactlyOnce() throws Exception {
+        Path directory = Files.createTempDirectory("liar-bar-escrow");
+        UUID host = UUID.randomUUID();
+        UUID guest = UUID.randomUUID();
+        try (EscrowLedger ledger = new EscrowLedger(directory)) {
+            LiarBarTable table = new LiarBarTable(
+                    "escrow",
+                    testConfig(),
+                    ledger.guard("escrow", EconomyPort.noop()),
+                    new SeededRandomSource(5L)
+            );
+            table.join(host);
+            table.join(guest);
+            table.selectMode(host, TableMode.FANTUAN_COIN);
+            assertEquals(2L, ledger.outstanding().getFirst().total());
+        }
+
+        Map<UUID, Integer> refunded = new HashMap<>();
+        EconomyPort refunds = new EconomyPort() {
+            @Override
+            public boolean charge(UUID playerId, TableMode mode, int amount) {
+                return false;
+            }
+
+            @Override
+            public void reward(UUID playerId, TableMode mode, int amount) {
+                refunded.merge(playerId, amount, Integer::sum);
+            }
+        };
+        try (EscrowLedger ledger = new EscrowLedger(directory)) {
+            List<Escrow> unsettled = ledger.outstanding();
+            assertEquals(1, unsettled.size());
+            assertEquals(Map.of(host, 1, guest, 1), unsettled.getFirst().stakes());
+
+            assertEquals(2, ledger.settleOrphans(Set.of(), refunds));
+            assertEquals(0, ledger.settleOrphans(Set.of(), refunds));
+            assertEquals(0, ledger.settle(unsettled, refunds));
+            assertTrue(ledger.outstanding().isEmpty());
+        }
+        try (EscrowLedger ledger = new EscrowLedger(directory)) {
+            assertTrue(ledger.outstanding().isEmpty());
+        }
+        assertEquals(Map.of(host, 1, guest, 1), refunded);
+    }
+
+    @Test
+    void shouldOpenNewEscrowForEachGame() throws Exception {
+        Path directory = Files.createTempDirectory("liar-bar-escrow");
+        UUID host = UUID.randomUUID();
+        UUID guest = UUID.randomUUID();
+        try (EscrowLedger ledger = new EscrowLedger(directory)) {
+            LiarBarTable table = new LiarBarTable("escrow", testConfig(), ledger.guard("escrow", EconomyPort.noop()),
+                    new SeededRandomSource(5L));
+            table.join(host);
+            table.join(guest);
+            table.selectMode(host, TableMode.FANTUAN_COIN);
+        }
+
+        Map<UUID, Integer> refunded = new HashMap<>();
+        EconomyPort economy = new EconomyPort() {
+            @Override
+            public boolean charge(UUID playerId, TableMode mode, int amount) {
+                return true;
+            }
+
+            @Override
+            public void reward(UUID playerId, TableMode mode, int amount) {
+            }
+
+            @Override
+            public void refund(UUID playerId, TableMode mode, int amount) {
+                refunded.merge(playerId, amount, Integer::sum);
+            }
+        };
+        try (EscrowLedger ledger = new EscrowLedger(directory)) {
+            long stale = ledger.outstanding().getFirst().escrowId();
+            // The restart was never reconciled: the table starts over without its old game.
+            LiarBarTable table = new LiarBarTable("escrow", testConfig(), ledger.guard("escrow", economy),
+                    new SeededRandomSource(6L));
+            UUID newcomer = UUID.randomUUID();
+            table.join(newcomer);
+            table.selectMode(newcomer, TableMode.FANTUAN_COIN);
+
+            assertEquals(Map.of(host, 1, guest, 1), refunded);
+            List<Escrow> open = ledger.outstanding();
+            assertEquals(1, open.size());
+            assertTrue(open.getFirst().escrowId() != stale);
+            assertEquals(Map.of(newcomer, 1), open.getFirst().stakes());
+
+            // Adopted by a resumed game, an escrow keeps its stakes.
+            assertEquals(0, ledger.settleOrphans(Set.of("escrow"), economy));
+            assertEquals(Map.of(newcomer, 1), ledger.outstanding().getFirst().stakes());
+        }
+    }
+
+    @Test
+    void shouldCoalesceOnlyIdenticalPlayerCommands() {
+        LiarBarTable table = new LiarBarTable("coalesce", testConfig(), EconomyPort.noop(), new SeededRandomSource(2L));
+        UUID host = UUID.randomUUID();
+        table.join(host);
+        table.selectMode(host, TableMode.LIFE_ONLY);
+        table.join(UUID.randomUUID());
+        table.tickSecond();
+        UUID first = table.snapshot().currentPlayer().orElseThrow();
+
+        List<Runnable> laneTasks = new ArrayList<>();
+        TableLane lane = new TableLane() {
+            @Override
+            public void execute(Runnable command) {
+                laneTasks.add(command);
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        AsyncTableRuntime runtime = new AsyncTableRuntime(table, lane);
+        CompletableFuture<CommandResult> playFirst = runtime.play(first, List.of(1)).toCompletableFuture();
+        CompletableFuture<CommandResult> playSecond = runtime.play(first, List.of(2)).toCompletableFuture();
+        assertSame(playFirst, runtime.play(first, List.of(1)).toCompletableFuture());
+        assertNotSame(playFirst, playSecond);
+        while (!laneTasks.isEmpty()) {
+            laneTasks.remove(0).run();
+        }
+
+        assertTrue(playFirst.join().isAccepted());
+        assertEquals(RejectionCode.NOT_CURRENT_PLAYER, playSecond.join().rejection());
+        assertEquals(1, runtime.latestSnapshot().centerCards().size());
+        assertEquals(1, runtime.metrics().coalesced());
+    }
+
+    @Test
+    void shouldServeUrgentTasksFirstAndBoundPlayerCommands() {
+        List<Runnable> laneTasks = new ArrayList<>();
+        TableLane lane = new TableLane() {
+            @Override
+            public void execute(Runnable command) {
+                laneTasks.add(command);
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        AsyncTableRuntime runtime = new AsyncTableRuntime(
+                new LiarBarTable("mailbox", testConfig(), EconomyPort.noop(), new SeededRandomSource(3L)),
+                lane
+        );
+        List<String> served = new ArrayList<>();
+        UUID host = UUID.randomUUID();
+        CompletableFuture<CommandResult> join = runtime.join(host).toCompletableFuture();
+        join.whenComplete((events, error) -> served.add("join"));
+        assertSame(join, runtime.join(host).toCompletableFuture());
+        for (int i = 1; i < 32; i++) {
+            runtime.join(UUID.randomUUID());
+        }
+        CompletableFuture<CommandResult> overflow = runtime.join(UUID.randomUUID()).toCompletableFuture();
+        assertTrue(overflow.isCompletedExceptionally());
+        assertEquals("table_busy", overflow.handle((events, error) -> error.getMessage()).join());
+
+        runtime.forceStop().whenComplete((events, error) -> served.add("stop"));
+        assertEquals(1, laneTasks.size());
+        laneTasks.remove(0).run();
+
+        assertEquals(List.of("stop", "join"), served);
+        assertEquals(2, runtime.latestSnapshot().joinedCount());
+
+        TableMetricsSnapshot metrics = runtime.metrics();
+        assertEquals(0, metrics.queueDepth());
+        assertEquals(1, metrics.rejected());
+        assertEquals(1, metrics.coalesced());
+        assertEquals(33, metrics.queueWait().count());
+        assertEquals(33, metrics.execution().count());
+        assertEquals(Long.valueOf(2), metrics.events().get(CoreEventType.PLAYER_JOINED));
+    }
+
+    @Test
+    void shouldReportLatencyPercentilesWithinOneEighth() {
+        long thirtyMinutes = TimeUnit.MINUTES.toNanos(30);
+        for (long value : new long[]{5, 9, 1_000, 123_456, 7_654_321, 1_000_000_000L, thirtyMinutes}) {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.record(value);
+            histogram.record(thirtyMinutes + 1);
+            long reported = histogram.snapshot().percentileNanos(0.5);
+            assertTrue(reported >= value, "below " + value + ": " + reported);
+            assertTrue(reported <= value + value / 8, "above " + value + ": " + reported);
+        }
+    }
+
+    private static GameSnapshot withoutVersion(GameSnapshot snapshot) {
+        return new GameSnapshot(
+                snapshot.tableId(),
+                snapshot.phase(),
+                snapshot.phaseSeconds(),
+                snapshot.mode(),
+                snapshot.joinedCount(),
+                snapshot.round(),
+                snapshot.mainRank(),
+                snapshot.centerCards(),
+                snapshot.players(),
+                snapshot.owner(),
+                snapshot.currentPlayer(),
+                snapshot.lastPlayer(),
+                snapshot.forceChallenge(),
+                0L
+        );
+    }
+
+    private static int handSizeOf(GameSnapshot snapshot, UUID playerId) {
+        for (PlayerSnapshot player : snapshot.players()) {
+            if (player.playerId().equals(playerId)) {
+                return player.handSize();
+            }
+        }
+        throw new NoSuchElementException("missing player: " + playerId);
+    }
+
     private static TableConfig testConfig() {
         return new TableConfig(
                 99,
@@ -518,6 +1194,17 @@ class LiarBarTableTest {
         public <T> void shuffle(List<T> list) {
             Collections.shuffle(list, random);
         }
+
+        @Override
+        public void shuffle(int[] values) {
+            // Same swap sequence as Collections.shuffle so seeded expectations stay put.
+            for (int i = values.length; i > 1; i--) {
+                int j = random.nextInt(i);
+                int swap = values[i - 1];
+                values[i - 1] = values[j];
+                values[j] = swap;
+            }
+        }
     }
 
     private static final class SequenceRandomSource implements RandomSource {
@@ -546,6 +1233,11 @@ class LiarBarTableTest {
         public <T> void shuffle(List<T> list) {
             // Keep deterministic card order for datapack parity tests.
         }
+
+        @Override
+        public void shuffle(int[] values) {
+            // Keep deterministic card order for datapack parity tests.
+        }
     }
 
     private record OutcomeResult(String outcome, UUID challenger, UUID lastPlayer, List<UUID> shooters) {
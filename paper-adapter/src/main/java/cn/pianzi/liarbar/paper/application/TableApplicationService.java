@@ -2,21 +2,30 @@ package cn.pianzi.liarbar.paper.application;
 
 import cn.pianzi.liarbar.core.config.TableConfig;
 import cn.pianzi.liarbar.core.domain.TableMode;
+import cn.pianzi.liarbar.core.event.CoreEvent;
+import cn.pianzi.liarbar.core.metrics.RuntimeMetricsSnapshot;
+import cn.pianzi.liarbar.core.port.AsyncEconomyPort;
 import cn.pianzi.liarbar.core.port.EconomyPort;
 import cn.pianzi.liarbar.core.port.RandomSource;
 import cn.pianzi.liarbar.core.runtime.AsyncTableRuntime;
+import cn.pianzi.liarbar.core.runtime.CommandResult;
 import cn.pianzi.liarbar.core.runtime.LiarBarRuntimeManager;
+import cn.pianzi.liarbar.core.runtime.TableTickResult;
 import cn.pianzi.liarbar.core.snapshot.GameSnapshot;
 import cn.pianzi.liarbar.paper.presentation.CoreEventTranslator;
 import cn.pianzi.liarbar.paper.presentation.UserFacingEvent;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
 
 public final class TableApplicationService implements AutoCloseable {
     private final LiarBarRuntimeManager runtimeManager;
@@ -36,7 +45,7 @@ public final class TableApplicationService implements AutoCloseable {
     }
 
     public boolean tableExists(String tableId) {
-        return runtimeManager.getTable(tableId).isPresent();
+        return runtimeManager.hasTable(tableId);
     }
 
     public boolean createTableIfAbsent(String tableId, TableConfig config, EconomyPort economyPort, RandomSource randomSource) {
@@ -47,6 +56,14 @@ public final class TableApplicationService implements AutoCloseable {
         return !existed;
     }
 
+    public boolean createTableIfAbsent(String tableId, TableConfig config, AsyncEconomyPort economyPort, RandomSource randomSource) {
+        boolean existed = tableExists(tableId);
+        if (!existed) {
+            runtimeManager.createTable(tableId, config, economyPort, randomSource);
+        }
+        return !existed;
+    }
+
     public boolean removeTable(String tableId) {
         return runtimeManager.removeTable(tableId);
     }
@@ -55,30 +72,61 @@ public final class TableApplicationService implements AutoCloseable {
         return runtimeManager.tableIds();
     }
 
-    public CompletionStage<List<UserFacingEvent>> selectMode(String tableId, UUID actor, TableMode mode) {
-        return execute(tableId, runtime -> runtime.selectMode(actor, mode));
+    /**
+     * Ids of the tables that are not hibernating; the only ones worth a per-tick pass.
+     */
+    public Set<String> awakeTableIds() {
+        return runtimeManager.awakeTableIds();
+    }
+
+    public CompletionStage<Set<String>> activeTableIds() {
+        return runtimeManager.activeTableIds();
+    }
+
+    public RuntimeMetricsSnapshot metrics() {
+        return runtimeManager.metrics();
+    }
+
+    public CompletionStage<TableCommandResult> selectMode(String tableId, UUID actor, TableMode mode) {
+        return executeCommand(tableId, runtime -> runtime.selectMode(actor, mode));
+    }
+
+    public CompletionStage<TableCommandResult> selectMode(String tableId, UUID actor, TableMode mode, int wager) {
+        return executeCommand(tableId, runtime -> runtime.selectMode(actor, mode, wager));
     }
 
-    public CompletionStage<List<UserFacingEvent>> selectMode(String tableId, UUID actor, TableMode mode, int wager) {
-        return execute(tableId, runtime -> runtime.selectMode(actor, mode, wager));
+    public CompletionStage<TableCommandResult> join(String tableId, UUID playerId) {
+        return executeCommand(tableId, runtime -> runtime.join(playerId));
     }
 
-    public CompletionStage<List<UserFacingEvent>> join(String tableId, UUID playerId) {
-        return execute(tableId, runtime -> runtime.join(playerId));
+    public CompletionStage<TableCommandResult> play(String tableId, UUID playerId, List<Integer> slots) {
+        return executeCommand(tableId, runtime -> runtime.play(playerId, slots));
     }
 
-    public CompletionStage<List<UserFacingEvent>> play(String tableId, UUID playerId, List<Integer> slots) {
-        return execute(tableId, runtime -> runtime.play(playerId, slots));
+    public CompletionStage<TableCommandResult> challenge(String tableId, UUID playerId) {
+        return executeCommand(tableId, runtime -> runtime.challenge(playerId));
     }
 
-    public CompletionStage<List<UserFacingEvent>> challenge(String tableId, UUID playerId) {
-        return execute(tableId, runtime -> runtime.challenge(playerId));
+    /**
+     * Seats a bot in the first open seat of a table taking joins for a game without wagers.
+     */
+    public CompletionStage<TableCommandResult> seatBot(String tableId) {
+        return executeCommand(tableId, AsyncTableRuntime::seatBot);
     }
 
     public CompletionStage<List<UserFacingEvent>> playerDisconnected(String tableId, UUID playerId) {
         return execute(tableId, runtime -> runtime.playerDisconnected(playerId));
     }
 
+    /**
+     * Disconnects players who left their seat and joins newly seated ones in a single table task.
+     *
+     * @param keepUnseated only join, leaving unseated players in the game
+     */
+    public CompletionStage<List<UserFacingEvent>> reconcileSeats(String tableId, List<UUID> seatedInSeatOrder, boolean keepUnseated) {
+        return execute(tableId, runtime -> runtime.reconcileSeats(seatedInSeatOrder, keepUnseated));
+    }
+
     public CompletionStage<List<UserFacingEvent>> forceStop(String tableId) {
         return execute(tableId, AsyncTableRuntime::forceStop);
     }
@@ -87,34 +135,77 @@ public final class TableApplicationService implements AutoCloseable {
         return execute(tableId, AsyncTableRuntime::tickSecond);
     }
 
+    public CompletionStage<TableTickBatch> tickAll() {
+        return runtimeManager.tickAll().thenApply(results -> {
+            List<UserFacingEvent> events = new ArrayList<>();
+            Map<String, Throwable> failures = new HashMap<>();
+            for (TableTickResult result : results) {
+                if (result.failed()) {
+                    failures.put(result.tableId(), result.error());
+                    continue;
+                }
+                events.addAll(eventTranslator.translate(result.events(), result.tableId()));
+            }
+            return new TableTickBatch(events, failures);
+        });
+    }
+
+    /**
+     * Latest published snapshot of the table, read without queueing on its runtime.
+     */
+    public Optional<GameSnapshot> latestSnapshot(String tableId) {
+        return runtimeManager.latestSnapshot(tableId);
+    }
+
     public CompletionStage<GameSnapshot> snapshot(String tableId) {
-        return runtimeManager.getTable(tableId)
-                .<CompletionStage<GameSnapshot>>map(AsyncTableRuntime::snapshot)
+        return runtimeManager.latestSnapshot(tableId)
+                .<CompletionStage<GameSnapshot>>map(CompletableFuture::completedFuture)
                 .orElseGet(() -> CompletableFuture.failedStage(
                         new IllegalStateException("table not found: " + tableId)));
     }
 
     private CompletionStage<List<UserFacingEvent>> execute(
             String tableId,
-            TableExecutor executor
+            TableExecutor<List<CoreEvent>> executor
     ) {
         return runtimeManager.getTable(tableId)
-                .<CompletionStage<List<UserFacingEvent>>>map(runtime -> executor.execute(runtime)
-                        .thenApply(eventTranslator::translate)
-                        .thenApply(events -> injectTableId(events, tableId)))
+                .<CompletionStage<List<UserFacingEvent>>>map(runtime -> submit(tableId, runtime, executor)
+                        .thenApply(events -> eventTranslator.translate(events, tableId)))
                 .orElseGet(() -> CompletableFuture.failedStage(
                         new IllegalStateException("table not found: " + tableId)));
     }
 
-    private List<UserFacingEvent> injectTableId(List<UserFacingEvent> events, String tableId) {
-        if (events.isEmpty()) {
-            return List.of();
-        }
-        List<UserFacingEvent> result = new ArrayList<>(events.size());
-        for (UserFacingEvent e : events) {
-            result.add(e.withTableId(tableId));
+    /**
+     * Same as {@link #execute} for a player command; a rejection completes the stage normally.
+     */
+    private CompletionStage<TableCommandResult> executeCommand(
+            String tableId,
+            TableExecutor<CommandResult> executor
+    ) {
+        return runtimeManager.getTable(tableId)
+                .<CompletionStage<TableCommandResult>>map(runtime -> submit(tableId, runtime, executor)
+                        .thenApply(result -> new TableCommandResult(
+                                eventTranslator.translate(result.events(), tableId),
+                                result.rejection()
+                        )))
+                .orElseGet(() -> CompletableFuture.failedStage(
+                        new IllegalStateException("table not found: " + tableId)));
+    }
+
+    /**
+     * Runs the command, once more on a fresh runtime if the table went into hibernation between lookup
+     * and submit; {@link LiarBarRuntimeManager#getTable} wakes it.
+     */
+    private <T> CompletionStage<T> submit(String tableId, AsyncTableRuntime runtime, TableExecutor<T> executor) {
+        try {
+            return executor.execute(runtime);
+        } catch (RejectedExecutionException ex) {
+            AsyncTableRuntime woken = runtimeManager.getTable(tableId).orElse(null);
+            if (woken == null || woken == runtime) {
+                return CompletableFuture.failedStage(ex);
+            }
+            return executor.execute(woken);
         }
-        return result;
     }
 
     @Override
@@ -123,7 +214,7 @@ public final class TableApplicationService implements AutoCloseable {
     }
 
     @FunctionalInterface
-    private interface TableExecutor {
-        CompletionStage<List<cn.pianzi.liarbar.core.event.CoreEvent>> execute(AsyncTableRuntime runtime);
+    private interface TableExecutor<T> {
+        CompletionStage<T> execute(AsyncTableRuntime runtime);
     }
 }
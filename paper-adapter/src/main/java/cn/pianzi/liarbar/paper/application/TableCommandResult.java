@@ -0,0 +1,20 @@
+package cn.pianzi.liarbar.paper.application;
+
+import cn.pianzi.liarbar.core.runtime.RejectionCode;
+import cn.pianzi.liarbar.paper.presentation.UserFacingEvent;
+
+import java.util.List;
+
+/**
+ * Result of a player command through {@link TableApplicationService}: its events, each tagged with the
+ * {@code tableId}, or why the table rejected it ({@code events} is then empty).
+ */
+public record TableCommandResult(List<UserFacingEvent> events, RejectionCode rejection) {
+    public TableCommandResult {
+        events = List.copyOf(events);
+    }
+
+    public boolean isAccepted() {
+        return rejection == null;
+    }
+}
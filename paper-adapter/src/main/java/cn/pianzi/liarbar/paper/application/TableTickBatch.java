@@ -0,0 +1,17 @@
+package cn.pianzi.liarbar.paper.application;
+
+import cn.pianzi.liarbar.paper.presentation.UserFacingEvent;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of {@link TableApplicationService#tickAll()}: events of every table, each tagged with its
+ * {@code tableId}, plus the tables whose tick failed.
+ */
+public record TableTickBatch(List<UserFacingEvent> events, Map<String, Throwable> failures) {
+    public TableTickBatch {
+        events = List.copyOf(events);
+        failures = Map.copyOf(failures);
+    }
+}
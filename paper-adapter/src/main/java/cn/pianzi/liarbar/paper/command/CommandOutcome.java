@@ -1,19 +1,29 @@
 package cn.pianzi.liarbar.paper.command;
 
+import cn.pianzi.liarbar.core.runtime.RejectionCode;
 import cn.pianzi.liarbar.paper.presentation.UserFacingEvent;
 
 import java.util.List;
 
+/**
+ * @param rejection why the table turned the command away, or {@code null} if it succeeded or failed for
+ *                  another reason; {@code message} then holds the code's reason
+ */
 public record CommandOutcome(
         boolean success,
         String message,
-        List<UserFacingEvent> events
+        List<UserFacingEvent> events,
+        RejectionCode rejection
 ) {
     public static CommandOutcome success(String message, List<UserFacingEvent> events) {
-        return new CommandOutcome(true, message, List.copyOf(events));
+        return new CommandOutcome(true, message, List.copyOf(events), null);
     }
 
     public static CommandOutcome failure(String message) {
-        return new CommandOutcome(false, message, List.of());
+        return new CommandOutcome(false, message, List.of(), null);
+    }
+
+    public static CommandOutcome rejected(RejectionCode rejection) {
+        return new CommandOutcome(false, rejection.reason(), List.of(), rejection);
     }
 }
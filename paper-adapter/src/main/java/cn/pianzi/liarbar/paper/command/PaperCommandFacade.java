@@ -2,11 +2,14 @@ package cn.pianzi.liarbar.paper.command;
 
 import cn.pianzi.liarbar.core.domain.TableMode;
 import cn.pianzi.liarbar.core.snapshot.GameSnapshot;
+import cn.pianzi.liarbar.core.runtime.CommandRejectedException;
 import cn.pianzi.liarbar.paper.application.TableApplicationService;
+import cn.pianzi.liarbar.paper.application.TableCommandResult;
 import cn.pianzi.liarbar.paper.presentation.UserFacingEvent;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
@@ -19,23 +22,27 @@ public final class PaperCommandFacade {
     }
 
     public CompletionStage<CommandOutcome> selectMode(String tableId, UUID playerId, TableMode mode) {
-        return run("command.result.mode_updated", () -> service.selectMode(tableId, playerId, mode));
+        return runCommand("command.result.mode_updated", () -> service.selectMode(tableId, playerId, mode));
     }
 
     public CompletionStage<CommandOutcome> selectMode(String tableId, UUID playerId, TableMode mode, int wager) {
-        return run("command.result.mode_updated", () -> service.selectMode(tableId, playerId, mode, wager));
+        return runCommand("command.result.mode_updated", () -> service.selectMode(tableId, playerId, mode, wager));
     }
 
     public CompletionStage<CommandOutcome> join(String tableId, UUID playerId) {
-        return run("command.result.joined", () -> service.join(tableId, playerId));
+        return runCommand("command.result.joined", () -> service.join(tableId, playerId));
     }
 
     public CompletionStage<CommandOutcome> play(String tableId, UUID playerId, List<Integer> slots) {
-        return run("command.result.played", () -> service.play(tableId, playerId, slots));
+        return runCommand("command.result.played", () -> service.play(tableId, playerId, slots));
     }
 
     public CompletionStage<CommandOutcome> challenge(String tableId, UUID playerId) {
-        return run("command.result.challenged", () -> service.challenge(tableId, playerId));
+        return runCommand("command.result.challenged", () -> service.challenge(tableId, playerId));
+    }
+
+    public CompletionStage<CommandOutcome> seatBot(String tableId) {
+        return runCommand("command.result.bot_seated", () -> service.seatBot(tableId));
     }
 
     public CompletionStage<CommandOutcome> leave(String tableId, UUID playerId) {
@@ -54,24 +61,59 @@ public final class PaperCommandFacade {
         }
     }
 
+    public Optional<GameSnapshot> latestSnapshot(String tableId) {
+        return service.latestSnapshot(tableId);
+    }
+
+    private CompletionStage<CommandOutcome> runCommand(String successMessage, ResultSupplier supplier) {
+        try {
+            return supplier.get().handle((result, ex) -> {
+                if (ex != null) {
+                    return failure(ex);
+                }
+                if (!result.isAccepted()) {
+                    return CommandOutcome.rejected(result.rejection());
+                }
+                return CommandOutcome.success(successMessage, result.events());
+            });
+        } catch (Exception ex) {
+            return CompletableFuture.completedFuture(failure(ex));
+        }
+    }
+
     private CompletionStage<CommandOutcome> run(String successMessage, EventSupplier supplier) {
         try {
             return supplier.get().handle((events, ex) -> {
                 if (ex == null) {
                     return CommandOutcome.success(successMessage, events);
                 }
-                return CommandOutcome.failure(rootMessage(ex));
+                return failure(ex);
             });
         } catch (Exception ex) {
-            return CompletableFuture.completedFuture(CommandOutcome.failure(rootMessage(ex)));
+            return CompletableFuture.completedFuture(failure(ex));
+        }
+    }
+
+    /**
+     * A full mailbox surfaces as a failed future; report it as the rejection it is.
+     */
+    private CommandOutcome failure(Throwable throwable) {
+        Throwable root = rootCause(throwable);
+        if (root instanceof CommandRejectedException rejected) {
+            return CommandOutcome.rejected(rejected.code());
         }
+        return CommandOutcome.failure(rootMessage(root));
     }
 
-    private String rootMessage(Throwable throwable) {
+    private static Throwable rootCause(Throwable throwable) {
         Throwable current = throwable;
         while (current.getCause() != null) {
             current = current.getCause();
         }
+        return current;
+    }
+
+    private String rootMessage(Throwable current) {
         String message = current.getMessage();
         return message == null || message.isBlank() ? current.getClass().getSimpleName() : message;
     }
@@ -80,4 +122,9 @@ public final class PaperCommandFacade {
     private interface EventSupplier {
         CompletionStage<List<UserFacingEvent>> get();
     }
+
+    @FunctionalInterface
+    private interface ResultSupplier {
+        CompletionStage<TableCommandResult> get();
+    }
 }
@@ -0,0 +1,83 @@
+package cn.pianzi.liarbar.paper.integration.vault;
+
+import cn.pianzi.liarbar.core.domain.TableMode;
+import cn.pianzi.liarbar.core.port.AsyncEconomyPort;
+import cn.pianzi.liarbar.core.port.EconomyPort;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Queues charges and rewards from any thread and runs them in one batch whenever {@link #drain()} is
+ * called, so a Vault economy that is only safe on the server thread sees every transaction there.
+ * The plugin drains once per server tick.
+ */
+public final class BatchedVaultEconomy implements AsyncEconomyPort {
+    private final EconomyPort vault;
+    private final Queue<Transaction> pending = new ConcurrentLinkedQueue<>();
+
+    public BatchedVaultEconomy(EconomyPort vault) {
+        this.vault = Objects.requireNonNull(vault, "vault");
+    }
+
+    @Override
+    public CompletionStage<Boolean> charge(UUID playerId, TableMode mode, int amount) {
+        Transaction transaction = new Transaction(true, playerId, mode, amount);
+        pending.add(transaction);
+        return transaction.result;
+    }
+
+    @Override
+    public CompletionStage<Void> reward(UUID playerId, TableMode mode, int amount) {
+        Transaction transaction = new Transaction(false, playerId, mode, amount);
+        pending.add(transaction);
+        return transaction.result.thenApply(ignored -> null);
+    }
+
+    /**
+     * Runs every queued transaction on the calling thread. A transaction that throws fails only its own future.
+     *
+     * @return number of transactions run
+     */
+    public int drain() {
+        int count = 0;
+        Transaction transaction;
+        while ((transaction = pending.poll()) != null) {
+            count++;
+            try {
+                if (transaction.charge) {
+                    transaction.result.complete(vault.charge(transaction.playerId, transaction.mode, transaction.amount));
+                } else {
+                    vault.reward(transaction.playerId, transaction.mode, transaction.amount);
+                    transaction.result.complete(Boolean.TRUE);
+                }
+            } catch (RuntimeException ex) {
+                transaction.result.completeExceptionally(ex);
+            }
+        }
+        return count;
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    private static final class Transaction {
+        private final boolean charge;
+        private final UUID playerId;
+        private final TableMode mode;
+        private final int amount;
+        private final CompletableFuture<Boolean> result = new CompletableFuture<>();
+
+        private Transaction(boolean charge, UUID playerId, TableMode mode, int amount) {
+            this.charge = charge;
+            this.playerId = playerId;
+            this.mode = mode;
+            this.amount = amount;
+        }
+    }
+}
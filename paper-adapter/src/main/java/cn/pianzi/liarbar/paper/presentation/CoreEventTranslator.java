@@ -4,161 +4,123 @@ import cn.pianzi.liarbar.core.event.CoreEvent;
 import cn.pianzi.liarbar.core.event.CoreEventType;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
 
+/**
+ * Turns core events into {@link UserFacingEvent}s through one precompiled {@link Rule} per
+ * {@link CoreEventType}. Each event gets a single immutable payload: the core event's data, read
+ * through, with the rule's display fields laid over it. The table id, player, seat and round are
+ * read once here into the event's own components.
+ */
 public final class CoreEventTranslator {
-    public List<UserFacingEvent> translate(List<CoreEvent> events) {
+    private static final Map<CoreEventType, Rule> RULES = rules();
+
+    public List<UserFacingEvent> translate(List<CoreEvent> events, String tableId) {
+        Objects.requireNonNull(tableId, "tableId");
         if (events.isEmpty()) {
             return List.of();
         }
         List<UserFacingEvent> result = new ArrayList<>(events.size());
         for (CoreEvent event : events) {
-            result.add(translateOne(event));
+            result.add(RULES.get(event.type()).translate(event.type(), event.data(), tableId));
         }
         return result;
     }
 
-    private UserFacingEvent translateOne(CoreEvent event) {
-        CoreEventType type = event.type();
-        String typeName = type.name();
-        Map<String, Object> data = event.data();
-        return switch (type) {
-            case HOST_ASSIGNED -> {
-                UUID host = asUuid(data.get("playerId"));
-                yield UserFacingEvent.personal(
-                        EventSeverity.INFO,
-                        "event.host_assigned",
-                        host,
-                        typeName,
-                        withEntries(data, Map.of(
-                                "player", shortPlayer(data.get("playerId")),
-                                "table", data.getOrDefault("tableId", "?")
-                        ))
-                );
-            }
-            case MODE_SELECTED -> UserFacingEvent.broadcast(
-                    EventSeverity.INFO,
-                    "event.mode_selected",
-                    typeName,
-                    withEntries(data, Map.of("mode", modeName(data.get("mode"))))
-            );
-            case PLAYER_JOINED -> UserFacingEvent.broadcast(
-                    EventSeverity.SUCCESS,
-                    "event.player_joined",
-                    typeName,
-                    withEntries(data, Map.of(
-                            "player", shortPlayer(data.get("playerId")),
-                            "seat", data.getOrDefault("seat", "?")
-                    ))
-            );
-            case PLAYER_FORFEITED -> UserFacingEvent.broadcast(
-                    EventSeverity.WARNING,
-                    forfeitMessageKey(event),
-                    typeName,
-                    withEntries(data, Map.of("player", shortPlayer(data.get("playerId"))))
-            );
-            case PHASE_CHANGED -> UserFacingEvent.broadcast(
-                    EventSeverity.INFO,
-                    "event.phase_changed",
-                    typeName,
-                    withEntries(data, Map.of("phase", data.getOrDefault("phase", "?")))
-            );
-            case DEAL_COMPLETED -> UserFacingEvent.broadcast(
-                    EventSeverity.INFO,
-                    "event.deal_completed",
-                    typeName,
-                    withEntries(data, Map.of(
-                            "mainRank", data.getOrDefault("mainRank", "?"),
-                            "round", data.getOrDefault("round", "?")
-                    ))
-            );
-            case TURN_CHANGED -> UserFacingEvent.broadcast(
-                    EventSeverity.INFO,
-                    "event.turn_changed",
-                    typeName,
-                    withEntries(data, Map.of("player", shortPlayer(data.get("playerId"))))
-            );
-            case FORCE_CHALLENGE -> UserFacingEvent.broadcast(
-                    EventSeverity.WARNING,
-                    "event.force_challenge",
-                    typeName,
-                    data
-            );
-            case CARDS_PLAYED -> UserFacingEvent.broadcast(
-                    EventSeverity.INFO,
-                    "event.cards_played",
-                    typeName,
-                    withEntries(data, Map.of(
-                            "player", shortPlayer(data.get("playerId")),
-                            "count", data.getOrDefault("count", "?")
-                    ))
-            );
-            case CARDS_PLAYED_DETAIL -> {
-                UUID cardOwner = asUuid(data.get("playerId"));
-                yield UserFacingEvent.personal(
-                        EventSeverity.INFO,
-                        "event.cards_played_detail",
-                        cardOwner,
-                        typeName,
-                        withEntries(data, Map.of("count", data.getOrDefault("count", "?")))
-                );
-            }
-            case CHALLENGE_RESOLVED -> UserFacingEvent.broadcast(
-                    EventSeverity.INFO,
-                    "event.challenge_resolved",
-                    typeName,
-                    withEntries(data, Map.of("outcome", data.getOrDefault("outcome", "?")))
-            );
-            case SHOT_RESOLVED -> {
-                boolean lethal = Boolean.TRUE.equals(data.get("lethal"));
-                yield UserFacingEvent.broadcast(
-                        EventSeverity.WARNING,
-                        lethal ? "event.shot_resolved_eliminated" : "event.shot_resolved_survived",
-                        typeName,
-                        withEntries(data, Map.of("player", shortPlayer(data.get("playerId"))))
-                );
-            }
-            case PLAYER_ELIMINATED -> UserFacingEvent.broadcast(
-                    EventSeverity.ERROR,
-                    "event.player_eliminated",
-                    typeName,
-                    withEntries(data, Map.of("player", shortPlayer(data.get("playerId"))))
-            );
-            case GAME_FINISHED -> UserFacingEvent.broadcast(
-                    EventSeverity.SUCCESS,
-                    "event.game_finished",
-                    typeName,
-                    data
-            );
-            case HAND_DEALT -> {
-                UUID target = asUuid(data.get("playerId"));
-                yield UserFacingEvent.personal(
-                        EventSeverity.INFO,
-                        "event.hand_dealt",
-                        target,
-                        typeName,
-                        withEntries(data, Map.of("round", data.getOrDefault("round", "?")))
-                );
-            }
-        };
-    }
-
-    private Map<String, Object> withEntries(Map<String, Object> base, Map<String, Object> extra) {
-        // Create a fresh mutable map merging base + extra
-        HashMap<String, Object> merged = HashMap.newHashMap(base.size() + extra.size());
-        merged.putAll(base);
-        for (Map.Entry<String, Object> entry : extra.entrySet()) {
-            if (entry.getKey() != null && entry.getValue() != null) {
-                merged.put(entry.getKey(), entry.getValue());
-            }
+    private static Map<CoreEventType, Rule> rules() {
+        EnumMap<CoreEventType, Rule> rules = new EnumMap<>(CoreEventType.class);
+        rules.put(CoreEventType.HOST_ASSIGNED, Rule.personal(
+                EventSeverity.INFO, "event.host_assigned",
+                (data, tableId, values) -> {
+                    values[0] = shortPlayer(data.get("playerId"));
+                    values[1] = tableId;
+                },
+                "player", "table"));
+        rules.put(CoreEventType.MODE_SELECTED, Rule.broadcast(
+                EventSeverity.INFO, "event.mode_selected",
+                (data, tableId, values) -> values[0] = modeName(data.get("mode")),
+                "mode"));
+        rules.put(CoreEventType.PLAYER_JOINED, Rule.broadcast(
+                EventSeverity.SUCCESS, "event.player_joined",
+                (data, tableId, values) -> {
+                    values[0] = shortPlayer(data.get("playerId"));
+                    values[1] = data.getOrDefault("seat", "?");
+                },
+                "player", "seat"));
+        rules.put(CoreEventType.PLAYER_FORFEITED, new Rule(
+                EventSeverity.WARNING,
+                data -> Boolean.TRUE.equals(data.get("beforeStart"))
+                        ? "event.player_left_before_start"
+                        : "event.player_disconnected_round_reset",
+                false,
+                (data, tableId, values) -> values[0] = shortPlayer(data.get("playerId")),
+                "player"));
+        rules.put(CoreEventType.PHASE_CHANGED, Rule.broadcast(
+                EventSeverity.INFO, "event.phase_changed",
+                (data, tableId, values) -> values[0] = data.getOrDefault("phase", "?"),
+                "phase"));
+        rules.put(CoreEventType.DEAL_COMPLETED, Rule.broadcast(
+                EventSeverity.INFO, "event.deal_completed",
+                (data, tableId, values) -> {
+                    values[0] = data.getOrDefault("mainRank", "?");
+                    values[1] = data.getOrDefault("round", "?");
+                },
+                "mainRank", "round"));
+        rules.put(CoreEventType.TURN_CHANGED, Rule.broadcast(
+                EventSeverity.INFO, "event.turn_changed",
+                (data, tableId, values) -> values[0] = shortPlayer(data.get("playerId")),
+                "player"));
+        rules.put(CoreEventType.FORCE_CHALLENGE, Rule.broadcast(
+                EventSeverity.WARNING, "event.force_challenge",
+                (data, tableId, values) -> {
+                }));
+        rules.put(CoreEventType.CARDS_PLAYED, Rule.broadcast(
+                EventSeverity.INFO, "event.cards_played",
+                (data, tableId, values) -> {
+                    values[0] = shortPlayer(data.get("playerId"));
+                    values[1] = data.getOrDefault("count", "?");
+                },
+                "player", "count"));
+        rules.put(CoreEventType.CARDS_PLAYED_DETAIL, Rule.personal(
+                EventSeverity.INFO, "event.cards_played_detail",
+                (data, tableId, values) -> values[0] = data.getOrDefault("count", "?"),
+                "count"));
+        rules.put(CoreEventType.CHALLENGE_RESOLVED, Rule.broadcast(
+                EventSeverity.INFO, "event.challenge_resolved",
+                (data, tableId, values) -> values[0] = data.getOrDefault("outcome", "?"),
+                "outcome"));
+        rules.put(CoreEventType.SHOT_RESOLVED, new Rule(
+                EventSeverity.WARNING,
+                data -> Boolean.TRUE.equals(data.get("lethal"))
+                        ? "event.shot_resolved_eliminated"
+                        : "event.shot_resolved_survived",
+                false,
+                (data, tableId, values) -> values[0] = shortPlayer(data.get("playerId")),
+                "player"));
+        rules.put(CoreEventType.PLAYER_ELIMINATED, Rule.broadcast(
+                EventSeverity.ERROR, "event.player_eliminated",
+                (data, tableId, values) -> values[0] = shortPlayer(data.get("playerId")),
+                "player"));
+        rules.put(CoreEventType.GAME_FINISHED, Rule.broadcast(
+                EventSeverity.SUCCESS, "event.game_finished",
+                (data, tableId, values) -> {
+                }));
+        rules.put(CoreEventType.HAND_DEALT, Rule.personal(
+                EventSeverity.INFO, "event.hand_dealt",
+                (data, tableId, values) -> values[0] = data.getOrDefault("round", "?"),
+                "round"));
+        if (rules.size() != CoreEventType.values().length) {
+            throw new IllegalStateException("untranslated_core_event_type");
         }
-        return merged;
+        return rules;
     }
 
-    private String shortPlayer(Object value) {
+    private static String shortPlayer(Object value) {
         if (value == null) {
             return "?";
         }
@@ -173,7 +135,7 @@ public final class CoreEventTranslator {
         return text;
     }
 
-    private UUID asUuid(Object raw) {
+    private static UUID asUuid(Object raw) {
         if (raw instanceof UUID uuid) {
             return uuid;
         }
@@ -187,7 +149,11 @@ public final class CoreEventTranslator {
         return null;
     }
 
-    private String modeName(Object value) {
+    private static int asInt(Object raw, int fallback) {
+        return raw instanceof Integer value ? value : fallback;
+    }
+
+    private static String modeName(Object value) {
         if (value == null) {
             return "?";
         }
@@ -200,11 +166,47 @@ public final class CoreEventTranslator {
         };
     }
 
-    private String forfeitMessageKey(CoreEvent event) {
-        Object beforeStart = event.data().get("beforeStart");
-        if (Boolean.TRUE.equals(beforeStart)) {
-            return "event.player_left_before_start";
+    /**
+     * Fills the display values of one event, in the order of its rule's keys.
+     */
+    @FunctionalInterface
+    private interface Display {
+        void fill(Map<String, Object> data, String tableId, Object[] values);
+    }
+
+    /**
+     * How one event type is presented. Personal events go to the player in the event's {@code playerId}.
+     */
+    private record Rule(
+            EventSeverity severity,
+            Function<Map<String, Object>, String> message,
+            boolean personal,
+            Display display,
+            String... keys
+    ) {
+        static Rule broadcast(EventSeverity severity, String message, Display display, String... keys) {
+            return new Rule(severity, data -> message, false, display, keys);
+        }
+
+        static Rule personal(EventSeverity severity, String message, Display display, String... keys) {
+            return new Rule(severity, data -> message, true, display, keys);
+        }
+
+        UserFacingEvent translate(CoreEventType type, Map<String, Object> data, String tableId) {
+            Object[] values = new Object[keys.length];
+            display.fill(data, tableId, values);
+            UUID playerId = asUuid(data.get("playerId"));
+            return new UserFacingEvent(
+                    severity,
+                    message.apply(data),
+                    personal ? playerId : null,
+                    type,
+                    tableId,
+                    playerId,
+                    asInt(data.get("seat"), UserFacingEvent.NO_SEAT),
+                    asInt(data.get("round"), UserFacingEvent.NO_ROUND),
+                    new EventPayload(data, keys, values)
+            );
         }
-        return "event.player_disconnected_round_reset";
     }
 }
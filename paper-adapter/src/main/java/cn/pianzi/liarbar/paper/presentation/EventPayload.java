@@ -0,0 +1,119 @@
+package cn.pianzi.liarbar.paper.presentation;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable payload of a {@link UserFacingEvent}: the core event's own data with the display fields laid
+ * over it. The core map is read through, not copied; the overlay keys are shared by every event of a type
+ * and only the overlay values are per event. An overlay key hides a core key of the same name.
+ */
+final class EventPayload extends AbstractMap<String, Object> {
+    private final Map<String, Object> base;
+    private final String[] keys;
+    private final Object[] values;
+    private final int size;
+    private Set<Map.Entry<String, Object>> entries;
+
+    /**
+     * @param base   immutable core data without null keys or values
+     * @param keys   overlay keys, shared and never modified
+     * @param values overlay values, one per key and none null; owned by the payload from now on
+     */
+    EventPayload(Map<String, Object> base, String[] keys, Object[] values) {
+        this.base = base;
+        this.keys = keys;
+        this.values = values;
+        int hidden = 0;
+        for (String key : keys) {
+            if (base.containsKey(key)) {
+                hidden++;
+            }
+        }
+        this.size = base.size() + keys.length - hidden;
+    }
+
+    @Override
+    public Object get(Object key) {
+        int overlay = overlayIndex(key);
+        return overlay >= 0 ? values[overlay] : base.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return overlayIndex(key) >= 0 || base.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        if (entries == null) {
+            entries = new Entries();
+        }
+        return entries;
+    }
+
+    private int overlayIndex(Object key) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private final class Entries extends AbstractSet<Map.Entry<String, Object>> {
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<Map.Entry<String, Object>> iterator() {
+            return new Iterator<>() {
+                private final Iterator<Map.Entry<String, Object>> rest = base.entrySet().iterator();
+                private int overlay;
+                private Map.Entry<String, Object> next;
+
+                @Override
+                public boolean hasNext() {
+                    if (next != null) {
+                        return true;
+                    }
+                    if (overlay < keys.length) {
+                        next = Map.entry(keys[overlay], values[overlay]);
+                        overlay++;
+                        return true;
+                    }
+                    while (rest.hasNext()) {
+                        Map.Entry<String, Object> entry = rest.next();
+                        if (overlayIndex(entry.getKey()) < 0) {
+                            next = entry;
+                            return true;
+                        }
+                    }
+                    return false;
+                }
+
+                @Override
+                public Map.Entry<String, Object> next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    Map.Entry<String, Object> entry = Objects.requireNonNull(next);
+                    next = null;
+                    return entry;
+                }
+            };
+        }
+    }
+}
@@ -1,30 +1,69 @@
 package cn.pianzi.liarbar.paper.presentation;
 
+import cn.pianzi.liarbar.core.event.CoreEventType;
+
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 
+/**
+ * A core event of one table, ready to show. The table, the type and the fields most consumers need are
+ * components; {@code data} holds the display fields and the rest of the core payload for message templates.
+ *
+ * @param playerId the player the event is about, or null when it names none
+ * @param seat     that player's seat, or {@link #NO_SEAT}
+ * @param round    the round the event belongs to, or {@link #NO_ROUND}
+ */
 public record UserFacingEvent(
         EventSeverity severity,
         String message,
         UUID targetPlayer,
-        String eventType,
+        CoreEventType type,
+        String tableId,
+        UUID playerId,
+        int seat,
+        int round,
         Map<String, Object> data
 ) {
+    public static final int NO_SEAT = -1;
+    public static final int NO_ROUND = -1;
+
     public UserFacingEvent {
+        Objects.requireNonNull(type, "type");
+        Objects.requireNonNull(tableId, "tableId");
         data = safeCopy(data);
     }
 
+    public boolean hasSeat() {
+        return seat != NO_SEAT;
+    }
+
+    public boolean hasRound() {
+        return round != NO_ROUND;
+    }
+
+    /**
+     * Payloads from {@link CoreEventTranslator} and {@code Map.of} maps are already immutable and kept as
+     * they are; anything else is copied once, without null keys or values.
+     */
     private static Map<String, Object> safeCopy(Map<String, Object> input) {
         if (input == null || input.isEmpty()) {
             return Map.of();
         }
-        // Skip copy for maps already produced by Map.of / Map.copyOf (ImmutableCollections)
-        String className = input.getClass().getName();
-        if (className.startsWith("java.util.ImmutableCollections")) {
+        if (input instanceof EventPayload) {
             return input;
         }
-        // Map.copyOf() rejects null values, so filter them out
+        for (Map.Entry<String, Object> entry : input.entrySet()) {
+            if (entry.getKey() == null || entry.getValue() == null) {
+                return copyWithoutNulls(input);
+            }
+        }
+        // Returns an immutable input as it is.
+        return Map.copyOf(input);
+    }
+
+    private static Map<String, Object> copyWithoutNulls(Map<String, Object> input) {
         HashMap<String, Object> clean = HashMap.newHashMap(input.size());
         for (Map.Entry<String, Object> entry : input.entrySet()) {
             if (entry.getKey() != null && entry.getValue() != null) {
@@ -34,22 +73,25 @@ public record UserFacingEvent(
         return Map.copyOf(clean);
     }
 
-    /**
-     * Return a new event with the tableId injected into data,
-     * avoiding a full defensive copy by building the map directly.
-     */
-    public UserFacingEvent withTableId(String tableId) {
-        HashMap<String, Object> enriched = HashMap.newHashMap(data.size() + 1);
-        enriched.putAll(data);
-        enriched.put("tableId", tableId);
-        return new UserFacingEvent(severity, message, targetPlayer, eventType, Map.copyOf(enriched));
-    }
-
-    public static UserFacingEvent broadcast(EventSeverity severity, String message, String eventType, Map<String, Object> data) {
-        return new UserFacingEvent(severity, message, null, eventType, data);
+    public static UserFacingEvent broadcast(
+            EventSeverity severity,
+            String message,
+            CoreEventType type,
+            String tableId,
+            UUID playerId,
+            Map<String, Object> data
+    ) {
+        return new UserFacingEvent(severity, message, null, type, tableId, playerId, NO_SEAT, NO_ROUND, data);
     }
 
-    public static UserFacingEvent personal(EventSeverity severity, String message, UUID targetPlayer, String eventType, Map<String, Object> data) {
-        return new UserFacingEvent(severity, message, targetPlayer, eventType, data);
+    public static UserFacingEvent personal(
+            EventSeverity severity,
+            String message,
+            UUID targetPlayer,
+            CoreEventType type,
+            String tableId,
+            Map<String, Object> data
+    ) {
+        return new UserFacingEvent(severity, message, targetPlayer, type, tableId, targetPlayer, NO_SEAT, NO_ROUND, data);
     }
 }
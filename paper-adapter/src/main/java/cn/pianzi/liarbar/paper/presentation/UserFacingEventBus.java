@@ -0,0 +1,229 @@
+package cn.pianzi.liarbar.paper.presentation;
+
+import cn.pianzi.liarbar.core.event.CoreEventType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Routes published {@link UserFacingEvent}s to the handlers subscribed to their {@link CoreEventType}.
+ * Subscribers are kept in one array per type, so an event costs nothing for handlers that do not want it,
+ * and a handler whose types are absent from a batch is not called at all.
+ *
+ * <p>Each call of a handler gets, in publish order, the events of one batch it subscribed to.
+ * {@link Affinity#MAIN} handlers of a batch run together, in subscription order, as one task on the main
+ * executor. Each {@link Affinity#ASYNC} handler runs on the async executor, one batch at a time and in
+ * publish order. A handler that throws is logged and does not stop the others.
+ */
+public final class UserFacingEventBus implements AutoCloseable {
+    private static final System.Logger LOGGER = System.getLogger(UserFacingEventBus.class.getName());
+    private static final CoreEventType[] TYPES = CoreEventType.values();
+    private static final Subscriber[] NONE = new Subscriber[0];
+    private static final Routes EMPTY = new Routes(NONE, emptyRoutes());
+
+    /**
+     * Thread a handler runs on.
+     */
+    public enum Affinity {
+        /** The server thread; for handlers that touch the world, players or entities. */
+        MAIN,
+        /** Off the server thread; for handlers that only update their own thread-safe state. */
+        ASYNC
+    }
+
+    private final Executor mainThread;
+    private final Executor async;
+    private final Object subscribeLock = new Object();
+    private volatile Routes routes = EMPTY;
+
+    /**
+     * @param mainThread runs tasks on the server thread; may run them inline when already there
+     * @param async      runs tasks off the server thread
+     */
+    public UserFacingEventBus(Executor mainThread, Executor async) {
+        this.mainThread = Objects.requireNonNull(mainThread, "mainThread");
+        this.async = Objects.requireNonNull(async, "async");
+    }
+
+    public void subscribe(String name, Affinity affinity, Set<CoreEventType> types, Consumer<List<UserFacingEvent>> handler) {
+        Objects.requireNonNull(name, "name");
+        Objects.requireNonNull(affinity, "affinity");
+        Objects.requireNonNull(handler, "handler");
+        if (types.isEmpty()) {
+            throw new IllegalStateException("no_event_types");
+        }
+        EnumSet<CoreEventType> wanted = EnumSet.copyOf(types);
+        synchronized (subscribeLock) {
+            Routes current = routes;
+            int index = current.subscribers.length;
+            boolean everyType = wanted.size() == TYPES.length;
+            Subscriber subscriber = new Subscriber(
+                    index, name, affinity, everyType, handler,
+                    affinity == Affinity.ASYNC ? new SerialLane(async) : null
+            );
+            Subscriber[] subscribers = Arrays.copyOf(current.subscribers, index + 1);
+            subscribers[index] = subscriber;
+            Subscriber[][] byType = current.byType.clone();
+            if (!everyType) {
+                // Handlers of every type take the whole batch and are never routed per event.
+                for (CoreEventType type : wanted) {
+                    Subscriber[] route = Arrays.copyOf(byType[type.ordinal()], byType[type.ordinal()].length + 1);
+                    route[route.length - 1] = subscriber;
+                    byType[type.ordinal()] = route;
+                }
+            }
+            routes = new Routes(subscribers, byType);
+        }
+    }
+
+    public void subscribeAll(String name, Affinity affinity, Consumer<List<UserFacingEvent>> handler) {
+        subscribe(name, affinity, EnumSet.allOf(CoreEventType.class), handler);
+    }
+
+    /**
+     * Hands the events to their subscribers. Safe from any thread; returns once the deliveries are handed
+     * to their executors.
+     */
+    public void publish(List<UserFacingEvent> events) {
+        if (events == null || events.isEmpty()) {
+            return;
+        }
+        Routes current = routes;
+        if (current.subscribers.length == 0) {
+            return;
+        }
+        List<UserFacingEvent> shared = List.copyOf(events);
+        @SuppressWarnings("unchecked")
+        List<UserFacingEvent>[] routed = new List[current.subscribers.length];
+        for (UserFacingEvent event : shared) {
+            for (Subscriber subscriber : current.byType[event.type().ordinal()]) {
+                List<UserFacingEvent> batch = routed[subscriber.index];
+                if (batch == null) {
+                    batch = new ArrayList<>();
+                    routed[subscriber.index] = batch;
+                }
+                batch.add(event);
+            }
+        }
+
+        List<Runnable> onMain = null;
+        for (Subscriber subscriber : current.subscribers) {
+            List<UserFacingEvent> batch = subscriber.everyType ? shared : routed[subscriber.index];
+            if (batch == null) {
+                continue;
+            }
+            Runnable delivery = () -> subscriber.deliver(batch);
+            if (subscriber.affinity == Affinity.ASYNC) {
+                subscriber.lane.execute(delivery);
+            } else {
+                if (onMain == null) {
+                    onMain = new ArrayList<>(current.subscribers.length);
+                }
+                onMain.add(delivery);
+            }
+        }
+        if (onMain != null) {
+            List<Runnable> tasks = onMain;
+            mainThread.execute(() -> {
+                for (Runnable task : tasks) {
+                    task.run();
+                }
+            });
+        }
+    }
+
+    public int subscriberCount() {
+        return routes.subscribers.length;
+    }
+
+    /**
+     * Drops every subscriber; later publishes reach no one. Deliveries already handed off still run.
+     */
+    @Override
+    public void close() {
+        synchronized (subscribeLock) {
+            routes = EMPTY;
+        }
+    }
+
+    private static Subscriber[][] emptyRoutes() {
+        Subscriber[][] routes = new Subscriber[TYPES.length][];
+        Arrays.fill(routes, NONE);
+        return routes;
+    }
+
+    /**
+     * Every subscriber, in subscription order, and per type ordinal those that want only some types.
+     * Replaced as a whole on subscribe, so a publish reads one consistent pair.
+     */
+    private record Routes(Subscriber[] subscribers, Subscriber[][] byType) {
+    }
+
+    private record Subscriber(
+            int index,
+            String name,
+            Affinity affinity,
+            boolean everyType,
+            Consumer<List<UserFacingEvent>> handler,
+            SerialLane lane
+    ) {
+        void deliver(List<UserFacingEvent> events) {
+            try {
+                handler.accept(events);
+            } catch (RuntimeException ex) {
+                LOGGER.log(System.Logger.Level.WARNING, "Event handler " + name + " failed", ex);
+            }
+        }
+    }
+
+    /**
+     * Runs its tasks on a shared executor one at a time, in submission order.
+     */
+    private static final class SerialLane implements Executor {
+        private final Executor executor;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private SerialLane(Executor executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            tasks.add(task);
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RuntimeException ex) {
+                    scheduled.set(false);
+                    throw ex;
+                }
+            }
+        }
+
+        private void drain() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+            }
+            scheduled.set(false);
+            // A task added after the last poll but before the reset would otherwise wait for the next one.
+            if (!tasks.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
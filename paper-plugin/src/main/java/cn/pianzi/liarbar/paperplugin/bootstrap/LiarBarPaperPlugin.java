@@ -2,15 +2,22 @@ package cn.pianzi.liarbar.paperplugin.bootstrap;
 
 import cn.pianzi.liarbar.core.config.TableConfig;
 import cn.pianzi.liarbar.core.domain.GamePhase;
+import cn.pianzi.liarbar.core.escrow.EscrowLedger;
+import cn.pianzi.liarbar.core.port.AsyncEconomyPort;
 import cn.pianzi.liarbar.core.port.EconomyPort;
-import cn.pianzi.liarbar.core.port.RandomSource;
+import cn.pianzi.liarbar.core.port.SplittableRandomSource;
+import cn.pianzi.liarbar.core.snapshot.GameSnapshot;
 import cn.pianzi.liarbar.core.snapshot.PlayerSnapshot;
 import cn.pianzi.liarbar.paper.application.TableApplicationService;
 import cn.pianzi.liarbar.paper.command.PaperCommandFacade;
+import cn.pianzi.liarbar.paper.integration.vault.BatchedVaultEconomy;
 import cn.pianzi.liarbar.paper.integration.vault.VaultEconomyAdapter;
 import cn.pianzi.liarbar.paper.integration.vault.VaultGateway;
+import cn.pianzi.liarbar.paper.presentation.CoreEventTranslator;
 import cn.pianzi.liarbar.paper.presentation.PacketEventsViewBridge;
 import cn.pianzi.liarbar.paper.presentation.UserFacingEvent;
+import cn.pianzi.liarbar.paper.presentation.UserFacingEventBus;
+import cn.pianzi.liarbar.paper.presentation.UserFacingEventBus.Affinity;
 import cn.pianzi.liarbar.paperplugin.command.LiarBarCommandExecutor;
 import cn.pianzi.liarbar.paperplugin.config.PluginSettings;
 import cn.pianzi.liarbar.paperplugin.config.TableConfigLoader;
@@ -28,6 +35,9 @@ import cn.pianzi.liarbar.paperplugin.game.TableStructureBuilder;
 import cn.pianzi.liarbar.paperplugin.i18n.I18n;
 import cn.pianzi.liarbar.paperplugin.integration.packet.PacketEventsLifecycle;
 import cn.pianzi.liarbar.paperplugin.integration.vault.VaultGatewayFactory;
+import cn.pianzi.liarbar.paperplugin.jfr.EventHandlerEvent;
+import cn.pianzi.liarbar.paperplugin.jfr.TickApplyEvent;
+import cn.pianzi.liarbar.paperplugin.jfr.TickFanOutEvent;
 import cn.pianzi.liarbar.paperplugin.presentation.PacketEventsActionBarPublisher;
 import cn.pianzi.liarbar.paperplugin.presentation.MiniMessageSupport;
 import cn.pianzi.liarbar.paperplugin.config.DatabaseConfig;
@@ -49,26 +59,33 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Locale;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
+import static cn.pianzi.liarbar.paperplugin.util.ExceptionUtils.rejectionOf;
 import static cn.pianzi.liarbar.paperplugin.util.ExceptionUtils.rootMessage;
 
 public final class LiarBarPaperPlugin extends JavaPlugin {
+    private static final long RESTORE_SEAT_GRACE_MILLIS = 60_000L;
+    private static final long ESCROW_SETTLE_TIMEOUT_SECONDS = 10L;
+
     private PacketEventsLifecycle packetEventsLifecycle;
     private TableApplicationService tableService;
     private PaperCommandFacade commandFacade;
     private PacketEventsViewBridge viewBridge;
+    private UserFacingEventBus eventBus;
     private LiarBarStatsService statsService;
     private DatapackParityRewardService rewardService;
     private PluginSettings settings;
     private I18n i18n;
     private TableConfig tableConfig;
-    private EconomyPort economyPort;
-    private RandomSource randomSource;
+    private BatchedVaultEconomy economyPort;
+    private EscrowLedger escrowLedger;
+    private SplittableRandomSource randomSource;
     private TableStructureBuilder structureBuilder;
     private TableSeatManager seatManager;
     private GameBossBarManager bossBarManager;
@@ -80,6 +97,10 @@ public final class LiarBarPaperPlugin extends JavaPlugin {
     private TablePersistenceStore tablePersistenceStore;
     private StatsRepository statsRepository;
     private BukkitTask tickTask;
+    private BukkitTask deadlineDrainTask;
+    private BukkitTask economyDrainTask;
+    // Tables resumed from a checkpoint or journal hold players who have not sat back down yet.
+    private long seatSyncGraceUntilMillis;
 
     @Override
     public void onLoad() {
@@ -105,14 +126,20 @@ public final class LiarBarPaperPlugin extends JavaPlugin {
                     return VaultGatewayFactory.disabledGateway();
                 });
 
-        economyPort = new VaultEconomyAdapter(
+        EconomyPort vaultEconomy = new VaultEconomyAdapter(
                 vaultGateway,
                 settings.fantuanEntryFee(),
                 settings.moneyUnitPrice()
         );
-        randomSource = RandomSource.threadLocal();
-
-        tableService = new TableApplicationService();
+        // Tables charge asynchronously; the queued Vault calls run on the main thread once per tick.
+        economyPort = new BatchedVaultEconomy(vaultEconomy);
+        escrowLedger = settings.runtimeConfig().createEscrowLedger(getDataFolder().toPath());
+        randomSource = settings.runtimeConfig().createRandomSource();
+
+        tableService = new TableApplicationService(
+                settings.runtimeConfig().createRuntimeManager(getDataFolder().toPath()),
+                new CoreEventTranslator()
+        );
         structureBuilder = new TableStructureBuilder();
         seatManager = new TableSeatManager(this, structureBuilder);
         bossBarManager = new GameBossBarManager(i18n, seatManager);
@@ -128,6 +155,7 @@ public final class LiarBarPaperPlugin extends JavaPlugin {
         actionBarPublisher = new PacketEventsActionBarPublisher(this, i18n, packetEventsLifecycle.isReady(), seatManager);
         viewBridge = new PacketEventsViewBridge(actionBarPublisher);
         rewardService = new DatapackParityRewardService(this, i18n);
+        eventBus = createEventBus();
         modeSelectionGui = new ModeSelectionDialogGui(this, commandFacade, this::applyEvents, i18n);
 
         if (!registerCommands()) {
@@ -150,15 +178,30 @@ public final class LiarBarPaperPlugin extends JavaPlugin {
                 this
         );
         restoreSavedTables();
+        // Still inside onEnable, so no table has taken a command yet.
+        settleOrphanedEscrows(vaultEconomy);
+        seatSyncGraceUntilMillis = System.currentTimeMillis() + RESTORE_SEAT_GRACE_MILLIS;
         startTickLoop();
     }
 
     @Override
     public void onDisable() {
+        if (eventBus != null) {
+            eventBus.close();
+            eventBus = null;
+        }
         if (tickTask != null) {
             tickTask.cancel();
             tickTask = null;
         }
+        if (deadlineDrainTask != null) {
+            deadlineDrainTask.cancel();
+            deadlineDrainTask = null;
+        }
+        if (economyDrainTask != null) {
+            economyDrainTask.cancel();
+            economyDrainTask = null;
+        }
 
         // Persist table locations before tearing down structures
         if (structureBuilder != null) {
@@ -205,6 +248,18 @@ public final class LiarBarPaperPlugin extends JavaPlugin {
             tableService = null;
         }
 
+        if (escrowLedger != null) {
+            // Payouts and refunds reach Vault only once their ledger entry is durable, so flush before the drain.
+            escrowLedger.close();
+            escrowLedger = null;
+        }
+
+        if (economyPort != null) {
+            // Settle what is still queued; charges whose table is gone come back as refunds in the same pass.
+            economyPort.drain();
+            economyPort = null;
+        }
+
         if (statsService != null) {
             statsService.close();
             statsService = null;
@@ -229,7 +284,9 @@ public final class LiarBarPaperPlugin extends JavaPlugin {
                 i18n,
                 this::tableIds,
                 this::createConfiguredTableAtPlayer,
-                this::deleteTable
+                this::deleteTable,
+                () -> escrowLedger == null ? List.of() : escrowLedger.outstanding(),
+                () -> tableService.metrics()
         );
 
         BasicCommand command = new BasicCommand() {
@@ -265,35 +322,78 @@ public final class LiarBarPaperPlugin extends JavaPlugin {
                 settings.tickIntervalTicks(),
                 settings.tickIntervalTicks()
         );
+        economyDrainTask = getServer().getScheduler().runTaskTimer(this, economyPort::drain, 1L, 1L);
+        if (settings.runtimeConfig().deadlines()) {
+            // Deadlines fire off the main thread; pick up what they produced every server tick.
+            deadlineDrainTask = getServer().getScheduler().runTaskTimer(this, this::drainFiredDeadlines, 1L, 1L);
+        }
+    }
+
+    private void drainFiredDeadlines() {
+        tableService.tickAll().whenComplete((batch, throwable) -> {
+            if (throwable != null) {
+                getLogger().log(java.util.logging.Level.WARNING, "Collecting fired deadlines failed", throwable);
+                return;
+            }
+            batch.failures().forEach((tableId, error) ->
+                    getLogger().log(java.util.logging.Level.WARNING, "Table deadline failed: " + tableId, error));
+            applyEvents(batch.events());
+        });
     }
 
     private void tickOnce() {
-        Collection<String> ids = tableService.tableIds();
+        // Hibernating tables are empty, so there is no seat to reconcile and nothing to tick.
+        Collection<String> ids = tableService.awakeTableIds();
         if (ids.isEmpty()) {
             return;
         }
-        record TickResult(String tableId, List<UserFacingEvent> events, Throwable error) {}
-        List<CompletableFuture<TickResult>> futures = new ArrayList<>(ids.size());
+        TickFanOutEvent fanOut = new TickFanOutEvent();
+        fanOut.begin();
+        record SyncResult(String tableId, List<UserFacingEvent> events, Throwable error) {}
+        List<CompletableFuture<SyncResult>> syncs = new ArrayList<>(ids.size());
         for (String tableId : ids) {
             List<UUID> seatedInSeatOrder = seatManager != null
                     ? seatManager.seatedPlayersInSeatOrder(tableId)
                     : List.of();
-            futures.add(
-                    syncSeatMembershipAndTick(tableId, seatedInSeatOrder)
-                            .thenApply(events -> new TickResult(tableId, events, null))
-                            .exceptionally(ex -> new TickResult(tableId, List.of(), ex))
+            syncs.add(
+                    reconcileSeats(tableId, seatedInSeatOrder)
+                            .thenApply(events -> new SyncResult(tableId, events, null))
+                            .exceptionally(ex -> new SyncResult(tableId, List.of(), ex))
                             .toCompletableFuture()
             );
         }
-        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
-                .thenRun(() -> getServer().getScheduler().runTask(this, () -> {
-                    for (var future : futures) {
-                        TickResult result = future.join();
+        if (fanOut.shouldCommit()) {
+            fanOut.tables = ids.size();
+            fanOut.commit();
+        }
+        // Seats are reconciled first so each table ticks with its current members, then all tables tick in one pass.
+        CompletableFuture.allOf(syncs.toArray(CompletableFuture[]::new))
+                .thenCompose(ignored -> tableService.tickAll())
+                .whenComplete((batch, throwable) -> getServer().getScheduler().runTask(this, () -> {
+                    TickApplyEvent apply = new TickApplyEvent();
+                    apply.begin();
+                    int applied = 0;
+                    for (var sync : syncs) {
+                        SyncResult result = sync.join();
                         if (result.error() != null) {
                             getLogger().log(java.util.logging.Level.WARNING, "Table tick failed: " + result.tableId(), result.error());
                             continue;
                         }
                         applyEvents(result.events());
+                        applied += result.events().size();
+                    }
+                    if (throwable != null) {
+                        getLogger().log(java.util.logging.Level.WARNING, "Table tick failed", throwable);
+                    } else {
+                        batch.failures().forEach((tableId, error) ->
+                                getLogger().log(java.util.logging.Level.WARNING, "Table tick failed: " + tableId, error));
+                        applyEvents(batch.events());
+                        applied += batch.events().size();
+                    }
+                    if (apply.shouldCommit()) {
+                        apply.tables = syncs.size();
+                        apply.eventsApplied = applied;
+                        apply.commit();
                     }
                 }));
     }
@@ -303,22 +403,25 @@ public final class LiarBarPaperPlugin extends JavaPlugin {
             return;
         }
         UUID playerId = player.getUniqueId();
-        tableService.snapshot(tableId)
-                .thenCompose(snapshot -> {
-                    boolean joined = snapshot.players().stream()
-                            .anyMatch(p -> p.playerId().equals(playerId));
-                    if (joined) {
-                        return CompletableFuture.completedFuture(List.<UserFacingEvent>of());
-                    }
-                    return tableService.join(tableId, playerId);
-                })
-                .whenComplete((events, throwable) ->
+        boolean joined = tableService.latestSnapshot(tableId)
+                .map(snapshot -> snapshot.players().stream().anyMatch(p -> p.playerId().equals(playerId)))
+                .orElse(false);
+        if (joined) {
+            reopenModeDialogIfNeeded(player, tableId);
+            return;
+        }
+        tableService.join(tableId, playerId)
+                .whenComplete((result, throwable) ->
                         getServer().getScheduler().runTask(this, () -> {
                             if (throwable != null) {
                                 maybeLogSeatSyncError(tableId, "join", playerId, throwable);
                                 return;
                             }
-                            applyEvents(events);
+                            if (!result.isAccepted()) {
+                                // Full table, game under way or unpaid entry: the player just stays seated.
+                                return;
+                            }
+                            applyEvents(result.events());
                             reopenModeDialogIfNeeded(player, tableId);
                         }));
     }
@@ -328,101 +431,80 @@ public final class LiarBarPaperPlugin extends JavaPlugin {
             return;
         }
         UUID playerId = player.getUniqueId();
-        tableService.snapshot(tableId).whenComplete((snapshot, throwable) ->
-                getServer().getScheduler().runTask(this, () -> {
-                    if (throwable != null || snapshot == null || snapshot.phase() != GamePhase.MODE_SELECTION) {
-                        return;
-                    }
-                    boolean joined = snapshot.players().stream()
-                            .anyMatch(p -> p.playerId().equals(playerId));
-                    if (joined && tableId.equals(seatManager.tableOf(playerId))) {
-                        modeSelectionGui.open(player, tableId);
-                    }
-                })
-        );
+        GameSnapshot snapshot = tableService.latestSnapshot(tableId).orElse(null);
+        if (snapshot == null || snapshot.phase() != GamePhase.MODE_SELECTION) {
+            return;
+        }
+        boolean joined = snapshot.players().stream()
+                .anyMatch(p -> p.playerId().equals(playerId));
+        if (joined && tableId.equals(seatManager.tableOf(playerId))) {
+            modeSelectionGui.open(player, tableId);
+        }
     }
 
-    private CompletionStage<List<UserFacingEvent>> syncSeatMembershipAndTick(String tableId, List<UUID> seatedInSeatOrder) {
+    /**
+     * Reconciles the table's players with its seats in one table task, or not at all when the published
+     * snapshot already matches.
+     */
+    private CompletionStage<List<UserFacingEvent>> reconcileSeats(String tableId, List<UUID> seatedInSeatOrder) {
+        GameSnapshot snapshot = tableService.latestSnapshot(tableId).orElse(null);
+        if (snapshot == null) {
+            return CompletableFuture.failedStage(new IllegalStateException("table not found: " + tableId));
+        }
+        boolean restoreGrace = System.currentTimeMillis() < seatSyncGraceUntilMillis;
         Set<UUID> seatedNow = new HashSet<>(seatedInSeatOrder);
-        return tableService.snapshot(tableId).thenCompose(snapshot -> {
-            Set<UUID> joinedNow = new HashSet<>();
-            for (PlayerSnapshot player : snapshot.players()) {
-                joinedNow.add(player.playerId());
+        Set<UUID> joinedNow = new HashSet<>();
+        boolean changed = false;
+        for (PlayerSnapshot player : snapshot.players()) {
+            joinedNow.add(player.playerId());
+            if (!restoreGrace && player.alive() && !seatedNow.contains(player.playerId())) {
+                changed = true;
             }
-
-            List<UUID> toLeave = new ArrayList<>();
-            for (PlayerSnapshot player : snapshot.players()) {
-                if (!seatedNow.contains(player.playerId())) {
-                    toLeave.add(player.playerId());
-                }
-            }
-
-            List<UUID> toJoin = new ArrayList<>();
-            for (UUID seatedPlayer : seatedInSeatOrder) {
-                if (!joinedNow.contains(seatedPlayer)) {
-                    toJoin.add(seatedPlayer);
-                }
-            }
-
-            CompletionStage<List<UserFacingEvent>> sequence = CompletableFuture.completedFuture(List.of());
-            for (UUID playerId : toLeave) {
-                sequence = sequence.thenCompose(accumulated ->
-                        tableService.playerDisconnected(tableId, playerId).handle((events, throwable) -> {
-                            if (throwable != null) {
-                                maybeLogSeatSyncError(tableId, "leave", playerId, throwable);
-                                return accumulated;
-                            }
-                            return appendEvents(accumulated, events);
-                        })
-                );
-            }
-            for (UUID playerId : toJoin) {
-                sequence = sequence.thenCompose(accumulated ->
-                        tableService.join(tableId, playerId).handle((events, throwable) -> {
-                            if (throwable != null) {
-                                maybeLogSeatSyncError(tableId, "join", playerId, throwable);
-                                return accumulated;
-                            }
-                            return appendEvents(accumulated, events);
-                        })
-                );
-            }
-
-            return sequence.thenCompose(accumulated ->
-                    tableService.tick(tableId).thenApply(tickEvents -> appendEvents(accumulated, tickEvents))
-            );
-        });
-    }
-
-    private List<UserFacingEvent> appendEvents(List<UserFacingEvent> left, List<UserFacingEvent> right) {
-        if ((left == null || left.isEmpty()) && (right == null || right.isEmpty())) {
-            return List.of();
-        }
-        List<UserFacingEvent> merged = new ArrayList<>((left == null ? 0 : left.size()) + (right == null ? 0 : right.size()));
-        if (left != null && !left.isEmpty()) {
-            merged.addAll(left);
         }
-        if (right != null && !right.isEmpty()) {
-            merged.addAll(right);
+        if (!changed && joinedNow.containsAll(seatedNow)) {
+            return CompletableFuture.completedFuture(List.of());
         }
-        return List.copyOf(merged);
+        return tableService.reconcileSeats(tableId, seatedInSeatOrder, restoreGrace);
     }
 
     private void maybeLogSeatSyncError(String tableId, String action, UUID playerId, Throwable throwable) {
         String reason = rootMessage(throwable);
-        String lowered = reason.toLowerCase(Locale.ROOT);
-        boolean noisyExpected = lowered.contains("player already joined")
-                || lowered.contains("cannot join in phase")
-                || lowered.contains("table is full")
-                || lowered.contains("table not found")
-                || lowered.contains("insufficient_balance");
-        if (noisyExpected) {
+        if (rejectionOf(throwable) != null || reason.startsWith("table not found")) {
             return;
         }
         getLogger().warning("Seat sync " + action + " failed. table="
                 + tableId + ", player=" + playerId + ", reason=" + reason);
     }
 
+    private AsyncEconomyPort tableEconomy(String tableId) {
+        return escrowLedger == null ? economyPort : escrowLedger.guard(tableId, economyPort);
+    }
+
+    /**
+     * Refunds the stakes of escrows left open by the last run whose table did not resume its game. Runs
+     * before the tick loop starts; if the resumed tables cannot be told, the escrows stay open and the ledger
+     * settles each one when its table takes the first stake of a new game.
+     */
+    private void settleOrphanedEscrows(EconomyPort refunds) {
+        if (escrowLedger == null || escrowLedger.outstanding().isEmpty()) {
+            return;
+        }
+        Set<String> active;
+        try {
+            active = tableService.activeTableIds().toCompletableFuture()
+                    .orTimeout(ESCROW_SETTLE_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                    .join();
+        } catch (RuntimeException ex) {
+            getLogger().log(java.util.logging.Level.SEVERE, "Cannot tell which tables resumed; "
+                    + "escrows are settled when their table starts a new game", ex);
+            return;
+        }
+        int refunded = escrowLedger.settleOrphans(active, refunds);
+        if (refunded > 0) {
+            getLogger().info("Refunded " + refunded + " stake(s) whose game did not survive the restart.");
+        }
+    }
+
     private LiarBarCommandExecutor.CreateTableResult createConfiguredTableAtPlayer(Player player, String requestedId) {
         String tableId = (requestedId == null || requestedId.isBlank())
                 ? toTableId(player)
@@ -430,8 +512,8 @@ public final class LiarBarPaperPlugin extends JavaPlugin {
         boolean created = tableService.createTableIfAbsent(
                 tableId,
                 tableConfig,
-                economyPort,
-                randomSource
+                tableEconomy(tableId),
+                randomSource.split()
         );
         if (created) {
             structureBuilder.build(tableId, player.getLocation());
@@ -488,7 +570,7 @@ public final class LiarBarPaperPlugin extends JavaPlugin {
                 }
                 Location loc = new Location(world, st.x(), st.y(), st.z());
                 boolean created = tableService.createTableIfAbsent(
-                        st.tableId(), tableConfig, economyPort, randomSource);
+                        st.tableId(), tableConfig, tableEconomy(st.tableId()), randomSource.split());
                 if (created) {
                     structureBuilder.build(st.tableId(), loc);
                     seatManager.spawnSeats(st.tableId());
@@ -565,32 +647,63 @@ public final class LiarBarPaperPlugin extends JavaPlugin {
     }
 
     private void applyEvents(List<UserFacingEvent> events) {
-        if (events == null || events.isEmpty()) {
-            return;
-        }
-        if (statsService != null) {
-            statsService.handleEvents(events);
-        }
-        if (rewardService != null) {
-            rewardService.handleEvents(events);
-        }
-        if (seatManager != null) {
-            seatManager.handleEvents(events);
-        }
-        if (bossBarManager != null) {
-            bossBarManager.handleEvents(events);
-        }
-        if (cardPresenter != null) {
-            cardPresenter.handleEvents(events);
+        UserFacingEventBus bus = eventBus;
+        if (bus != null) {
+            bus.publish(events);
         }
-        if (effectsManager != null) {
-            effectsManager.handleEvents(events);
-        }
-        if (lobbyHologramManager != null) {
-            lobbyHologramManager.handleEvents(events);
-        }
-        if (viewBridge != null) {
-            viewBridge.publishAll(events);
+    }
+
+    /**
+     * Each handler gets only the event types it acts on. Stats only touch their own locked state, so they
+     * are kept off the server thread; everything that touches players or the world stays on it, in the
+     * order the handlers used to run.
+     */
+    private UserFacingEventBus createEventBus() {
+        UserFacingEventBus bus = new UserFacingEventBus(
+                task -> {
+                    if (getServer().isPrimaryThread()) {
+                        task.run();
+                    } else {
+                        getServer().getScheduler().runTask(this, task);
+                    }
+                },
+                task -> getServer().getScheduler().runTaskAsynchronously(this, task)
+        );
+        LiarBarStatsService stats = statsService;
+        DatapackParityRewardService rewards = rewardService;
+        TableSeatManager seats = seatManager;
+        GameBossBarManager bossBars = bossBarManager;
+        ClickableCardPresenter cards = cardPresenter;
+        GameEffectsManager effects = effectsManager;
+        TableLobbyHologramManager lobbyHolograms = lobbyHologramManager;
+        PacketEventsViewBridge view = viewBridge;
+        bus.subscribe("stats", Affinity.ASYNC, LiarBarStatsService.HANDLED_EVENTS,
+                events -> handleTraced("stats", stats::handleEvents, events));
+        bus.subscribe("rewards", Affinity.MAIN, DatapackParityRewardService.HANDLED_EVENTS,
+                events -> handleTraced("rewards", rewards::handleEvents, events));
+        bus.subscribe("seats", Affinity.MAIN, TableSeatManager.HANDLED_EVENTS,
+                events -> handleTraced("seats", seats::handleEvents, events));
+        bus.subscribe("boss_bar", Affinity.MAIN, GameBossBarManager.HANDLED_EVENTS,
+                events -> handleTraced("boss_bar", bossBars::handleEvents, events));
+        bus.subscribe("cards", Affinity.MAIN, ClickableCardPresenter.HANDLED_EVENTS,
+                events -> handleTraced("cards", cards::handleEvents, events));
+        bus.subscribe("effects", Affinity.MAIN, GameEffectsManager.HANDLED_EVENTS,
+                events -> handleTraced("effects", effects::handleEvents, events));
+        bus.subscribe("lobby_hologram", Affinity.MAIN, TableLobbyHologramManager.HANDLED_EVENTS,
+                events -> handleTraced("lobby_hologram", lobbyHolograms::handleEvents, events));
+        bus.subscribeAll("view", Affinity.MAIN,
+                events -> handleTraced("view", view::publishAll, events));
+        return bus;
+    }
+
+    private static void handleTraced(String handler, Consumer<List<UserFacingEvent>> handle, List<UserFacingEvent> events) {
+        EventHandlerEvent trace = new EventHandlerEvent();
+        trace.begin();
+        handle.accept(events);
+        if (trace.shouldCommit()) {
+            trace.handler = handler;
+            trace.events = events.size();
+            trace.commit();
         }
     }
 }
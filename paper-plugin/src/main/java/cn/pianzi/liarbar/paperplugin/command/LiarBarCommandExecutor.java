@@ -2,6 +2,13 @@ package cn.pianzi.liarbar.paperplugin.command;
 
 import cn.pianzi.liarbar.core.domain.TableMode;
 import cn.pianzi.liarbar.core.domain.GamePhase;
+import cn.pianzi.liarbar.core.escrow.Escrow;
+import cn.pianzi.liarbar.core.event.CoreEventType;
+import cn.pianzi.liarbar.core.metrics.LatencySnapshot;
+import cn.pianzi.liarbar.core.metrics.RuntimeMetricsSnapshot;
+import cn.pianzi.liarbar.core.metrics.TableMetricsSnapshot;
+import cn.pianzi.liarbar.core.runtime.RejectionCode;
+import static cn.pianzi.liarbar.paperplugin.util.ExceptionUtils.rejectionOf;
 import static cn.pianzi.liarbar.paperplugin.util.ExceptionUtils.rootMessage;
 import cn.pianzi.liarbar.core.snapshot.GameSnapshot;
 import cn.pianzi.liarbar.core.snapshot.PlayerSnapshot;
@@ -44,7 +51,7 @@ import java.util.function.Function;
 import java.util.function.Supplier;
 
 public final class LiarBarCommandExecutor implements TabExecutor {
-    private static final List<String> SUBCOMMANDS = List.of("mode", "join", "play", "challenge", "leave", "stop", "status", "create", "delete", "tables", "stats", "top", "season", "reload", "help");
+    private static final List<String> SUBCOMMANDS = List.of("mode", "join", "play", "challenge", "leave", "bot", "stop", "status", "create", "delete", "tables", "escrow", "metrics", "stats", "top", "season", "reload", "help");
     private static final List<String> MODES = List.of("life", "fantuan", "money");
 
     private final JavaPlugin plugin;
@@ -57,6 +64,8 @@ public final class LiarBarCommandExecutor implements TabExecutor {
     private final Supplier<List<String>> tableIdsSupplier;
     private final BiFunction<Player, String, CreateTableResult> createTableAction;
     private final Function<String, Boolean> deleteTableAction;
+    private final Supplier<List<Escrow>> escrowSupplier;
+    private final Supplier<RuntimeMetricsSnapshot> metricsSupplier;
 
     public LiarBarCommandExecutor(
             JavaPlugin plugin,
@@ -68,7 +77,9 @@ public final class LiarBarCommandExecutor implements TabExecutor {
             I18n i18n,
             Supplier<List<String>> tableIdsSupplier,
             BiFunction<Player, String, CreateTableResult> createTableAction,
-            Function<String, Boolean> deleteTableAction
+            Function<String, Boolean> deleteTableAction,
+            Supplier<List<Escrow>> escrowSupplier,
+            Supplier<RuntimeMetricsSnapshot> metricsSupplier
     ) {
         this.plugin = Objects.requireNonNull(plugin, "plugin");
         this.commandFacade = Objects.requireNonNull(commandFacade, "commandFacade");
@@ -80,6 +91,8 @@ public final class LiarBarCommandExecutor implements TabExecutor {
         this.tableIdsSupplier = Objects.requireNonNull(tableIdsSupplier, "tableIdsSupplier");
         this.createTableAction = Objects.requireNonNull(createTableAction, "createTableAction");
         this.deleteTableAction = Objects.requireNonNull(deleteTableAction, "deleteTableAction");
+        this.escrowSupplier = Objects.requireNonNull(escrowSupplier, "escrowSupplier");
+        this.metricsSupplier = Objects.requireNonNull(metricsSupplier, "metricsSupplier");
     }
 
     @Override
@@ -96,11 +109,14 @@ public final class LiarBarCommandExecutor implements TabExecutor {
             case "play" -> handlePlay(sender, args);
             case "challenge" -> handleChallenge(sender, args);
             case "leave" -> handleLeave(sender, args);
+            case "bot" -> handleBot(sender, args);
             case "stop" -> handleStop(sender, args);
             case "status" -> handleStatus(sender, args);
             case "create" -> handleCreate(sender, args);
             case "delete" -> handleDelete(sender, args);
             case "tables" -> handleTables(sender);
+            case "escrow" -> handleEscrow(sender);
+            case "metrics" -> handleMetrics(sender, args);
             case "stats" -> handleStats(sender, args);
             case "top" -> handleTop(sender, args);
             case "season" -> handleSeason(sender, args);
@@ -172,61 +188,51 @@ public final class LiarBarCommandExecutor implements TabExecutor {
         }
 
         String tableId = args[1];
-        commandFacade.snapshot(tableId).whenComplete((snapshot, throwable) ->
-                plugin.getServer().getScheduler().runTask(plugin, () -> {
-                    if (throwable != null) {
-                        send(sender, MiniMessageSupport.prefixed(i18n.t("command.failed", Map.of(
-                                "reason", MiniMessageSupport.escape(localizedReason(throwable))
-                        ))));
-                        return;
-                    }
+        GameSnapshot snapshot = commandFacade.latestSnapshot(tableId).orElse(null);
+        if (snapshot == null) {
+            sendTableNotFound(sender, "command.failed", tableId);
+            return true;
+        }
 
-                    boolean joined = snapshot.players().stream().anyMatch(p -> p.playerId().equals(player.getUniqueId()));
-                    if (snapshot.phase() == GamePhase.MODE_SELECTION && joined) {
-                        send(sender, MiniMessageSupport.prefixed(i18n.t("command.join.reopen_mode_gui")));
-                        modeSelectionGui.open(player, tableId);
-                        return;
-                    }
+        boolean joined = snapshot.players().stream().anyMatch(p -> p.playerId().equals(player.getUniqueId()));
+        if (snapshot.phase() == GamePhase.MODE_SELECTION && joined) {
+            send(sender, MiniMessageSupport.prefixed(i18n.t("command.join.reopen_mode_gui")));
+            modeSelectionGui.open(player, tableId);
+            return true;
+        }
 
-                    String seatedTable = seatManager.tableOf(player.getUniqueId());
-                    if (seatedTable == null) {
-                        send(sender, MiniMessageSupport.prefixed(i18n.t("command.join.must_be_seated", Map.of(
-                                "table", MiniMessageSupport.escape(tableId)
-                        ))));
-                        return;
-                    }
-                    if (!tableId.equals(seatedTable)) {
-                        send(sender, MiniMessageSupport.prefixed(i18n.t("command.join.seated_other_table", Map.of(
-                                "table", MiniMessageSupport.escape(seatedTable)
-                        ))));
-                        return;
-                    }
+        String seatedTable = seatManager.tableOf(player.getUniqueId());
+        if (seatedTable == null) {
+            send(sender, MiniMessageSupport.prefixed(i18n.t("command.join.must_be_seated", Map.of(
+                    "table", MiniMessageSupport.escape(tableId)
+            ))));
+            return true;
+        }
+        if (!tableId.equals(seatedTable)) {
+            send(sender, MiniMessageSupport.prefixed(i18n.t("command.join.seated_other_table", Map.of(
+                    "table", MiniMessageSupport.escape(seatedTable)
+            ))));
+            return true;
+        }
 
-                    dispatchOutcome(sender, commandFacade.join(tableId, player.getUniqueId()), outcome -> {
-                        if (!outcome.success()) {
-                            return;
-                        }
-                        commandFacade.snapshot(tableId).whenComplete((afterJoin, afterJoinErr) ->
-                                plugin.getServer().getScheduler().runTask(plugin, () -> {
-                                    if (afterJoinErr != null) {
-                                        send(sender, MiniMessageSupport.prefixed(i18n.t("command.failed", Map.of(
-                                                "reason", MiniMessageSupport.escape(localizedReason(afterJoinErr))
-                                        ))));
-                                        return;
-                                    }
-                                    if (afterJoin.phase() == GamePhase.MODE_SELECTION
-                                            && afterJoin.players().stream().anyMatch(p -> p.playerId().equals(player.getUniqueId()))) {
-                                        modeSelectionGui.open(player, tableId);
-                                    } else if (afterJoin.phase() == GamePhase.MODE_SELECTION) {
-                                        send(sender, MiniMessageSupport.prefixed(i18n.t("command.join.must_be_seated", Map.of(
-                                                "table", MiniMessageSupport.escape(tableId)
-                                        ))));
-                                    }
-                                })
-                        );
-                    });
-                })
-        );
+        dispatchOutcome(sender, commandFacade.join(tableId, player.getUniqueId()), outcome -> {
+            if (!outcome.success()) {
+                return;
+            }
+            GameSnapshot afterJoin = commandFacade.latestSnapshot(tableId).orElse(null);
+            if (afterJoin == null) {
+                sendTableNotFound(sender, "command.failed", tableId);
+                return;
+            }
+            if (afterJoin.phase() == GamePhase.MODE_SELECTION
+                    && afterJoin.players().stream().anyMatch(p -> p.playerId().equals(player.getUniqueId()))) {
+                modeSelectionGui.open(player, tableId);
+            } else if (afterJoin.phase() == GamePhase.MODE_SELECTION) {
+                send(sender, MiniMessageSupport.prefixed(i18n.t("command.join.must_be_seated", Map.of(
+                        "table", MiniMessageSupport.escape(tableId)
+                ))));
+            }
+        });
         return true;
     }
 
@@ -286,6 +292,22 @@ public final class LiarBarCommandExecutor implements TabExecutor {
         return true;
     }
 
+    private boolean handleBot(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("liarbar.admin")) {
+            send(sender, MiniMessageSupport.prefixed(i18n.t("command.no_permission_admin")));
+            return true;
+        }
+
+        if (args.length < 2) {
+            send(sender, MiniMessageSupport.prefixed(i18n.t("command.usage.bot")));
+            return true;
+        }
+
+        String tableId = args[1];
+        dispatchOutcome(sender, commandFacade.seatBot(tableId));
+        return true;
+    }
+
     private boolean handleStop(CommandSender sender, String[] args) {
         if (!sender.hasPermission("liarbar.admin")) {
             send(sender, MiniMessageSupport.prefixed(i18n.t("command.no_permission_admin")));
@@ -309,16 +331,9 @@ public final class LiarBarCommandExecutor implements TabExecutor {
         }
 
         String tableId = args[1];
-        commandFacade.snapshot(tableId).whenComplete((snapshot, throwable) ->
-                plugin.getServer().getScheduler().runTask(plugin, () -> {
-                    if (throwable != null) {
-                        send(sender, MiniMessageSupport.prefixed(i18n.t("command.status_failed", Map.of(
-                                "reason", MiniMessageSupport.escape(localizedReason(throwable))
-                        ))));
-                        return;
-                    }
-                    sendSnapshot(sender, snapshot);
-                })
+        commandFacade.latestSnapshot(tableId).ifPresentOrElse(
+                snapshot -> sendSnapshot(sender, snapshot),
+                () -> sendTableNotFound(sender, "command.status_failed", tableId)
         );
         return true;
     }
@@ -375,6 +390,107 @@ public final class LiarBarCommandExecutor implements TabExecutor {
         return true;
     }
 
+    private boolean handleEscrow(CommandSender sender) {
+        if (!sender.hasPermission("liarbar.admin")) {
+            send(sender, MiniMessageSupport.prefixed(i18n.t("command.no_permission_admin")));
+            return true;
+        }
+        List<Escrow> escrows = escrowSupplier.get();
+        send(sender, i18n.t("command.escrow.header"));
+        if (escrows.isEmpty()) {
+            send(sender, i18n.t("command.escrow.empty"));
+            return true;
+        }
+        for (Escrow escrow : escrows) {
+            send(sender, i18n.t("command.escrow.row", Map.of(
+                    "id", escrow.escrowId(),
+                    "table", MiniMessageSupport.escape(escrow.tableId()),
+                    "mode", escrow.mode().name(),
+                    "total", escrow.total(),
+                    "players", escrow.stakes().size()
+            )));
+        }
+        return true;
+    }
+
+    private boolean handleMetrics(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("liarbar.admin")) {
+            send(sender, MiniMessageSupport.prefixed(i18n.t("command.no_permission_admin")));
+            return true;
+        }
+        RuntimeMetricsSnapshot metrics = metricsSupplier.get();
+        if (args.length >= 2) {
+            TableMetricsSnapshot table = metrics.tables().stream()
+                    .filter(snapshot -> snapshot.tableId().equals(args[1]))
+                    .findFirst()
+                    .orElse(null);
+            if (table == null) {
+                send(sender, MiniMessageSupport.prefixed(i18n.t("command.metrics.not_found", Map.of(
+                        "table", MiniMessageSupport.escape(args[1])
+                ))));
+                return true;
+            }
+            send(sender, i18n.t("command.metrics.header", Map.of("scope", MiniMessageSupport.escape(table.tableId()))));
+            sendMetrics(sender, table.queueDepth(), table.rejected(), table.coalesced(),
+                    table.queueWait(), table.execution(), table.events());
+            return true;
+        }
+        send(sender, i18n.t("command.metrics.header", Map.of(
+                "scope", i18n.t("command.metrics.scope_all", Map.of("count", metrics.tables().size()))
+        )));
+        sendMetrics(sender, metrics.queueDepth(), metrics.rejected(), metrics.coalesced(),
+                metrics.queueWait(), metrics.execution(), metrics.events());
+        return true;
+    }
+
+    private void sendMetrics(
+            CommandSender sender,
+            int depth,
+            long rejected,
+            long coalesced,
+            LatencySnapshot wait,
+            LatencySnapshot execution,
+            Map<CoreEventType, Long> events
+    ) {
+        send(sender, i18n.t("command.metrics.queue", Map.of(
+                "depth", depth,
+                "rejected", rejected,
+                "coalesced", coalesced
+        )));
+        send(sender, i18n.t("command.metrics.wait", latencyVars(wait)));
+        send(sender, i18n.t("command.metrics.execution", latencyVars(execution)));
+        if (events.isEmpty()) {
+            send(sender, i18n.t("command.metrics.no_events"));
+            return;
+        }
+        StringBuilder counts = new StringBuilder();
+        events.entrySet().stream()
+                .sorted(Map.Entry.<CoreEventType, Long>comparingByValue().reversed())
+                .forEach(entry -> {
+                    if (!counts.isEmpty()) {
+                        counts.append(", ");
+                    }
+                    counts.append(entry.getKey().name().toLowerCase(Locale.ROOT)).append('=').append(entry.getValue());
+                });
+        send(sender, i18n.t("command.metrics.events", Map.of("events", counts.toString())));
+    }
+
+    private static Map<String, Object> latencyVars(LatencySnapshot latency) {
+        return Map.of(
+                "p50", formatNanos(latency.percentileNanos(0.5)),
+                "p99", formatNanos(latency.percentileNanos(0.99)),
+                "max", formatNanos(latency.maxNanos()),
+                "count", latency.count()
+        );
+    }
+
+    private static String formatNanos(long nanos) {
+        if (nanos < 1_000_000) {
+            return (nanos / 1_000) + "µs";
+        }
+        return String.format(Locale.ROOT, "%.1fms", nanos / 1_000_000.0);
+    }
+
     private boolean handleStats(CommandSender sender, String[] args) {
         UUID target;
         if (args.length >= 2) {
@@ -608,7 +724,14 @@ public final class LiarBarCommandExecutor implements TabExecutor {
                     }
 
                     String color = outcome.success() ? "green" : "red";
-                    String message = outcome.success() ? i18n.t(outcome.message()) : outcome.message();
+                    String message;
+                    if (outcome.success()) {
+                        message = i18n.t(outcome.message());
+                    } else if (outcome.rejection() != null) {
+                        message = localizedRejection(outcome.rejection());
+                    } else {
+                        message = outcome.message();
+                    }
                     send(sender, MiniMessageSupport.prefixed("<" + color + ">" + MiniMessageSupport.escape(message) + "</" + color + ">"));
                     if (outcome.success()) {
                         eventSink.accept(outcome.events());
@@ -682,8 +805,11 @@ public final class LiarBarCommandExecutor implements TabExecutor {
         send(sender, i18n.t("command.help.create", vars));
         send(sender, i18n.t("command.help.delete", vars));
         send(sender, i18n.t("command.help.tables", vars));
+        send(sender, i18n.t("command.help.escrow", vars));
+        send(sender, i18n.t("command.help.metrics", vars));
         send(sender, i18n.t("command.help.stats", vars));
         send(sender, i18n.t("command.help.top", vars));
+        send(sender, i18n.t("command.help.bot", vars));
         send(sender, i18n.t("command.help.stop", vars));
         send(sender, i18n.t("command.help.season", vars));
         send(sender, i18n.t("command.help.reload", vars));
@@ -775,9 +901,11 @@ public final class LiarBarCommandExecutor implements TabExecutor {
                         || equalsIgnoreCase(args[0], "play")
                         || equalsIgnoreCase(args[0], "challenge")
                         || equalsIgnoreCase(args[0], "leave")
+                        || equalsIgnoreCase(args[0], "bot")
                         || equalsIgnoreCase(args[0], "status")
                         || equalsIgnoreCase(args[0], "stop")
                         || equalsIgnoreCase(args[0], "delete")
+                        || equalsIgnoreCase(args[0], "metrics")
         )) {
             return filterByPrefix(tableIdsSupplier.get(), args[1]);
         }
@@ -873,20 +1001,25 @@ public final class LiarBarCommandExecutor implements TabExecutor {
         return a != null && b != null && a.equalsIgnoreCase(b);
     }
 
+    private void sendTableNotFound(CommandSender sender, String messageKey, String tableId) {
+        send(sender, MiniMessageSupport.prefixed(i18n.t(messageKey, Map.of(
+                "reason", MiniMessageSupport.escape(i18n.t("command.table.not_created", Map.of("table", tableId)))
+        ))));
+    }
+
+    private String localizedRejection(RejectionCode rejection) {
+        return i18n.t("command.rejected." + rejection.reason());
+    }
+
     private String localizedReason(Throwable throwable) {
-        String reason = rootMessage(throwable);
-        if ("insufficient_balance".equals(reason)) {
-            return i18n.t("command.join.insufficient_balance");
-        }
-        if ("player_not_joined".equals(reason)) {
-            return i18n.t("command.join.must_be_seated_generic");
+        RejectionCode rejection = rejectionOf(throwable);
+        if (rejection != null) {
+            return localizedRejection(rejection);
         }
+        String reason = rootMessage(throwable);
         if ("only_host_can_select_mode".equals(reason)) {
             return i18n.t("command.mode.host_only");
         }
-        if ("invalid_wager_amount".equals(reason)) {
-            return i18n.t("command.mode.invalid_wager_range");
-        }
         String prefix = "table not found: ";
         if (reason.startsWith(prefix)) {
             String tableId = reason.substring(prefix.length()).trim();
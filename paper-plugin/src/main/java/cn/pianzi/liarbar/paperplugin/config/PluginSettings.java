@@ -19,7 +19,8 @@ public record PluginSettings(
         String localeTag,
         ZoneId zoneId,
         ScoreRule scoreRule,
-        DatabaseConfig databaseConfig
+        DatabaseConfig databaseConfig,
+        RuntimeConfig runtimeConfig
 ) {
     public static PluginSettings fromConfig(FileConfiguration config) {
         String tableId = nonBlank(config.getString("table.id"), "default");
@@ -51,6 +52,7 @@ public record PluginSettings(
                 parseRankTiers(config)
         );
         DatabaseConfig databaseConfig = DatabaseConfig.fromConfig(config);
+        RuntimeConfig runtimeConfig = RuntimeConfig.fromConfig(config);
         return new PluginSettings(
                 tableId,
                 tickIntervalTicks,
@@ -59,7 +61,8 @@ public record PluginSettings(
                 localeTag,
                 zoneId,
                 scoreRule,
-                databaseConfig
+                databaseConfig,
+                runtimeConfig
         );
     }
 
@@ -0,0 +1,80 @@
+package cn.pianzi.liarbar.paperplugin.config;
+
+import cn.pianzi.liarbar.core.bot.BotEngine;
+import cn.pianzi.liarbar.core.checkpoint.CheckpointStore;
+import cn.pianzi.liarbar.core.escrow.EscrowLedger;
+import cn.pianzi.liarbar.core.journal.JournalStore;
+import cn.pianzi.liarbar.core.port.SplittableRandomSource;
+import cn.pianzi.liarbar.core.runtime.DeadlineScheduler;
+import cn.pianzi.liarbar.core.runtime.LiarBarRuntimeManager;
+import cn.pianzi.liarbar.core.runtime.TableExecutors;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+public record RuntimeConfig(
+        ExecutorType executor,
+        int shards,
+        boolean journal,
+        boolean checkpoint,
+        boolean deadlines,
+        boolean escrow,
+        int hibernateAfterSeconds,
+        Long randomSeed,
+        int botBudgetMillis
+) {
+    public enum ExecutorType { VIRTUAL_PER_TABLE, SHARDED }
+
+    public static RuntimeConfig fromConfig(FileConfiguration config) {
+        String rawExecutor = config.getString("runtime.executor", "virtual-per-table");
+        ExecutorType executor = "sharded".equalsIgnoreCase(rawExecutor)
+                ? ExecutorType.SHARDED
+                : ExecutorType.VIRTUAL_PER_TABLE;
+        int shards = config.getInt("runtime.shards", 0);
+        if (shards <= 0) {
+            shards = Runtime.getRuntime().availableProcessors();
+        }
+        boolean journal = config.getBoolean("runtime.journal", true);
+        boolean checkpoint = config.getBoolean("runtime.checkpoint", true);
+        boolean deadlines = config.getBoolean("runtime.deadlines", true);
+        boolean escrow = config.getBoolean("runtime.escrow", true);
+        int hibernateAfterSeconds = Math.max(0, config.getInt("runtime.hibernate-after-seconds", 300));
+        Long randomSeed = config.isLong("runtime.random-seed") || config.isInt("runtime.random-seed")
+                ? config.getLong("runtime.random-seed")
+                : null;
+        int botBudgetMillis = Math.max(0, config.getInt("runtime.bot-budget-millis", 50));
+        return new RuntimeConfig(
+                executor, shards, journal, checkpoint, deadlines, escrow, hibernateAfterSeconds, randomSeed, botBudgetMillis);
+    }
+
+    public TableExecutors createExecutors() {
+        return switch (executor) {
+            case VIRTUAL_PER_TABLE -> TableExecutors.virtualThreadPerTable();
+            case SHARDED -> TableExecutors.sharded(shards);
+        };
+    }
+
+    public LiarBarRuntimeManager createRuntimeManager(Path dataFolder) {
+        JournalStore journals = journal ? new JournalStore(dataFolder.resolve("journal")) : null;
+        CheckpointStore checkpoints = checkpoint ? new CheckpointStore(dataFolder.resolve("checkpoints")) : null;
+        DeadlineScheduler scheduler = deadlines ? new DeadlineScheduler() : null;
+        Duration hibernateAfter = hibernateAfterSeconds > 0 ? Duration.ofSeconds(hibernateAfterSeconds) : null;
+        BotEngine bots = botBudgetMillis > 0 ? new BotEngine(Duration.ofMillis(botBudgetMillis)) : null;
+        return new LiarBarRuntimeManager(createExecutors(), journals, checkpoints, scheduler, hibernateAfter, bots);
+    }
+
+    /**
+     * Root random source; split it once per table. Seeded when {@code runtime.random-seed} is set.
+     */
+    public SplittableRandomSource createRandomSource() {
+        return randomSeed == null ? new SplittableRandomSource() : new SplittableRandomSource(randomSeed);
+    }
+
+    /**
+     * @return the wager ledger under {@code escrow/}, or {@code null} when disabled
+     */
+    public EscrowLedger createEscrowLedger(Path dataFolder) {
+        return escrow ? new EscrowLedger(dataFolder.resolve("escrow")) : null;
+    }
+}
@@ -1,8 +1,8 @@
 package cn.pianzi.liarbar.paperplugin.game;
 
+import cn.pianzi.liarbar.core.event.CoreEventType;
 import cn.pianzi.liarbar.paper.presentation.UserFacingEvent;
 import cn.pianzi.liarbar.paperplugin.i18n.I18n;
-import static cn.pianzi.liarbar.paperplugin.util.EventDataAccessor.asUuid;
 import static cn.pianzi.liarbar.paperplugin.util.EventDataAccessor.asString;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.event.ClickEvent;
@@ -14,6 +14,7 @@ import org.bukkit.entity.Player;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -22,6 +23,13 @@ import java.util.UUID;
  */
 public final class ClickableCardPresenter {
 
+    /** Event types {@link #handleEvents} acts on. */
+    public static final Set<CoreEventType> HANDLED_EVENTS = Set.of(
+            CoreEventType.HAND_DEALT,
+            CoreEventType.TURN_CHANGED,
+            CoreEventType.FORCE_CHALLENGE
+    );
+
     private static final String SEPARATOR = "═══════════════════════════════";
 
     private final I18n i18n;
@@ -32,21 +40,20 @@ public final class ClickableCardPresenter {
 
     public void handleEvents(List<UserFacingEvent> events) {
         for (UserFacingEvent event : events) {
-            String eventType = event.eventType();
-            switch (eventType) {
-                case "HAND_DEALT" -> onHandDealt(event);
-                case "TURN_CHANGED" -> onTurnChanged(event);
-                case "FORCE_CHALLENGE" -> onForceChallenge(event);
+            switch (event.type()) {
+                case HAND_DEALT -> onHandDealt(event);
+                case TURN_CHANGED -> onTurnChanged(event);
+                case FORCE_CHALLENGE -> onForceChallenge(event);
             }
         }
     }
 
     @SuppressWarnings("unchecked")
     private void onHandDealt(UserFacingEvent event) {
-        UUID playerId = asUuid(event.data().get("playerId"));
-        String tableId = asString(event.data().get("tableId"));
+        UUID playerId = event.playerId();
+        String tableId = event.tableId();
         String mainRank = asString(event.data().get("mainRank"));
-        if (playerId == null || tableId == null) return;
+        if (playerId == null) return;
 
         Player player = Bukkit.getPlayer(playerId);
         if (player == null) return;
@@ -111,9 +118,9 @@ public final class ClickableCardPresenter {
     }
 
     private void onTurnChanged(UserFacingEvent event) {
-        UUID playerId = asUuid(event.data().get("playerId"));
-        String tableId = asString(event.data().get("tableId"));
-        if (playerId == null || tableId == null) return;
+        UUID playerId = event.playerId();
+        String tableId = event.tableId();
+        if (playerId == null) return;
 
         Player player = Bukkit.getPlayer(playerId);
         if (player == null) return;
@@ -132,9 +139,8 @@ public final class ClickableCardPresenter {
     }
 
     private void onForceChallenge(UserFacingEvent event) {
-        String tableId = asString(event.data().get("tableId"));
-        UUID playerId = asUuid(event.data().get("playerId"));
-        if (tableId == null) return;
+        String tableId = event.tableId();
+        UUID playerId = event.playerId();
 
         // If we know who must challenge, send to them; otherwise it's broadcast
         if (playerId != null) {
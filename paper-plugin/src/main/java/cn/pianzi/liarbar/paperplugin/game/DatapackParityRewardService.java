@@ -1,5 +1,6 @@
 package cn.pianzi.liarbar.paperplugin.game;
 
+import cn.pianzi.liarbar.core.event.CoreEventType;
 import cn.pianzi.liarbar.paper.presentation.UserFacingEvent;
 import cn.pianzi.liarbar.paperplugin.i18n.I18n;
 import cn.pianzi.liarbar.paperplugin.presentation.MiniMessageSupport;
@@ -12,6 +13,7 @@ import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import static cn.pianzi.liarbar.paperplugin.util.EventDataAccessor.asInt;
@@ -19,6 +21,9 @@ import static cn.pianzi.liarbar.paperplugin.util.EventDataAccessor.asUuid;
 
 public final class DatapackParityRewardService {
 
+    /** Event types {@link #handleEvents} acts on. */
+    public static final Set<CoreEventType> HANDLED_EVENTS = Set.of(CoreEventType.GAME_FINISHED);
+
     private final JavaPlugin plugin;
     private final I18n i18n;
 
@@ -29,7 +34,7 @@ public final class DatapackParityRewardService {
 
     public void handleEvents(List<UserFacingEvent> events) {
         for (UserFacingEvent event : events) {
-            if (!"GAME_FINISHED".equals(event.eventType())) {
+            if (event.type() != CoreEventType.GAME_FINISHED) {
                 continue;
             }
             grantLifeModeReward(event);
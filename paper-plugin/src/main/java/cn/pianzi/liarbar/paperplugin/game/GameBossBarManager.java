@@ -1,5 +1,6 @@
 package cn.pianzi.liarbar.paperplugin.game;
 
+import cn.pianzi.liarbar.core.event.CoreEventType;
 import cn.pianzi.liarbar.paper.presentation.UserFacingEvent;
 import cn.pianzi.liarbar.paperplugin.i18n.I18n;
 import net.kyori.adventure.bossbar.BossBar;
@@ -17,7 +18,6 @@ import java.util.concurrent.ConcurrentHashMap;
 
 import static cn.pianzi.liarbar.paperplugin.util.EventDataAccessor.asInt;
 import static cn.pianzi.liarbar.paperplugin.util.EventDataAccessor.asString;
-import static cn.pianzi.liarbar.paperplugin.util.EventDataAccessor.asUuid;
 
 /**
  * Per-player boss bar showing bullets remaining, hand size, main rank, and current turn.
@@ -25,6 +25,19 @@ import static cn.pianzi.liarbar.paperplugin.util.EventDataAccessor.asUuid;
  */
 public final class GameBossBarManager {
 
+    /** Event types {@link #handleEvents} acts on. */
+    public static final Set<CoreEventType> HANDLED_EVENTS = Set.of(
+            CoreEventType.PLAYER_JOINED,
+            CoreEventType.DEAL_COMPLETED,
+            CoreEventType.HAND_DEALT,
+            CoreEventType.TURN_CHANGED,
+            CoreEventType.CARDS_PLAYED,
+            CoreEventType.SHOT_RESOLVED,
+            CoreEventType.PLAYER_ELIMINATED,
+            CoreEventType.GAME_FINISHED,
+            CoreEventType.PLAYER_FORFEITED
+    );
+
     private static final int MAX_BULLETS = 6;
 
     private final I18n i18n;
@@ -58,18 +71,16 @@ public final class GameBossBarManager {
 
     public void handleEvents(List<UserFacingEvent> events) {
         for (UserFacingEvent event : events) {
-            String eventType = event.eventType();
-            if (eventType == null) continue;
-            switch (eventType) {
-                case "PLAYER_JOINED" -> onPlayerJoined(event);
-                case "DEAL_COMPLETED" -> onDealCompleted(event);
-                case "HAND_DEALT" -> onHandDealt(event);
-                case "TURN_CHANGED" -> onTurnChanged(event);
-                case "CARDS_PLAYED" -> onCardsPlayed(event);
-                case "SHOT_RESOLVED" -> onShotResolved(event);
-                case "PLAYER_ELIMINATED" -> onPlayerEliminated(event);
-                case "GAME_FINISHED" -> onGameFinished(event);
-                case "PLAYER_FORFEITED" -> onPlayerForfeited(event);
+            switch (event.type()) {
+                case PLAYER_JOINED -> onPlayerJoined(event);
+                case DEAL_COMPLETED -> onDealCompleted(event);
+                case HAND_DEALT -> onHandDealt(event);
+                case TURN_CHANGED -> onTurnChanged(event);
+                case CARDS_PLAYED -> onCardsPlayed(event);
+                case SHOT_RESOLVED -> onShotResolved(event);
+                case PLAYER_ELIMINATED -> onPlayerEliminated(event);
+                case GAME_FINISHED -> onGameFinished(event);
+                case PLAYER_FORFEITED -> onPlayerForfeited(event);
             }
         }
     }
@@ -109,9 +120,9 @@ public final class GameBossBarManager {
     }
 
     private void onPlayerJoined(UserFacingEvent event) {
-        UUID playerId = asUuid(event.data().get("playerId"));
-        String tableId = asString(event.data().get("tableId"));
-        if (playerId == null || tableId == null) return;
+        UUID playerId = event.playerId();
+        String tableId = event.tableId();
+        if (playerId == null) return;
 
         // Prevent stacked duplicate boss bars if the same player re-joins/re-binds.
         removeBarForPlayer(playerId);
@@ -136,16 +147,15 @@ public final class GameBossBarManager {
     }
 
     private void onDealCompleted(UserFacingEvent event) {
-        String tableId = asString(event.data().get("tableId"));
+        String tableId = event.tableId();
         String mainRank = asString(event.data().get("mainRank"));
-        if (tableId == null) return;
         if (mainRank != null) {
             tableMainRank.put(tableId, mainRank);
         }
     }
 
     private void onHandDealt(UserFacingEvent event) {
-        UUID playerId = asUuid(event.data().get("playerId"));
+        UUID playerId = event.playerId();
         if (playerId == null) return;
 
         Object cardsObj = event.data().get("cards");
@@ -156,9 +166,8 @@ public final class GameBossBarManager {
     }
 
     private void onTurnChanged(UserFacingEvent event) {
-        String tableId = asString(event.data().get("tableId"));
-        UUID turnPlayer = asUuid(event.data().get("playerId"));
-        if (tableId == null) return;
+        String tableId = event.tableId();
+        UUID turnPlayer = event.playerId();
 
         tableTurn.put(tableId, turnPlayer);
 
@@ -172,7 +181,7 @@ public final class GameBossBarManager {
     }
 
     private void onCardsPlayed(UserFacingEvent event) {
-        UUID playerId = asUuid(event.data().get("playerId"));
+        UUID playerId = event.playerId();
         int count = asInt(event.data().get("count"), 0);
         if (playerId == null) return;
 
@@ -184,7 +193,7 @@ public final class GameBossBarManager {
     }
 
     private void onShotResolved(UserFacingEvent event) {
-        UUID playerId = asUuid(event.data().get("playerId"));
+        UUID playerId = event.playerId();
         if (playerId == null) return;
 
         int remaining = asInt(event.data().get("bulletsAfter"), -1);
@@ -198,20 +207,19 @@ public final class GameBossBarManager {
     }
 
     private void onPlayerEliminated(UserFacingEvent event) {
-        UUID playerId = asUuid(event.data().get("playerId"));
+        UUID playerId = event.playerId();
         if (playerId == null) return;
         removeBarForPlayer(playerId);
     }
 
     private void onPlayerForfeited(UserFacingEvent event) {
-        UUID playerId = asUuid(event.data().get("playerId"));
+        UUID playerId = event.playerId();
         if (playerId == null) return;
         removeBarForPlayer(playerId);
     }
 
     private void onGameFinished(UserFacingEvent event) {
-        String tableId = asString(event.data().get("tableId"));
-        if (tableId == null) return;
+        String tableId = event.tableId();
 
         // Remove bars for all players at this table using reverse index
         Set<UUID> players = new java.util.HashSet<>(playersAtTable(tableId));
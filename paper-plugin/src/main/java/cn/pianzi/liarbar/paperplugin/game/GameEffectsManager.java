@@ -1,5 +1,6 @@
 package cn.pianzi.liarbar.paperplugin.game;
 
+import cn.pianzi.liarbar.core.event.CoreEventType;
 import cn.pianzi.liarbar.paper.presentation.UserFacingEvent;
 import cn.pianzi.liarbar.paperplugin.i18n.I18n;
 import net.kyori.adventure.text.Component;
@@ -21,9 +22,9 @@ import org.bukkit.inventory.meta.FireworkMeta;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
-import static cn.pianzi.liarbar.paperplugin.util.EventDataAccessor.asString;
 import static cn.pianzi.liarbar.paperplugin.util.EventDataAccessor.asUuid;
 
 /**
@@ -31,6 +32,17 @@ import static cn.pianzi.liarbar.paperplugin.util.EventDataAccessor.asUuid;
  */
 public final class GameEffectsManager {
 
+    /** Event types {@link #handleEvents} acts on. */
+    public static final Set<CoreEventType> HANDLED_EVENTS = Set.of(
+            CoreEventType.PLAYER_JOINED,
+            CoreEventType.TURN_CHANGED,
+            CoreEventType.CHALLENGE_RESOLVED,
+            CoreEventType.SHOT_RESOLVED,
+            CoreEventType.PLAYER_ELIMINATED,
+            CoreEventType.GAME_FINISHED,
+            CoreEventType.PLAYER_FORFEITED
+    );
+
     private final TableStructureBuilder structureBuilder;
     private final I18n i18n;
 
@@ -41,24 +53,20 @@ public final class GameEffectsManager {
 
     public void handleEvents(List<UserFacingEvent> events) {
         for (UserFacingEvent event : events) {
-            String type = event.eventType();
-            if (type == null) {
-                continue;
-            }
-            switch (type) {
-                case "PLAYER_JOINED" -> onPlayerJoined(event);
-                case "TURN_CHANGED" -> onTurnChanged(event);
-                case "CHALLENGE_RESOLVED" -> onChallengeResolved(event);
-                case "SHOT_RESOLVED" -> onShotResolved(event);
-                case "PLAYER_ELIMINATED" -> onPlayerEliminated(event);
-                case "GAME_FINISHED" -> onGameFinished(event);
-                case "PLAYER_FORFEITED" -> onPlayerForfeited(event);
+            switch (event.type()) {
+                case PLAYER_JOINED -> onPlayerJoined(event);
+                case TURN_CHANGED -> onTurnChanged(event);
+                case CHALLENGE_RESOLVED -> onChallengeResolved(event);
+                case SHOT_RESOLVED -> onShotResolved(event);
+                case PLAYER_ELIMINATED -> onPlayerEliminated(event);
+                case GAME_FINISHED -> onGameFinished(event);
+                case PLAYER_FORFEITED -> onPlayerForfeited(event);
             }
         }
     }
 
     private void onPlayerJoined(UserFacingEvent event) {
-        UUID playerId = asUuid(event.data().get("playerId"));
+        UUID playerId = event.playerId();
         if (playerId == null) {
             return;
         }
@@ -73,7 +81,7 @@ public final class GameEffectsManager {
     }
 
     private void onTurnChanged(UserFacingEvent event) {
-        UUID playerId = asUuid(event.data().get("playerId"));
+        UUID playerId = event.playerId();
         if (playerId == null) {
             return;
         }
@@ -114,7 +122,7 @@ public final class GameEffectsManager {
     }
 
     private void onShotResolved(UserFacingEvent event) {
-        UUID playerId = asUuid(event.data().get("playerId"));
+        UUID playerId = event.playerId();
         boolean lethal = Boolean.TRUE.equals(event.data().get("lethal"));
         if (playerId == null) {
             return;
@@ -159,11 +167,7 @@ public final class GameEffectsManager {
     }
 
     private void onGameFinished(UserFacingEvent event) {
-        String tableId = asString(event.data().get("tableId"));
-        if (tableId == null) {
-            return;
-        }
-
+        String tableId = event.tableId();
         Location center = structureBuilder.locationOf(tableId);
         if (center == null || center.getWorld() == null) {
             return;
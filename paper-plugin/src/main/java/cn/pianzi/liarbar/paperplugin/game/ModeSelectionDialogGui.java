@@ -2,6 +2,8 @@ package cn.pianzi.liarbar.paperplugin.game;
 
 import cn.pianzi.liarbar.core.domain.TableMode;
 import cn.pianzi.liarbar.core.domain.GamePhase;
+import cn.pianzi.liarbar.core.runtime.RejectionCode;
+import static cn.pianzi.liarbar.paperplugin.util.ExceptionUtils.rejectionOf;
 import static cn.pianzi.liarbar.paperplugin.util.ExceptionUtils.rootMessage;
 import cn.pianzi.liarbar.paper.command.CommandOutcome;
 import cn.pianzi.liarbar.paper.command.PaperCommandFacade;
@@ -198,23 +200,20 @@ public final class ModeSelectionDialogGui {
         future.whenComplete((outcome, throwable) ->
                 plugin.getServer().getScheduler().runTask(plugin, () -> {
                     if (throwable != null) {
-                        String reason = localizedReason(throwable);
-                        if ("insufficient_balance".equals(reason) && mode == TableMode.KUNKUN_COIN) {
+                        sendFailed(player, localizedReason(throwable));
+                        return;
+                    }
+                    if (outcome.rejection() != null) {
+                        if (outcome.rejection() == RejectionCode.INSUFFICIENT_BALANCE && mode == TableMode.KUNKUN_COIN) {
                             sendFailed(player, i18n.t("command.mode.money_insufficient_switch"));
                             open(player, tableId);
                             return;
                         }
-                        sendFailed(player, reason);
+                        sendFailed(player, i18n.t("command.rejected." + outcome.rejection().reason()));
                         return;
                     }
                     if (!outcome.success()) {
-                        String reason = localizedReasonText(outcome.message());
-                        if ("insufficient_balance".equals(reason) && mode == TableMode.KUNKUN_COIN) {
-                            sendFailed(player, i18n.t("command.mode.money_insufficient_switch"));
-                            open(player, tableId);
-                            return;
-                        }
-                        sendFailed(player, reason);
+                        sendFailed(player, localizedReasonText(outcome.message()));
                         return;
                     }
 
@@ -253,6 +252,10 @@ public final class ModeSelectionDialogGui {
     }
 
     private String localizedReason(Throwable throwable) {
+        RejectionCode rejection = rejectionOf(throwable);
+        if (rejection != null) {
+            return i18n.t("command.rejected." + rejection.reason());
+        }
         return localizedReasonText(rootMessage(throwable));
     }
 
@@ -260,15 +263,6 @@ public final class ModeSelectionDialogGui {
         if ("only_host_can_select_mode".equals(reason)) {
             return i18n.t("command.mode.host_only");
         }
-        if ("player_not_joined".equals(reason)) {
-            return i18n.t("command.join.must_be_seated_generic");
-        }
-        if ("insufficient_balance".equals(reason)) {
-            return "insufficient_balance";
-        }
-        if ("invalid_wager_amount".equals(reason)) {
-            return i18n.t("command.mode.invalid_wager_range");
-        }
         String prefix = "table not found: ";
         if (reason.startsWith(prefix)) {
             String tableId = reason.substring(prefix.length()).trim();
@@ -2,6 +2,7 @@ package cn.pianzi.liarbar.paperplugin.game;
 
 import cn.pianzi.liarbar.core.domain.GamePhase;
 import cn.pianzi.liarbar.core.domain.TableMode;
+import cn.pianzi.liarbar.core.event.CoreEventType;
 import cn.pianzi.liarbar.paper.presentation.UserFacingEvent;
 import cn.pianzi.liarbar.paperplugin.i18n.I18n;
 import cn.pianzi.liarbar.paperplugin.presentation.MiniMessageSupport;
@@ -22,7 +23,6 @@ import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 import static cn.pianzi.liarbar.paperplugin.util.EventDataAccessor.asInt;
-import static cn.pianzi.liarbar.paperplugin.util.EventDataAccessor.asString;
 
 /**
  * Lobby hologram shown above the table center before the game starts.
@@ -30,6 +30,15 @@ import static cn.pianzi.liarbar.paperplugin.util.EventDataAccessor.asString;
  */
 public final class TableLobbyHologramManager {
 
+    /** Event types {@link #handleEvents} acts on. */
+    public static final Set<CoreEventType> HANDLED_EVENTS = Set.of(
+            CoreEventType.MODE_SELECTED,
+            CoreEventType.PLAYER_JOINED,
+            CoreEventType.PLAYER_FORFEITED,
+            CoreEventType.PHASE_CHANGED,
+            CoreEventType.GAME_FINISHED
+    );
+
     private static final int DEFAULT_MAX_PLAYERS = 4;
     private static final double HOLOGRAM_Y_OFFSET = 1.55D;
 
@@ -62,26 +71,21 @@ public final class TableLobbyHologramManager {
 
         Set<String> dirtyTables = new HashSet<>();
         for (UserFacingEvent event : events) {
-            String tableId = asString(event.data().get("tableId"));
-            if (tableId == null || tableId.isBlank()) {
+            String tableId = event.tableId();
+            if (tableId.isBlank()) {
                 continue;
             }
 
             LobbyState state = tableStates.computeIfAbsent(tableId, ignored -> LobbyState.idle());
-            String eventType = event.eventType();
-            if (eventType == null) {
-                continue;
-            }
-
-            switch (eventType) {
-                case "MODE_SELECTED" -> {
+            switch (event.type()) {
+                case MODE_SELECTED -> {
                     state.selectedMode = asMode(event.data().get("mode"));
                     state.wagerPerPlayer = asInt(event.data().get("wagerPerPlayer"), 1);
                     state.maxPlayers = asInt(event.data().get("maxPlayers"), state.maxPlayers);
                     state.phase = GamePhase.JOINING;
                     dirtyTables.add(tableId);
                 }
-                case "PLAYER_JOINED" -> {
+                case PLAYER_JOINED -> {
                     // Joining can now happen during MODE_SELECTION (sit first, then pick mode).
                     // Keep MODE_SELECTION unchanged until MODE_SELECTED arrives.
                     if (state.phase != GamePhase.MODE_SELECTION) {
@@ -91,13 +95,13 @@ public final class TableLobbyHologramManager {
                     state.maxPlayers = asInt(event.data().get("maxPlayers"), state.maxPlayers);
                     dirtyTables.add(tableId);
                 }
-                case "PLAYER_FORFEITED" -> {
+                case PLAYER_FORFEITED -> {
                     if (Boolean.TRUE.equals(event.data().get("beforeStart")) || isLobbyPhase(state.phase)) {
                         state.joinedCount = Math.max(0, state.joinedCount - 1);
                         dirtyTables.add(tableId);
                     }
                 }
-                case "PHASE_CHANGED" -> {
+                case PHASE_CHANGED -> {
                     GamePhase phase = asPhase(event.data().get("phase"));
                     if (phase != null) {
                         state.phase = phase;
@@ -110,7 +114,7 @@ public final class TableLobbyHologramManager {
                         dirtyTables.add(tableId);
                     }
                 }
-                case "GAME_FINISHED" -> {
+                case GAME_FINISHED -> {
                     state.resetToIdle();
                     dirtyTables.add(tableId);
                 }
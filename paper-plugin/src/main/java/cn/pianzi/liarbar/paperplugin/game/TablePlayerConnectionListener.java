@@ -44,7 +44,8 @@ public final class TablePlayerConnectionListener implements Listener {
 
     private void handleDisconnect(UUID playerId) {
         String seatedTableId = seatManager.tableOf(playerId);
-        List<String> targets = seatedTableId != null ? List.of(seatedTableId) : List.copyOf(tableService.tableIds());
+        // A hibernating table has nobody joined, so only awake ones can hold the player.
+        List<String> targets = seatedTableId != null ? List.of(seatedTableId) : List.copyOf(tableService.awakeTableIds());
         for (String tableId : targets) {
             tableService.playerDisconnected(tableId, playerId).whenComplete((events, throwable) ->
                     plugin.getServer().getScheduler().runTask(plugin, () -> {
@@ -1,5 +1,6 @@
 package cn.pianzi.liarbar.paperplugin.game;
 
+import cn.pianzi.liarbar.core.event.CoreEventType;
 import cn.pianzi.liarbar.paper.presentation.UserFacingEvent;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
@@ -17,9 +18,6 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
-import static cn.pianzi.liarbar.paperplugin.util.EventDataAccessor.asInt;
-import static cn.pianzi.liarbar.paperplugin.util.EventDataAccessor.asString;
-import static cn.pianzi.liarbar.paperplugin.util.EventDataAccessor.asUuid;
 
 /**
  * Seat manager with table-seat binding.
@@ -27,6 +25,14 @@ import static cn.pianzi.liarbar.paperplugin.util.EventDataAccessor.asUuid;
  */
 public final class TableSeatManager {
 
+    /** Event types {@link #handleEvents} acts on. */
+    public static final Set<CoreEventType> HANDLED_EVENTS = Set.of(
+            CoreEventType.PLAYER_JOINED,
+            CoreEventType.GAME_FINISHED,
+            CoreEventType.PLAYER_ELIMINATED,
+            CoreEventType.PLAYER_FORFEITED
+    );
+
     /** Seat offsets from table center: seat 0=west, 1=south, 2=east, 3=north. */
     private static final int[][] SEAT_OFFSETS = {
             {-2, 0, 0},
@@ -66,15 +72,11 @@ public final class TableSeatManager {
 
     public void handleEvents(List<UserFacingEvent> events) {
         for (UserFacingEvent event : events) {
-            String eventType = event.eventType();
-            if (eventType == null) {
-                continue;
-            }
-            switch (eventType) {
-                case "PLAYER_JOINED" -> handlePlayerJoined(event);
-                case "GAME_FINISHED" -> handleGameFinished(event);
-                case "PLAYER_ELIMINATED" -> handlePlayerEliminated(event);
-                case "PLAYER_FORFEITED" -> handlePlayerForfeited(event);
+            switch (event.type()) {
+                case PLAYER_JOINED -> handlePlayerJoined(event);
+                case GAME_FINISHED -> handleGameFinished(event);
+                case PLAYER_ELIMINATED -> handlePlayerEliminated(event);
+                case PLAYER_FORFEITED -> handlePlayerForfeited(event);
             }
         }
     }
@@ -341,11 +343,11 @@ public final class TableSeatManager {
     }
 
     private void handlePlayerJoined(UserFacingEvent event) {
-        String tableId = asString(event.data().get("tableId"));
-        UUID playerId = asUuid(event.data().get("playerId"));
-        int seat = asInt(event.data().get("seat"), -1);
+        String tableId = event.tableId();
+        UUID playerId = event.playerId();
+        int seat = event.seat();
 
-        if (tableId == null || playerId == null || seat <= 0) {
+        if (playerId == null || seat <= 0) {
             return;
         }
 
@@ -393,7 +395,7 @@ public final class TableSeatManager {
     }
 
     private void handlePlayerEliminated(UserFacingEvent event) {
-        UUID playerId = asUuid(event.data().get("playerId"));
+        UUID playerId = event.playerId();
         if (playerId == null) {
             return;
         }
@@ -405,11 +407,7 @@ public final class TableSeatManager {
     }
 
     private void handleGameFinished(UserFacingEvent event) {
-        String tableId = asString(event.data().get("tableId"));
-        if (tableId == null) {
-            return;
-        }
-
+        String tableId = event.tableId();
         for (UUID playerId : seatedPlayersAtTable(tableId)) {
             Player player = Bukkit.getPlayer(playerId);
             if (player != null) {
@@ -437,7 +435,7 @@ public final class TableSeatManager {
     }
 
     private void handlePlayerForfeited(UserFacingEvent event) {
-        UUID playerId = asUuid(event.data().get("playerId"));
+        UUID playerId = event.playerId();
         if (playerId == null) {
             return;
         }
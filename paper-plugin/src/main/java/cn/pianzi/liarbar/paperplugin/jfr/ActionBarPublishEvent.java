@@ -0,0 +1,31 @@
+package cn.pianzi.liarbar.paperplugin.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One table event rendered and sent to one player as a chat line and, when PacketEvents is up, an action bar.
+ */
+@Name("cn.pianzi.liarbar.ActionBarPublish")
+@Label("Action Bar Publish")
+@Description("A table event rendered and sent to one player")
+@Category({"Liar Bar", "Presentation"})
+@StackTrace(false)
+public final class ActionBarPublishEvent extends Event {
+    @Label("Player")
+    public String player;
+
+    @Label("Message Key")
+    public String message;
+
+    @Label("Duplicate")
+    @Description("Suppressed because the player was just shown the same message")
+    public boolean duplicate;
+
+    @Label("Action Bar Sent")
+    public boolean actionBar;
+}
@@ -0,0 +1,24 @@
+package cn.pianzi.liarbar.paperplugin.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One manager's {@code handleEvents} call inside {@code applyEvents}.
+ */
+@Name("cn.pianzi.liarbar.EventHandler")
+@Label("Event Handler")
+@Description("One manager handling a batch of table events")
+@Category({"Liar Bar", "Server Tick"})
+@StackTrace(false)
+public final class EventHandlerEvent extends Event {
+    @Label("Handler")
+    public String handler;
+
+    @Label("Events")
+    public int events;
+}
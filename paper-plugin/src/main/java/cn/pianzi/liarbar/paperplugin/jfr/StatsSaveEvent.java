@@ -0,0 +1,24 @@
+package cn.pianzi.liarbar.paperplugin.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One {@code upsertAll} of every player's statistics, including the in-memory copy taken before it.
+ */
+@Name("cn.pianzi.liarbar.StatsSave")
+@Label("Stats Save")
+@Description("Player statistics written to the stats repository")
+@Category({"Liar Bar", "Persistence"})
+@StackTrace(false)
+public final class StatsSaveEvent extends Event {
+    @Label("Backend")
+    public String backend;
+
+    @Label("Rows")
+    public int rows;
+}
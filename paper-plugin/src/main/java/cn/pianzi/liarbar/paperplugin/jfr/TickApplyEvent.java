@@ -0,0 +1,24 @@
+package cn.pianzi.liarbar.paperplugin.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Server-thread callback of {@code tickOnce} that applies what the seat reconciliation and the tick produced.
+ */
+@Name("cn.pianzi.liarbar.TickApply")
+@Label("Tick Apply")
+@Description("Events of one table tick applied on the server thread")
+@Category({"Liar Bar", "Server Tick"})
+@StackTrace(false)
+public final class TickApplyEvent extends Event {
+    @Label("Tables")
+    public int tables;
+
+    @Label("Events Applied")
+    public int eventsApplied;
+}
@@ -0,0 +1,21 @@
+package cn.pianzi.liarbar.paperplugin.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Server-thread work of {@code tickOnce} that hands every table its seat reconciliation and the batched tick.
+ */
+@Name("cn.pianzi.liarbar.TickFanOut")
+@Label("Tick Fan-Out")
+@Description("Main-thread part of a table tick: seat reconciliation dispatched to every table")
+@Category({"Liar Bar", "Server Tick"})
+@StackTrace(false)
+public final class TickFanOutEvent extends Event {
+    @Label("Tables")
+    public int tables;
+}
@@ -21,7 +21,8 @@ final class EventFingerprintEncoder {
 
     String encode(UserFacingEvent event, Map<String, Object> localizedData) {
         Map<String, Object> payload = new LinkedHashMap<>();
-        payload.put("eventType", event.eventType());
+        payload.put("eventType", event.type().name());
+        payload.put("tableId", event.tableId());
         payload.put("messageKey", event.message());
         payload.put("severity", severityName(event.severity()));
         payload.put("targetPlayer", event.targetPlayer() != null ? event.targetPlayer().toString() : null);
@@ -5,8 +5,8 @@ import cn.pianzi.liarbar.paper.presentation.PacketEventsPublisher;
 import cn.pianzi.liarbar.paper.presentation.UserFacingEvent;
 import cn.pianzi.liarbar.paperplugin.game.TableSeatManager;
 import cn.pianzi.liarbar.paperplugin.i18n.I18n;
+import cn.pianzi.liarbar.paperplugin.jfr.ActionBarPublishEvent;
 import static cn.pianzi.liarbar.paperplugin.util.EventDataAccessor.asUuid;
-import static cn.pianzi.liarbar.paperplugin.util.EventDataAccessor.asString;
 import static cn.pianzi.liarbar.paperplugin.util.ExceptionUtils.rootMessage;
 import com.github.retrooper.packetevents.PacketEvents;
 import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerActionBar;
@@ -74,24 +74,11 @@ public final class PacketEventsActionBarPublisher implements PacketEventsPublish
             return;
         }
 
-        String tableId = asString(event.data().get("tableId"));
-        if (tableId != null) {
-            if (seatManager != null) {
-                Set<UUID> seated = seatManager.seatedPlayersAtTable(tableId);
-                if (!seated.isEmpty()) {
-                    for (UUID pid : seated) {
-                        Player p = Bukkit.getPlayer(pid);
-                        if (p != null && p.isOnline()) {
-                            publishToPlayer(p, event);
-                        }
-                    }
-                    return;
-                }
-            }
-
-            Set<UUID> players = tablePlayers.get(tableId);
-            if (players != null && !players.isEmpty()) {
-                for (UUID pid : players) {
+        String tableId = event.tableId();
+        if (seatManager != null) {
+            Set<UUID> seated = seatManager.seatedPlayersAtTable(tableId);
+            if (!seated.isEmpty()) {
+                for (UUID pid : seated) {
                     Player p = Bukkit.getPlayer(pid);
                     if (p != null && p.isOnline()) {
                         publishToPlayer(p, event);
@@ -101,6 +88,17 @@ public final class PacketEventsActionBarPublisher implements PacketEventsPublish
             }
         }
 
+        Set<UUID> players = tablePlayers.get(tableId);
+        if (players != null && !players.isEmpty()) {
+            for (UUID pid : players) {
+                Player p = Bukkit.getPlayer(pid);
+                if (p != null && p.isOnline()) {
+                    publishToPlayer(p, event);
+                }
+            }
+            return;
+        }
+
         for (Player onlinePlayer : Bukkit.getOnlinePlayers()) {
             publishToPlayer(onlinePlayer, event);
         }
@@ -123,21 +121,17 @@ public final class PacketEventsActionBarPublisher implements PacketEventsPublish
     }
 
     private void trackMembership(UserFacingEvent event) {
-        String type = event.eventType();
-        if (type == null) {
-            return;
-        }
-        switch (type) {
-            case "PLAYER_JOINED" -> {
-                UUID pid = asUuid(event.data().get("playerId"));
-                String tid = asString(event.data().get("tableId"));
-                if (pid != null && tid != null) {
+        switch (event.type()) {
+            case PLAYER_JOINED -> {
+                UUID pid = event.playerId();
+                String tid = event.tableId();
+                if (pid != null) {
                     tablePlayers.computeIfAbsent(tid, k -> ConcurrentHashMap.newKeySet()).add(pid);
                     playerToTable.put(pid, tid);
                 }
             }
-            case "PLAYER_ELIMINATED", "PLAYER_FORFEITED" -> {
-                UUID pid = asUuid(event.data().get("playerId"));
+            case PLAYER_ELIMINATED, PLAYER_FORFEITED -> {
+                UUID pid = event.playerId();
                 if (pid != null) {
                     String tid = playerToTable.remove(pid);
                     lastSent.remove(pid);
@@ -149,27 +143,39 @@ public final class PacketEventsActionBarPublisher implements PacketEventsPublish
                     }
                 }
             }
-            case "GAME_FINISHED" -> {
-                String tid = asString(event.data().get("tableId"));
-                if (tid != null) {
-                    Set<UUID> removed = tablePlayers.remove(tid);
-                    if (removed != null) {
-                        for (UUID pid : removed) {
-                            playerToTable.remove(pid);
-                            lastSent.remove(pid);
-                        }
+            case GAME_FINISHED -> {
+                Set<UUID> removed = tablePlayers.remove(event.tableId());
+                if (removed != null) {
+                    for (UUID pid : removed) {
+                        playerToTable.remove(pid);
+                        lastSent.remove(pid);
                     }
                 }
             }
+            default -> {
+            }
         }
     }
 
 
     private void publishToPlayer(Player player, UserFacingEvent event) {
-        Map<String, Object> localizedData = localizePlayerPlaceholders(event.data());
+        ActionBarPublishEvent trace = new ActionBarPublishEvent();
+        trace.begin();
+        Delivery delivery = deliver(player, event);
+        if (trace.shouldCommit()) {
+            trace.player = player.getName();
+            trace.message = event.message();
+            trace.duplicate = delivery == Delivery.DUPLICATE;
+            trace.actionBar = delivery == Delivery.ACTION_BAR;
+            trace.commit();
+        }
+    }
+
+    private Delivery deliver(Player player, UserFacingEvent event) {
+        Map<String, Object> localizedData = localizePlayerPlaceholders(event);
         String fingerprint = fingerprintEncoder.encode(event, localizedData);
         if (isDuplicate(player.getUniqueId(), fingerprint)) {
-            return;
+            return Delivery.DUPLICATE;
         }
 
         String resolvedMessage = i18n.t(event.message(), localizedData);
@@ -182,18 +188,20 @@ public final class PacketEventsActionBarPublisher implements PacketEventsPublish
         player.sendMessage(component);
 
         if (!packetEventsReady) {
-            return;
+            return Delivery.CHAT;
         }
 
         try {
             WrapperPlayServerActionBar packet = new WrapperPlayServerActionBar(component);
             PacketEvents.getAPI().getPlayerManager().sendPacket(player, packet);
+            return Delivery.ACTION_BAR;
         } catch (Throwable throwable) {
             packetEventsReady = false;
             if (!packetEventsFailureLogged) {
                 packetEventsFailureLogged = true;
                 plugin.getLogger().warning("PacketEvents actionbar failed, fallback to Bukkit message: " + rootMessage(throwable));
             }
+            return Delivery.CHAT;
         }
     }
 
@@ -209,17 +217,13 @@ public final class PacketEventsActionBarPublisher implements PacketEventsPublish
         return false;
     }
 
-    private Map<String, Object> localizePlayerPlaceholders(Map<String, Object> original) {
-        if (original == null || original.isEmpty()) {
-            return Map.of();
-        }
-        HashMap<String, Object> data = HashMap.newHashMap(original.size() + 4);
+    private Map<String, Object> localizePlayerPlaceholders(UserFacingEvent event) {
+        Map<String, Object> original = event.data();
+        HashMap<String, Object> data = HashMap.newHashMap(original.size() + 5);
         data.putAll(original);
         // Common alias for i18n templates that use {table}
-        if (data.containsKey("tableId") && !data.containsKey("table")) {
-            data.put("table", data.get("tableId"));
-        }
-        localizePlayerField(data, "player", original.get("playerId"));
+        data.putIfAbsent("table", event.tableId());
+        localizePlayerField(data, "player", event.playerId());
         localizePlayerField(data, "winner", original.get("winner"));
         localizePlayerField(data, "challenger", original.get("challenger"));
         localizePlayerField(data, "lastPlayer", original.get("lastPlayer"));
@@ -257,4 +261,10 @@ public final class PacketEventsActionBarPublisher implements PacketEventsPublish
 
     private record SentFingerprint(String fingerprint, long sentAtMillis) {
     }
+
+    private enum Delivery {
+        DUPLICATE,
+        CHAT,
+        ACTION_BAR
+    }
 }
@@ -1,6 +1,8 @@
 package cn.pianzi.liarbar.paperplugin.stats;
 
+import cn.pianzi.liarbar.core.event.CoreEventType;
 import cn.pianzi.liarbar.paper.presentation.UserFacingEvent;
+import cn.pianzi.liarbar.paperplugin.jfr.StatsSaveEvent;
 import static cn.pianzi.liarbar.paperplugin.util.EventDataAccessor.asUuid;
 import static cn.pianzi.liarbar.paperplugin.util.EventDataAccessor.asString;
 import static cn.pianzi.liarbar.paperplugin.util.EventDataAccessor.asBoolean;
@@ -32,6 +34,16 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public final class LiarBarStatsService implements AutoCloseable {
+    /** Event types {@link #handleEvents} acts on. */
+    public static final Set<CoreEventType> HANDLED_EVENTS = Set.of(
+            CoreEventType.PLAYER_JOINED,
+            CoreEventType.PLAYER_FORFEITED,
+            CoreEventType.SHOT_RESOLVED,
+            CoreEventType.PLAYER_ELIMINATED,
+            CoreEventType.PHASE_CHANGED,
+            CoreEventType.GAME_FINISHED
+    );
+
     private static final long SAVE_DEBOUNCE_MILLIS = 500L;
     private static final int HARD_SCORE_FLOOR = 50;
 
@@ -238,27 +250,22 @@ public final class LiarBarStatsService implements AutoCloseable {
     }
 
     private boolean applyEvent(UserFacingEvent event) {
-        String type = event.eventType();
-        if (type == null) {
-            return false;
-        }
-
-        return switch (type) {
-            case "PLAYER_JOINED" -> onPlayerJoined(event);
-            case "PLAYER_FORFEITED" -> onPlayerForfeited(event);
-            case "SHOT_RESOLVED" -> onShotResolved(event);
-            case "PLAYER_ELIMINATED" -> onPlayerEliminated(event);
-            case "PHASE_CHANGED" -> onPhaseChanged(event);
-            case "GAME_FINISHED" -> onGameFinished(event);
+        return switch (event.type()) {
+            case PLAYER_JOINED -> onPlayerJoined(event);
+            case PLAYER_FORFEITED -> onPlayerForfeited(event);
+            case SHOT_RESOLVED -> onShotResolved(event);
+            case PLAYER_ELIMINATED -> onPlayerEliminated(event);
+            case PHASE_CHANGED -> onPhaseChanged(event);
+            case GAME_FINISHED -> onGameFinished(event);
             default -> false;
         };
     }
 
     private boolean onPlayerJoined(UserFacingEvent event) {
         ScoreRule rule = scoreRule;
-        UUID playerId = asUuid(event.data().get("playerId"));
-        String tableId = asString(event.data().get("tableId"));
-        if (playerId == null || tableId == null) {
+        UUID playerId = event.playerId();
+        String tableId = event.tableId();
+        if (playerId == null) {
             return false;
         }
         Set<UUID> tableParticipants = participantsByTable.computeIfAbsent(tableId, k -> new HashSet<>());
@@ -272,9 +279,9 @@ public final class LiarBarStatsService implements AutoCloseable {
     }
 
     private boolean onPlayerForfeited(UserFacingEvent event) {
-        UUID playerId = asUuid(event.data().get("playerId"));
-        String tableId = asString(event.data().get("tableId"));
-        if (playerId == null || tableId == null) {
+        UUID playerId = event.playerId();
+        String tableId = event.tableId();
+        if (playerId == null) {
             return false;
         }
         Boolean beforeStart = asBoolean(event.data().get("beforeStart"));
@@ -287,7 +294,7 @@ public final class LiarBarStatsService implements AutoCloseable {
 
     private boolean onShotResolved(UserFacingEvent event) {
         ScoreRule rule = scoreRule;
-        UUID playerId = asUuid(event.data().get("playerId"));
+        UUID playerId = event.playerId();
         if (playerId == null) {
             return false;
         }
@@ -303,9 +310,9 @@ public final class LiarBarStatsService implements AutoCloseable {
 
     private boolean onPlayerEliminated(UserFacingEvent event) {
         ScoreRule rule = scoreRule;
-        UUID playerId = asUuid(event.data().get("playerId"));
-        String tableId = asString(event.data().get("tableId"));
-        if (playerId == null || tableId == null) {
+        UUID playerId = event.playerId();
+        String tableId = event.tableId();
+        if (playerId == null) {
             return false;
         }
         Set<UUID> tableEliminated = eliminatedByTable.computeIfAbsent(tableId, k -> new HashSet<>());
@@ -320,10 +327,7 @@ public final class LiarBarStatsService implements AutoCloseable {
 
     private boolean onGameFinished(UserFacingEvent event) {
         ScoreRule rule = scoreRule;
-        String tableId = asString(event.data().get("tableId"));
-        if (tableId == null) {
-            return false;
-        }
+        String tableId = event.tableId();
         Set<UUID> tableParticipants = participantsByTable.get(tableId);
         if (tableParticipants == null || tableParticipants.isEmpty()) {
             return false;
@@ -359,10 +363,7 @@ public final class LiarBarStatsService implements AutoCloseable {
         if (!"MODE_SELECTION".equals(phase)) {
             return false;
         }
-        String tableId = asString(event.data().get("tableId"));
-        if (tableId == null) {
-            return false;
-        }
+        String tableId = event.tableId();
         boolean hadData = participantsByTable.remove(tableId) != null;
         hadData |= eliminatedByTable.remove(tableId) != null;
         return hadData;
@@ -415,6 +416,8 @@ public final class LiarBarStatsService implements AutoCloseable {
     }
 
     private void saveNow() throws SQLException {
+        StatsSaveEvent trace = new StatsSaveEvent();
+        trace.begin();
         Map<UUID, PlayerStatsSnapshot> snapshots;
         synchronized (lock) {
             snapshots = new HashMap<>(statsByPlayer.size());
@@ -425,6 +428,11 @@ public final class LiarBarStatsService implements AutoCloseable {
         synchronized (persistenceLock) {
             repository.upsertAll(snapshots);
         }
+        if (trace.shouldCommit()) {
+            trace.backend = repository.getClass().getSimpleName();
+            trace.rows = snapshots.size();
+            trace.commit();
+        }
     }
 
     private void loadFromStorage() {
@@ -1,5 +1,8 @@
 package cn.pianzi.liarbar.paperplugin.util;
 
+import cn.pianzi.liarbar.core.runtime.CommandRejectedException;
+import cn.pianzi.liarbar.core.runtime.RejectionCode;
+
 /**
  * Shared exception helpers.
  */
@@ -13,11 +16,24 @@ public final class ExceptionUtils {
      * falling back to the simple class name when the message is blank.
      */
     public static String rootMessage(Throwable throwable) {
+        Throwable current = rootCause(throwable);
+        String message = current.getMessage();
+        return message == null || message.isBlank() ? current.getClass().getSimpleName() : message;
+    }
+
+    /**
+     * The code of the table rejection at the root of the cause chain, or {@code null} if the failure was
+     * something else.
+     */
+    public static RejectionCode rejectionOf(Throwable throwable) {
+        return rootCause(throwable) instanceof CommandRejectedException rejected ? rejected.code() : null;
+    }
+
+    private static Throwable rootCause(Throwable throwable) {
         Throwable current = throwable;
         while (current.getCause() != null) {
             current = current.getCause();
         }
-        String message = current.getMessage();
-        return message == null || message.isBlank() ? current.getClass().getSimpleName() : message;
+        return current;
     }
 }
@@ -10,3 +10,5 @@ rootProject.name = "liar-bar"
 include("core")
 include("paper-adapter")
 include("paper-plugin")
+include("benchmarks")
+include("simulator")
@@ -0,0 +1,12 @@
+plugins {
+    application
+}
+
+dependencies {
+    implementation(project(":core"))
+}
+
+application {
+    mainClass = "cn.pianzi.liarbar.simulator.Simulator"
+    applicationDefaultJvmArgs = listOf("-XX:+UseParallelGC")
+}
@@ -0,0 +1,44 @@
+package cn.pianzi.liarbar.simulator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Never bluffs when it can avoid it and never challenges by choice. Plays as many main-like cards as
+ * allowed (a demon alone), and only when it holds none does it get rid of a single off card.
+ */
+public final class AlwaysTruthBot implements BotStrategy {
+    @Override
+    public String name() {
+        return "truth";
+    }
+
+    @Override
+    public BotMove decide(BotView view, SplittableRandom random) {
+        return truthfulPlay(view);
+    }
+
+    static BotMove truthfulPlay(BotView view) {
+        List<Integer> slots = new ArrayList<>(view.maxPlayCards());
+        for (int i = 0; i < view.handSize() && slots.size() < view.maxPlayCards(); i++) {
+            if (!view.isMainLike(i)) {
+                continue;
+            }
+            if (view.isDemon(i)) {
+                // A demon must go alone; keep it for a later turn unless it is all we have.
+                continue;
+            }
+            slots.add(i + 1);
+        }
+        if (!slots.isEmpty()) {
+            return BotMove.play(slots);
+        }
+        for (int i = 0; i < view.handSize(); i++) {
+            if (view.isDemon(i)) {
+                return BotMove.play(List.of(i + 1));
+            }
+        }
+        return BotMove.playFirst();
+    }
+}
@@ -0,0 +1,28 @@
+package cn.pianzi.liarbar.simulator;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A turn: either challenge the last play, or play the cards at the given 1-based hand slots.
+ */
+public record BotMove(boolean challenge, List<Integer> slots) {
+    private static final BotMove CHALLENGE = new BotMove(true, List.of());
+    private static final List<Integer> FIRST_SLOT = List.of(1);
+
+    public BotMove {
+        Objects.requireNonNull(slots, "slots");
+    }
+
+    public static BotMove challengeLast() {
+        return CHALLENGE;
+    }
+
+    public static BotMove play(List<Integer> slots) {
+        return new BotMove(false, slots);
+    }
+
+    public static BotMove playFirst() {
+        return new BotMove(false, FIRST_SLOT);
+    }
+}
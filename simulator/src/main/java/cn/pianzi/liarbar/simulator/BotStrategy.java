@@ -0,0 +1,26 @@
+package cn.pianzi.liarbar.simulator;
+
+import java.util.SplittableRandom;
+
+/**
+ * Decides what a simulated player does on its turn. Implementations must be stateless or keep state
+ * per instance only; the simulator creates one instance per seat and per worker thread.
+ */
+public interface BotStrategy {
+    String name();
+
+    /**
+     * @param random the bot side's own stream for the game, independent of the table's {@code RandomSource}
+     */
+    BotMove decide(BotView view, SplittableRandom random);
+
+    static BotStrategy byName(String name) {
+        return switch (name) {
+            case "truth" -> new AlwaysTruthBot();
+            case "bluff" -> new RandomBluffBot(0.5, 0.3);
+            case "challenger" -> new ProbabilisticChallengerBot(0.3);
+            default -> throw new IllegalArgumentException("unknown bot strategy: " + name
+                    + " (expected truth, bluff or challenger)");
+        };
+    }
+}
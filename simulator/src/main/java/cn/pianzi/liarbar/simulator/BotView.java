@@ -0,0 +1,142 @@
+package cn.pianzi.liarbar.simulator;
+
+import cn.pianzi.liarbar.core.domain.CardRank;
+import cn.pianzi.liarbar.core.domain.PackedCard;
+
+import java.util.List;
+
+/**
+ * What one seat knows on its turn: its own hand, the round's main rank and the size of the last claim.
+ * Reused across turns and games by {@link GameRunner}; strategies must not keep a reference to it.
+ */
+public final class BotView {
+    // 7 A, 6 Q, 5 K, 2 J: the deck LiarBarTable deals from.
+    private static final int DECK_SIZE = 20;
+    private static final int JOKERS = 2;
+
+    private final int[] hand;
+    private final int minPlayCards;
+    private final int maxPlayCards;
+    private int handSize;
+    private CardRank mainRank;
+    private int dealtThisRound;
+    private int ownDealt;
+    private int ownMainLikeDealt;
+    private int lastClaim;
+    private boolean canChallenge;
+
+    BotView(int handCapacity, int minPlayCards, int maxPlayCards) {
+        this.hand = new int[handCapacity];
+        this.minPlayCards = minPlayCards;
+        this.maxPlayCards = maxPlayCards;
+    }
+
+    public int handSize() {
+        return handSize;
+    }
+
+    public boolean isMainLike(int index) {
+        return PackedCard.isMainLike(hand[index], mainRank);
+    }
+
+    public boolean isDemon(int index) {
+        return PackedCard.isDemon(hand[index]);
+    }
+
+    public CardRank mainRank() {
+        return mainRank;
+    }
+
+    public int minPlayCards() {
+        return minPlayCards;
+    }
+
+    public int maxPlayCards() {
+        return maxPlayCards;
+    }
+
+    /**
+     * Number of cards the previous player claimed to be main-like; {@code 0} on the first turn of a round.
+     */
+    public int lastClaim() {
+        return lastClaim;
+    }
+
+    public boolean canChallenge() {
+        return canChallenge;
+    }
+
+    /**
+     * Cards dealt to the other seats this round.
+     */
+    public int othersDealt() {
+        return dealtThisRound - ownDealt;
+    }
+
+    /**
+     * Expected number of main-like cards among {@link #othersDealt()}, from the deck composition and this hand.
+     */
+    public double othersMainLikeExpected() {
+        int unseenInDeck = DECK_SIZE - ownDealt;
+        if (unseenInDeck <= 0) {
+            return 0;
+        }
+        int mainLikeInDeck = mainCount(mainRank) + JOKERS;
+        return (double) (mainLikeInDeck - ownMainLikeDealt) * othersDealt() / unseenInDeck;
+    }
+
+    void deal(int[] packedCards, CardRank mainRank, int dealtThisRound) {
+        System.arraycopy(packedCards, 0, hand, 0, packedCards.length);
+        this.handSize = packedCards.length;
+        this.mainRank = mainRank;
+        this.dealtThisRound = dealtThisRound;
+        this.ownDealt = packedCards.length;
+        this.ownMainLikeDealt = 0;
+        for (int card : packedCards) {
+            if (PackedCard.isMainLike(card, mainRank)) {
+                ownMainLikeDealt++;
+            }
+        }
+        this.lastClaim = 0;
+    }
+
+    void turn(boolean canChallenge, int lastClaim) {
+        this.canChallenge = canChallenge;
+        this.lastClaim = lastClaim;
+    }
+
+    /**
+     * Mirrors the table's compaction for a play of the given ascending, 1-based slots.
+     */
+    void removeSlots(List<Integer> ascendingSlots) {
+        int write = 0;
+        int next = 0;
+        for (int read = 0; read < handSize; read++) {
+            if (next < ascendingSlots.size() && ascendingSlots.get(next) == read + 1) {
+                next++;
+                continue;
+            }
+            hand[write++] = hand[read];
+        }
+        handSize = write;
+    }
+
+    void clear() {
+        handSize = 0;
+        mainRank = null;
+        dealtThisRound = 0;
+        ownDealt = 0;
+        ownMainLikeDealt = 0;
+        lastClaim = 0;
+        canChallenge = false;
+    }
+
+    private static int mainCount(CardRank rank) {
+        return switch (rank) {
+            case A -> 7;
+            case Q -> 6;
+            case K -> 5;
+            case J -> 0;
+        };
+    }
+}
@@ -0,0 +1,145 @@
+package cn.pianzi.liarbar.simulator;
+
+import cn.pianzi.liarbar.core.config.TableConfig;
+import cn.pianzi.liarbar.core.domain.GamePhase;
+import cn.pianzi.liarbar.core.domain.TableMode;
+import cn.pianzi.liarbar.core.event.CoreEvent;
+import cn.pianzi.liarbar.core.event.CoreEventSink;
+import cn.pianzi.liarbar.core.port.EconomyPort;
+import cn.pianzi.liarbar.core.port.SplittableRandomSource;
+import cn.pianzi.liarbar.core.runtime.LiarBarTable;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Plays complete games on one reused {@link LiarBarTable}, acting for every seat through its
+ * {@link BotStrategy} and ticking the table whenever nobody is to move. Bots answer instantly, so turn
+ * timeouts never fire; only the fixed waits (dealing, shot resolution) cost ticks.
+ * One runner per worker thread.
+ */
+final class GameRunner implements CoreEventSink {
+    // Far above any real game; a game that gets here is stuck, not long.
+    private static final int MAX_STEPS_PER_GAME = 1_000_000;
+    private static final int DECK_SIZE = 20;
+
+    private final TableConfig config;
+    private final BotStrategy[] bots;
+    private final BotView[] views;
+    private final UUID[] players;
+    private final SplittableRandomSource tableRandom = new SplittableRandomSource(0L);
+    private final LiarBarTable table;
+    private SimulationStats stats;
+
+    private int pendingTurn;
+    private int lastClaim;
+    private int dealtThisRound;
+    private int rounds;
+    private int winner;
+    private boolean finished;
+    private long gameEvents;
+
+    GameRunner(TableConfig config, BotStrategy[] bots) {
+        this.config = config;
+        this.bots = bots.clone();
+        this.views = new BotView[bots.length];
+        this.players = new UUID[bots.length];
+        for (int i = 0; i < bots.length; i++) {
+            views[i] = new BotView(config.handSize(), config.minPlayCards(), config.maxPlayCards());
+            // The least significant bits carry the seat index, so events map back to a bot without a lookup.
+            players[i] = new UUID(0L, i);
+        }
+        this.table = new LiarBarTable("simulator", config, EconomyPort.noop(), tableRandom);
+    }
+
+    void play(long seed, SimulationStats stats) {
+        this.stats = stats;
+        tableRandom.reseed(seed);
+        SplittableRandom botRandom = new SplittableRandom(~seed);
+        for (BotView view : views) {
+            view.clear();
+        }
+        pendingTurn = -1;
+        lastClaim = 0;
+        dealtThisRound = 0;
+        rounds = 0;
+        winner = -1;
+        finished = false;
+        gameEvents = 0;
+
+        for (UUID player : players) {
+            table.join(player, this);
+        }
+        table.selectMode(players[0], TableMode.LIFE_ONLY, this);
+
+        int steps = 0;
+        while (!finished) {
+            if (++steps > MAX_STEPS_PER_GAME) {
+                throw new IllegalStateException("game did not finish within " + MAX_STEPS_PER_GAME + " steps (seed " + seed + ")");
+            }
+            int actor = pendingTurn;
+            if (actor < 0) {
+                table.tickSecond(this);
+                continue;
+            }
+            pendingTurn = -1;
+            BotMove move = bots[actor].decide(views[actor], botRandom);
+            if (move.challenge()) {
+                table.challenge(players[actor], this);
+            } else {
+                // Update the bot's copy first: the play may end the round and deal new hands.
+                views[actor].removeSlots(move.slots());
+                table.play(players[actor], move.slots(), this);
+            }
+        }
+        stats.gameFinished(winner, rounds, gameEvents);
+    }
+
+    @Override
+    public void accept(CoreEvent event) {
+        gameEvents++;
+        switch (event.type()) {
+            case DEAL_COMPLETED -> {
+                CoreEvent.DealCompleted deal = (CoreEvent.DealCompleted) event;
+                rounds = deal.round();
+                dealtThisRound = Math.min(DECK_SIZE, deal.alivePlayers() * config.handSize());
+                lastClaim = 0;
+                pendingTurn = -1;
+            }
+            case HAND_DEALT -> {
+                CoreEvent.HandDealt hand = (CoreEvent.HandDealt) event;
+                views[seatIndex(hand.playerId())].deal(hand.packedCards(), hand.mainRank(), dealtThisRound);
+            }
+            case TURN_CHANGED -> {
+                CoreEvent.TurnChanged turn = (CoreEvent.TurnChanged) event;
+                // A forced challenge is carried out by the table itself right after this event.
+                if (!turn.forceChallenge()) {
+                    int seat = seatIndex(turn.playerId());
+                    views[seat].turn(turn.phase() == GamePhase.STANDARD_TURN, lastClaim);
+                    pendingTurn = seat;
+                }
+            }
+            case PHASE_CHANGED -> {
+                GamePhase phase = ((CoreEvent.PhaseChanged) event).phase();
+                if (phase != GamePhase.FIRST_TURN && phase != GamePhase.STANDARD_TURN) {
+                    pendingTurn = -1;
+                }
+            }
+            case CARDS_PLAYED -> lastClaim = ((CoreEvent.CardsPlayed) event).count();
+            case CHALLENGE_RESOLVED -> stats.challengeResolved(((CoreEvent.ChallengeResolved) event).outcome());
+            case SHOT_RESOLVED -> stats.shot(((CoreEvent.ShotResolved) event).lethal());
+            case GAME_FINISHED -> {
+                UUID gameWinner = ((CoreEvent.GameFinished) event).winner();
+                winner = gameWinner == null ? -1 : seatIndex(gameWinner);
+                finished = true;
+                pendingTurn = -1;
+            }
+            default -> {
+            }
+        }
+    }
+
+    private static int seatIndex(UUID player) {
+        return (int) player.getLeastSignificantBits();
+    }
+}
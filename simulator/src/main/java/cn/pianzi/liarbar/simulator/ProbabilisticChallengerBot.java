@@ -0,0 +1,41 @@
+package cn.pianzi.liarbar.simulator;
+
+import java.util.SplittableRandom;
+
+/**
+ * Plays truthfully and challenges when the last claim is unlikely to be honest. The chance that all
+ * {@code k} claimed cards are main-like is estimated as {@code (m / n)^k}, where {@code n} is the number
+ * of cards the other seats were dealt and {@code m} the expected main-like cards among them.
+ */
+public final class ProbabilisticChallengerBot implements BotStrategy {
+    private final double honestyThreshold;
+
+    /**
+     * @param honestyThreshold challenge when the estimated chance of an honest claim falls below this
+     */
+    public ProbabilisticChallengerBot(double honestyThreshold) {
+        this.honestyThreshold = honestyThreshold;
+    }
+
+    @Override
+    public String name() {
+        return "challenger";
+    }
+
+    @Override
+    public BotMove decide(BotView view, SplittableRandom random) {
+        if (view.canChallenge() && view.lastClaim() > 0 && honestChance(view) < honestyThreshold) {
+            return BotMove.challengeLast();
+        }
+        return AlwaysTruthBot.truthfulPlay(view);
+    }
+
+    private static double honestChance(BotView view) {
+        int others = view.othersDealt();
+        if (others <= 0) {
+            return 0;
+        }
+        double share = Math.min(1.0, view.othersMainLikeExpected() / others);
+        return Math.pow(share, view.lastClaim());
+    }
+}
@@ -0,0 +1,50 @@
+package cn.pianzi.liarbar.simulator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Coin-flip player: with probability {@code bluffRate} it plays a random set of cards regardless of rank,
+ * otherwise it plays like {@link AlwaysTruthBot}; it challenges with probability {@code challengeRate}.
+ */
+public final class RandomBluffBot implements BotStrategy {
+    private final double bluffRate;
+    private final double challengeRate;
+
+    public RandomBluffBot(double bluffRate, double challengeRate) {
+        this.bluffRate = bluffRate;
+        this.challengeRate = challengeRate;
+    }
+
+    @Override
+    public String name() {
+        return "bluff";
+    }
+
+    @Override
+    public BotMove decide(BotView view, SplittableRandom random) {
+        if (view.canChallenge() && random.nextDouble() < challengeRate) {
+            return BotMove.challengeLast();
+        }
+        if (random.nextDouble() >= bluffRate) {
+            return AlwaysTruthBot.truthfulPlay(view);
+        }
+
+        int max = Math.min(view.maxPlayCards(), view.handSize());
+        int count = view.minPlayCards() + random.nextInt(Math.max(1, max - view.minPlayCards() + 1));
+        // Selection sampling: count distinct slots, already in ascending order.
+        List<Integer> slots = new ArrayList<>(count);
+        int needed = count;
+        for (int i = 0; i < view.handSize() && needed > 0; i++) {
+            if (random.nextInt(view.handSize() - i) < needed) {
+                if (view.isDemon(i)) {
+                    return BotMove.play(List.of(i + 1));
+                }
+                slots.add(i + 1);
+                needed--;
+            }
+        }
+        return BotMove.play(slots);
+    }
+}
@@ -0,0 +1,80 @@
+package cn.pianzi.liarbar.simulator;
+
+import cn.pianzi.liarbar.core.config.TableConfig;
+
+import java.util.Arrays;
+
+/**
+ * Command line options, all in {@code --name=value} form:
+ * <pre>
+ * --games=1000000                     games to play
+ * --seed=42                           base seed; game i is seeded from (seed, i)
+ * --bots=truth,bluff,challenger,challenger   one strategy per seat
+ * --parallelism=&lt;cores&gt;              fork/join workers
+ * --bullets=6 --hand-size=5 --min-play=1 --max-play=3   TableConfig overrides
+ * </pre>
+ */
+record SimulationOptions(long games, long seed, String[] bots, int parallelism, TableConfig config) {
+    private static final String[] DEFAULT_BOTS = {"truth", "bluff", "challenger", "challenger"};
+
+    static SimulationOptions parse(String[] args) {
+        TableConfig defaults = TableConfig.defaults();
+        long games = 1_000_000L;
+        long seed = 42L;
+        String[] bots = DEFAULT_BOTS;
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        int bullets = defaults.startingBullets();
+        int handSize = defaults.handSize();
+        int minPlay = defaults.minPlayCards();
+        int maxPlay = defaults.maxPlayCards();
+
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("expected --name=value, got: " + arg);
+            }
+            String name = arg.substring(2, eq);
+            String value = arg.substring(eq + 1);
+            switch (name) {
+                case "games" -> games = Long.parseLong(value);
+                case "seed" -> seed = Long.parseLong(value);
+                case "bots" -> bots = value.split(",");
+                case "parallelism" -> parallelism = Integer.parseInt(value);
+                case "bullets" -> bullets = Integer.parseInt(value);
+                case "hand-size" -> handSize = Integer.parseInt(value);
+                case "min-play" -> minPlay = Integer.parseInt(value);
+                case "max-play" -> maxPlay = Integer.parseInt(value);
+                default -> throw new IllegalArgumentException("unknown option: --" + name);
+            }
+        }
+        if (games < 1) {
+            throw new IllegalArgumentException("games must be >= 1");
+        }
+        if (bots.length < 2) {
+            throw new IllegalArgumentException("need at least two bots");
+        }
+        for (String bot : bots) {
+            BotStrategy.byName(bot);
+        }
+
+        TableConfig config = new TableConfig(
+                defaults.modeSelectionSeconds(),
+                defaults.joinSeconds(),
+                defaults.dealingSeconds(),
+                defaults.firstTurnSeconds(),
+                defaults.standardTurnSeconds(),
+                defaults.resolveChallengeSeconds(),
+                bots.length,
+                handSize,
+                minPlay,
+                maxPlay,
+                bullets
+        );
+        return new SimulationOptions(games, seed, bots.clone(), Math.max(1, parallelism), config);
+    }
+
+    @Override
+    public String toString() {
+        return games + " games, seats " + Arrays.toString(bots) + ", seed " + seed + ", " + parallelism + " workers, " + config;
+    }
+}
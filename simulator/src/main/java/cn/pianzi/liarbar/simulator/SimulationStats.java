@@ -0,0 +1,108 @@
+package cn.pianzi.liarbar.simulator;
+
+import cn.pianzi.liarbar.core.domain.ChallengeOutcome;
+
+/**
+ * Counters for a batch of games. Each worker fills its own instance; {@link #merge} combines them.
+ */
+final class SimulationStats {
+    static final int MAX_TRACKED_ROUNDS = 64;
+
+    private final long[] winsBySeat;
+    private final long[] outcomes = new long[ChallengeOutcome.values().length];
+    private final long[] roundsHistogram = new long[MAX_TRACKED_ROUNDS + 1];
+    private long games;
+    private long events;
+    private long allocatedBytes;
+    private long draws;
+    private long shots;
+    private long lethalShots;
+
+    SimulationStats(int seats) {
+        this.winsBySeat = new long[seats];
+    }
+
+    void gameFinished(int winnerSeatIndex, int rounds, long gameEvents) {
+        games++;
+        events += gameEvents;
+        roundsHistogram[Math.min(rounds, MAX_TRACKED_ROUNDS)]++;
+        if (winnerSeatIndex < 0) {
+            draws++;
+        } else {
+            winsBySeat[winnerSeatIndex]++;
+        }
+    }
+
+    void challengeResolved(ChallengeOutcome outcome) {
+        outcomes[outcome.ordinal()]++;
+    }
+
+    void shot(boolean lethal) {
+        shots++;
+        if (lethal) {
+            lethalShots++;
+        }
+    }
+
+    void allocated(long bytes) {
+        allocatedBytes += bytes;
+    }
+
+    SimulationStats merge(SimulationStats other) {
+        games += other.games;
+        events += other.events;
+        allocatedBytes += other.allocatedBytes;
+        draws += other.draws;
+        shots += other.shots;
+        lethalShots += other.lethalShots;
+        for (int i = 0; i < winsBySeat.length; i++) {
+            winsBySeat[i] += other.winsBySeat[i];
+        }
+        for (int i = 0; i < outcomes.length; i++) {
+            outcomes[i] += other.outcomes[i];
+        }
+        for (int i = 0; i < roundsHistogram.length; i++) {
+            roundsHistogram[i] += other.roundsHistogram[i];
+        }
+        return this;
+    }
+
+    long games() {
+        return games;
+    }
+
+    long events() {
+        return events;
+    }
+
+    long allocatedBytes() {
+        return allocatedBytes;
+    }
+
+    long draws() {
+        return draws;
+    }
+
+    long shots() {
+        return shots;
+    }
+
+    long lethalShots() {
+        return lethalShots;
+    }
+
+    long winsBySeat(int seatIndex) {
+        return winsBySeat[seatIndex];
+    }
+
+    long outcomes(ChallengeOutcome outcome) {
+        return outcomes[outcome.ordinal()];
+    }
+
+    /**
+     * Games that lasted {@code rounds} deals; the last bucket also counts longer games.
+     */
+    long gamesWithRounds(int rounds) {
+        return roundsHistogram[rounds];
+    }
+}
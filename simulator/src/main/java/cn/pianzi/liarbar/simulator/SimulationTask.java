@@ -0,0 +1,71 @@
+package cn.pianzi.liarbar.simulator;
+
+import cn.pianzi.liarbar.core.config.TableConfig;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fork/join split of the game index range. Leaves run their games on one {@link GameRunner}, and game
+ * {@code i} is always seeded from {@code (baseSeed, i)}, so results do not depend on how the range was split.
+ */
+final class SimulationTask extends RecursiveTask<SimulationStats> {
+    private static final long serialVersionUID = 1L;
+    private static final int GAMES_PER_LEAF = 4_096;
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // Tasks are forked within one run and never written out; the config is not Serializable.
+    private final transient TableConfig config;
+    private final String[] botNames;
+    private final long baseSeed;
+    private final long fromGame;
+    private final long toGame;
+
+    SimulationTask(TableConfig config, String[] botNames, long baseSeed, long fromGame, long toGame) {
+        this.config = config;
+        this.botNames = botNames;
+        this.baseSeed = baseSeed;
+        this.fromGame = fromGame;
+        this.toGame = toGame;
+    }
+
+    @Override
+    protected SimulationStats compute() {
+        if (toGame - fromGame <= GAMES_PER_LEAF) {
+            return runLeaf();
+        }
+        long middle = (fromGame + toGame) >>> 1;
+        SimulationTask left = new SimulationTask(config, botNames, baseSeed, fromGame, middle);
+        SimulationTask right = new SimulationTask(config, botNames, baseSeed, middle, toGame);
+        left.fork();
+        SimulationStats rightStats = right.compute();
+        return left.join().merge(rightStats);
+    }
+
+    private SimulationStats runLeaf() {
+        BotStrategy[] bots = new BotStrategy[botNames.length];
+        for (int i = 0; i < bots.length; i++) {
+            bots[i] = BotStrategy.byName(botNames[i]);
+        }
+        GameRunner runner = new GameRunner(config, bots);
+        SimulationStats stats = new SimulationStats(bots.length);
+        long threadId = Thread.currentThread().threadId();
+        long allocatedBefore = THREADS.getThreadAllocatedBytes(threadId);
+        for (long game = fromGame; game < toGame; game++) {
+            runner.play(gameSeed(baseSeed, game), stats);
+        }
+        stats.allocated(THREADS.getThreadAllocatedBytes(threadId) - allocatedBefore);
+        return stats;
+    }
+
+    /**
+     * SplitMix64 finalizer over the game index, so neighbouring games get unrelated seeds.
+     */
+    static long gameSeed(long baseSeed, long game) {
+        long z = baseSeed + (game + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
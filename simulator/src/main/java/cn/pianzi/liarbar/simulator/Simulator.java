@@ -0,0 +1,89 @@
+package cn.pianzi.liarbar.simulator;
+
+import cn.pianzi.liarbar.core.domain.ChallengeOutcome;
+
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Headless Liar Bar: plays bot-vs-bot games straight against {@code LiarBarTable} on every core and
+ * reports engine throughput together with the outcome distributions of the configured rules.
+ *
+ * <pre>
+ * ./gradlew :simulator:run --args="--games=1000000 --bots=truth,bluff,challenger,challenger"
+ * </pre>
+ */
+public final class Simulator {
+    private Simulator() {
+    }
+
+    public static void main(String[] args) {
+        SimulationOptions options = SimulationOptions.parse(args);
+        PrintStream out = System.out;
+        out.println("Simulating " + options);
+
+        // Warm the JIT on a short run so the measured run reports steady-state throughput.
+        long warmupGames = Math.min(options.games(), 20_000L);
+        run(options, warmupGames);
+
+        long start = System.nanoTime();
+        SimulationStats stats = run(options, options.games());
+        long elapsedNanos = System.nanoTime() - start;
+        report(out, options, stats, elapsedNanos);
+    }
+
+    static SimulationStats run(SimulationOptions options, long games) {
+        ForkJoinPool pool = new ForkJoinPool(options.parallelism());
+        try {
+            return pool.invoke(new SimulationTask(options.config(), options.bots(), options.seed(), 0, games));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void report(PrintStream out, SimulationOptions options, SimulationStats stats, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        double games = stats.games();
+        out.printf(Locale.ROOT, "Elapsed            %.2f s%n", seconds);
+        out.printf(Locale.ROOT, "Throughput         %,.0f games/s%n", games / seconds);
+        out.printf(Locale.ROOT, "Events per game    %.1f%n", stats.events() / games);
+        out.printf(Locale.ROOT, "Allocation / game  %,.0f B%n", stats.allocatedBytes() / games);
+
+        long challenges = 0;
+        for (ChallengeOutcome outcome : ChallengeOutcome.values()) {
+            challenges += stats.outcomes(outcome);
+        }
+        out.printf(Locale.ROOT, "Challenges / game  %.2f%n", challenges / games);
+        for (ChallengeOutcome outcome : ChallengeOutcome.values()) {
+            out.printf(Locale.ROOT, "  %-9s        %6.2f%%%n", outcome, percent(stats.outcomes(outcome), challenges));
+        }
+        out.printf(Locale.ROOT, "Shots / game       %.2f (%.1f%% lethal)%n",
+                stats.shots() / games, percent(stats.lethalShots(), stats.shots()));
+
+        out.println("Rounds per game");
+        long roundsTotal = 0;
+        for (int rounds = 0; rounds <= SimulationStats.MAX_TRACKED_ROUNDS; rounds++) {
+            roundsTotal += (long) rounds * stats.gamesWithRounds(rounds);
+        }
+        out.printf(Locale.ROOT, "  mean             %.2f%n", roundsTotal / games);
+        for (int rounds = 0; rounds <= SimulationStats.MAX_TRACKED_ROUNDS; rounds++) {
+            long count = stats.gamesWithRounds(rounds);
+            if (count > 0) {
+                String label = rounds == SimulationStats.MAX_TRACKED_ROUNDS ? rounds + "+" : String.valueOf(rounds);
+                out.printf(Locale.ROOT, "  %-4s             %6.2f%%%n", label, percent(count, stats.games()));
+            }
+        }
+
+        out.println("Wins by seat");
+        String[] bots = options.bots();
+        for (int seat = 0; seat < bots.length; seat++) {
+            out.printf(Locale.ROOT, "  #%d %-12s    %6.2f%%%n", seat + 1, bots[seat], percent(stats.winsBySeat(seat), stats.games()));
+        }
+        out.printf(Locale.ROOT, "  no winner         %6.2f%%%n", percent(stats.draws(), stats.games()));
+    }
+
+    private static double percent(long part, long whole) {
+        return whole == 0 ? 0 : 100.0 * part / whole;
+    }
+}